@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.consensus.clique;
 
+import tech.pegasys.pantheon.consensus.common.RecoveredAddressCache;
 import tech.pegasys.pantheon.crypto.SECP256K1.Signature;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
@@ -19,6 +20,7 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Util;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
 
 import java.util.function.Supplier;
 
@@ -40,7 +42,8 @@ public class CliqueBlockHashing {
   }
 
   /**
-   * Recovers the proposer's {@link Address} from the proposer seal.
+   * Recovers the proposer's {@link Address} from the proposer seal. Recovered addresses are kept in
+   * the shared {@link RecoveredAddressCache}, keyed by the header hash (which covers the seal).
    *
    * @param header the block header that was signed by the proposer seal
    * @param cliqueExtraData the parsed CliqueExtraData from the header
@@ -52,8 +55,13 @@ public class CliqueBlockHashing {
       throw new IllegalArgumentException(
           "Supplied cliqueExtraData does not include a proposer " + "seal");
     }
-    final Hash proposerHash = calculateDataHashForProposerSeal(header, cliqueExtraData);
-    return Util.signatureToAddress(cliqueExtraData.getProposerSeal().get(), proposerHash);
+    final Signature proposerSeal = cliqueExtraData.getProposerSeal().get();
+    return RecoveredAddressCache.shared()
+        .getOrRecover(
+            BytesValues.concatenate(header.getHash(), proposerSeal.encodedBytes()),
+            () ->
+                Util.signatureToAddress(
+                    proposerSeal, calculateDataHashForProposerSeal(header, cliqueExtraData)));
   }
 
   private static BytesValue serializeHeaderWithoutProposerSeal(
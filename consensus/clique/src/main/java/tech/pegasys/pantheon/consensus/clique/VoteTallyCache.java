@@ -20,10 +20,16 @@ import tech.pegasys.pantheon.consensus.common.VoteTallyUpdater;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
 import com.google.common.cache.Cache;
@@ -34,28 +40,66 @@ public class VoteTallyCache {
   private final Blockchain blockchain;
   private final EpochManager epochManager;
   private final VoteTallyUpdater voteTallyUpdater;
+  private final VoteTallySnapshots snapshots;
 
   private final Cache<Hash, VoteTally> voteTallyCache =
       CacheBuilder.newBuilder().maximumSize(100).build();
 
+  private final LabelledMetric<Counter> reconstructionCounter;
+  private final Counter reconstructedBlocksCounter;
+  private volatile long lastReconstructionDepth = 0;
+
   public VoteTallyCache(
       final Blockchain blockchain,
       final VoteTallyUpdater voteTallyUpdater,
       final EpochManager epochManager) {
+    this(
+        blockchain,
+        voteTallyUpdater,
+        epochManager,
+        VoteTallySnapshots.inMemory(),
+        new NoOpMetricsSystem());
+  }
+
+  public VoteTallyCache(
+      final Blockchain blockchain,
+      final VoteTallyUpdater voteTallyUpdater,
+      final EpochManager epochManager,
+      final VoteTallySnapshots snapshots,
+      final MetricsSystem metricsSystem) {
     checkNotNull(blockchain);
     checkNotNull(voteTallyUpdater);
     checkNotNull(epochManager);
+    checkNotNull(snapshots);
     this.blockchain = blockchain;
     this.voteTallyUpdater = voteTallyUpdater;
     this.epochManager = epochManager;
+    this.snapshots = snapshots;
+
+    reconstructionCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.BLOCKCHAIN,
+            "clique_vote_tally_reconstructions_total",
+            "Number of vote tallies rebuilt from block headers, by starting point",
+            "source");
+    reconstructedBlocksCounter =
+        metricsSystem.createCounter(
+            MetricCategory.BLOCKCHAIN,
+            "clique_vote_tally_reconstructed_blocks_total",
+            "Number of block headers replayed to rebuild vote tallies");
+    metricsSystem.createGauge(
+        MetricCategory.BLOCKCHAIN,
+        "clique_vote_tally_last_reconstruction_depth",
+        "Number of block headers replayed to rebuild the most recent vote tally",
+        () -> (double) lastReconstructionDepth);
   }
 
   /**
    * Determines the VoteTally for a given block header, by back-tracing the blockchain to a
-   * previously cached value or epoch block. Then appyling votes in each intermediate header such
-   * that representative state can be provided. This function assumes the vote cast in {@code
-   * header} is applied, thus the voteTally returned contains the group of validators who are
-   * permitted to partake in the next block's creation.
+   * previously cached value, snapshot or epoch block. Then appyling votes in each intermediate
+   * header such that representative state can be provided. This function assumes the vote cast in
+   * {@code header} is applied, thus the voteTally returned contains the group of validators who
+   * are permitted to partake in the next block's creation.
    *
    * @param header the header of the block after which the VoteTally is to be returned
    * @return The Vote Tally (and therefore validators) following the application of all votes upto
@@ -76,8 +120,22 @@ public class VoteTallyCache {
 
     while (true) { // Will run into an epoch block (and thus a VoteTally) to break loop.
       intermediateBlocks.push(header);
-      voteTally = getValidatorsAfter(header);
+      if (epochManager.isEpochBlock(header.getNumber())) {
+        final CliqueBlockInterface blockInterface = new CliqueBlockInterface();
+        voteTally = new VoteTally(blockInterface.validatorsInBlock(header));
+        recordReconstruction("epoch", intermediateBlocks.size());
+        break;
+      }
+      voteTally = voteTallyCache.getIfPresent(header.getParentHash());
       if (voteTally != null) {
+        recordReconstruction("cache", intermediateBlocks.size());
+        break;
+      }
+      final Optional<VoteTally> snapshot =
+          snapshots.getVoteTallyAfterBlock(header.getParentHash());
+      if (snapshot.isPresent()) {
+        voteTally = snapshot.get();
+        recordReconstruction("snapshot", intermediateBlocks.size());
         break;
       }
 
@@ -92,13 +150,10 @@ public class VoteTallyCache {
     return constructMissingCacheEntries(intermediateBlocks, voteTally);
   }
 
-  private VoteTally getValidatorsAfter(final BlockHeader header) {
-    if (epochManager.isEpochBlock(header.getNumber())) {
-      final CliqueBlockInterface blockInterface = new CliqueBlockInterface();
-      return new VoteTally(blockInterface.validatorsInBlock(header));
-    }
-
-    return voteTallyCache.getIfPresent(header.getParentHash());
+  private void recordReconstruction(final String source, final int depth) {
+    reconstructionCounter.labels(source).inc();
+    reconstructedBlocksCounter.inc(depth);
+    lastReconstructionDepth = depth;
   }
 
   private VoteTally constructMissingCacheEntries(
@@ -108,6 +163,9 @@ public class VoteTallyCache {
       final BlockHeader h = headers.pop();
       voteTallyUpdater.updateForBlock(h, mutableVoteTally);
       voteTallyCache.put(h.getHash(), mutableVoteTally.copy());
+      if (snapshots.isSnapshotBlock(h)) {
+        snapshots.store(h.getHash(), mutableVoteTally);
+      }
     }
     return mutableVoteTally;
   }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.consensus.clique;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.consensus.common.VoteTally;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Persists the {@link VoteTally} after every {@code interval}th block, so that a tally can be
+ * rebuilt from the nearest snapshot instead of from the last epoch block.
+ */
+public class VoteTallySnapshots {
+
+  public static final long DEFAULT_INTERVAL = 1024;
+
+  private static final BytesValue KEY_PREFIX =
+      BytesValue.wrap("clique-vote-tally".getBytes(StandardCharsets.UTF_8));
+
+  private final KeyValueStorage storage;
+  private final long interval;
+
+  public VoteTallySnapshots(final KeyValueStorage storage, final long interval) {
+    checkArgument(interval > 0, "Snapshot interval must be positive");
+    this.storage = storage;
+    this.interval = interval;
+  }
+
+  /** @return snapshots held in memory, for use when no persistent storage is available. */
+  public static VoteTallySnapshots inMemory() {
+    return new VoteTallySnapshots(new InMemoryKeyValueStorage(), DEFAULT_INTERVAL);
+  }
+
+  public boolean isSnapshotBlock(final BlockHeader header) {
+    return header.getNumber() % interval == 0;
+  }
+
+  /**
+   * @param blockHash the hash of a block
+   * @return the tally after the block, if a snapshot was taken at that block
+   */
+  public Optional<VoteTally> getVoteTallyAfterBlock(final Hash blockHash) {
+    return storage.get(key(blockHash)).map(value -> VoteTally.readFrom(RLP.input(value)));
+  }
+
+  public void store(final Hash blockHash, final VoteTally voteTally) {
+    final KeyValueStorage.Transaction transaction = storage.startTransaction();
+    transaction.put(key(blockHash), RLP.encode(voteTally::writeTo));
+    transaction.commit();
+  }
+
+  private static BytesValue key(final Hash blockHash) {
+    return BytesValues.concatenate(KEY_PREFIX, blockHash);
+  }
+}
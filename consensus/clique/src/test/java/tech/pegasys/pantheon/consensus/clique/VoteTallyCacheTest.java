@@ -37,6 +37,8 @@ import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.math.BigInteger;
@@ -153,6 +155,37 @@ public class VoteTallyCacheTest {
     assertThat(varArgs.getAllValues()).isEqualTo(Arrays.asList(block_3.getHeader()));
   }
 
+  @Test
+  public void walkBackStopsWhenASnapshotIsFound() {
+    final VoteTallyUpdater tallyUpdater = mock(VoteTallyUpdater.class);
+    final VoteTallySnapshots snapshots = new VoteTallySnapshots(new InMemoryKeyValueStorage(), 1);
+    new VoteTallyCache(
+            blockChain,
+            tallyUpdater,
+            new EpochManager(30_000),
+            snapshots,
+            new NoOpMetricsSystem())
+        .getVoteTallyAfterBlock(block_2.getHeader());
+
+    reset(tallyUpdater);
+
+    // A new cache (e.g. after a restart) only needs to replay blocks after the latest snapshot.
+    final VoteTallyCache cache =
+        new VoteTallyCache(
+            blockChain,
+            tallyUpdater,
+            new EpochManager(30_000),
+            snapshots,
+            new NoOpMetricsSystem());
+    final Block block_3 = createEmptyBlock(4, block_2.getHeader().getHash());
+    final VoteTally voteTally = cache.getVoteTallyAfterBlock(block_3.getHeader());
+
+    final ArgumentCaptor<BlockHeader> varArgs = ArgumentCaptor.forClass(BlockHeader.class);
+    verify(tallyUpdater, times(1)).updateForBlock(varArgs.capture(), any());
+    assertThat(varArgs.getAllValues()).isEqualTo(Arrays.asList(block_3.getHeader()));
+    assertThat(voteTally.getValidators()).containsExactlyElementsOf(validators);
+  }
+
   // A bug was identified in VoteTallyCache whereby a vote cast in the next block *could* be applied
   // to the parent block (depending on cache creation ordering). This test ensure the problem is
   // resolved.
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.consensus.common;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.Signature;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * A bounded cache of addresses recovered from block seals, so that repeated validation of the same
+ * header (on import, when rebuilding vote tallies, when selecting the next proposer, ...) does not
+ * repeat the public key recovery.
+ *
+ * <p>Keys must identify both the signed data and the signature: a Clique header hash covers the
+ * proposer seal, whereas an IBFT header hash does not cover its commit seals, so those are keyed
+ * by the seal itself together with the hash it signs.
+ */
+public class RecoveredAddressCache {
+
+  public static final long DEFAULT_CAPACITY = 16_384;
+
+  // Below this many seals, recovering them in parallel costs more than it saves.
+  private static final int PARALLEL_RECOVERY_THRESHOLD = 8;
+
+  private static final RecoveredAddressCache SHARED = new RecoveredAddressCache(DEFAULT_CAPACITY);
+
+  private final Cache<BytesValue, Address> addresses;
+
+  public RecoveredAddressCache(final long capacity) {
+    this.addresses = CacheBuilder.newBuilder().maximumSize(capacity).build();
+  }
+
+  /** @return the cache shared by the consensus protocols. */
+  public static RecoveredAddressCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Returns the address cached for the key, recovering and caching it if it is absent. Failures to
+   * recover, whether thrown or returned as null, are propagated and not cached.
+   *
+   * @param key identifies the signed data and the signature
+   * @param recovery recovers the address from the signature
+   * @return the recovered address, or null if it could not be recovered
+   */
+  public Address getOrRecover(final BytesValue key, final Supplier<Address> recovery) {
+    final Address cached = addresses.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    final Address recovered = recovery.get();
+    if (recovered != null) {
+      addresses.put(key, recovered);
+    }
+    return recovered;
+  }
+
+  /**
+   * Recovers the address which signed a hash with a seal. As the key is the seal together with the
+   * hash it signs, this suits seals not covered by the hash of their header.
+   *
+   * @param seal the signature
+   * @param signedHash the hash signed by the seal
+   * @return the recovered address, or null if it could not be recovered
+   */
+  public Address recover(final Signature seal, final Hash signedHash) {
+    return getOrRecover(
+        BytesValues.concatenate(signedHash, seal.encodedBytes()),
+        () -> Util.signatureToAddress(seal, signedHash));
+  }
+
+  /**
+   * Recovers the addresses which signed a hash with each of the seals, in parallel for large
+   * numbers of seals.
+   *
+   * @param seals the signatures
+   * @param signedHash the hash signed by all of the seals
+   * @return the recovered addresses, in the order of the seals
+   */
+  public List<Address> recoverAll(final Collection<Signature> seals, final Hash signedHash) {
+    final Stream<Signature> sealStream =
+        seals.size() >= PARALLEL_RECOVERY_THRESHOLD ? seals.parallelStream() : seals.stream();
+    return sealStream.map(seal -> recover(seal, signedHash)).collect(Collectors.toList());
+  }
+
+  public long size() {
+    return addresses.size();
+  }
+
+  public void clear() {
+    addresses.invalidateAll();
+  }
+}
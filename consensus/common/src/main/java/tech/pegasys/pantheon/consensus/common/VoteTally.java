@@ -13,11 +13,14 @@
 package tech.pegasys.pantheon.consensus.common;
 
 import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -115,6 +118,55 @@ public class VoteTally implements ValidatorProvider {
     return currentValidators;
   }
 
+  /**
+   * Writes the validators and outstanding votes of this tally, so that it can be restored with
+   * {@link #readFrom(RLPInput)}.
+   *
+   * @param out the output to write to
+   */
+  public void writeTo(final RLPOutput out) {
+    out.startList();
+    out.writeList(currentValidators, (validator, rlp) -> rlp.writeBytesValue(validator));
+    writeVotes(addVotesBySubject, out);
+    writeVotes(removeVotesBySubject, out);
+    out.endList();
+  }
+
+  private static void writeVotes(
+      final Map<Address, Set<Address>> votesBySubject, final RLPOutput out) {
+    out.startList();
+    votesBySubject.forEach(
+        (subject, proposers) -> {
+          out.startList();
+          out.writeBytesValue(subject);
+          out.writeList(proposers, (proposer, rlp) -> rlp.writeBytesValue(proposer));
+          out.endList();
+        });
+    out.endList();
+  }
+
+  public static VoteTally readFrom(final RLPInput in) {
+    in.enterList();
+    final List<Address> validators = in.readList(Address::readFrom);
+    final Map<Address, Set<Address>> addVotesBySubject = readVotes(in);
+    final Map<Address, Set<Address>> removeVotesBySubject = readVotes(in);
+    in.leaveList();
+    return new VoteTally(validators, addVotesBySubject, removeVotesBySubject);
+  }
+
+  private static Map<Address, Set<Address>> readVotes(final RLPInput in) {
+    final Map<Address, Set<Address>> votesBySubject = new HashMap<>();
+    in.enterList();
+    while (!in.isEndOfCurrentList()) {
+      in.enterList();
+      final Address subject = Address.readFrom(in);
+      votesBySubject.put(subject, new HashSet<>(in.readList(Address::readFrom)));
+      in.leaveList();
+    }
+    in.leaveList();
+    return votesBySubject;
+  }
+
   public VoteTally copy() {
     final Map<Address, Set<Address>> addVotesBySubject = Maps.newHashMap();
     final Map<Address, Set<Address>> removeVotesBySubject = Maps.newHashMap();
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.consensus.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.crypto.SECP256K1;
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.crypto.SECP256K1.Signature;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+public class RecoveredAddressCacheTest {
+
+  private static final Address ADDRESS =
+      Address.fromHexString("000d836201318ec6899a67540690382780743280");
+  private static final BytesValue KEY = BytesValue.fromHexString("0x0102");
+
+  private final AtomicInteger recoveries = new AtomicInteger();
+  private final Supplier<Address> recovery =
+      () -> {
+        recoveries.incrementAndGet();
+        return ADDRESS;
+      };
+
+  @Test
+  public void recoversOnlyOncePerKey() {
+    final RecoveredAddressCache cache = new RecoveredAddressCache(10);
+
+    assertThat(cache.getOrRecover(KEY, recovery)).isEqualTo(ADDRESS);
+    assertThat(cache.getOrRecover(BytesValue.fromHexString("0x0102"), recovery))
+        .isEqualTo(ADDRESS);
+    assertThat(recoveries.get()).isEqualTo(1);
+
+    cache.getOrRecover(BytesValue.fromHexString("0x0103"), recovery);
+    assertThat(recoveries.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void failedRecoveryIsNotCached() {
+    final RecoveredAddressCache cache = new RecoveredAddressCache(10);
+
+    assertThatThrownBy(
+            () ->
+                cache.getOrRecover(
+                    KEY,
+                    () -> {
+                      throw new IllegalArgumentException("Invalid signature");
+                    }))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(cache.size()).isZero();
+
+    assertThat(cache.getOrRecover(KEY, recovery)).isEqualTo(ADDRESS);
+  }
+
+  @Test
+  public void unrecoverableAddressIsNotCached() {
+    final RecoveredAddressCache cache = new RecoveredAddressCache(10);
+
+    assertThat(cache.getOrRecover(KEY, () -> null)).isNull();
+    assertThat(cache.size()).isZero();
+
+    assertThat(cache.getOrRecover(KEY, recovery)).isEqualTo(ADDRESS);
+  }
+
+  @Test
+  public void recoversAllSealsInOrder() {
+    final RecoveredAddressCache cache = new RecoveredAddressCache(100);
+    final Hash signedHash = Hash.hash(BytesValue.fromHexString("0x01"));
+    final List<KeyPair> keyPairs =
+        Stream.generate(KeyPair::generate).limit(10).collect(Collectors.toList());
+    final List<Signature> seals =
+        keyPairs
+            .stream()
+            .map(keys -> SECP256K1.sign(signedHash, keys))
+            .collect(Collectors.toList());
+    final List<Address> expectedAddresses =
+        keyPairs
+            .stream()
+            .map(keys -> Util.publicKeyToAddress(keys.getPublicKey()))
+            .collect(Collectors.toList());
+
+    assertThat(cache.recoverAll(seals, signedHash)).isEqualTo(expectedAddresses);
+    assertThat(cache.size()).isEqualTo(10);
+  }
+
+  @Test
+  public void sizeIsBounded() {
+    final RecoveredAddressCache cache = new RecoveredAddressCache(2);
+    for (int i = 0; i < 10; i++) {
+      cache.getOrRecover(BytesValue.of(i), recovery);
+    }
+
+    assertThat(cache.size()).isLessThanOrEqualTo(2);
+  }
+}
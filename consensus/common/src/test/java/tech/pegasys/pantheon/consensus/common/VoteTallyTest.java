@@ -19,6 +19,7 @@ import static tech.pegasys.pantheon.consensus.common.VoteType.ADD;
 import static tech.pegasys.pantheon.consensus.common.VoteType.DROP;
 
 import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 
 import org.junit.Test;
 
@@ -296,6 +297,24 @@ public class VoteTallyTest {
         .containsExactly(validator2, validator3, validator4, validator5);
   }
 
+  @Test
+  public void outstandingVotesAreRestoredFromEncodedTally() {
+    final VoteTally voteTally = fourValidators();
+    voteTally.addVote(new ValidatorVote(ADD, validator1, validator5));
+    voteTally.addVote(new ValidatorVote(DROP, validator2, validator3));
+
+    final VoteTally restored = VoteTally.readFrom(RLP.input(RLP.encode(voteTally::writeTo)));
+
+    assertThat(restored.getValidators()).containsExactlyElementsOf(voteTally.getValidators());
+    assertThat(restored.getOutstandingAddVotesFor(validator5)).containsExactly(validator1);
+    assertThat(restored.getOutstandingRemoveVotesFor(validator3)).containsExactly(validator2);
+
+    // The restored tally continues counting from the outstanding votes.
+    restored.addVote(new ValidatorVote(ADD, validator2, validator5));
+    restored.addVote(new ValidatorVote(ADD, validator3, validator5));
+    assertThat(restored.getValidators()).contains(validator5);
+  }
+
   private VoteTally fourValidators() {
     return new VoteTally(asList(validator1, validator2, validator3, validator4));
   }
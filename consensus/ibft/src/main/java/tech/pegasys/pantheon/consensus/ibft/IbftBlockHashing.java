@@ -12,17 +12,16 @@
  */
 package tech.pegasys.pantheon.consensus.ibft;
 
+import tech.pegasys.pantheon.consensus.common.RecoveredAddressCache;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderBuilder;
 import tech.pegasys.pantheon.ethereum.core.Hash;
-import tech.pegasys.pantheon.ethereum.core.Util;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.List;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 public class IbftBlockHashing {
 
@@ -61,6 +60,8 @@ public class IbftBlockHashing {
 
   /**
    * Recovers the {@link Address} for each validator that contributed a committed seal to the block.
+   * Seals are recovered in parallel for large validator sets, and recovered addresses are kept in
+   * the shared {@link RecoveredAddressCache}.
    *
    * @param header the block header that was signed by the committed seals
    * @param ibftExtraData the parsed {@link IbftExtraData} from the header
@@ -71,11 +72,7 @@ public class IbftBlockHashing {
     final Hash committerHash =
         IbftBlockHashing.calculateDataHashForCommittedSeal(header, ibftExtraData);
 
-    return ibftExtraData
-        .getSeals()
-        .stream()
-        .map(p -> Util.signatureToAddress(p, committerHash))
-        .collect(Collectors.toList());
+    return RecoveredAddressCache.shared().recoverAll(ibftExtraData.getSeals(), committerHash);
   }
 
   private static BytesValue serializeHeader(
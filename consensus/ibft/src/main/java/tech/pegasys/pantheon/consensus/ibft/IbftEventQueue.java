@@ -13,41 +13,166 @@
 package tech.pegasys.pantheon.consensus.ibft;
 
 import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftEvent;
+import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftEvents.Type;
+import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftReceivedMessageEvent;
+import tech.pegasys.pantheon.consensus.ibft.ibftevent.NewChainHead;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPException;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nullable;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-/** Threadsafe queue that lets parts of the system inform the Ibft infrastructure about events */
+/**
+ * Threadsafe queue that lets parts of the system inform the Ibft infrastructure about events
+ *
+ * <p>Locally generated events (timer expiries and new chain heads) are kept apart from network
+ * messages and always handed out first, so a flood of gossip cannot delay or evict the events the
+ * consensus needs to make progress. When the message backlog is full, messages for heights that
+ * the chain has already passed are discarded to make room before any new message is rejected.
+ */
 public class IbftEventQueue {
-  private final BlockingQueue<IbftEvent> queue = new LinkedBlockingQueue<>();
-
   private static final int MAX_QUEUE_SIZE = 1000;
+  private static final long UNKNOWN_HEIGHT = -1;
   private static final Logger LOG = LogManager.getLogger();
 
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Deque<QueuedEvent> localEvents = new ArrayDeque<>();
+  private final Deque<QueuedEvent> messageEvents = new ArrayDeque<>();
+  // Height of the most recent chain head seen on the queue, messages at or below it are stale
+  private long chainHeadHeight = UNKNOWN_HEIGHT;
+
+  private final LabelledMetric<Counter> droppedEventsCounter;
+  private final LabelledMetric<OperationTimer> queueWaitTimer;
+
+  public IbftEventQueue(final MetricsSystem metricsSystem) {
+    metricsSystem.createGauge(
+        MetricCategory.NETWORK,
+        "ibft_event_queue_size",
+        "Number of IBFT events waiting to be processed",
+        () -> (double) size());
+    droppedEventsCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.NETWORK,
+            "ibft_event_queue_dropped_total",
+            "Number of IBFT events discarded because the queue was full",
+            "type",
+            "reason");
+    queueWaitTimer =
+        metricsSystem.createLabelledTimer(
+            MetricCategory.NETWORK,
+            "ibft_event_queue_wait_seconds",
+            "Time IBFT events spend on the queue before being processed",
+            "type");
+  }
+
+  public IbftEventQueue() {
+    this(new NoOpMetricsSystem());
+  }
+
   /**
    * Put an Ibft event onto the queue
    *
    * @param event Provided ibft event
    */
   public void add(final IbftEvent event) {
-    if (queue.size() > MAX_QUEUE_SIZE) {
-      LOG.warn("Queue size exceeded trying to add new ibft event {}", event.toString());
-    } else {
-      queue.add(event);
+    final QueuedEvent queuedEvent =
+        new QueuedEvent(event, queueWaitTimer.labels(typeLabel(event)).startTimer());
+    lock.lock();
+    try {
+      if (isLocalEvent(event)) {
+        addLocalEvent(queuedEvent);
+      } else {
+        addMessageEvent(queuedEvent);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void addLocalEvent(final QueuedEvent queuedEvent) {
+    if (queuedEvent.event instanceof NewChainHead) {
+      chainHeadHeight =
+          Math.max(
+              chainHeadHeight,
+              ((NewChainHead) queuedEvent.event).getNewChainHeadHeader().getNumber());
+    }
+    if (localEvents.size() > MAX_QUEUE_SIZE) {
+      discard(queuedEvent, "full");
+      return;
+    }
+    localEvents.add(queuedEvent);
+    notEmpty.signal();
+  }
+
+  private void addMessageEvent(final QueuedEvent queuedEvent) {
+    if (messageEvents.size() > MAX_QUEUE_SIZE) {
+      if (isStale(queuedEvent)) {
+        discard(queuedEvent, "stale");
+        return;
+      }
+      discardStaleMessages();
+      if (messageEvents.size() > MAX_QUEUE_SIZE) {
+        discard(queuedEvent, "full");
+        return;
+      }
+    }
+    messageEvents.add(queuedEvent);
+    notEmpty.signal();
+  }
+
+  private void discardStaleMessages() {
+    final Iterator<QueuedEvent> iterator = messageEvents.iterator();
+    while (iterator.hasNext()) {
+      final QueuedEvent queuedEvent = iterator.next();
+      if (isStale(queuedEvent)) {
+        iterator.remove();
+        discard(queuedEvent, "stale");
+      }
+    }
+  }
+
+  private boolean isStale(final QueuedEvent queuedEvent) {
+    if (chainHeadHeight == UNKNOWN_HEIGHT) {
+      return false;
     }
+    final long height = queuedEvent.getHeight();
+    return height != UNKNOWN_HEIGHT && height <= chainHeadHeight;
+  }
+
+  private void discard(final QueuedEvent queuedEvent, final String reason) {
+    LOG.warn("Queue size exceeded, discarding {} ibft event {}", reason, queuedEvent.event);
+    droppedEventsCounter.labels(typeLabel(queuedEvent.event), reason).inc();
   }
 
   public int size() {
-    return queue.size();
+    lock.lock();
+    try {
+      return localEvents.size() + messageEvents.size();
+    } finally {
+      lock.unlock();
+    }
   }
 
   public boolean isEmpty() {
-    return queue.isEmpty();
+    return size() == 0;
   }
 
   /**
@@ -61,6 +186,74 @@ public class IbftEventQueue {
    */
   @Nullable
   public IbftEvent poll(final long timeout, final TimeUnit unit) throws InterruptedException {
-    return queue.poll(timeout, unit);
+    long remainingNanos = unit.toNanos(timeout);
+    final QueuedEvent queuedEvent;
+    lock.lockInterruptibly();
+    try {
+      while (localEvents.isEmpty() && messageEvents.isEmpty()) {
+        if (remainingNanos <= 0) {
+          return null;
+        }
+        remainingNanos = notEmpty.awaitNanos(remainingNanos);
+      }
+      queuedEvent = localEvents.isEmpty() ? messageEvents.poll() : localEvents.poll();
+    } finally {
+      lock.unlock();
+    }
+    queuedEvent.waitTimer.stopTimer();
+    return queuedEvent.event;
+  }
+
+  private static boolean isLocalEvent(final IbftEvent event) {
+    final Type type = event.getType();
+    return type == Type.ROUND_EXPIRY
+        || type == Type.BLOCK_TIMER_EXPIRY
+        || type == Type.NEW_CHAIN_HEAD;
+  }
+
+  private static String typeLabel(final IbftEvent event) {
+    final Type type = event.getType();
+    return type == null ? "unknown" : type.name().toLowerCase(Locale.US);
+  }
+
+  /**
+   * Reads the chain height a message refers to. Every IBFT message is an RLP list of a payload and
+   * a signature, where the payload itself starts with its round identifier, so the height can be
+   * read without decoding the rest of the message or recovering its signature.
+   */
+  private static long readMessageHeight(final IbftEvent event) {
+    if (!(event instanceof IbftReceivedMessageEvent)) {
+      return UNKNOWN_HEIGHT;
+    }
+    try {
+      final RLPInput rlpInput =
+          RLP.input(((IbftReceivedMessageEvent) event).getMessage().getData().getData());
+      rlpInput.enterList();
+      rlpInput.enterList();
+      return rlpInput.readLong();
+    } catch (final RLPException e) {
+      return UNKNOWN_HEIGHT;
+    }
+  }
+
+  private static class QueuedEvent {
+    private final IbftEvent event;
+    private final TimingContext waitTimer;
+    private long height = UNKNOWN_HEIGHT;
+    private boolean heightRead = false;
+
+    private QueuedEvent(final IbftEvent event, final TimingContext waitTimer) {
+      this.event = event;
+      this.waitTimer = waitTimer;
+    }
+
+    // Only read when the queue is full, and at most once per message
+    private long getHeight() {
+      if (!heightRead) {
+        height = readMessageHeight(event);
+        heightRead = true;
+      }
+      return height;
+    }
   }
 }
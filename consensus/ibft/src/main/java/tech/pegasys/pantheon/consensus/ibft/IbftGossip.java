@@ -12,47 +12,72 @@
  */
 package tech.pegasys.pantheon.consensus.ibft;
 
-import tech.pegasys.pantheon.consensus.ibft.messagedata.CommitMessageData;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.IbftV2;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.NewRoundMessageData;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.PrepareMessageData;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.ProposalMessageData;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.RoundChangeMessageData;
 import tech.pegasys.pantheon.consensus.ibft.network.ValidatorMulticaster;
-import tech.pegasys.pantheon.consensus.ibft.payload.SignedData;
-import tech.pegasys.pantheon.crypto.SECP256K1.Signature;
+import tech.pegasys.pantheon.crypto.Hash;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.p2p.api.Message;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import com.google.common.collect.Lists;
 
 /** Class responsible for rebroadcasting IBFT messages to known validators */
 public class IbftGossip {
+  private static final int DEFAULT_MAX_SEEN_MESSAGES = 10_000;
+
   private final ValidatorMulticaster multicaster;
 
-  // Size of the seenMessages cache, should end up utilising 65bytes * this number + some meta data
+  // Size of the seenMessages cache, should end up utilising 32bytes * this number + some meta data
   private final int maxSeenMessages;
 
-  // Set that starts evicting members when it hits capacity
-  private final Set<Signature> seenMessages =
-      Collections.newSetFromMap(
-          new LinkedHashMap<Signature, Boolean>() {
-            @Override
-            protected boolean removeEldestEntry(final Map.Entry<Signature, Boolean> eldest) {
-              return size() > maxSeenMessages;
-            }
-          });
+  // Hashes of the raw messages already received, evicted in insertion order once at capacity
+  private final Set<Bytes32> seenMessages = ConcurrentHashMap.newKeySet();
+  private final Queue<Bytes32> seenMessagesInsertionOrder = new ConcurrentLinkedQueue<>();
 
-  IbftGossip(final ValidatorMulticaster multicaster, final int maxSeenMessages) {
+  private final Counter duplicateMessagesCounter;
+  private final Counter rebroadcastMessagesCounter;
+
+  IbftGossip(
+      final ValidatorMulticaster multicaster,
+      final int maxSeenMessages,
+      final MetricsSystem metricsSystem) {
     this.maxSeenMessages = maxSeenMessages;
     this.multicaster = multicaster;
+
+    final LabelledMetric<Counter> gossipedMessages =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.NETWORK,
+            "ibft_gossip_messages_total",
+            "Number of IBFT messages dropped as repeats or rebroadcast to other validators",
+            "outcome");
+    duplicateMessagesCounter = gossipedMessages.labels("duplicate");
+    rebroadcastMessagesCounter = gossipedMessages.labels("rebroadcast");
+  }
+
+  IbftGossip(final ValidatorMulticaster multicaster, final int maxSeenMessages) {
+    this(multicaster, maxSeenMessages, new NoOpMetricsSystem());
+  }
+
+  /**
+   * Constructor that attaches gossip logic to a set of multicaster
+   *
+   * @param multicaster Network connections to the remote validators
+   * @param metricsSystem Metrics system used to report duplicate and rebroadcast messages
+   */
+  public IbftGossip(final ValidatorMulticaster multicaster, final MetricsSystem metricsSystem) {
+    this(multicaster, DEFAULT_MAX_SEEN_MESSAGES, metricsSystem);
   }
 
   /**
@@ -61,48 +86,49 @@ public class IbftGossip {
    * @param multicaster Network connections to the remote validators
    */
   public IbftGossip(final ValidatorMulticaster multicaster) {
-    this(multicaster, 10_000);
+    this(multicaster, new NoOpMetricsSystem());
   }
 
   /**
-   * Retransmit a given IBFT message to other known validators nodes
+   * Records an IBFT message as seen, returning whether it had already been seen.
    *
-   * @param message The raw message to be gossiped
-   * @return Whether the message was rebroadcast or has been ignored as a repeat
+   * <p>Repeats are detected from the hash of the message code and raw message, so that they can be
+   * dropped before being decoded or having their signature recovered.
+   *
+   * @param message The raw message received
+   * @return Whether the message had already been seen
    */
-  public boolean gossipMessage(final Message message) {
+  public boolean isDuplicate(final Message message) {
     final MessageData messageData = message.getData();
-    final SignedData<?> signedData;
-    switch (messageData.getCode()) {
-      case IbftV2.PROPOSAL:
-        signedData = ProposalMessageData.fromMessageData(messageData).decode();
-        break;
-      case IbftV2.PREPARE:
-        signedData = PrepareMessageData.fromMessageData(messageData).decode();
-        break;
-      case IbftV2.COMMIT:
-        signedData = CommitMessageData.fromMessageData(messageData).decode();
-        break;
-      case IbftV2.ROUND_CHANGE:
-        signedData = RoundChangeMessageData.fromMessageData(messageData).decode();
-        break;
-      case IbftV2.NEW_ROUND:
-        signedData = NewRoundMessageData.fromMessageData(messageData).decode();
-        break;
-      default:
-        throw new IllegalArgumentException(
-            "Received message does not conform to any recognised IBFT message structure.");
-    }
-    final Signature signature = signedData.getSignature();
-    if (seenMessages.contains(signature)) {
-      return false;
-    } else {
-      final List<Address> excludeAddressesList =
-          Lists.newArrayList(
-              message.getConnection().getPeer().getAddress(), signedData.getSender());
-      multicaster.send(messageData, excludeAddressesList);
-      seenMessages.add(signature);
+    final Bytes32 messageHash =
+        Hash.keccak256(
+            BytesValues.concatenate(
+                BytesValues.ofUnsignedInt(messageData.getCode()), messageData.getData()));
+    if (!seenMessages.add(messageHash)) {
+      duplicateMessagesCounter.inc();
       return true;
     }
+    seenMessagesInsertionOrder.add(messageHash);
+    while (seenMessages.size() > maxSeenMessages) {
+      final Bytes32 eldest = seenMessagesInsertionOrder.poll();
+      if (eldest == null) {
+        break;
+      }
+      seenMessages.remove(eldest);
+    }
+    return false;
+  }
+
+  /**
+   * Retransmit a given IBFT message to other known validators nodes
+   *
+   * @param message The raw message to be gossiped
+   * @param signer The address of the validator which signed the message
+   */
+  public void gossipMessage(final Message message, final Address signer) {
+    final List<Address> excludeAddressesList =
+        Lists.newArrayList(message.getConnection().getPeer().getAddress(), signer);
+    multicaster.send(message.getData(), excludeAddressesList);
+    rebroadcastMessagesCounter.inc();
   }
 }
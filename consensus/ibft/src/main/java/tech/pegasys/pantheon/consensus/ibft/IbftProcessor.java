@@ -13,7 +13,14 @@
 package tech.pegasys.pantheon.consensus.ibft;
 
 import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftEvent;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
+import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -32,6 +39,7 @@ public class IbftProcessor implements Runnable {
   private final ScheduledExecutorService roundTimerExecutor;
   private volatile boolean shutdown = false;
   private final EventMultiplexer eventMultiplexer;
+  private final LabelledMetric<OperationTimer> processingTimer;
 
   /**
    * Construct a new IbftProcessor
@@ -41,9 +49,27 @@ public class IbftProcessor implements Runnable {
    */
   public IbftProcessor(
       final IbftEventQueue incomingQueue, final EventMultiplexer eventMultiplexer) {
+    this(incomingQueue, eventMultiplexer, new NoOpMetricsSystem());
+  }
+
+  /**
+   * Construct a new IbftProcessor
+   *
+   * @param incomingQueue The event queue from which to drain new events
+   * @param eventMultiplexer an object capable of handling any/all IBFT events
+   * @param metricsSystem Metrics system used to report how long each event takes to handle
+   */
+  public IbftProcessor(
+      final IbftEventQueue incomingQueue,
+      final EventMultiplexer eventMultiplexer,
+      final MetricsSystem metricsSystem) {
     // Spawning the round timer with a single thread as we should never have more than 1 timer in
     // flight at a time
-    this(incomingQueue, eventMultiplexer, Executors.newSingleThreadScheduledExecutor());
+    this(
+        incomingQueue,
+        eventMultiplexer,
+        Executors.newSingleThreadScheduledExecutor(),
+        metricsSystem);
   }
 
   @VisibleForTesting
@@ -51,9 +77,23 @@ public class IbftProcessor implements Runnable {
       final IbftEventQueue incomingQueue,
       final EventMultiplexer eventMultiplexer,
       final ScheduledExecutorService roundTimerExecutor) {
+    this(incomingQueue, eventMultiplexer, roundTimerExecutor, new NoOpMetricsSystem());
+  }
+
+  private IbftProcessor(
+      final IbftEventQueue incomingQueue,
+      final EventMultiplexer eventMultiplexer,
+      final ScheduledExecutorService roundTimerExecutor,
+      final MetricsSystem metricsSystem) {
     this.incomingQueue = incomingQueue;
     this.eventMultiplexer = eventMultiplexer;
     this.roundTimerExecutor = roundTimerExecutor;
+    this.processingTimer =
+        metricsSystem.createLabelledTimer(
+            MetricCategory.NETWORK,
+            "ibft_event_processing_seconds",
+            "Time taken to handle IBFT events",
+            "type");
   }
 
   /** Indicate to the processor that it should gracefully stop at its next opportunity */
@@ -64,13 +104,21 @@ public class IbftProcessor implements Runnable {
   @Override
   public void run() {
     while (!shutdown) {
-      nextIbftEvent().ifPresent(event -> eventMultiplexer.handleIbftEvent(event));
+      nextIbftEvent().ifPresent(this::handleIbftEvent);
     }
     // Clean up the executor service the round timer has been utilising
     LOG.info("Shutting down IBFT event processor");
     roundTimerExecutor.shutdownNow();
   }
 
+  private void handleIbftEvent(final IbftEvent event) {
+    final String type =
+        event.getType() == null ? "unknown" : event.getType().name().toLowerCase(Locale.US);
+    try (final TimingContext ignored = processingTimer.labels(type).startTimer()) {
+      eventMultiplexer.handleIbftEvent(event);
+    }
+  }
+
   private Optional<IbftEvent> nextIbftEvent() {
     try {
       return Optional.ofNullable(incomingQueue.poll(500, TimeUnit.MILLISECONDS));
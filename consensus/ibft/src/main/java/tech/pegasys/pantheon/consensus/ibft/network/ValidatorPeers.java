@@ -17,8 +17,13 @@ import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection.PeerNotConnected;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -39,9 +44,26 @@ public class ValidatorPeers implements ValidatorMulticaster, PeerConnectionTrack
 
   private final Map<Address, PeerConnection> peerConnections = Maps.newConcurrentMap();
   private final ValidatorProvider validatorProvider;
+  private final Counter multicastCounter;
+  private final Counter multicastRecipientsCounter;
 
-  public ValidatorPeers(final ValidatorProvider validatorProvider) {
+  public ValidatorPeers(
+      final ValidatorProvider validatorProvider, final MetricsSystem metricsSystem) {
     this.validatorProvider = validatorProvider;
+    this.multicastCounter =
+        metricsSystem.createCounter(
+            MetricCategory.NETWORK,
+            "ibft_multicasts_total",
+            "Number of IBFT messages multicast to validators");
+    this.multicastRecipientsCounter =
+        metricsSystem.createCounter(
+            MetricCategory.NETWORK,
+            "ibft_multicast_recipients_total",
+            "Number of validator peers IBFT messages were multicast to");
+  }
+
+  public ValidatorPeers(final ValidatorProvider validatorProvider) {
+    this(validatorProvider, new NoOpMetricsSystem());
   }
 
   @Override
@@ -77,20 +99,24 @@ public class ValidatorPeers implements ValidatorMulticaster, PeerConnectionTrack
       final Collection<Address> recipients, final MessageData message) {
     LOG.trace(
         "Sending message to peers messageCode={} recipients={}", message.getCode(), recipients);
-    recipients
-        .stream()
-        .map(peerConnections::get)
-        .filter(Objects::nonNull)
-        .forEach(
-            connection -> {
-              try {
-                connection.sendForProtocol(PROTOCOL_NAME, message);
-              } catch (final PeerNotConnected peerNotConnected) {
-                LOG.trace(
-                    "Lost connection to a validator. remoteAddress={} peerInfo={}",
-                    connection.getRemoteAddress(),
-                    connection.getPeer());
-              }
-            });
+    final List<PeerConnection> connections =
+        recipients
+            .stream()
+            .map(peerConnections::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    multicastCounter.inc();
+    multicastRecipientsCounter.inc(connections.size());
+    connections.forEach(
+        connection -> {
+          try {
+            connection.sendForProtocol(PROTOCOL_NAME, message);
+          } catch (final PeerNotConnected peerNotConnected) {
+            LOG.trace(
+                "Lost connection to a validator. remoteAddress={} peerInfo={}",
+                connection.getRemoteAddress(),
+                connection.getPeer());
+          }
+        });
   }
 }
@@ -32,6 +32,8 @@ import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.p2p.api.Message;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 import java.util.List;
 import java.util.Map;
@@ -57,12 +59,20 @@ public class IbftController {
       final Blockchain blockchain,
       final IbftFinalState ibftFinalState,
       final IbftBlockHeightManagerFactory ibftBlockHeightManagerFactory) {
+    this(blockchain, ibftFinalState, ibftBlockHeightManagerFactory, new NoOpMetricsSystem());
+  }
+
+  public IbftController(
+      final Blockchain blockchain,
+      final IbftFinalState ibftFinalState,
+      final IbftBlockHeightManagerFactory ibftBlockHeightManagerFactory,
+      final MetricsSystem metricsSystem) {
     this(
         blockchain,
         ibftFinalState,
         ibftBlockHeightManagerFactory,
         Maps.newHashMap(),
-        new IbftGossip(ibftFinalState.getValidatorMulticaster()));
+        new IbftGossip(ibftFinalState.getValidatorMulticaster(), metricsSystem));
   }
 
   @VisibleForTesting
@@ -88,6 +98,15 @@ public class IbftController {
   }
 
   private void handleMessage(final Message message) {
+    // Repeats are dropped before they are decoded or have their signature recovered.
+    if (gossiper.isDuplicate(message)) {
+      LOG.trace("Discarding repeated IBFT message messageCode={}", message.getData().getCode());
+      return;
+    }
+    dispatchMessage(message);
+  }
+
+  private void dispatchMessage(final Message message) {
     final MessageData messageData = message.getData();
     switch (messageData.getCode()) {
       case IbftV2.PROPOSAL:
@@ -142,7 +161,7 @@ public class IbftController {
         signedPayload.getPayload().getMessageType(),
         signedPayload);
     if (processMessage(signedPayload, message)) {
-      gossiper.gossipMessage(message);
+      gossiper.gossipMessage(message, signedPayload.getSender());
       handleMessage.accept(signedPayload);
     }
   }
@@ -202,7 +221,8 @@ public class IbftController {
     currentHeightManager = ibftBlockHeightManagerFactory.create(parentHeader);
     currentHeightManager.start();
     final long newChainHeight = currentHeightManager.getChainHeight();
-    futureMessages.getOrDefault(newChainHeight, emptyList()).forEach(this::handleMessage);
+    // Buffered messages were recorded as seen when they were received.
+    futureMessages.getOrDefault(newChainHeight, emptyList()).forEach(this::dispatchMessage);
     futureMessages.remove(newChainHeight);
   }
 
@@ -15,8 +15,16 @@ package tech.pegasys.pantheon.consensus.ibft;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
+import tech.pegasys.pantheon.consensus.ibft.ibftevent.BlockTimerExpiry;
 import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftEvent;
+import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftEvents;
 import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftEvents.Type;
+import tech.pegasys.pantheon.consensus.ibft.ibftevent.NewChainHead;
+import tech.pegasys.pantheon.consensus.ibft.messagedata.IbftV2;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.p2p.wire.DefaultMessage;
+import tech.pegasys.pantheon.ethereum.p2p.wire.RawMessage;
+import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -82,4 +90,74 @@ public class IbftEventQueueTest {
     assertThat(drain).doesNotContainNull();
     assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isNull();
   }
+
+  @Test
+  public void localEventsArePolledBeforeMessages() throws InterruptedException {
+    final IbftEventQueue queue = new IbftEventQueue();
+
+    final DummyIbftEvent dummyEvent = new DummyIbftEvent();
+    final BlockTimerExpiry timerExpiry = new BlockTimerExpiry(new ConsensusRoundIdentifier(1, 0));
+    queue.add(dummyEvent);
+    queue.add(timerExpiry);
+
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(timerExpiry);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(dummyEvent);
+  }
+
+  @Test
+  public void localEventsAreAcceptedWhenMessagesAreFull() throws InterruptedException {
+    final IbftEventQueue queue = new IbftEventQueue();
+
+    for (int i = 0; i <= 1001; i++) {
+      queue.add(new DummyIbftEvent());
+    }
+    final BlockTimerExpiry timerExpiry = new BlockTimerExpiry(new ConsensusRoundIdentifier(1, 0));
+    queue.add(timerExpiry);
+
+    assertThat(queue.size()).isEqualTo(1002);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(timerExpiry);
+  }
+
+  @Test
+  public void staleMessagesAreDiscardedFirstWhenFull() throws InterruptedException {
+    final IbftEventQueue queue = new IbftEventQueue();
+
+    for (int i = 0; i <= 1000; i++) {
+      queue.add(messageForHeight(1));
+    }
+    final NewChainHead newChainHead =
+        new NewChainHead(new BlockHeaderTestFixture().number(1).buildHeader());
+    queue.add(newChainHead);
+    final IbftEvent currentMessage = messageForHeight(2);
+    queue.add(currentMessage);
+
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(newChainHead);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(currentMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isNull();
+  }
+
+  @Test
+  public void newMessageIsDiscardedWhenFullOfCurrentMessages() throws InterruptedException {
+    final IbftEventQueue queue = new IbftEventQueue();
+
+    queue.add(new NewChainHead(new BlockHeaderTestFixture().number(1).buildHeader()));
+    for (int i = 0; i <= 1000; i++) {
+      queue.add(messageForHeight(2));
+    }
+    queue.add(messageForHeight(2));
+
+    assertThat(queue.size()).isEqualTo(1002);
+  }
+
+  private static IbftEvent messageForHeight(final long height) {
+    // Only the round identifier at the start of the payload is needed to tell the height
+    final BytesValueRLPOutput rlpOutput = new BytesValueRLPOutput();
+    rlpOutput.startList();
+    rlpOutput.startList();
+    new ConsensusRoundIdentifier(height, 0).writeTo(rlpOutput);
+    rlpOutput.endList();
+    rlpOutput.endList();
+    return IbftEvents.fromMessage(
+        new DefaultMessage(null, new RawMessage(IbftV2.PREPARE, rlpOutput.encoded())));
+  }
 }
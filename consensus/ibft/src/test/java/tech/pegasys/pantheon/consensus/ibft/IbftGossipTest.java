@@ -14,10 +14,10 @@ package tech.pegasys.pantheon.consensus.ibft;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import tech.pegasys.pantheon.consensus.ibft.messagedata.CommitMessageData;
+import tech.pegasys.pantheon.consensus.ibft.messagedata.IbftV2;
 import tech.pegasys.pantheon.consensus.ibft.messagedata.NewRoundMessageData;
 import tech.pegasys.pantheon.consensus.ibft.messagedata.PrepareMessageData;
 import tech.pegasys.pantheon.consensus.ibft.messagedata.ProposalMessageData;
@@ -34,6 +34,7 @@ import tech.pegasys.pantheon.ethereum.p2p.api.Message;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection;
 import tech.pegasys.pantheon.ethereum.p2p.wire.DefaultMessage;
+import tech.pegasys.pantheon.ethereum.p2p.wire.RawMessage;
 
 import java.util.function.Function;
 
@@ -64,13 +65,12 @@ public class IbftGossipTest {
     final MessageData messageData = createMessageData.apply(payload);
     final Message message = new DefaultMessage(peerConnection, messageData);
 
-    final boolean gossipResult = ibftGossip.gossipMessage(message);
-    assertThat(gossipResult).isTrue();
+    ibftGossip.gossipMessage(message, payload.getSender());
     verify(validatorMulticaster)
         .send(messageData, newArrayList(senderAddress, payload.getSender()));
   }
 
-  private <P extends Payload> void assertRebroadcastOnlyOnce(
+  private <P extends Payload> void assertDetectedAsDuplicateWhenRepeated(
       final Function<KeyPair, SignedData<P>> createPayload,
       final Function<SignedData<P>, MessageData> createMessageData) {
     final KeyPair keypair = KeyPair.generate();
@@ -78,12 +78,8 @@ public class IbftGossipTest {
     final MessageData messageData = createMessageData.apply(payload);
     final Message message = new DefaultMessage(peerConnection, messageData);
 
-    final boolean gossip1Result = ibftGossip.gossipMessage(message);
-    final boolean gossip2Result = ibftGossip.gossipMessage(message);
-    assertThat(gossip1Result).isTrue();
-    assertThat(gossip2Result).isFalse();
-    verify(validatorMulticaster, times(1))
-        .send(messageData, newArrayList(senderAddress, payload.getSender()));
+    assertThat(ibftGossip.isDuplicate(message)).isFalse();
+    assertThat(ibftGossip.isDuplicate(message)).isTrue();
   }
 
   @Test
@@ -93,8 +89,8 @@ public class IbftGossipTest {
   }
 
   @Test
-  public void assertRebroadcastsProposalOnlyOnce() {
-    assertRebroadcastOnlyOnce(
+  public void assertRepeatedProposalIsDuplicate() {
+    assertDetectedAsDuplicateWhenRepeated(
         TestHelpers::createSignedProposalPayload, ProposalMessageData::create);
   }
 
@@ -105,8 +101,9 @@ public class IbftGossipTest {
   }
 
   @Test
-  public void assertRebroadcastsPrepareOnlyOnce() {
-    assertRebroadcastOnlyOnce(TestHelpers::createSignedPreparePayload, PrepareMessageData::create);
+  public void assertRepeatedPrepareIsDuplicate() {
+    assertDetectedAsDuplicateWhenRepeated(
+        TestHelpers::createSignedPreparePayload, PrepareMessageData::create);
   }
 
   @Test
@@ -116,8 +113,9 @@ public class IbftGossipTest {
   }
 
   @Test
-  public void assertRebroadcastsCommitOnlyOnce() {
-    assertRebroadcastOnlyOnce(TestHelpers::createSignedCommitPayload, CommitMessageData::create);
+  public void assertRepeatedCommitIsDuplicate() {
+    assertDetectedAsDuplicateWhenRepeated(
+        TestHelpers::createSignedCommitPayload, CommitMessageData::create);
   }
 
   @Test
@@ -127,8 +125,8 @@ public class IbftGossipTest {
   }
 
   @Test
-  public void assertRebroadcastsRoundChangeOnlyOnce() {
-    assertRebroadcastOnlyOnce(
+  public void assertRepeatedRoundChangeIsDuplicate() {
+    assertDetectedAsDuplicateWhenRepeated(
         TestHelpers::createSignedRoundChangePayload, RoundChangeMessageData::create);
   }
 
@@ -139,56 +137,43 @@ public class IbftGossipTest {
   }
 
   @Test
-  public void assertRebroadcastsNewRoundOnlyOnce() {
-    assertRebroadcastOnlyOnce(
+  public void assertRepeatedNewRoundIsDuplicate() {
+    assertDetectedAsDuplicateWhenRepeated(
         TestHelpers::createSignedNewRoundPayload, NewRoundMessageData::create);
   }
 
   @Test
-  public void evictMessageRecordAtCapacity() {
+  public void samePayloadWithDifferentMessageCodeIsNotDuplicate() {
     final KeyPair keypair = KeyPair.generate();
-    final SignedData<ProposalPayload> payload =
-        TestHelpers.createSignedProposalPayloadWithRound(keypair, 0);
+    final SignedData<ProposalPayload> payload = TestHelpers.createSignedProposalPayload(keypair);
     final MessageData messageData = ProposalMessageData.create(payload);
-    final Message message = new DefaultMessage(peerConnection, messageData);
-    final boolean gossip1Result = ibftGossip.gossipMessage(message);
-    final boolean gossip2Result = ibftGossip.gossipMessage(message);
-    assertThat(gossip1Result).isTrue();
-    assertThat(gossip2Result).isFalse();
-    verify(validatorMulticaster, times(1))
-        .send(messageData, newArrayList(senderAddress, payload.getSender()));
+    assertThat(ibftGossip.isDuplicate(new DefaultMessage(peerConnection, messageData))).isFalse();
 
-    for (int i = 1; i <= 9; i++) {
-      final SignedData<ProposalPayload> nextPayload =
-          TestHelpers.createSignedProposalPayloadWithRound(keypair, i);
-      final MessageData nextMessageData = ProposalMessageData.create(nextPayload);
-      final Message nextMessage = new DefaultMessage(peerConnection, nextMessageData);
-      final boolean nextGossipResult = ibftGossip.gossipMessage(nextMessage);
-      assertThat(nextGossipResult).isTrue();
-    }
+    final MessageData otherCodeData = new RawMessage(IbftV2.PREPARE, messageData.getData());
+    assertThat(ibftGossip.isDuplicate(new DefaultMessage(peerConnection, otherCodeData)))
+        .isFalse();
+  }
 
-    final boolean gossip3Result = ibftGossip.gossipMessage(message);
-    assertThat(gossip3Result).isFalse();
-    verify(validatorMulticaster, times(1))
-        .send(messageData, newArrayList(senderAddress, payload.getSender()));
+  @Test
+  public void evictMessageRecordAtCapacity() {
+    final KeyPair keypair = KeyPair.generate();
+    final Message message = proposalMessageForRound(keypair, 0);
+    assertThat(ibftGossip.isDuplicate(message)).isFalse();
+    assertThat(ibftGossip.isDuplicate(message)).isTrue();
 
-    {
-      final SignedData<ProposalPayload> nextPayload =
-          TestHelpers.createSignedProposalPayloadWithRound(keypair, 10);
-      final MessageData nextMessageData = ProposalMessageData.create(nextPayload);
-      final Message nextMessage = new DefaultMessage(peerConnection, nextMessageData);
-      final boolean nextGossipResult = ibftGossip.gossipMessage(nextMessage);
-      assertThat(nextGossipResult).isTrue();
+    for (int i = 1; i <= 9; i++) {
+      assertThat(ibftGossip.isDuplicate(proposalMessageForRound(keypair, i))).isFalse();
     }
+    assertThat(ibftGossip.isDuplicate(message)).isTrue();
 
-    final boolean gossip4Result = ibftGossip.gossipMessage(message);
-    assertThat(gossip4Result).isTrue();
-    verify(validatorMulticaster, times(2))
-        .send(messageData, newArrayList(senderAddress, payload.getSender()));
+    assertThat(ibftGossip.isDuplicate(proposalMessageForRound(keypair, 10))).isFalse();
+    assertThat(ibftGossip.isDuplicate(message)).isFalse();
+    assertThat(ibftGossip.isDuplicate(message)).isTrue();
+  }
 
-    final boolean gossip5Result = ibftGossip.gossipMessage(message);
-    assertThat(gossip5Result).isFalse();
-    verify(validatorMulticaster, times(2))
-        .send(messageData, newArrayList(senderAddress, payload.getSender()));
+  private Message proposalMessageForRound(final KeyPair keypair, final int round) {
+    final SignedData<ProposalPayload> payload =
+        TestHelpers.createSignedProposalPayloadWithRound(keypair, round);
+    return new DefaultMessage(peerConnection, ProposalMessageData.create(payload));
   }
 }
@@ -151,11 +151,11 @@ public class IbftControllerTest {
     verify(blockHeightManager).start();
     verify(blockHeightManager, never()).handleProposalPayload(signedProposal);
     verify(blockHeightManager).handlePreparePayload(signedPrepare);
-    verify(ibftGossip).gossipMessage(prepareMessage);
+    verify(ibftGossip).gossipMessage(prepareMessage, validator);
     verify(blockHeightManager).handleCommitPayload(signedCommit);
-    verify(ibftGossip).gossipMessage(commitMessage);
+    verify(ibftGossip).gossipMessage(commitMessage, validator);
     verify(blockHeightManager).handleRoundChangePayload(signedRoundChange);
-    verify(ibftGossip).gossipMessage(roundChangeMessage);
+    verify(ibftGossip).gossipMessage(roundChangeMessage, validator);
     verify(blockHeightManager, never()).handleNewRoundPayload(signedNewRound);
   }
 
@@ -181,15 +181,15 @@ public class IbftControllerTest {
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verify(blockHeightManager, times(2)).start(); // once at beginning, and again on newChainHead.
     verify(blockHeightManager).handleProposalPayload(signedProposal);
-    verify(ibftGossip).gossipMessage(proposalMessage);
+    verify(ibftGossip).gossipMessage(proposalMessage, validator);
     verify(blockHeightManager).handlePreparePayload(signedPrepare);
-    verify(ibftGossip).gossipMessage(prepareMessage);
+    verify(ibftGossip).gossipMessage(prepareMessage, validator);
     verify(blockHeightManager).handleCommitPayload(signedCommit);
-    verify(ibftGossip).gossipMessage(commitMessage);
+    verify(ibftGossip).gossipMessage(commitMessage, validator);
     verify(blockHeightManager).handleRoundChangePayload(signedRoundChange);
-    verify(ibftGossip).gossipMessage(roundChangeMessage);
+    verify(ibftGossip).gossipMessage(roundChangeMessage, validator);
     verify(blockHeightManager).handleNewRoundPayload(signedNewRound);
-    verify(ibftGossip).gossipMessage(newRoundMessage);
+    verify(ibftGossip).gossipMessage(newRoundMessage, validator);
   }
 
   @Test
@@ -239,12 +239,25 @@ public class IbftControllerTest {
 
     assertThat(futureMessages).isEmpty();
     verify(blockHeightManager).handleProposalPayload(signedProposal);
-    verify(ibftGossip).gossipMessage(proposalMessage);
+    verify(ibftGossip).gossipMessage(proposalMessage, validator);
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verify(blockHeightManager).start();
     verifyNoMoreInteractions(blockHeightManager);
   }
 
+  @Test
+  public void repeatedMessageIsDiscardedWithoutBeingDecoded() {
+    final Message message = new DefaultMessage(null, prepareMessageData);
+    when(ibftGossip.isDuplicate(message)).thenReturn(true);
+    ibftController.start();
+    ibftController.handleMessageEvent(new IbftReceivedMessageEvent(message));
+
+    verify(prepareMessageData, never()).decode();
+    verify(ibftGossip, never()).gossipMessage(any(), any());
+    verify(blockHeightManager).start();
+    verifyNoMoreInteractions(blockHeightManager);
+  }
+
   @Test
   public void prepareForCurrentHeightIsPassedToBlockHeightManager() {
     setupPrepare(roundIdentifier, validator);
@@ -253,7 +266,7 @@ public class IbftControllerTest {
 
     assertThat(futureMessages).isEmpty();
     verify(blockHeightManager).handlePreparePayload(signedPrepare);
-    verify(ibftGossip).gossipMessage(prepareMessage);
+    verify(ibftGossip).gossipMessage(prepareMessage, validator);
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verify(blockHeightManager).start();
     verifyNoMoreInteractions(blockHeightManager);
@@ -267,7 +280,7 @@ public class IbftControllerTest {
 
     assertThat(futureMessages).isEmpty();
     verify(blockHeightManager).handleCommitPayload(signedCommit);
-    verify(ibftGossip).gossipMessage(commitMessage);
+    verify(ibftGossip).gossipMessage(commitMessage, validator);
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verify(blockHeightManager).start();
     verifyNoMoreInteractions(blockHeightManager);
@@ -282,7 +295,7 @@ public class IbftControllerTest {
 
     assertThat(futureMessages).isEmpty();
     verify(blockHeightManager).handleNewRoundPayload(signedNewRound);
-    verify(ibftGossip).gossipMessage(newRoundMessage);
+    verify(ibftGossip).gossipMessage(newRoundMessage, validator);
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verify(blockHeightManager).start();
     verifyNoMoreInteractions(blockHeightManager);
@@ -297,7 +310,7 @@ public class IbftControllerTest {
 
     assertThat(futureMessages).isEmpty();
     verify(blockHeightManager).handleRoundChangePayload(signedRoundChange);
-    verify(ibftGossip).gossipMessage(roundChangeMessage);
+    verify(ibftGossip).gossipMessage(roundChangeMessage, validator);
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verify(blockHeightManager).start();
     verifyNoMoreInteractions(blockHeightManager);
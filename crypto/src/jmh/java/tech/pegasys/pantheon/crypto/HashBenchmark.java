@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link Hash#keccak256(BytesValue)} from the size of a hash to that of a large contract
+ * or block, against creating a new digest for each input.
+ */
+@State(Scope.Thread)
+public class HashBenchmark {
+
+  @Param({"32", "256", "1024", "32768", "1048576"})
+  public int size;
+
+  private BytesValue input;
+
+  @Setup
+  public void prepare() {
+    final byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+    input = BytesValue.wrap(bytes);
+  }
+
+  @Benchmark
+  public Bytes32 keccak256() {
+    return Hash.keccak256(input);
+  }
+
+  @Benchmark
+  public Bytes32 keccak256WithNewDigest() throws NoSuchAlgorithmException {
+    final MessageDigest digest = BouncyCastleMessageDigestFactory.create(Hash.KECCAK256_ALG);
+    input.update(digest);
+    return Bytes32.wrap(digest.digest());
+  }
+}
@@ -34,40 +34,44 @@ public abstract class Hash {
   private static final String SHA256_ALG = "SHA-256";
   private static final String RIPEMD160 = "RIPEMD160";
 
-  /**
-   * Helper method to generate a digest using the provided algorithm.
-   *
-   * @param input The input bytes to produce the digest for.
-   * @param alg The name of the digest algorithm to use.
-   * @return A digest.
-   */
-  private static byte[] digestUsingAlgorithm(final byte[] input, final String alg) {
-    final MessageDigest digest;
-    try {
-      digest = BouncyCastleMessageDigestFactory.create(alg);
-      digest.update(input);
-      return digest.digest();
-    } catch (final NoSuchAlgorithmException e) {
-      throw new RuntimeException(e);
-    }
+  // Looking up and creating a digest costs more than hashing the small inputs most callers have,
+  // so each thread keeps one instance of each algorithm for reuse.
+  private static final ThreadLocal<MessageDigest> KECCAK256_DIGEST =
+      threadLocalDigest(KECCAK256_ALG);
+  private static final ThreadLocal<MessageDigest> SHA256_DIGEST = threadLocalDigest(SHA256_ALG);
+  private static final ThreadLocal<MessageDigest> RIPEMD160_DIGEST = threadLocalDigest(RIPEMD160);
+
+  private static ThreadLocal<MessageDigest> threadLocalDigest(final String alg) {
+    return ThreadLocal.withInitial(
+        () -> {
+          try {
+            return BouncyCastleMessageDigestFactory.create(alg);
+          } catch (final NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+          }
+        });
   }
 
   /**
-   * Helper method to generate a digest using the provided algorithm.
+   * Helper method to generate a digest using the calling thread's instance of an algorithm.
+   *
+   * <p>The input is absorbed directly from its backing storage rather than from a copy.
    *
    * @param input The input bytes to produce the digest for.
-   * @param alg The name of the digest algorithm to use.
+   * @param digests The per-thread instances of the digest algorithm to use.
    * @return A digest.
    */
-  private static byte[] digestUsingAlgorithm(final BytesValue input, final String alg) {
-    final MessageDigest digest;
+  private static byte[] digestUsingAlgorithm(
+      final BytesValue input, final ThreadLocal<MessageDigest> digests) {
+    final MessageDigest digest = digests.get();
     try {
-      digest = BouncyCastleMessageDigestFactory.create(alg);
       input.update(digest);
-      return digest.digest();
-    } catch (final NoSuchAlgorithmException e) {
-      throw new RuntimeException(e);
+    } catch (final RuntimeException e) {
+      // Don't leave a partial input behind for the next digest computed on this thread.
+      digest.reset();
+      throw e;
     }
+    return digest.digest();
   }
 
   /**
@@ -77,7 +81,7 @@ public abstract class Hash {
    * @return A digest.
    */
   public static Bytes32 sha256(final BytesValue input) {
-    return Bytes32.wrap(digestUsingAlgorithm(input, SHA256_ALG));
+    return Bytes32.wrap(digestUsingAlgorithm(input, SHA256_DIGEST));
   }
 
   /**
@@ -87,7 +91,7 @@ public abstract class Hash {
    * @return A digest.
    */
   public static Bytes32 keccak256(final BytesValue input) {
-    return Bytes32.wrap(digestUsingAlgorithm(input, KECCAK256_ALG));
+    return Bytes32.wrap(digestUsingAlgorithm(input, KECCAK256_DIGEST));
   }
 
   /**
@@ -97,6 +101,6 @@ public abstract class Hash {
    * @return A digest.
    */
   public static BytesValue ripemd160(final BytesValue input) {
-    return BytesValue.wrap(digestUsingAlgorithm(input, RIPEMD160));
+    return BytesValue.wrap(digestUsingAlgorithm(input, RIPEMD160_DIGEST));
   }
 }
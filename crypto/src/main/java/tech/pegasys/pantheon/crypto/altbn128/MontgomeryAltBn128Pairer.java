@@ -0,0 +1,296 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Optimal ate pairing over {@link MontgomeryFq12}, computing the same values as {@link
+ * AltBn128Fq12Pairer}.
+ *
+ * <p>G2 points stay on the sextic twist over {@link MontgomeryFq2}, in projective coordinates, and
+ * the line functions of their Miller loop are computed once, independently of the G1 point they
+ * are evaluated at. Line functions are only computed up to a factor in Fq2, which the final
+ * exponentiation removes. The Miller loops of all the pairs of a product share their squarings,
+ * and the product is exponentiated once.
+ *
+ * <p>The line functions are undefined when the loop reaches a point of small order (which only
+ * happens for G2 points outside of the prime order subgroup). The reference implementation gives
+ * such cases a specific result, so this implementation reports them instead of computing a value,
+ * and callers need to fall back to the reference implementation.
+ */
+public final class MontgomeryAltBn128Pairer {
+
+  private static final int LOG_ATE_LOOP_COUNT = 63;
+  private static final BigInteger ATE_LOOP_COUNT = new BigInteger("29793968203157093288");
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+
+  private static final MontgomeryFq THREE = MontgomeryFq.create(3);
+
+  // Frobenius on the untwisted curve: (x w^2, y w^3)^q = (x^q X_COEFF w^2, y^q Y_COEFF w^3)
+  private static final MontgomeryFq2 TWIST_FROBENIUS_X_COEFFICIENT;
+  private static final MontgomeryFq2 TWIST_FROBENIUS_Y_COEFFICIENT;
+
+  // The exponent (q^4 - q^2 + 1) / r of the hard part of the final exponentiation, in base q.
+  private static final BigInteger[] FINAL_EXPONENT_DIGITS = new BigInteger[4];
+
+  static {
+    final BigInteger q = FieldElement.FIELD_MODULUS;
+    final MontgomeryFq2 nonResidue = MontgomeryFq2.create(BigInteger.valueOf(9), BigInteger.ONE);
+    final BigInteger qMinusOne = q.subtract(BigInteger.ONE);
+    TWIST_FROBENIUS_X_COEFFICIENT = nonResidue.power(qMinusOne.divide(BigInteger.valueOf(3)));
+    TWIST_FROBENIUS_Y_COEFFICIENT = nonResidue.power(qMinusOne.divide(BigInteger.valueOf(2)));
+
+    BigInteger hardExponent = q.pow(4).subtract(q.pow(2)).add(BigInteger.ONE).divide(CURVE_ORDER);
+    for (int i = 0; i < FINAL_EXPONENT_DIGITS.length; i++) {
+      FINAL_EXPONENT_DIGITS[i] = hardExponent.mod(q);
+      hardExponent = hardExponent.divide(q);
+    }
+  }
+
+  private final List<MontgomeryFq[]> g1Points = new ArrayList<>();
+  private final List<PreparedG2Point> g2Points = new ArrayList<>();
+  private boolean degenerate = false;
+
+  /**
+   * Adds a pair of validated points to the product of pairings to check.
+   *
+   * @param p1 A G1 point.
+   * @param p2 A point of the twist curve.
+   */
+  public void addPair(final MontgomeryAltBn128Point p1, final MontgomeryAltBn128TwistPoint p2) {
+    addPair(p1.getX(), p1.getY(), p2.getX(), p2.getY());
+  }
+
+  /**
+   * Adds a pair to the product of pairings to check. Pairs where either point is the point at
+   * infinity contribute a factor of one and are skipped.
+   *
+   * @param p1X The x coordinate of a G1 point.
+   * @param p1Y The y coordinate of a G1 point.
+   * @param p2X The x coordinate of a point of the twist curve.
+   * @param p2Y The y coordinate of a point of the twist curve.
+   */
+  public void addPair(
+      final MontgomeryFq p1X,
+      final MontgomeryFq p1Y,
+      final MontgomeryFq2 p2X,
+      final MontgomeryFq2 p2Y) {
+    if ((p1X.isZero() && p1Y.isZero()) || (p2X.isZero() && p2Y.isZero())) {
+      return;
+    }
+    final Optional<PreparedG2Point> prepared = PreparedG2Point.prepare(p2X, p2Y);
+    if (prepared.isPresent()) {
+      g1Points.add(new MontgomeryFq[] {p1X, p1Y});
+      g2Points.add(prepared.get());
+    } else {
+      degenerate = true;
+    }
+  }
+
+  /**
+   * Checks whether the product of the pairings of all added pairs is one.
+   *
+   * @return Whether the product of pairings is one, or empty if a pair reached a degenerate case
+   *     this implementation does not compute.
+   */
+  public Optional<Boolean> isProductOne() {
+    if (degenerate) {
+      return Optional.empty();
+    }
+    return Optional.of(finalExponentiation(millerLoop()).isOne());
+  }
+
+  /**
+   * Computes the product of the pairings of all added pairs.
+   *
+   * @return The product of pairings, or empty if a pair reached a degenerate case this
+   *     implementation does not compute.
+   */
+  public Optional<MontgomeryFq12> product() {
+    if (degenerate) {
+      return Optional.empty();
+    }
+    return Optional.of(finalExponentiation(millerLoop()));
+  }
+
+  private MontgomeryFq12 millerLoop() {
+    MontgomeryFq12 f = MontgomeryFq12.one();
+    int line = 0;
+    for (int i = LOG_ATE_LOOP_COUNT; i >= 0; i--) {
+      f = f.square();
+      f = multiplyByLines(f, line++);
+      if (ATE_LOOP_COUNT.testBit(i)) {
+        f = multiplyByLines(f, line++);
+      }
+    }
+    f = multiplyByLines(f, line++);
+    return multiplyByLines(f, line);
+  }
+
+  private MontgomeryFq12 multiplyByLines(final MontgomeryFq12 f, final int line) {
+    MontgomeryFq12 result = f;
+    for (int i = 0; i < g2Points.size(); i++) {
+      final MontgomeryFq2[] coefficients = g2Points.get(i).lines.get(line);
+      final MontgomeryFq[] p = g1Points.get(i);
+      result =
+          result.multiplyByLine(
+              coefficients[0].multiply(p[1]).negate(),
+              coefficients[1].multiply(p[0]),
+              coefficients[2]);
+    }
+    return result;
+  }
+
+  static MontgomeryFq12 finalExponentiation(final MontgomeryFq12 f) {
+    // Easy part: f^((q^6 - 1)(q^2 + 1))
+    final MontgomeryFq12 f1 = f.conjugate().multiply(f.inverse());
+    final MontgomeryFq12 f2 = f1.frobenius().frobenius().multiply(f1);
+
+    // Hard part: f2^((q^4 - q^2 + 1) / r), as a product of f2^(q^i) raised to the base q digits of
+    // the exponent, which shares the squarings between the four factors.
+    final MontgomeryFq12[] bases = new MontgomeryFq12[FINAL_EXPONENT_DIGITS.length];
+    bases[0] = f2;
+    for (int i = 1; i < bases.length; i++) {
+      bases[i] = bases[i - 1].frobenius();
+    }
+    final MontgomeryFq12[] products = new MontgomeryFq12[1 << bases.length];
+    products[0] = MontgomeryFq12.one();
+    for (int mask = 1; mask < products.length; mask++) {
+      final int lowestBit = Integer.numberOfTrailingZeros(mask);
+      products[mask] = products[mask & (mask - 1)].multiply(bases[lowestBit]);
+    }
+    int bits = 0;
+    for (final BigInteger digit : FINAL_EXPONENT_DIGITS) {
+      bits = Math.max(bits, digit.bitLength());
+    }
+    MontgomeryFq12 result = MontgomeryFq12.one();
+    for (int bit = bits - 1; bit >= 0; bit--) {
+      result = result.square();
+      int mask = 0;
+      for (int i = 0; i < FINAL_EXPONENT_DIGITS.length; i++) {
+        if (FINAL_EXPONENT_DIGITS[i].testBit(bit)) {
+          mask |= 1 << i;
+        }
+      }
+      if (mask != 0) {
+        result = result.multiply(products[mask]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A point of the twist curve with the line functions of its Miller loop. A line function is
+   * stored as three coefficients (c0, c1, c2): evaluated at a G1 point (x, y), it is {@code -y c0
+   * + x c1 w + c2 w^3}.
+   */
+  private static final class PreparedG2Point {
+    private final List<MontgomeryFq2[]> lines = new ArrayList<>();
+
+    // The current point of the Miller loop, in homogeneous projective coordinates.
+    private MontgomeryFq2 x;
+    private MontgomeryFq2 y;
+    private MontgomeryFq2 z;
+
+    private PreparedG2Point(final MontgomeryFq2 x, final MontgomeryFq2 y) {
+      this.x = x;
+      this.y = y;
+      this.z = MontgomeryFq2.one();
+    }
+
+    static Optional<PreparedG2Point> prepare(final MontgomeryFq2 qX, final MontgomeryFq2 qY) {
+      final PreparedG2Point prepared = new PreparedG2Point(qX, qY);
+      for (int i = LOG_ATE_LOOP_COUNT; i >= 0; i--) {
+        if (!prepared.doublingStep()) {
+          return Optional.empty();
+        }
+        if (ATE_LOOP_COUNT.testBit(i) && !prepared.additionStep(qX, qY, true)) {
+          return Optional.empty();
+        }
+      }
+      final MontgomeryFq2 q1X = qX.conjugate().multiply(TWIST_FROBENIUS_X_COEFFICIENT);
+      final MontgomeryFq2 q1Y = qY.conjugate().multiply(TWIST_FROBENIUS_Y_COEFFICIENT);
+      final MontgomeryFq2 q2X = q1X.conjugate().multiply(TWIST_FROBENIUS_X_COEFFICIENT);
+      final MontgomeryFq2 minusQ2Y =
+          q1Y.conjugate().multiply(TWIST_FROBENIUS_Y_COEFFICIENT).negate();
+      if (!prepared.additionStep(q1X, q1Y, true)
+          || !prepared.additionStep(q2X, minusQ2Y, false)) {
+        return Optional.empty();
+      }
+      return Optional.of(prepared);
+    }
+
+    /** Records the tangent line at the current point, and doubles it. */
+    private boolean doublingStep() {
+      if (z.isZero() || y.isZero()) {
+        return false;
+      }
+      final MontgomeryFq2 xSquared = x.square();
+      final MontgomeryFq2 ySquared = y.square();
+      final MontgomeryFq2 zSquared = z.square();
+      // Tangent slope 3x^2 / 2y, scaled by 2 Y Z^2.
+      lines.add(
+          new MontgomeryFq2[] {
+            y.multiply(zSquared).twice(),
+            xSquared.multiply(z).multiply(THREE),
+            ySquared.multiply(z).twice().subtract(xSquared.multiply(x).multiply(THREE))
+          });
+
+      final MontgomeryFq2 w = xSquared.multiply(THREE);
+      final MontgomeryFq2 s = y.multiply(z);
+      final MontgomeryFq2 b = x.multiply(y).multiply(s);
+      final MontgomeryFq2 h = w.square().subtract(b.twice().twice().twice());
+      final MontgomeryFq2 sSquared = s.square();
+      x = h.multiply(s).twice();
+      y =
+          w.multiply(b.twice().twice().subtract(h))
+              .subtract(ySquared.multiply(sSquared).twice().twice().twice());
+      z = sSquared.multiply(s).twice().twice().twice();
+      return true;
+    }
+
+    /** Records the line through the current point and (qX, qY), and optionally adds them. */
+    private boolean additionStep(
+        final MontgomeryFq2 qX, final MontgomeryFq2 qY, final boolean updatePoint) {
+      if (z.isZero()) {
+        return false;
+      }
+      final MontgomeryFq2 u = qY.multiply(z).subtract(y);
+      final MontgomeryFq2 v = qX.multiply(z).subtract(x);
+      if (v.isZero()) {
+        return false;
+      }
+      // Slope u / v, scaled by v.
+      lines.add(new MontgomeryFq2[] {v, u, v.multiply(qY).subtract(u.multiply(qX))});
+
+      if (updatePoint) {
+        final MontgomeryFq2 vSquared = v.square();
+        final MontgomeryFq2 vCubed = vSquared.multiply(v);
+        final MontgomeryFq2 vSquaredX = vSquared.multiply(x);
+        final MontgomeryFq2 a =
+            u.square().multiply(z).subtract(vCubed).subtract(vSquaredX.twice());
+        x = v.multiply(a);
+        y = u.multiply(vSquaredX.subtract(a)).subtract(vCubed.multiply(y));
+        z = vCubed.multiply(z);
+      }
+      return true;
+    }
+  }
+}
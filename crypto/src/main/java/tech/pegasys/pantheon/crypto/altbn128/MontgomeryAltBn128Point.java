@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A point of the alt_bn128 curve {@code y^2 = x^3 + 3} over {@link MontgomeryFq}, in affine
+ * coordinates. As with {@link AltBn128Point}, the point at infinity is represented as (0, 0).
+ *
+ * <p>Scalar multiplication works on homogeneous projective coordinates, so that a single inversion
+ * is needed to return to affine coordinates.
+ */
+public final class MontgomeryAltBn128Point {
+
+  private static final MontgomeryFq B = MontgomeryFq.create(3);
+  private static final MontgomeryFq THREE = MontgomeryFq.create(3);
+
+  private static final MontgomeryAltBn128Point INFINITY =
+      new MontgomeryAltBn128Point(MontgomeryFq.zero(), MontgomeryFq.zero());
+
+  private final MontgomeryFq x;
+  private final MontgomeryFq y;
+
+  private MontgomeryAltBn128Point(final MontgomeryFq x, final MontgomeryFq y) {
+    this.x = x;
+    this.y = y;
+  }
+
+  /**
+   * Creates a point from its affine coordinates.
+   *
+   * @param x The x coordinate.
+   * @param y The y coordinate.
+   * @return The point, or empty if the coordinates are not field elements or the point is not on
+   *     the curve.
+   */
+  public static Optional<MontgomeryAltBn128Point> create(final BigInteger x, final BigInteger y) {
+    if (x.compareTo(FieldElement.FIELD_MODULUS) >= 0
+        || y.compareTo(FieldElement.FIELD_MODULUS) >= 0) {
+      return Optional.empty();
+    }
+    final MontgomeryAltBn128Point point =
+        new MontgomeryAltBn128Point(MontgomeryFq.create(x), MontgomeryFq.create(y));
+    return point.isOnCurve() ? Optional.of(point) : Optional.empty();
+  }
+
+  public MontgomeryFq getX() {
+    return x;
+  }
+
+  public MontgomeryFq getY() {
+    return y;
+  }
+
+  public boolean isInfinity() {
+    return x.isZero() && y.isZero();
+  }
+
+  private boolean isOnCurve() {
+    return isInfinity() || y.square().equals(x.square().multiply(x).add(B));
+  }
+
+  public MontgomeryAltBn128Point add(final MontgomeryAltBn128Point other) {
+    return Projective.of(this).add(other).toAffine();
+  }
+
+  public MontgomeryAltBn128Point multiply(final BigInteger n) {
+    if (isInfinity() || n.signum() == 0) {
+      return INFINITY;
+    }
+    Projective result = Projective.INFINITY;
+    for (int i = n.bitLength() - 1; i >= 0; i--) {
+      result = result.twice();
+      if (n.testBit(i)) {
+        result = result.add(this);
+      }
+    }
+    return result.toAffine();
+  }
+
+  /** @return The 64 bytes big-endian encoding of the x and y coordinates. */
+  public BytesValue toBytesValue() {
+    final MutableBytesValue result = MutableBytesValue.create(64);
+    writeCoordinate(x, result, 0);
+    writeCoordinate(y, result, 32);
+    return result;
+  }
+
+  private static void writeCoordinate(
+      final MontgomeryFq coordinate, final MutableBytesValue target, final int offset) {
+    final BytesValue bytes = BytesValue.wrap(coordinate.toBigInteger().toByteArray());
+    // toByteArray() may add a leading sign byte, but coordinates always fit in 32 bytes.
+    final int size = Math.min(bytes.size(), 32);
+    bytes.slice(bytes.size() - size).copyTo(target, offset + 32 - size);
+  }
+
+  /** A point in homogeneous projective coordinates (X : Y : Z), with x = X / Z and y = Y / Z. */
+  private static final class Projective {
+    private static final Projective INFINITY =
+        new Projective(MontgomeryFq.zero(), MontgomeryFq.one(), MontgomeryFq.zero());
+
+    private final MontgomeryFq x;
+    private final MontgomeryFq y;
+    private final MontgomeryFq z;
+
+    private Projective(final MontgomeryFq x, final MontgomeryFq y, final MontgomeryFq z) {
+      this.x = x;
+      this.y = y;
+      this.z = z;
+    }
+
+    static Projective of(final MontgomeryAltBn128Point point) {
+      return point.isInfinity() ? INFINITY : new Projective(point.x, point.y, MontgomeryFq.one());
+    }
+
+    boolean isInfinity() {
+      return z.isZero();
+    }
+
+    Projective twice() {
+      // No point of the curve has y = 0, so only the point at infinity doubles to infinity.
+      if (isInfinity()) {
+        return this;
+      }
+      final MontgomeryFq w = THREE.multiply(x.square());
+      final MontgomeryFq s = y.multiply(z);
+      final MontgomeryFq b = x.multiply(y).multiply(s);
+      final MontgomeryFq h = w.square().subtract(b.twice().twice().twice());
+      final MontgomeryFq sSquared = s.square();
+      return new Projective(
+          h.multiply(s).twice(),
+          w.multiply(b.twice().twice().subtract(h))
+              .subtract(y.square().multiply(sSquared).twice().twice().twice()),
+          sSquared.multiply(s).twice().twice().twice());
+    }
+
+    /** Adds a point in affine coordinates. */
+    Projective add(final MontgomeryAltBn128Point other) {
+      if (other.isInfinity()) {
+        return this;
+      }
+      if (isInfinity()) {
+        return of(other);
+      }
+      final MontgomeryFq u = other.y.multiply(z).subtract(y);
+      final MontgomeryFq v = other.x.multiply(z).subtract(x);
+      if (v.isZero()) {
+        return u.isZero() ? twice() : INFINITY;
+      }
+      final MontgomeryFq vSquared = v.square();
+      final MontgomeryFq vCubed = vSquared.multiply(v);
+      final MontgomeryFq vSquaredX = vSquared.multiply(x);
+      final MontgomeryFq a = u.square().multiply(z).subtract(vCubed).subtract(vSquaredX.twice());
+      return new Projective(
+          v.multiply(a),
+          u.multiply(vSquaredX.subtract(a)).subtract(vCubed.multiply(y)),
+          vCubed.multiply(z));
+    }
+
+    MontgomeryAltBn128Point toAffine() {
+      if (isInfinity()) {
+        return MontgomeryAltBn128Point.INFINITY;
+      }
+      final MontgomeryFq zInverse = z.inverse();
+      return new MontgomeryAltBn128Point(x.multiply(zInverse), y.multiply(zInverse));
+    }
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryAltBn128Point)) {
+      return false;
+    }
+    final MontgomeryAltBn128Point other = (MontgomeryAltBn128Point) obj;
+    return x.equals(other.x) && y.equals(other.y);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(x, y);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryAltBn128Point.class)
+        .add("x", x)
+        .add("y", y)
+        .toString();
+  }
+}
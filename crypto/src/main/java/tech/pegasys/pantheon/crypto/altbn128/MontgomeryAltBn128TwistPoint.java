@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A point of the twist curve {@code y^2 = x^3 + 3 / (9 + i)} over {@link MontgomeryFq2}, in affine
+ * coordinates, as used for the G2 points of pairings. As with {@link AltBn128Fq2Point}, the point
+ * at infinity is represented as (0, 0).
+ */
+public final class MontgomeryAltBn128TwistPoint {
+
+  private static final MontgomeryFq2 B =
+      MontgomeryFq2.create(BigInteger.valueOf(3), BigInteger.ZERO)
+          .multiply(MontgomeryFq2.create(BigInteger.valueOf(9), BigInteger.ONE).inverse());
+
+  private final MontgomeryFq2 x;
+  private final MontgomeryFq2 y;
+
+  private MontgomeryAltBn128TwistPoint(final MontgomeryFq2 x, final MontgomeryFq2 y) {
+    this.x = x;
+    this.y = y;
+  }
+
+  /**
+   * Creates a point from its affine coordinates.
+   *
+   * @param xReal The real part of the x coordinate.
+   * @param xImaginary The imaginary part of the x coordinate.
+   * @param yReal The real part of the y coordinate.
+   * @param yImaginary The imaginary part of the y coordinate.
+   * @return The point, or empty if the coordinates are not field elements or the point is not on
+   *     the twist curve.
+   */
+  public static Optional<MontgomeryAltBn128TwistPoint> create(
+      final BigInteger xReal,
+      final BigInteger xImaginary,
+      final BigInteger yReal,
+      final BigInteger yImaginary) {
+    if (!isFieldElement(xReal)
+        || !isFieldElement(xImaginary)
+        || !isFieldElement(yReal)
+        || !isFieldElement(yImaginary)) {
+      return Optional.empty();
+    }
+    final MontgomeryAltBn128TwistPoint point =
+        new MontgomeryAltBn128TwistPoint(
+            MontgomeryFq2.create(xReal, xImaginary), MontgomeryFq2.create(yReal, yImaginary));
+    return point.isOnCurve() ? Optional.of(point) : Optional.empty();
+  }
+
+  private static boolean isFieldElement(final BigInteger value) {
+    return value.compareTo(FieldElement.FIELD_MODULUS) < 0;
+  }
+
+  public MontgomeryFq2 getX() {
+    return x;
+  }
+
+  public MontgomeryFq2 getY() {
+    return y;
+  }
+
+  public boolean isInfinity() {
+    return x.isZero() && y.isZero();
+  }
+
+  private boolean isOnCurve() {
+    return isInfinity() || y.square().equals(x.square().multiply(x).add(B));
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryAltBn128TwistPoint)) {
+      return false;
+    }
+    final MontgomeryAltBn128TwistPoint other = (MontgomeryAltBn128TwistPoint) obj;
+    return x.equals(other.x) && y.equals(other.y);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(x, y);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryAltBn128TwistPoint.class)
+        .add("x", x)
+        .add("y", y)
+        .toString();
+  }
+}
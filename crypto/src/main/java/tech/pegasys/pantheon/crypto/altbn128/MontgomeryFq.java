@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * An element of the alt_bn128 base field, stored in Montgomery form as eight 32-bit limbs.
+ *
+ * <p>Contrarily to {@link Fq}, which reduces a {@link BigInteger} after every operation, values are
+ * kept in a fixed number of limbs and multiplied with Montgomery multiplication (the CIOS method),
+ * which needs no division. Limbs are 32 bits wide, and held in longs, so that limb products can be
+ * computed exactly with Java 8 arithmetic.
+ */
+public final class MontgomeryFq {
+
+  private static final int LIMBS = 8;
+  private static final long MASK = 0xFFFFFFFFL;
+
+  private static final BigInteger MODULUS = FieldElement.FIELD_MODULUS;
+  private static final long[] P = toLimbs(MODULUS);
+  // -P^-1 mod 2^32
+  private static final long P_INV =
+      BigInteger.ONE
+              .shiftLeft(32)
+              .subtract(MODULUS.modInverse(BigInteger.ONE.shiftLeft(32)))
+              .longValue()
+          & MASK;
+  // R^2 mod P, with R = 2^256, converts values into Montgomery form.
+  private static final long[] R_SQUARED = toLimbs(BigInteger.ONE.shiftLeft(512).mod(MODULUS));
+  private static final long[] ONE_LIMBS = toLimbs(BigInteger.ONE);
+
+  private static final MontgomeryFq ZERO = new MontgomeryFq(new long[LIMBS]);
+  private static final MontgomeryFq ONE = create(BigInteger.ONE);
+
+  private final long[] limbs;
+
+  private MontgomeryFq(final long[] limbs) {
+    this.limbs = limbs;
+  }
+
+  public static MontgomeryFq zero() {
+    return ZERO;
+  }
+
+  public static MontgomeryFq one() {
+    return ONE;
+  }
+
+  /**
+   * Converts a value into Montgomery form.
+   *
+   * @param value The value, which must be in the field.
+   * @return The field element.
+   */
+  public static MontgomeryFq create(final BigInteger value) {
+    checkArgument(
+        value.signum() >= 0 && value.compareTo(MODULUS) < 0, "Value is not a field element");
+    return new MontgomeryFq(montgomeryMultiply(toLimbs(value), R_SQUARED));
+  }
+
+  static MontgomeryFq create(final long value) {
+    return create(BigInteger.valueOf(value).mod(MODULUS));
+  }
+
+  public BigInteger toBigInteger() {
+    final long[] value = montgomeryMultiply(limbs, ONE_LIMBS);
+    BigInteger result = BigInteger.ZERO;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      result = result.shiftLeft(32).or(BigInteger.valueOf(value[i]));
+    }
+    return result;
+  }
+
+  public boolean isZero() {
+    for (int i = 0; i < LIMBS; i++) {
+      if (limbs[i] != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public MontgomeryFq add(final MontgomeryFq other) {
+    final long[] result = new long[LIMBS];
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long sum = limbs[i] + other.limbs[i] + carry;
+      result[i] = sum & MASK;
+      carry = sum >>> 32;
+    }
+    // Both values are below P < 2^254, so their sum never overflows the limbs.
+    if (!lessThanModulus(result)) {
+      subtractModulus(result);
+    }
+    return new MontgomeryFq(result);
+  }
+
+  public MontgomeryFq subtract(final MontgomeryFq other) {
+    final long[] result = new long[LIMBS];
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long difference = limbs[i] - other.limbs[i] - borrow;
+      result[i] = difference & MASK;
+      borrow = difference < 0 ? 1 : 0;
+    }
+    if (borrow != 0) {
+      long carry = 0;
+      for (int i = 0; i < LIMBS; i++) {
+        final long sum = result[i] + P[i] + carry;
+        result[i] = sum & MASK;
+        carry = sum >>> 32;
+      }
+    }
+    return new MontgomeryFq(result);
+  }
+
+  public MontgomeryFq negate() {
+    return isZero() ? this : ZERO.subtract(this);
+  }
+
+  public MontgomeryFq twice() {
+    return add(this);
+  }
+
+  public MontgomeryFq multiply(final MontgomeryFq other) {
+    return new MontgomeryFq(montgomeryMultiply(limbs, other.limbs));
+  }
+
+  public MontgomeryFq square() {
+    return multiply(this);
+  }
+
+  /**
+   * Computes the multiplicative inverse. Inversions are rare (once per pairing, or per point
+   * conversion to affine coordinates), so they are delegated to {@link BigInteger}.
+   *
+   * @return The inverse of this element, or zero if this element is zero.
+   */
+  public MontgomeryFq inverse() {
+    if (isZero()) {
+      return ZERO;
+    }
+    return create(toBigInteger().modInverse(MODULUS));
+  }
+
+  private static long[] montgomeryMultiply(final long[] a, final long[] b) {
+    final long[] t = new long[LIMBS + 2];
+    for (int i = 0; i < LIMBS; i++) {
+      // t += a * b[i]
+      final long bi = b[i];
+      long carry = 0;
+      for (int j = 0; j < LIMBS; j++) {
+        final long sum = t[j] + a[j] * bi + carry;
+        t[j] = sum & MASK;
+        carry = sum >>> 32;
+      }
+      long sum = t[LIMBS] + carry;
+      t[LIMBS] = sum & MASK;
+      t[LIMBS + 1] = sum >>> 32;
+
+      // t = (t + m * P) / 2^32, with m chosen so that the division is exact.
+      final long m = (t[0] * P_INV) & MASK;
+      carry = (t[0] + m * P[0]) >>> 32;
+      for (int j = 1; j < LIMBS; j++) {
+        sum = t[j] + m * P[j] + carry;
+        t[j - 1] = sum & MASK;
+        carry = sum >>> 32;
+      }
+      sum = t[LIMBS] + carry;
+      t[LIMBS - 1] = sum & MASK;
+      t[LIMBS] = t[LIMBS + 1] + (sum >>> 32);
+    }
+    final long[] result = Arrays.copyOf(t, LIMBS);
+    if (t[LIMBS] != 0 || !lessThanModulus(result)) {
+      subtractModulus(result);
+    }
+    return result;
+  }
+
+  private static boolean lessThanModulus(final long[] value) {
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      if (value[i] != P[i]) {
+        return value[i] < P[i];
+      }
+    }
+    return false;
+  }
+
+  private static void subtractModulus(final long[] value) {
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long difference = value[i] - P[i] - borrow;
+      value[i] = difference & MASK;
+      borrow = difference < 0 ? 1 : 0;
+    }
+  }
+
+  private static long[] toLimbs(final BigInteger value) {
+    final long[] result = new long[LIMBS];
+    for (int i = 0; i < LIMBS; i++) {
+      result[i] = value.shiftRight(32 * i).longValue() & MASK;
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq)) {
+      return false;
+    }
+    return Arrays.equals(limbs, ((MontgomeryFq) obj).limbs);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(limbs);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq.class).add("n", toBigInteger()).toString();
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * An element {@code c0 + c1 * w} of the quadratic extension Fq6[w] / (w^2 - v).
+ *
+ * <p>This is the same field as {@link Fq12}: as {@code w^6 = 9 + u}, the element {@code u} of the
+ * tower corresponds to {@code w^6 - 9} in the polynomial representation of {@link Fq12}.
+ */
+public final class MontgomeryFq12 {
+
+  private static final MontgomeryFq12 ONE =
+      new MontgomeryFq12(MontgomeryFq6.one(), MontgomeryFq6.zero());
+
+  // FROBENIUS_COEFFICIENTS[j] = (9 + u)^(j * (q - 1) / 6), so that (c * w^j)^q = c^q * coeff * w^j
+  private static final MontgomeryFq2[] FROBENIUS_COEFFICIENTS = new MontgomeryFq2[6];
+
+  static {
+    final MontgomeryFq2 nonResidue = MontgomeryFq2.create(BigInteger.valueOf(9), BigInteger.ONE);
+    final BigInteger exponent =
+        FieldElement.FIELD_MODULUS.subtract(BigInteger.ONE).divide(BigInteger.valueOf(6));
+    for (int j = 0; j < FROBENIUS_COEFFICIENTS.length; j++) {
+      FROBENIUS_COEFFICIENTS[j] = nonResidue.power(exponent.multiply(BigInteger.valueOf(j)));
+    }
+  }
+
+  private final MontgomeryFq6 c0;
+  private final MontgomeryFq6 c1;
+
+  public MontgomeryFq12(final MontgomeryFq6 c0, final MontgomeryFq6 c1) {
+    this.c0 = c0;
+    this.c1 = c1;
+  }
+
+  public static MontgomeryFq12 one() {
+    return ONE;
+  }
+
+  MontgomeryFq6 getC0() {
+    return c0;
+  }
+
+  MontgomeryFq6 getC1() {
+    return c1;
+  }
+
+  public MontgomeryFq12 add(final MontgomeryFq12 other) {
+    return new MontgomeryFq12(c0.add(other.c0), c1.add(other.c1));
+  }
+
+  public MontgomeryFq12 subtract(final MontgomeryFq12 other) {
+    return new MontgomeryFq12(c0.subtract(other.c0), c1.subtract(other.c1));
+  }
+
+  public MontgomeryFq12 multiply(final MontgomeryFq12 other) {
+    final MontgomeryFq6 t0 = c0.multiply(other.c0);
+    final MontgomeryFq6 t1 = c1.multiply(other.c1);
+    return new MontgomeryFq12(
+        t0.add(t1.multiplyByV()),
+        c0.add(c1).multiply(other.c0.add(other.c1)).subtract(t0).subtract(t1));
+  }
+
+  public MontgomeryFq12 square() {
+    // (c0 + c1 w)^2 = (c0 + c1)(c0 + v c1) - (1 + v) c0 c1 + 2 c0 c1 w
+    final MontgomeryFq6 product = c0.multiply(c1);
+    final MontgomeryFq6 real =
+        c0.add(c1)
+            .multiply(c0.add(c1.multiplyByV()))
+            .subtract(product)
+            .subtract(product.multiplyByV());
+    return new MontgomeryFq12(real, product.add(product));
+  }
+
+  /**
+   * Multiplies by the sparse element {@code a + b * w + c * w^3}, which is the shape of the line
+   * functions evaluated by the Miller loop.
+   *
+   * @param a The constant coefficient of the sparse element.
+   * @param b The coefficient of {@code w}.
+   * @param c The coefficient of {@code w^3}.
+   * @return The product.
+   */
+  public MontgomeryFq12 multiplyByLine(
+      final MontgomeryFq2 a, final MontgomeryFq2 b, final MontgomeryFq2 c) {
+    // The sparse element is (a) + (b + c v) w.
+    final MontgomeryFq6 t0 = c0.multiply(a);
+    final MontgomeryFq6 t1 = c1.multiplyBy01(b, c);
+    return new MontgomeryFq12(
+        t0.add(t1.multiplyByV()),
+        c0.add(c1).multiplyBy01(a.add(b), c).subtract(t0).subtract(t1));
+  }
+
+  /** @return The conjugate {@code c0 - c1 * w}, which is also this element raised to q^6. */
+  public MontgomeryFq12 conjugate() {
+    return new MontgomeryFq12(c0, c1.negate());
+  }
+
+  public MontgomeryFq12 inverse() {
+    final MontgomeryFq6 normInverse = c0.square().subtract(c1.square().multiplyByV()).inverse();
+    return new MontgomeryFq12(c0.multiply(normInverse), c1.multiply(normInverse).negate());
+  }
+
+  /** @return This element raised to the power q, the field modulus. */
+  public MontgomeryFq12 frobenius() {
+    // In the w basis the coefficients are, by increasing power of w: c0.c0, c1.c0, c0.c1, c1.c1,
+    // c0.c2 and c1.c2.
+    return new MontgomeryFq12(
+        new MontgomeryFq6(
+            c0.getC0().conjugate(),
+            c0.getC1().conjugate().multiply(FROBENIUS_COEFFICIENTS[2]),
+            c0.getC2().conjugate().multiply(FROBENIUS_COEFFICIENTS[4])),
+        new MontgomeryFq6(
+            c1.getC0().conjugate().multiply(FROBENIUS_COEFFICIENTS[1]),
+            c1.getC1().conjugate().multiply(FROBENIUS_COEFFICIENTS[3]),
+            c1.getC2().conjugate().multiply(FROBENIUS_COEFFICIENTS[5])));
+  }
+
+  public MontgomeryFq12 power(final BigInteger exponent) {
+    MontgomeryFq12 result = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      result = result.square();
+      if (exponent.testBit(i)) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  public boolean isOne() {
+    return equals(ONE);
+  }
+
+  /**
+   * Converts this element to the polynomial representation of {@link Fq12}.
+   *
+   * @return The same field element as an {@link Fq12}.
+   */
+  public Fq12 toFq12() {
+    final MontgomeryFq2[] coefficients = {
+      c0.getC0(), c1.getC0(), c0.getC1(), c1.getC1(), c0.getC2(), c1.getC2()
+    };
+    final Fq[] result = new Fq[Fq12.DEGREE];
+    for (int j = 0; j < Fq12.DEGREE; j++) {
+      result[j] = Fq.zero();
+    }
+    // (r + i u) w^j = (r - 9 i) w^j + i w^(j + 6)
+    final Fq nine = Fq.create(9);
+    for (int j = 0; j < coefficients.length; j++) {
+      final Fq real = Fq.create(coefficients[j].getReal().toBigInteger());
+      final Fq imaginary = Fq.create(coefficients[j].getImaginary().toBigInteger());
+      result[j] = result[j].add(real.subtract(imaginary.multiply(nine)));
+      result[j + 6] = result[j + 6].add(imaginary);
+    }
+    return new Fq12(result);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq12)) {
+      return false;
+    }
+    final MontgomeryFq12 other = (MontgomeryFq12) obj;
+    return c0.equals(other.c0) && c1.equals(other.c1);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(c0, c1);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq12.class).add("c0", c0).add("c1", c1).toString();
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * An element {@code c0 + c1 * u} of the quadratic extension Fq[u] / (u^2 + 1), built on {@link
+ * MontgomeryFq}. This is the same field as {@link Fq2}.
+ */
+public final class MontgomeryFq2 {
+
+  private static final MontgomeryFq NINE = MontgomeryFq.create(9);
+
+  private static final MontgomeryFq2 ZERO =
+      new MontgomeryFq2(MontgomeryFq.zero(), MontgomeryFq.zero());
+  private static final MontgomeryFq2 ONE =
+      new MontgomeryFq2(MontgomeryFq.one(), MontgomeryFq.zero());
+
+  private final MontgomeryFq c0;
+  private final MontgomeryFq c1;
+
+  public MontgomeryFq2(final MontgomeryFq c0, final MontgomeryFq c1) {
+    this.c0 = c0;
+    this.c1 = c1;
+  }
+
+  public static MontgomeryFq2 create(final BigInteger real, final BigInteger imaginary) {
+    return new MontgomeryFq2(MontgomeryFq.create(real), MontgomeryFq.create(imaginary));
+  }
+
+  public static MontgomeryFq2 zero() {
+    return ZERO;
+  }
+
+  public static MontgomeryFq2 one() {
+    return ONE;
+  }
+
+  public MontgomeryFq getReal() {
+    return c0;
+  }
+
+  public MontgomeryFq getImaginary() {
+    return c1;
+  }
+
+  public boolean isZero() {
+    return c0.isZero() && c1.isZero();
+  }
+
+  public MontgomeryFq2 add(final MontgomeryFq2 other) {
+    return new MontgomeryFq2(c0.add(other.c0), c1.add(other.c1));
+  }
+
+  public MontgomeryFq2 subtract(final MontgomeryFq2 other) {
+    return new MontgomeryFq2(c0.subtract(other.c0), c1.subtract(other.c1));
+  }
+
+  public MontgomeryFq2 negate() {
+    return new MontgomeryFq2(c0.negate(), c1.negate());
+  }
+
+  public MontgomeryFq2 twice() {
+    return new MontgomeryFq2(c0.twice(), c1.twice());
+  }
+
+  public MontgomeryFq2 multiply(final MontgomeryFq2 other) {
+    // Karatsuba: three base field multiplications instead of four.
+    final MontgomeryFq v0 = c0.multiply(other.c0);
+    final MontgomeryFq v1 = c1.multiply(other.c1);
+    final MontgomeryFq cross = c0.add(c1).multiply(other.c0.add(other.c1));
+    return new MontgomeryFq2(v0.subtract(v1), cross.subtract(v0).subtract(v1));
+  }
+
+  public MontgomeryFq2 multiply(final MontgomeryFq scalar) {
+    return new MontgomeryFq2(c0.multiply(scalar), c1.multiply(scalar));
+  }
+
+  public MontgomeryFq2 square() {
+    // (c0 + c1 u)^2 = (c0 + c1)(c0 - c1) + 2 c0 c1 u
+    final MontgomeryFq product = c0.multiply(c1);
+    return new MontgomeryFq2(c0.add(c1).multiply(c0.subtract(c1)), product.twice());
+  }
+
+  /** @return This element multiplied by the non-residue 9 + u used to build the tower. */
+  public MontgomeryFq2 multiplyByNonResidue() {
+    return new MontgomeryFq2(c0.multiply(NINE).subtract(c1), c0.add(c1.multiply(NINE)));
+  }
+
+  /** @return The conjugate {@code c0 - c1 * u}, which is also this element raised to q. */
+  public MontgomeryFq2 conjugate() {
+    return new MontgomeryFq2(c0, c1.negate());
+  }
+
+  public MontgomeryFq2 inverse() {
+    final MontgomeryFq normInverse = c0.square().add(c1.square()).inverse();
+    return new MontgomeryFq2(c0.multiply(normInverse), c1.negate().multiply(normInverse));
+  }
+
+  public MontgomeryFq2 power(final BigInteger exponent) {
+    MontgomeryFq2 result = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      result = result.square();
+      if (exponent.testBit(i)) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq2)) {
+      return false;
+    }
+    final MontgomeryFq2 other = (MontgomeryFq2) obj;
+    return c0.equals(other.c0) && c1.equals(other.c1);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(c0, c1);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq2.class).add("c0", c0).add("c1", c1).toString();
+  }
+}
@@ -25,6 +25,8 @@ public class HashTest {
       "c85ef7d79691fe79573b1a7064c19c1a9819ebdbd1faaab1a8ec92344438aaf4";
   private static final String horseKeccak256 =
       "c87f65ff3f271bf5dc8643484f66b200109caffe4bf98c4cb393dc35740b28c0";
+  private static final String abcSha256 =
+      "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
 
   /** Validate keccak256 hash. */
   @Test
@@ -35,4 +37,27 @@ public class HashTest {
     final BytesValue resultCow = Hash.keccak256(BytesValue.wrap("cow".getBytes(UTF_8)));
     assertEquals(BytesValue.fromHexString(cowKeccak256), resultCow);
   }
+
+  @Test
+  public void keccak256HashShouldBeRepeatable() {
+    final BytesValue input = BytesValue.wrap("horse".getBytes(UTF_8));
+    Hash.keccak256(BytesValue.wrap("cow".getBytes(UTF_8)));
+
+    assertEquals(BytesValue.fromHexString(horseKeccak256), Hash.keccak256(input));
+    assertEquals(BytesValue.fromHexString(horseKeccak256), Hash.keccak256(input));
+  }
+
+  @Test
+  public void keccak256HashOfSlice() {
+    final BytesValue input = BytesValue.wrap("a horse of course".getBytes(UTF_8));
+
+    final BytesValue result = Hash.keccak256(input.slice(2, 5));
+    assertEquals(BytesValue.fromHexString(horseKeccak256), result);
+  }
+
+  @Test
+  public void sha256Hash() {
+    final BytesValue result = Hash.sha256(BytesValue.wrap("abc".getBytes(UTF_8)));
+    assertEquals(BytesValue.fromHexString(abcSha256), result);
+  }
 }
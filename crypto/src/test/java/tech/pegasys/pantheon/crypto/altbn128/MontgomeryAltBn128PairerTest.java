@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MontgomeryAltBn128PairerTest {
+
+  private static final BigInteger G1_X = BigInteger.ONE;
+  private static final BigInteger G1_Y = BigInteger.valueOf(2);
+
+  private static final MontgomeryFq2 G2_X =
+      MontgomeryFq2.create(
+          new BigInteger(
+              "10857046999023057135944570762232829481370756359578518086990519993285655852781"),
+          new BigInteger(
+              "11559732032986387107991004021392285783925812861821192530917403151452391805634"));
+  private static final MontgomeryFq2 G2_Y =
+      MontgomeryFq2.create(
+          new BigInteger(
+              "8495653923123431417604973247489272438418190587263600148770280649306958101930"),
+          new BigInteger(
+              "4082367875863433681332203403145435568316851327593401208105741076214120093531"));
+
+  private static MontgomeryAltBn128Point g1Times(final long n) {
+    return MontgomeryAltBn128Point.create(G1_X, G1_Y).get().multiply(BigInteger.valueOf(n));
+  }
+
+  private static MontgomeryAltBn128Point negate(final MontgomeryAltBn128Point point) {
+    return MontgomeryAltBn128Point.create(
+            point.getX().toBigInteger(), point.getY().negate().toBigInteger())
+        .get();
+  }
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+
+  private static void addPair(
+      final MontgomeryAltBn128Pairer pairer, final MontgomeryAltBn128Point p) {
+    pairer.addPair(p.getX(), p.getY(), G2_X, G2_Y);
+  }
+
+  private static MontgomeryFq toMontgomery(final Fq value) {
+    return MontgomeryFq.create(BytesValues.asUnsignedBigInteger(value.toBytesValue()));
+  }
+
+  private static MontgomeryFq2 toMontgomery(final Fq2 value) {
+    final Fq[] coefficients = value.getCoefficients();
+    return new MontgomeryFq2(toMontgomery(coefficients[0]), toMontgomery(coefficients[1]));
+  }
+
+  private static void assertMatchesReferencePairer(
+      final AltBn128Point[] g1Points, final AltBn128Fq2Point[] g2Points) {
+    final MontgomeryAltBn128Pairer pairer = new MontgomeryAltBn128Pairer();
+    Fq12 expected = Fq12.one();
+    for (int i = 0; i < g1Points.length; i++) {
+      final AltBn128Point p = g1Points[i];
+      final AltBn128Fq2Point q = g2Points[i];
+      pairer.addPair(
+          toMontgomery(p.getX()),
+          toMontgomery(p.getY()),
+          toMontgomery(q.getX()),
+          toMontgomery(q.getY()));
+      expected = expected.multiply(AltBn128Fq12Pairer.finalize(AltBn128Fq12Pairer.pair(p, q)));
+    }
+
+    assertThat(pairer.product().get().toFq12()).isEqualTo(expected);
+    assertThat(pairer.isProductOne()).contains(expected.equals(Fq12.one()));
+  }
+
+  @Test
+  public void shouldMatchReferencePairing() {
+    final MontgomeryAltBn128Pairer pairer = new MontgomeryAltBn128Pairer();
+    addPair(pairer, g1Times(1));
+
+    final Fq12 expected =
+        AltBn128Fq12Pairer.finalize(
+            AltBn128Fq12Pairer.pair(AltBn128Point.g1(), AltBn128Fq2Point.g2()));
+    assertThat(pairer.product().get().toFq12()).isEqualTo(expected);
+    assertThat(pairer.isProductOne()).contains(false);
+  }
+
+  @Test
+  public void shouldMatchReferencePairerForRandomPoints() {
+    final Random random = new Random(42);
+    for (int pairs = 1; pairs <= 3; pairs++) {
+      final AltBn128Point[] g1Points = new AltBn128Point[pairs];
+      final AltBn128Fq2Point[] g2Points = new AltBn128Fq2Point[pairs];
+      for (int i = 0; i < pairs; i++) {
+        g1Points[i] = AltBn128Point.g1().multiply(new BigInteger(254, random).mod(CURVE_ORDER));
+        g2Points[i] = AltBn128Fq2Point.g2().multiply(new BigInteger(254, random).mod(CURVE_ORDER));
+      }
+      assertMatchesReferencePairer(g1Points, g2Points);
+    }
+  }
+
+  @Test
+  public void shouldMatchReferencePairerWithPointsAtInfinity() {
+    final BigInteger a = BigInteger.valueOf(12345);
+    final BigInteger b = BigInteger.valueOf(67890);
+    assertMatchesReferencePairer(
+        new AltBn128Point[] {
+          AltBn128Point.g1().multiply(BigInteger.ZERO),
+          AltBn128Point.g1().multiply(a),
+          AltBn128Point.g1().multiply(b)
+        },
+        new AltBn128Fq2Point[] {
+          AltBn128Fq2Point.g2().multiply(a),
+          AltBn128Fq2Point.g2().multiply(BigInteger.ZERO),
+          AltBn128Fq2Point.g2().multiply(a)
+        });
+  }
+
+  @Test
+  public void shouldMatchReferencePairerWhenProductIsOne() {
+    final BigInteger a = BigInteger.valueOf(31337);
+    final BigInteger b = BigInteger.valueOf(271828);
+    assertMatchesReferencePairer(
+        new AltBn128Point[] {
+          AltBn128Point.g1().multiply(a.multiply(b)),
+          AltBn128Point.g1().multiply(CURVE_ORDER.subtract(a))
+        },
+        new AltBn128Fq2Point[] {AltBn128Fq2Point.g2(), AltBn128Fq2Point.g2().multiply(b)});
+  }
+
+  @Test
+  public void shouldEqualOneWhenNegatedPairsAreMultiplied() {
+    final MontgomeryAltBn128Pairer pairer = new MontgomeryAltBn128Pairer();
+    addPair(pairer, g1Times(1));
+    addPair(pairer, negate(g1Times(1)));
+
+    assertThat(pairer.isProductOne()).contains(true);
+  }
+
+  @Test
+  public void shouldBeBilinear() {
+    final MontgomeryAltBn128Pairer single = new MontgomeryAltBn128Pairer();
+    addPair(single, g1Times(1));
+    final MontgomeryAltBn128Pairer doubled = new MontgomeryAltBn128Pairer();
+    addPair(doubled, g1Times(2));
+
+    final MontgomeryFq12 p1 = single.product().get();
+    assertThat(p1.multiply(p1)).isEqualTo(doubled.product().get());
+  }
+
+  @Test
+  public void shouldEqualOneWhenRaisedToCurveOrder() {
+    final MontgomeryAltBn128Pairer pairer = new MontgomeryAltBn128Pairer();
+    addPair(pairer, g1Times(1));
+
+    assertThat(pairer.product().get().power(CURVE_ORDER).isOne()).isTrue();
+  }
+
+  @Test
+  public void shouldSkipPointAtInfinity() {
+    final MontgomeryAltBn128Pairer pairer = new MontgomeryAltBn128Pairer();
+    pairer.addPair(MontgomeryFq.zero(), MontgomeryFq.zero(), G2_X, G2_Y);
+
+    assertThat(pairer.isProductOne()).contains(true);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+public class MontgomeryAltBn128TwistPointTest {
+
+  private static final BigInteger G2_X_REAL =
+      new BigInteger(
+          "10857046999023057135944570762232829481370756359578518086990519993285655852781");
+  private static final BigInteger G2_X_IMAGINARY =
+      new BigInteger(
+          "11559732032986387107991004021392285783925812861821192530917403151452391805634");
+  private static final BigInteger G2_Y_REAL =
+      new BigInteger(
+          "8495653923123431417604973247489272438418190587263600148770280649306958101930");
+  private static final BigInteger G2_Y_IMAGINARY =
+      new BigInteger(
+          "4082367875863433681332203403145435568316851327593401208105741076214120093531");
+
+  @Test
+  public void shouldAcceptGenerator() {
+    assertThat(
+            MontgomeryAltBn128TwistPoint.create(
+                G2_X_REAL, G2_X_IMAGINARY, G2_Y_REAL, G2_Y_IMAGINARY))
+        .isPresent();
+  }
+
+  @Test
+  public void shouldAcceptPointAtInfinity() {
+    assertThat(
+            MontgomeryAltBn128TwistPoint.create(
+                BigInteger.ZERO, BigInteger.ZERO, BigInteger.ZERO, BigInteger.ZERO))
+        .hasValueSatisfying(point -> assertThat(point.isInfinity()).isTrue());
+  }
+
+  @Test
+  public void shouldRejectPointNotOnTwist() {
+    assertThat(
+            MontgomeryAltBn128TwistPoint.create(
+                G2_X_IMAGINARY, G2_X_REAL, G2_Y_REAL, G2_Y_IMAGINARY))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldRejectCoordinateOutsideField() {
+    assertThat(
+            MontgomeryAltBn128TwistPoint.create(
+                G2_X_REAL.add(FieldElement.FIELD_MODULUS),
+                G2_X_IMAGINARY,
+                G2_Y_REAL,
+                G2_Y_IMAGINARY))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldRejectGeneratorWithAlteredCoordinate() {
+    assertThat(
+            MontgomeryAltBn128TwistPoint.create(
+                G2_X_REAL, G2_X_IMAGINARY, G2_Y_REAL.add(BigInteger.ONE), G2_Y_IMAGINARY))
+        .isEmpty();
+  }
+}
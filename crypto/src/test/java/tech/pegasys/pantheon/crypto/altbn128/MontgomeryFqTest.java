@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MontgomeryFqTest {
+
+  private static final BigInteger MODULUS = FieldElement.FIELD_MODULUS;
+
+  @Test
+  public void shouldRoundTripThroughMontgomeryForm() {
+    final BigInteger value = MODULUS.subtract(BigInteger.ONE);
+    assertThat(MontgomeryFq.create(value).toBigInteger()).isEqualTo(value);
+    assertThat(MontgomeryFq.zero().toBigInteger()).isEqualTo(BigInteger.ZERO);
+    assertThat(MontgomeryFq.one().toBigInteger()).isEqualTo(BigInteger.ONE);
+  }
+
+  @Test
+  public void shouldRejectValuesOutsideOfTheField() {
+    assertThatThrownBy(() -> MontgomeryFq.create(MODULUS))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldMatchBigIntegerArithmetic() {
+    final Random random = new Random(1);
+    for (int i = 0; i < 1_000; i++) {
+      final BigInteger a = new BigInteger(256, random).mod(MODULUS);
+      final BigInteger b = new BigInteger(256, random).mod(MODULUS);
+      final MontgomeryFq fa = MontgomeryFq.create(a);
+      final MontgomeryFq fb = MontgomeryFq.create(b);
+
+      assertThat(fa.add(fb).toBigInteger()).isEqualTo(a.add(b).mod(MODULUS));
+      assertThat(fa.subtract(fb).toBigInteger()).isEqualTo(a.subtract(b).mod(MODULUS));
+      assertThat(fa.multiply(fb).toBigInteger()).isEqualTo(a.multiply(b).mod(MODULUS));
+      assertThat(fa.square().toBigInteger()).isEqualTo(a.multiply(a).mod(MODULUS));
+      assertThat(fa.negate().toBigInteger()).isEqualTo(a.negate().mod(MODULUS));
+    }
+  }
+
+  @Test
+  public void shouldMultiplyLargestElements() {
+    final MontgomeryFq minusOne = MontgomeryFq.create(MODULUS.subtract(BigInteger.ONE));
+    assertThat(minusOne.multiply(minusOne)).isEqualTo(MontgomeryFq.one());
+    assertThat(minusOne.add(minusOne).toBigInteger())
+        .isEqualTo(MODULUS.subtract(BigInteger.valueOf(2)));
+  }
+
+  @Test
+  public void shouldInvert() {
+    final MontgomeryFq value = MontgomeryFq.create(BigInteger.valueOf(12345));
+    assertThat(value.multiply(value.inverse())).isEqualTo(MontgomeryFq.one());
+  }
+}
@@ -19,16 +19,28 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.MiningParameters;
 import tech.pegasys.pantheon.ethereum.core.PendingTransactions;
 import tech.pegasys.pantheon.ethereum.mainnet.EthHashSolver;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.EthHasher;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.util.Subscribers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
 public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlockMiner> {
 
+  private static final int FULL_SOLVER_THREADS = Runtime.getRuntime().availableProcessors();
+  // Without a dataset every hash regenerates its dataset items from the cache, so light mining
+  // gains little from more threads and would otherwise starve block processing of CPU.
+  private static final int LIGHT_SOLVER_THREADS =
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
   private volatile Optional<Address> coinbase;
+  private final EthHasher hasher;
+  private final int solverThreads;
 
   public EthHashMinerExecutor(
       final ProtocolContext<Void> protocolContext,
@@ -36,7 +48,8 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlo
       final ProtocolSchedule<Void> protocolSchedule,
       final PendingTransactions pendingTransactions,
       final MiningParameters miningParams,
-      final AbstractBlockScheduler blockScheduler) {
+      final AbstractBlockScheduler blockScheduler,
+      final EthHashCacheFactory ethHashCacheFactory) {
     super(
         protocolContext,
         executorService,
@@ -45,6 +58,22 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlo
         miningParams,
         blockScheduler);
     this.coinbase = miningParams.getCoinbase();
+    this.hasher =
+        miningParams
+            .getEthHashDatasetDirectory()
+            .map(directory -> fullHasher(directory, ethHashCacheFactory))
+            .orElseGet(() -> new EthHasher.Light(ethHashCacheFactory));
+    this.solverThreads =
+        hasher instanceof EthHasher.Full ? FULL_SOLVER_THREADS : LIGHT_SOLVER_THREADS;
+  }
+
+  private static EthHasher fullHasher(
+      final Path datasetDirectory, final EthHashCacheFactory ethHashCacheFactory) {
+    try {
+      return new EthHasher.Full(datasetDirectory, ethHashCacheFactory);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
   }
 
   @Override
@@ -53,8 +82,9 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlo
     if (!coinbase.isPresent()) {
       throw new CoinbaseNotSetException("Unable to start mining without a coinbase.");
     } else {
+      // The miner thread runs the first solver thread, the others are run by the same executor.
       final EthHashSolver solver =
-          new EthHashSolver(new RandomNonceGenerator(), new EthHasher.Light());
+          new EthHashSolver(new RandomNonceGenerator(), hasher, solverThreads, executorService);
       final EthHashBlockCreator blockCreator =
           new EthHashBlockCreator(
               coinbase.get(),
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import tech.pegasys.pantheon.ethereum.mainnet.ConstantinopleFixGasCalculator;
+import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Compares the alt_bn128 precompiled contract implementations on EIP-196 and EIP-197 inputs. */
+@State(Scope.Thread)
+public class AltBN128Benchmark {
+
+  private static final String G1 =
+      "0000000000000000000000000000000000000000000000000000000000000001"
+          + "0000000000000000000000000000000000000000000000000000000000000002";
+  private static final String NEGATED_G1 =
+      "0000000000000000000000000000000000000000000000000000000000000001"
+          + "30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd45";
+  private static final String TWICE_G1 =
+      "030644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd3"
+          + "15ed738c0e0a7c92e7845f96b2ae9c0a68a6a449e3538fc7ff3ebf7a5a18a2c4";
+  private static final String G2 =
+      "198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+          + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+          + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+          + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa";
+  // A 256 bit scalar, the worst case for the double-and-add loop.
+  private static final String SCALAR =
+      "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff";
+
+  private static final BytesValue ADD_INPUT = BytesValue.fromHexString(G1 + TWICE_G1);
+  private static final BytesValue MUL_INPUT = BytesValue.fromHexString(TWICE_G1 + SCALAR);
+  private static final BytesValue PAIRING_INPUT =
+      BytesValue.fromHexString(G1 + G2 + NEGATED_G1 + G2);
+
+  @Param({"BIG_INTEGER", "MONTGOMERY"})
+  public AltBN128Implementation implementation;
+
+  private AltBN128AddPrecompiledContract add;
+  private AltBN128MulPrecompiledContract mul;
+  private AltBN128PairingPrecompiledContract pairing;
+
+  @Setup
+  public void prepare() {
+    final GasCalculator gasCalculator = new ConstantinopleFixGasCalculator();
+    add = new AltBN128AddPrecompiledContract(gasCalculator, implementation);
+    mul = new AltBN128MulPrecompiledContract(gasCalculator, implementation);
+    pairing = new AltBN128PairingPrecompiledContract(gasCalculator, implementation);
+  }
+
+  @Benchmark
+  public BytesValue add() {
+    return add.compute(ADD_INPUT);
+  }
+
+  @Benchmark
+  public BytesValue mul() {
+    return mul.compute(MUL_INPUT);
+  }
+
+  @Benchmark
+  public BytesValue pairing() {
+    return pairing.compute(PAIRING_INPUT);
+  }
+}
@@ -18,6 +18,8 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.List;
@@ -122,6 +124,41 @@ public interface Blockchain {
    */
   Optional<List<TransactionReceipt>> getTxReceipts(Hash blockHeaderHash);
 
+  /**
+   * Returns the RLP encoding of the block header corresponding to the given block hash.
+   *
+   * <p>Implementations backed by storage should return the stored bytes directly rather than
+   * decoding and re-encoding the header.
+   *
+   * @param blockHeaderHash The hash of the block whose header we want to retrieve.
+   * @return The RLP encoded block header corresponding to this block hash.
+   */
+  default Optional<BytesValue> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return getBlockHeader(blockHeaderHash).map(header -> RLP.encode(header::writeTo));
+  }
+
+  /**
+   * Returns the RLP encoding of the block body corresponding to the given block header hash.
+   *
+   * @param blockHeaderHash The block header hash identifying the block whose body should be
+   *     returned.
+   * @return The RLP encoded block body corresponding to the target block.
+   */
+  default Optional<BytesValue> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return getBlockBody(blockHeaderHash).map(body -> RLP.encode(body::writeTo));
+  }
+
+  /**
+   * Returns the RLP encoded list of transaction receipts associated with the given block.
+   *
+   * @param blockHeaderHash The header hash of the block we're querying.
+   * @return The RLP encoded transaction receipts corresponding to block hash.
+   */
+  default Optional<BytesValue> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return getTxReceipts(blockHeaderHash)
+        .map(receipts -> RLP.encode(out -> out.writeList(receipts, TransactionReceipt::writeTo)));
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
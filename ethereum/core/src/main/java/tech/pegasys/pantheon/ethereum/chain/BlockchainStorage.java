@@ -16,6 +16,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Collection;
@@ -34,6 +35,30 @@ public interface BlockchainStorage {
 
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
+  /**
+   * Returns the block header exactly as it is stored, that is RLP encoded.
+   *
+   * @param blockHash The hash of the block whose header should be returned.
+   * @return The RLP encoded block header.
+   */
+  Optional<BytesValue> getBlockHeaderRlp(Hash blockHash);
+
+  /**
+   * Returns the block body exactly as it is stored, that is RLP encoded.
+   *
+   * @param blockHash The hash of the block whose body should be returned.
+   * @return The RLP encoded block body.
+   */
+  Optional<BytesValue> getBlockBodyRlp(Hash blockHash);
+
+  /**
+   * Returns the RLP encoded list of transaction receipts of a block exactly as it is stored.
+   *
+   * @param blockHash The hash of the block whose receipts should be returned.
+   * @return The RLP encoded list of transaction receipts.
+   */
+  Optional<BytesValue> getTransactionReceiptsRlp(Hash blockHash);
+
   Optional<Hash> getBlockHash(long blockNumber);
 
   Optional<UInt256> getTotalDifficulty(Hash blockHash);
@@ -12,12 +12,17 @@
  */
 package tech.pegasys.pantheon.ethereum.core;
 
+import static java.util.stream.Collectors.toList;
+
+import tech.pegasys.pantheon.ethereum.rlp.LazyRLPList;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 public class BlockBody {
 
@@ -41,6 +46,25 @@ public class BlockBody {
     return transactions;
   }
 
+  /**
+   * Returns the hashes of the transactions of the block.
+   *
+   * <p>For a body read with {@link #readFromLazily(RLPInput, BlockHashFunction)}, the hashes are
+   * computed from the encoded transactions without decoding them.
+   *
+   * @return The hashes of the transactions of the block.
+   */
+  public List<Hash> getTransactionHashes() {
+    if (transactions instanceof LazyRLPList) {
+      return ((LazyRLPList<?>) transactions)
+          .getEncodedItems()
+          .stream()
+          .map(Hash::hash)
+          .collect(toList());
+    }
+    return transactions.stream().map(Transaction::hash).collect(toList());
+  }
+
   /** @return The list of ommers of the block. */
   public List<BlockHeader> getOmmers() {
     return ommers;
@@ -53,11 +77,23 @@ public class BlockBody {
    */
   public void writeTo(final RLPOutput output) {
     output.startList();
-    output.writeList(getTransactions(), Transaction::writeTo);
-    output.writeList(getOmmers(), BlockHeader::writeTo);
+    writeList(output, transactions, Transaction::writeTo);
+    writeList(output, ommers, BlockHeader::writeTo);
     output.endList();
   }
 
+  private static <T> void writeList(
+      final RLPOutput output, final List<T> items, final BiConsumer<T, RLPOutput> itemWriter) {
+    if (items instanceof LazyRLPList) {
+      // Copy the items as encoded rather than decoding them only to encode them again.
+      output.startList();
+      ((LazyRLPList<?>) items).getEncodedItems().forEach(output::writeRLPUnsafe);
+      output.endList();
+    } else {
+      output.writeList(items, itemWriter);
+    }
+  }
+
   public static BlockBody readFrom(
       final RLPInput input, final BlockHashFunction blockHashFunction) {
     input.enterList();
@@ -70,6 +106,29 @@ public class BlockBody {
     return body;
   }
 
+  /**
+   * Reads a block body without decoding its transactions and ommers.
+   *
+   * <p>Transactions and ommers are kept as slices of the input and only decoded when accessed, so
+   * this should only be used on trusted input, such as block bodies read from storage: malformed
+   * transactions or ommers are only detected once accessed.
+   *
+   * @param input The input positioned on the encoded block body.
+   * @param blockHashFunction The function used to compute the hash of ommers.
+   * @return A block body decoding its transactions and ommers on access.
+   */
+  public static BlockBody readFromLazily(
+      final RLPInput input, final BlockHashFunction blockHashFunction) {
+    input.enterList();
+    final BlockBody body =
+        new BlockBody(
+            LazyRLPList.readFrom(input, Transaction::fromRlp),
+            LazyRLPList.readFrom(
+                input, encoded -> BlockHeader.readFrom(RLP.input(encoded), blockHashFunction)));
+    input.leaveList();
+    return body;
+  }
+
   @Override
   public boolean equals(final Object obj) {
     if (obj == this) {
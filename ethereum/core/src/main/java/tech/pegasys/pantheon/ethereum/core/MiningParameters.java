@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.core;
 
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.nio.file.Path;
 import java.util.Optional;
 
 public class MiningParameters {
@@ -22,16 +23,27 @@ public class MiningParameters {
   private final Wei minTransactionGasPrice;
   private final BytesValue extraData;
   private final Boolean enabled;
+  private final Optional<Path> ethHashDatasetDirectory;
 
   public MiningParameters(
       final Address coinbase,
       final Wei minTransactionGasPrice,
       final BytesValue extraData,
       final Boolean enabled) {
+    this(coinbase, minTransactionGasPrice, extraData, enabled, Optional.empty());
+  }
+
+  public MiningParameters(
+      final Address coinbase,
+      final Wei minTransactionGasPrice,
+      final BytesValue extraData,
+      final Boolean enabled,
+      final Optional<Path> ethHashDatasetDirectory) {
     this.coinbase = Optional.ofNullable(coinbase);
     this.minTransactionGasPrice = minTransactionGasPrice;
     this.extraData = extraData;
     this.enabled = enabled;
+    this.ethHashDatasetDirectory = ethHashDatasetDirectory;
   }
 
   public Optional<Address> getCoinbase() {
@@ -49,4 +61,12 @@ public class MiningParameters {
   public Boolean isMiningEnabled() {
     return enabled;
   }
+
+  /**
+   * @return The directory EthHash full datasets are stored in, if mining should hash against the
+   *     full dataset rather than the light cache.
+   */
+  public Optional<Path> getEthHashDatasetDirectory() {
+    return ethHashDatasetDirectory;
+  }
 }
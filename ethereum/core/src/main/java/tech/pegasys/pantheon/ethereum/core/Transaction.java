@@ -108,6 +108,22 @@ public class Transaction {
     return builder.chainId(chainId).signature(signature).build();
   }
 
+  /**
+   * Decodes a transaction from its RLP encoding.
+   *
+   * <p>The transaction hash is computed from the provided encoding rather than by re-encoding the
+   * decoded transaction.
+   *
+   * @param encoded The RLP encoding of the transaction.
+   * @return The decoded transaction.
+   * @throws RLPException if {@code encoded} is not a valid transaction encoding.
+   */
+  public static Transaction fromRlp(final BytesValue encoded) throws RLPException {
+    final Transaction transaction = readFrom(RLP.input(encoded));
+    transaction.hash = Hash.hash(encoded);
+    return transaction;
+  }
+
   /**
    * Instantiates a transaction instance.
    *
@@ -16,6 +16,7 @@ import static tech.pegasys.pantheon.ethereum.mainnet.MainnetTransactionValidator
 
 import tech.pegasys.pantheon.config.GenesisConfigOptions;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolScheduleBuilder;
 
@@ -30,4 +31,15 @@ public class DevelopmentProtocolSchedule {
             PrivacyParameters.noPrivacy())
         .createProtocolSchedule();
   }
+
+  public static ProtocolSchedule<Void> create(
+      final GenesisConfigOptions config, final EthHashCacheFactory ethHashCacheFactory) {
+    return new ProtocolScheduleBuilder<>(
+            config,
+            NO_CHAIN_ID,
+            builder -> builder.difficultyCalculator(DevelopmentDifficultyCalculators.DEVELOPER),
+            PrivacyParameters.noPrivacy(),
+            ethHashCacheFactory)
+        .createProtocolSchedule();
+  }
 }
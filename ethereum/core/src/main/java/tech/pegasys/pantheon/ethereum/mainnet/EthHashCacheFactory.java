@@ -12,18 +12,66 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Provides the EthHash verification cache of every epoch.
+ *
+ * <p>Caches are kept in memory for the most recently used epochs. When a cache directory is
+ * configured, generated caches are also written to disk, and caches found there are loaded instead
+ * of being generated again, which avoids stalling header validation for seconds on every restart.
+ *
+ * <p>When a block close to the end of an epoch is hashed, the cache of the next epoch is generated
+ * in the background, so that validating the first headers of the next epoch does not block either.
+ *
+ * <p>Only the caches of the epochs around the last one stored are kept on disk, older and newer
+ * ones are deleted as the chain moves on.
+ */
 public class EthHashCacheFactory {
 
   private static final Logger LOG = LogManager.getLogger();
 
+  // Generate the cache of the next epoch once the chain is this close to the epoch boundary.
+  static final long PRECOMPUTE_DISTANCE = EthHash.EPOCH_LENGTH / 10;
+
+  // Stored caches kept around the last stored epoch, so that short reorgs across an epoch boundary
+  // and the precomputed next epoch don't need to be generated again.
+  private static final long STORED_EPOCHS_BEFORE = 2;
+  private static final long STORED_EPOCHS_AFTER = 1;
+
+  private static final String FILE_PREFIX = "ethash-cache-";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
   public static class EthHashDescriptor {
     private final long datasetSize;
     private final int[] cache;
@@ -42,20 +90,181 @@ public class EthHashCacheFactory {
     }
   }
 
+  private final Optional<Path> cacheDirectory;
+  private final OperationTimer generationTimer;
+  private final LabelledMetric<Counter> cacheLoads;
+  private final AtomicLong precomputedEpoch = new AtomicLong(-1L);
+  private final ExecutorService precomputeExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setNameFormat("EthHashCache-%d").setDaemon(true).build());
+
   Cache<Long, EthHashDescriptor> descriptorCache = CacheBuilder.newBuilder().maximumSize(5).build();
 
+  /** Creates a factory which only keeps caches in memory. */
+  public EthHashCacheFactory() {
+    this(Optional.empty(), new NoOpMetricsSystem());
+  }
+
+  /**
+   * Creates a factory persisting caches to disk.
+   *
+   * @param cacheDirectory The directory caches are stored in.
+   * @param metricsSystem The metrics system cache generation is reported to.
+   */
+  public EthHashCacheFactory(final Path cacheDirectory, final MetricsSystem metricsSystem) {
+    this(Optional.of(cacheDirectory), metricsSystem);
+  }
+
+  private EthHashCacheFactory(
+      final Optional<Path> cacheDirectory, final MetricsSystem metricsSystem) {
+    this.cacheDirectory = cacheDirectory;
+    this.generationTimer =
+        metricsSystem.createTimer(
+            MetricCategory.BLOCKCHAIN,
+            "ethash_cache_generation_seconds",
+            "Time taken to generate an EthHash verification cache");
+    this.cacheLoads =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.BLOCKCHAIN,
+            "ethash_cache_loads_total",
+            "Number of EthHash verification caches loaded, by source",
+            "source");
+    cacheDirectory.ifPresent(EthHashCacheFactory::deleteTempFiles);
+  }
+
   public EthHashDescriptor ethHashCacheFor(final long blockNumber) {
     final long epochIndex = EthHash.epoch(blockNumber);
+    if (EthHash.EPOCH_LENGTH - blockNumber % EthHash.EPOCH_LENGTH <= PRECOMPUTE_DISTANCE) {
+      precompute(epochIndex + 1);
+    }
+    return descriptorFor(epochIndex);
+  }
+
+  private void precompute(final long epochIndex) {
+    final long previous = precomputedEpoch.get();
+    if (epochIndex > previous && precomputedEpoch.compareAndSet(previous, epochIndex)) {
+      precomputeExecutor.execute(
+          () -> {
+            try {
+              descriptorFor(epochIndex);
+            } catch (final RuntimeException ex) {
+              LOG.warn("Failed to precompute EthHash cache for epoch {}", epochIndex, ex);
+            }
+          });
+    }
+  }
+
+  private EthHashDescriptor descriptorFor(final long epochIndex) {
     try {
-      return descriptorCache.get(epochIndex, () -> createHashCache(epochIndex, blockNumber));
+      // Concurrent requests for the same epoch, including a background precomputation, wait for
+      // the first one to load the cache rather than generating it again.
+      return descriptorCache.get(epochIndex, () -> createHashCache(epochIndex));
     } catch (final ExecutionException ex) {
       throw new RuntimeException("Failed to create a suitable cache for EthHash calculations.", ex);
     }
   }
 
-  private EthHashDescriptor createHashCache(final long epochIndex, final long blockNumber) {
-    final int[] cache =
-        EthHash.mkCache(Ints.checkedCast(EthHash.cacheSize(epochIndex)), blockNumber);
+  private EthHashDescriptor createHashCache(final long epochIndex) {
+    final int cacheSize = Ints.checkedCast(EthHash.cacheSize(epochIndex));
+    final Optional<int[]> stored = cacheDirectory.flatMap(dir -> read(dir, epochIndex, cacheSize));
+    final int[] cache;
+    if (stored.isPresent()) {
+      cacheLoads.labels("disk").inc();
+      cache = stored.get();
+    } else {
+      cacheLoads.labels("generated").inc();
+      try (final OperationTimer.TimingContext ignored = generationTimer.startTimer()) {
+        cache = EthHash.mkCache(cacheSize, epochIndex * EthHash.EPOCH_LENGTH);
+      }
+      cacheDirectory.ifPresent(
+          dir -> {
+            write(dir, epochIndex, cache);
+            prune(dir, epochIndex);
+          });
+    }
     return new EthHashDescriptor(EthHash.datasetSize(epochIndex), cache);
   }
+
+  private static Optional<int[]> read(
+      final Path directory, final long epochIndex, final int cacheSize) {
+    final Path file = directory.resolve(fileName(epochIndex));
+    try {
+      if (!Files.exists(file) || Files.size(file) != cacheSize) {
+        return Optional.empty();
+      }
+      try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        final MappedByteBuffer mapped = channel.map(MapMode.READ_ONLY, 0, cacheSize);
+        final int[] cache = new int[cacheSize / Integer.BYTES];
+        mapped.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(cache);
+        return Optional.of(cache);
+      }
+    } catch (final IOException ex) {
+      LOG.warn("Unable to read EthHash cache from {}", file, ex);
+      return Optional.empty();
+    }
+  }
+
+  private static void write(final Path directory, final long epochIndex, final int[] cache) {
+    final Path file = directory.resolve(fileName(epochIndex));
+    final Path tempFile = directory.resolve(fileName(epochIndex) + TEMP_FILE_SUFFIX);
+    try {
+      Files.createDirectories(directory);
+      final ByteBuffer buffer =
+          ByteBuffer.allocate(cache.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.asIntBuffer().put(cache);
+      try (final FileChannel channel =
+          FileChannel.open(
+              tempFile,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+      // Only complete caches are ever renamed to their final name.
+      Files.move(
+          tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (final IOException ex) {
+      LOG.warn("Unable to store EthHash cache to {}", file, ex);
+    }
+  }
+
+  /** Deletes the stored caches of epochs far from the given one. */
+  private static void prune(final Path directory, final long epochIndex) {
+    try (final DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+      for (final Path file : files) {
+        final Long storedEpoch =
+            Longs.tryParse(file.getFileName().toString().substring(FILE_PREFIX.length()));
+        // Temporary files don't parse as an epoch, they may belong to a cache being written.
+        if (storedEpoch != null
+            && (storedEpoch < epochIndex - STORED_EPOCHS_BEFORE
+                || storedEpoch > epochIndex + STORED_EPOCHS_AFTER)) {
+          Files.deleteIfExists(file);
+        }
+      }
+    } catch (final IOException ex) {
+      LOG.warn("Unable to delete old EthHash caches from {}", directory, ex);
+    }
+  }
+
+  /** Deletes the caches left incomplete when a previous run stopped while writing them. */
+  private static void deleteTempFiles(final Path directory) {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (final DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, FILE_PREFIX + "*" + TEMP_FILE_SUFFIX)) {
+      for (final Path file : files) {
+        Files.deleteIfExists(file);
+      }
+    } catch (final IOException ex) {
+      LOG.warn("Unable to delete incomplete EthHash caches from {}", directory, ex);
+    }
+  }
+
+  private static String fileName(final long epochIndex) {
+    return FILE_PREFIX + epochIndex;
+  }
 }
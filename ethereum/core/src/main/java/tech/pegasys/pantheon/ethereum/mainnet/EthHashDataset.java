@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.primitives.Ints;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The full EthHash dataset (DAG) of an epoch, stored in a memory mapped file.
+ *
+ * <p>Datasets are written to a file named after their epoch, so a dataset generated once is reused
+ * across restarts. Generation writes to a temporary file which is only renamed once complete, so
+ * an interrupted generation is never mistaken for a valid dataset.
+ *
+ * <p>Readers {@link #retain()} the dataset around their lookups. Once it is closed and the last
+ * reader releases it, the dataset drops its mapped segments so they can be unmapped.
+ */
+public final class EthHashDataset implements Closeable {
+  private static final Logger LOG = LogManager.getLogger();
+
+  // Mapped regions are limited to 2GB, larger datasets are mapped as several segments. The segment
+  // size is a multiple of the item size so that items never span two segments.
+  private static final long SEGMENT_SIZE = 1L << 30;
+
+  private final long epoch;
+  private final long size;
+  // One reference per reader, plus one held until the dataset is closed.
+  private final AtomicInteger references = new AtomicInteger(1);
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+  private volatile MappedByteBuffer[] segments;
+
+  private EthHashDataset(final long epoch, final long size, final MappedByteBuffer[] segments) {
+    this.epoch = epoch;
+    this.size = size;
+    this.segments = segments;
+  }
+
+  /**
+   * Loads the dataset of an epoch from the given directory, generating it first if it is not there.
+   *
+   * @param directory The directory datasets are stored in.
+   * @param epoch The epoch of the dataset.
+   * @param generators The executor computing dataset items.
+   * @param parallelism The number of generation tasks to split the dataset into.
+   * @return The dataset of the epoch.
+   * @throws IOException if the dataset cannot be read or written.
+   */
+  public static EthHashDataset load(
+      final Path directory,
+      final long epoch,
+      final ExecutorService generators,
+      final int parallelism)
+      throws IOException {
+    final long size = EthHash.datasetSize(epoch);
+    final Path file = directory.resolve(fileName(epoch));
+    if (!Files.exists(file) || Files.size(file) != size) {
+      generate(directory, file, epoch, size, generators, parallelism);
+    }
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new EthHashDataset(epoch, size, map(channel, MapMode.READ_ONLY, size));
+    }
+  }
+
+  /**
+   * Deletes the stored dataset of an epoch, if any.
+   *
+   * @param directory The directory datasets are stored in.
+   * @param epoch The epoch of the dataset to delete.
+   * @throws IOException if the dataset cannot be deleted.
+   */
+  public static void delete(final Path directory, final long epoch) throws IOException {
+    Files.deleteIfExists(directory.resolve(fileName(epoch)));
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Registers a reader of the dataset, which must call {@link #release()} once done.
+   *
+   * @return true if the dataset can be read, false if it was closed and released.
+   */
+  public boolean retain() {
+    while (true) {
+      final int current = references.get();
+      if (current == 0) {
+        return false;
+      }
+      if (references.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /** Unregisters a reader of the dataset. */
+  public void release() {
+    if (references.decrementAndGet() == 0) {
+      // Java 8 cannot unmap a buffer explicitly, it is unmapped once collected.
+      segments = null;
+    }
+  }
+
+  /** Releases the dataset once it has no more readers. */
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      release();
+    }
+  }
+
+  /**
+   * Reads a dataset item.
+   *
+   * @param buffer Buffer to store the dataset item in
+   * @param index Index of the dataset item to read
+   */
+  public void lookup(final byte[] buffer, final int index) {
+    final long offset = (long) index * EthHash.HASH_BYTES;
+    final ByteBuffer segment = segments[(int) (offset / SEGMENT_SIZE)];
+    final int segmentOffset = (int) (offset % SEGMENT_SIZE);
+    // Absolute reads keep lookups safe from concurrent solver threads.
+    for (int i = 0; i < EthHash.HASH_BYTES; i++) {
+      buffer[i] = segment.get(segmentOffset + i);
+    }
+  }
+
+  private static void generate(
+      final Path directory,
+      final Path file,
+      final long epoch,
+      final long size,
+      final ExecutorService generators,
+      final int parallelism)
+      throws IOException {
+    LOG.info("Generating EthHash dataset for epoch {} ({} bytes)", epoch, size);
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    final int[] cache =
+        EthHash.mkCache(
+            Ints.checkedCast(EthHash.cacheSize(epoch)), epoch * EthHash.EPOCH_LENGTH);
+    final Path tempFile = directory.resolve(fileName(epoch) + ".tmp");
+    try (final FileChannel channel =
+        FileChannel.open(
+            tempFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      final MappedByteBuffer[] segments = map(channel, MapMode.READ_WRITE, size);
+      final int items = Ints.checkedCast(size / EthHash.HASH_BYTES);
+      final int partitionSize = items / parallelism;
+      final List<Future<?>> partitions = new ArrayList<>(parallelism);
+      for (int partition = 0; partition < parallelism; ++partition) {
+        final int start = partition * partitionSize;
+        final int end = partition == parallelism - 1 ? items : start + partitionSize;
+        partitions.add(generators.submit(() -> generateItems(segments, cache, start, end)));
+      }
+      awaitAll(partitions);
+      for (final MappedByteBuffer segment : segments) {
+        segment.force();
+      }
+    }
+    Files.move(
+        tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    LOG.info("Generated EthHash dataset for epoch {} in {}", epoch, stopwatch);
+  }
+
+  private static void generateItems(
+      final MappedByteBuffer[] segments, final int[] cache, final int start, final int end) {
+    final byte[] item = new byte[EthHash.HASH_BYTES];
+    for (int i = start; i < end; ++i) {
+      EthHash.calcDatasetItem(item, cache, i);
+      final long offset = (long) i * EthHash.HASH_BYTES;
+      // Each task writes through its own view of the segment, so positions are not shared.
+      final ByteBuffer segment = segments[(int) (offset / SEGMENT_SIZE)].duplicate();
+      segment.position((int) (offset % SEGMENT_SIZE));
+      segment.put(item);
+    }
+  }
+
+  private static void awaitAll(final List<Future<?>> partitions) throws IOException {
+    try {
+      for (final Future<?> partition : partitions) {
+        partition.get();
+      }
+    } catch (final InterruptedException e) {
+      partitions.forEach(partition -> partition.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while generating EthHash dataset", e);
+    } catch (final ExecutionException e) {
+      partitions.forEach(partition -> partition.cancel(true));
+      throw new IOException("Failed to generate EthHash dataset", e.getCause());
+    }
+  }
+
+  private static MappedByteBuffer[] map(
+      final FileChannel channel, final MapMode mode, final long size) throws IOException {
+    final int segmentCount = Ints.checkedCast((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+    final MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      final long start = i * SEGMENT_SIZE;
+      segments[i] = channel.map(mode, start, Math.min(SEGMENT_SIZE, size - start));
+    }
+    return segments;
+  }
+
+  private static String fileName(final long epoch) {
+    return "ethash-dataset-" + epoch;
+  }
+}
@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -21,9 +23,9 @@ import java.util.Arrays;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-
-import com.google.common.base.Stopwatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
 
 public class EthHashSolver {
 
@@ -71,13 +73,39 @@ public class EthHashSolver {
 
   private final Iterable<Long> nonceGenerator;
   private final EthHasher ethHasher;
+  private final int solverThreads;
+  private final Executor solverExecutor;
   private volatile long hashesPerSecond = NO_MINING_CONDUCTED;
 
   private volatile Optional<EthHashSolverJob> currentJob = Optional.empty();
 
   public EthHashSolver(final Iterable<Long> nonceGenerator, final EthHasher ethHasher) {
+    this(nonceGenerator, ethHasher, 1, Runnable::run);
+  }
+
+  /**
+   * Creates a solver searching for nonces on several threads.
+   *
+   * <p>Every job starts from the next nonce of the generator, and each thread then tries a disjoint
+   * strided range of nonces from there: thread {@code i} tries {@code start + i}, {@code start + i
+   * + solverThreads}, and so on. The reported hash rate is the aggregate of all threads.
+   *
+   * @param nonceGenerator Generates the starting nonce of every job.
+   * @param ethHasher The hasher used by all threads, must be thread-safe.
+   * @param solverThreads The number of threads searching for a nonce.
+   * @param solverExecutor Runs the additional solver threads, the thread calling {@link
+   *     #solveFor(EthHashSolverJob)} is used as the first one.
+   */
+  public EthHashSolver(
+      final Iterable<Long> nonceGenerator,
+      final EthHasher ethHasher,
+      final int solverThreads,
+      final Executor solverExecutor) {
+    checkArgument(solverThreads > 0, "At least one solver thread is required");
     this.nonceGenerator = nonceGenerator;
     this.ethHasher = ethHasher;
+    this.solverThreads = solverThreads;
+    this.solverExecutor = solverExecutor;
   }
 
   public EthHashSolution solveFor(final EthHashSolverJob job)
@@ -88,24 +116,56 @@ public class EthHashSolver {
   }
 
   private void findValidNonce() {
-    final Stopwatch operationTimer = Stopwatch.createStarted();
+    final long startNanos = System.nanoTime();
     final EthHashSolverJob job = currentJob.get();
-    long hashesExecuted = 0;
+    final AtomicLong hashesExecuted = new AtomicLong();
+    if (solverThreads == 1) {
+      if (!searchNonces(job, nonceGenerator, startNanos, hashesExecuted)) {
+        job.failed(new IllegalStateException("No valid nonce found."));
+      }
+      return;
+    }
+
+    final long startNonce = nonceGenerator.iterator().next();
+    for (int i = 1; i < solverThreads; i++) {
+      final Iterable<Long> nonces = stridedNonces(startNonce + i, solverThreads);
+      solverExecutor.execute(
+          () -> {
+            try {
+              searchNonces(job, nonces, startNanos, hashesExecuted);
+            } catch (final RuntimeException ex) {
+              job.failed(ex);
+            }
+          });
+    }
+    searchNonces(job, stridedNonces(startNonce, solverThreads), startNanos, hashesExecuted);
+  }
+
+  /** @return true if the job was completed, false if the nonces were exhausted before. */
+  private boolean searchNonces(
+      final EthHashSolverJob job,
+      final Iterable<Long> nonces,
+      final long startNanos,
+      final AtomicLong hashesExecuted) {
     final byte[] hashBuffer = new byte[64];
-    for (final Long n : nonceGenerator) {
+    for (final Long n : nonces) {
 
       if (job.isDone()) {
-        return;
+        return true;
       }
 
       final Optional<EthHashSolution> solution = testNonce(job.getInputs(), n, hashBuffer);
       solution.ifPresent(job::solvedWith);
 
-      hashesExecuted++;
-      final double operationDurationSeconds = operationTimer.elapsed(TimeUnit.NANOSECONDS) / 1e9;
-      hashesPerSecond = (long) (hashesExecuted / operationDurationSeconds);
+      final long executed = hashesExecuted.incrementAndGet();
+      final double operationDurationSeconds = (System.nanoTime() - startNanos) / 1e9;
+      hashesPerSecond = (long) (executed / operationDurationSeconds);
     }
-    job.failed(new IllegalStateException("No valid nonce found."));
+    return job.isDone();
+  }
+
+  private static Iterable<Long> stridedNonces(final long start, final int stride) {
+    return () -> LongStream.iterate(start, nonce -> nonce + stride).iterator();
   }
 
   private Optional<EthHashSolution> testNonce(
@@ -14,13 +14,19 @@ package tech.pegasys.pantheon.ethereum.mainnet;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.concurrent.CountDownLatch;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
-import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public interface EthHasher {
 
@@ -34,7 +40,24 @@ public interface EthHasher {
 
   final class Light implements EthHasher {
 
-    private static final EthHashCacheFactory cacheFactory = new EthHashCacheFactory();
+    // Shared by the hashers not given a factory, so that they don't each generate the same caches.
+    private static final EthHashCacheFactory IN_MEMORY_CACHE_FACTORY = new EthHashCacheFactory();
+
+    private final EthHashCacheFactory cacheFactory;
+
+    /** Creates a hasher keeping its caches in memory only. */
+    public Light() {
+      this(IN_MEMORY_CACHE_FACTORY);
+    }
+
+    /**
+     * Creates a hasher getting its caches from the given factory.
+     *
+     * @param cacheFactory The factory providing the cache of every epoch.
+     */
+    public Light(final EthHashCacheFactory cacheFactory) {
+      this.cacheFactory = cacheFactory;
+    }
 
     @Override
     public void hash(
@@ -46,134 +69,143 @@ public interface EthHasher {
     }
   }
 
+  /**
+   * Hashes against the full dataset of the epoch, kept in memory mapped files in the given
+   * directory.
+   *
+   * <p>Datasets are generated in the background, split across all cores, and the dataset of the
+   * next epoch is generated as soon as the current one is available so that mining does not stall
+   * at epoch boundaries. Hashes requested before the dataset of their epoch is available are
+   * computed from the light cache instead. Instances are safe to use from multiple threads.
+   */
   final class Full implements EthHasher, Closeable {
+    private static final Logger LOG = LogManager.getLogger();
+
+    private static final int GENERATORS = Runtime.getRuntime().availableProcessors();
 
-    private static final int HASHERS = Runtime.getRuntime().availableProcessors();
+    private final Path datasetDirectory;
 
-    private long epoch = -1L;
+    private final EthHasher fallback;
 
-    private long datasetSize;
+    private final ConcurrentMap<Long, CompletableFuture<EthHashDataset>> datasets =
+        new ConcurrentHashMap<>();
 
-    private final RandomAccessFile cacheFile;
+    private volatile long currentEpoch = -1L;
 
-    private final ExecutorService hashers = Executors.newFixedThreadPool(HASHERS);
+    // Datasets are generated one at a time, each using all the generator threads.
+    private final ExecutorService scheduler =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("EthHashDataset-%d")
+                .setDaemon(true)
+                .build());
 
-    public Full(final Path cacheFile) throws IOException {
-      this.cacheFile = new RandomAccessFile(cacheFile.toFile(), "rw");
-      datasetSize = this.cacheFile.length();
+    private final ExecutorService generators =
+        Executors.newFixedThreadPool(
+            GENERATORS,
+            new ThreadFactoryBuilder()
+                .setNameFormat("EthHashDatasetGenerator-%d")
+                .setDaemon(true)
+                .build());
+
+    public Full(final Path datasetDirectory) throws IOException {
+      this(datasetDirectory, new Light());
+    }
+
+    public Full(final Path datasetDirectory, final EthHashCacheFactory cacheFactory)
+        throws IOException {
+      this(datasetDirectory, new Light(cacheFactory));
+    }
+
+    private Full(final Path datasetDirectory, final EthHasher fallback) throws IOException {
+      this.datasetDirectory = Files.createDirectories(datasetDirectory);
+      this.fallback = fallback;
     }
 
     @Override
     public void hash(
         final byte[] buffer, final long nonce, final long number, final byte[] headerHash) {
-      final long newEpoch = EthHash.epoch(number);
-      if (epoch != newEpoch) {
-        updateCache(number, newEpoch);
+      final Optional<EthHashDataset> dataset = datasetFor(EthHash.epoch(number));
+      if (!dataset.isPresent() || !dataset.get().retain()) {
+        fallback.hash(buffer, nonce, number, headerHash);
+        return;
       }
-      final byte[] hash =
-          EthHash.hashimoto(
-              headerHash,
-              datasetSize,
-              nonce,
-              (bytes, offset) -> {
+      try {
+        final byte[] hash =
+            EthHash.hashimoto(headerHash, dataset.get().getSize(), nonce, dataset.get()::lookup);
+        System.arraycopy(hash, 0, buffer, 0, hash.length);
+      } finally {
+        dataset.get().release();
+      }
+    }
+
+    /**
+     * Starts generating the dataset of an epoch in the background, if it is not already available.
+     *
+     * @param epoch The epoch to generate the dataset for.
+     * @return A future completed with the dataset once it is available.
+     */
+    public CompletableFuture<EthHashDataset> prepare(final long epoch) {
+      final CompletableFuture<EthHashDataset> dataset = datasets.get(epoch);
+      if (dataset != null) {
+        return dataset;
+      }
+      return datasets.computeIfAbsent(
+          epoch, e -> CompletableFuture.supplyAsync(() -> load(e), scheduler));
+    }
+
+    private Optional<EthHashDataset> datasetFor(final long epoch) {
+      if (epoch != currentEpoch) {
+        updateEpoch(epoch);
+      }
+      final CompletableFuture<EthHashDataset> dataset = prepare(epoch);
+      if (!dataset.isDone() || dataset.isCompletedExceptionally()) {
+        return Optional.empty();
+      }
+      return Optional.of(dataset.join());
+    }
+
+    private synchronized void updateEpoch(final long epoch) {
+      if (epoch <= currentEpoch) {
+        return;
+      }
+      currentEpoch = epoch;
+      prepare(epoch).thenRun(() -> prepare(epoch + 1));
+      // Datasets of past epochs are no longer mined against, release them and their files.
+      datasets.keySet().stream()
+          .filter(e -> e < epoch)
+          .forEach(
+              e -> {
+                release(datasets.remove(e));
                 try {
-                  cacheFile.seek(((long) offset) * EthHash.HASH_BYTES);
-                  cacheFile.readFully(bytes);
+                  EthHashDataset.delete(datasetDirectory, e);
                 } catch (final IOException ex) {
-                  throw new IllegalStateException(ex);
+                  LOG.warn("Unable to delete EthHash dataset for epoch {}", e, ex);
                 }
               });
-      System.arraycopy(hash, 0, buffer, 0, hash.length);
     }
 
-    private void updateCache(final long number, final long newEpoch) {
-      final int[] cache = EthHash.mkCache(Ints.checkedCast(EthHash.cacheSize(newEpoch)), number);
-      epoch = newEpoch;
-      final long newDatasetSize = EthHash.datasetSize(epoch);
-      if (newDatasetSize != datasetSize) {
-        datasetSize = newDatasetSize;
-        final CountDownLatch doneLatch = new CountDownLatch(HASHERS);
-        final int upperBound = Ints.checkedCast(datasetSize / EthHash.HASH_BYTES);
-        final int partitionSize = upperBound / HASHERS;
-        for (int partition = 0; partition < HASHERS; ++partition) {
-          hashers.execute(
-              new EthHasher.Full.HasherTask(
-                  partition * partitionSize,
-                  partition == HASHERS - 1 ? upperBound : (partition + 1) * partitionSize,
-                  cache,
-                  doneLatch,
-                  cacheFile));
-        }
-        try {
-          doneLatch.await();
-        } catch (final InterruptedException ex) {
-          throw new IllegalStateException(ex);
-        }
+    private EthHashDataset load(final long epoch) {
+      try {
+        return EthHashDataset.load(datasetDirectory, epoch, generators, GENERATORS);
+      } catch (final IOException ex) {
+        LOG.error("Unable to generate EthHash dataset for epoch {}", epoch, ex);
+        throw new UncheckedIOException(ex);
       }
     }
 
-    @Override
-    public void close() throws IOException {
-      cacheFile.close();
-      hashers.shutdownNow();
-    }
-
-    private static final class HasherTask implements Runnable {
-
-      private static final int DISK_BATCH_SIZE = 256;
-
-      private final int start;
-      private final int end;
-      private final int[] cache;
-      private final CountDownLatch doneLatch;
-      private final RandomAccessFile cacheFile;
-
-      HasherTask(
-          final int start,
-          final int upperBound,
-          final int[] cache,
-          final CountDownLatch doneLatch,
-          final RandomAccessFile cacheFile) {
-        this.end = upperBound;
-        this.cache = cache;
-        this.start = start;
-        this.doneLatch = doneLatch;
-        this.cacheFile = cacheFile;
+    private static void release(final CompletableFuture<EthHashDataset> dataset) {
+      // Datasets still being generated are closed once complete.
+      if (dataset != null) {
+        dataset.thenAccept(EthHashDataset::close);
       }
+    }
 
-      @Override
-      public void run() {
-        try {
-          final byte[] itemBuffer = new byte[EthHash.HASH_BYTES];
-          final byte[] writeBuffer = new byte[EthHash.HASH_BYTES * DISK_BATCH_SIZE];
-          int buffered = 0;
-          long lastOffset = 0;
-          for (int i = start; i < end; ++i) {
-            EthHash.calcDatasetItem(itemBuffer, cache, i);
-            System.arraycopy(
-                itemBuffer, 0, writeBuffer, buffered * EthHash.HASH_BYTES, EthHash.HASH_BYTES);
-            ++buffered;
-            if (buffered == DISK_BATCH_SIZE) {
-              synchronized (cacheFile) {
-                lastOffset =
-                    (long) ((i - DISK_BATCH_SIZE + 1) * EthHash.HASH_BYTES) + writeBuffer.length;
-                cacheFile.seek(lastOffset - writeBuffer.length);
-                cacheFile.write(writeBuffer);
-              }
-              buffered = 0;
-            }
-          }
-          if (buffered > 0) {
-            synchronized (cacheFile) {
-              cacheFile.seek(lastOffset);
-              cacheFile.write(writeBuffer, 0, buffered * EthHash.HASH_BYTES);
-            }
-          }
-          doneLatch.countDown();
-        } catch (final IOException ex) {
-          throw new IllegalStateException(ex);
-        }
-      }
+    @Override
+    public void close() {
+      scheduler.shutdownNow();
+      generators.shutdownNow();
+      datasets.keySet().forEach(e -> release(datasets.remove(e)));
     }
   }
 }
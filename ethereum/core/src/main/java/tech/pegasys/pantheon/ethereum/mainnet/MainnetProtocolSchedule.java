@@ -42,4 +42,22 @@ public class MainnetProtocolSchedule {
             config, DEFAULT_CHAIN_ID, Function.identity(), privacyParameters)
         .createProtocolSchedule();
   }
+
+  /**
+   * Create a Mainnet protocol schedule from a config object
+   *
+   * @param config {@link GenesisConfigOptions} containing the config options for the milestone
+   *     starting points
+   * @param privacyParameters the parameters set for private transactions
+   * @param ethHashCacheFactory the factory providing the EthHash caches to validate headers with
+   * @return A configured mainnet protocol schedule
+   */
+  public static ProtocolSchedule<Void> fromConfig(
+      final GenesisConfigOptions config,
+      final PrivacyParameters privacyParameters,
+      final EthHashCacheFactory ethHashCacheFactory) {
+    return new ProtocolScheduleBuilder<>(
+            config, DEFAULT_CHAIN_ID, Function.identity(), privacyParameters, ethHashCacheFactory)
+        .createProtocolSchedule();
+  }
 }
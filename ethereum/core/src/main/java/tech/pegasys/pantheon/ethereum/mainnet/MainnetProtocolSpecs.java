@@ -58,7 +58,7 @@ public abstract class MainnetProtocolSpecs {
 
   private MainnetProtocolSpecs() {}
 
-  public static ProtocolSpecBuilder<Void> frontierDefinition() {
+  public static ProtocolSpecBuilder<Void> frontierDefinition(final EthHasher ethHasher) {
     return new ProtocolSpecBuilder<Void>()
         .gasCalculator(FrontierGasCalculator::new)
         .evmBuilder(MainnetEvmRegistries::frontier)
@@ -82,8 +82,12 @@ public abstract class MainnetProtocolSpecs {
                     messageCallProcessor,
                     false))
         .difficultyCalculator(MainnetDifficultyCalculators.FRONTIER)
-        .blockHeaderValidatorBuilder(MainnetBlockHeaderValidator::create)
-        .ommerHeaderValidatorBuilder(MainnetBlockHeaderValidator::createOmmerValidator)
+        .blockHeaderValidatorBuilder(
+            difficultyCalculator ->
+                MainnetBlockHeaderValidator.create(difficultyCalculator, ethHasher))
+        .ommerHeaderValidatorBuilder(
+            difficultyCalculator ->
+                MainnetBlockHeaderValidator.createOmmerValidator(difficultyCalculator, ethHasher))
         .blockBodyValidatorBuilder(MainnetBlockBodyValidator::new)
         .transactionReceiptFactory(MainnetProtocolSpecs::frontierTransactionReceiptFactory)
         .blockReward(FRONTIER_BLOCK_REWARD)
@@ -96,8 +100,8 @@ public abstract class MainnetProtocolSpecs {
         .name("Frontier");
   }
 
-  public static ProtocolSpecBuilder<Void> homesteadDefinition() {
-    return frontierDefinition()
+  public static ProtocolSpecBuilder<Void> homesteadDefinition(final EthHasher ethHasher) {
+    return frontierDefinition(ethHasher)
         .gasCalculator(HomesteadGasCalculator::new)
         .evmBuilder(MainnetEvmRegistries::homestead)
         .contractCreationProcessorBuilder(
@@ -110,9 +114,11 @@ public abstract class MainnetProtocolSpecs {
         .name("Homestead");
   }
 
-  public static ProtocolSpecBuilder<Void> daoRecoveryInitDefinition() {
-    return homesteadDefinition()
-        .blockHeaderValidatorBuilder(MainnetBlockHeaderValidator::createDaoValidator)
+  public static ProtocolSpecBuilder<Void> daoRecoveryInitDefinition(final EthHasher ethHasher) {
+    return homesteadDefinition(ethHasher)
+        .blockHeaderValidatorBuilder(
+            difficultyCalculator ->
+                MainnetBlockHeaderValidator.createDaoValidator(difficultyCalculator, ethHasher))
         .blockProcessorBuilder(
             (transactionProcessor,
                 transactionReceiptFactory,
@@ -127,20 +133,22 @@ public abstract class MainnetProtocolSpecs {
         .name("DaoRecoveryInit");
   }
 
-  public static ProtocolSpecBuilder<Void> daoRecoveryTransitionDefinition() {
-    return daoRecoveryInitDefinition()
+  public static ProtocolSpecBuilder<Void> daoRecoveryTransitionDefinition(
+      final EthHasher ethHasher) {
+    return daoRecoveryInitDefinition(ethHasher)
         .blockProcessorBuilder(MainnetBlockProcessor::new)
         .name("DaoRecoveryTransition");
   }
 
-  public static ProtocolSpecBuilder<Void> tangerineWhistleDefinition() {
-    return homesteadDefinition()
+  public static ProtocolSpecBuilder<Void> tangerineWhistleDefinition(final EthHasher ethHasher) {
+    return homesteadDefinition(ethHasher)
         .gasCalculator(TangerineWhistleGasCalculator::new)
         .name("TangerineWhistle");
   }
 
-  public static ProtocolSpecBuilder<Void> spuriousDragonDefinition(final int chainId) {
-    return tangerineWhistleDefinition()
+  public static ProtocolSpecBuilder<Void> spuriousDragonDefinition(
+      final int chainId, final EthHasher ethHasher) {
+    return tangerineWhistleDefinition(ethHasher)
         .gasCalculator(SpuriousDragonGasCalculator::new)
         .messageCallProcessorBuilder(
             (evm, precompileContractRegistry) ->
@@ -173,8 +181,9 @@ public abstract class MainnetProtocolSpecs {
         .name("SpuriousDragon");
   }
 
-  public static ProtocolSpecBuilder<Void> byzantiumDefinition(final int chainId) {
-    return spuriousDragonDefinition(chainId)
+  public static ProtocolSpecBuilder<Void> byzantiumDefinition(
+      final int chainId, final EthHasher ethHasher) {
+    return spuriousDragonDefinition(chainId, ethHasher)
         .evmBuilder(MainnetEvmRegistries::byzantium)
         .precompileContractRegistryBuilder(MainnetPrecompiledContractRegistries::byzantium)
         .difficultyCalculator(MainnetDifficultyCalculators.BYZANTIUM)
@@ -184,8 +193,9 @@ public abstract class MainnetProtocolSpecs {
         .name("Byzantium");
   }
 
-  public static ProtocolSpecBuilder<Void> constantinopleDefinition(final int chainId) {
-    return byzantiumDefinition(chainId)
+  public static ProtocolSpecBuilder<Void> constantinopleDefinition(
+      final int chainId, final EthHasher ethHasher) {
+    return byzantiumDefinition(chainId, ethHasher)
         .difficultyCalculator(MainnetDifficultyCalculators.CONSTANTINOPLE)
         .gasCalculator(ConstantinopleGasCalculator::new)
         .evmBuilder(MainnetEvmRegistries::constantinople)
@@ -193,8 +203,9 @@ public abstract class MainnetProtocolSpecs {
         .name("Constantinople");
   }
 
-  public static ProtocolSpecBuilder<Void> constantinopleFixDefinition(final int chainId) {
-    return constantinopleDefinition(chainId)
+  public static ProtocolSpecBuilder<Void> constantinopleFixDefinition(
+      final int chainId, final EthHasher ethHasher) {
+    return constantinopleDefinition(chainId, ethHasher)
         .gasCalculator(ConstantinopleFixGasCalculator::new)
         .name("ConstantinopleFix");
   }
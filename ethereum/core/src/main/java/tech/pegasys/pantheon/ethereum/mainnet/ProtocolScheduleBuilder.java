@@ -24,16 +24,45 @@ public class ProtocolScheduleBuilder<C> {
   private final Function<ProtocolSpecBuilder<Void>, ProtocolSpecBuilder<C>> protocolSpecAdapter;
   private final int defaultChainId;
   private final PrivacyParameters privacyParameters;
+  private final EthHasher ethHasher;
 
   public ProtocolScheduleBuilder(
       final GenesisConfigOptions config,
       final int defaultChainId,
       final Function<ProtocolSpecBuilder<Void>, ProtocolSpecBuilder<C>> protocolSpecAdapter,
       final PrivacyParameters privacyParameters) {
+    this(config, defaultChainId, protocolSpecAdapter, privacyParameters, new EthHasher.Light());
+  }
+
+  /**
+   * @param ethHashCacheFactory The factory providing the EthHash caches used to validate the proof
+   *     of work of block headers.
+   */
+  public ProtocolScheduleBuilder(
+      final GenesisConfigOptions config,
+      final int defaultChainId,
+      final Function<ProtocolSpecBuilder<Void>, ProtocolSpecBuilder<C>> protocolSpecAdapter,
+      final PrivacyParameters privacyParameters,
+      final EthHashCacheFactory ethHashCacheFactory) {
+    this(
+        config,
+        defaultChainId,
+        protocolSpecAdapter,
+        privacyParameters,
+        new EthHasher.Light(ethHashCacheFactory));
+  }
+
+  private ProtocolScheduleBuilder(
+      final GenesisConfigOptions config,
+      final int defaultChainId,
+      final Function<ProtocolSpecBuilder<Void>, ProtocolSpecBuilder<C>> protocolSpecAdapter,
+      final PrivacyParameters privacyParameters,
+      final EthHasher ethHasher) {
     this.config = config;
     this.protocolSpecAdapter = protocolSpecAdapter;
     this.defaultChainId = defaultChainId;
     this.privacyParameters = privacyParameters;
+    this.ethHasher = ethHasher;
   }
 
   public ProtocolSchedule<C> createProtocolSchedule() {
@@ -43,11 +72,11 @@ public class ProtocolScheduleBuilder<C> {
     validateForkOrdering();
 
     addProtocolSpec(
-        protocolSchedule, OptionalLong.of(0), MainnetProtocolSpecs.frontierDefinition());
+        protocolSchedule, OptionalLong.of(0), MainnetProtocolSpecs.frontierDefinition(ethHasher));
     addProtocolSpec(
         protocolSchedule,
         config.getHomesteadBlockNumber(),
-        MainnetProtocolSpecs.homesteadDefinition());
+        MainnetProtocolSpecs.homesteadDefinition(ethHasher));
 
     config
         .getDaoForkBlock()
@@ -59,11 +88,11 @@ public class ProtocolScheduleBuilder<C> {
                 addProtocolSpec(
                     protocolSchedule,
                     OptionalLong.of(daoBlockNumber),
-                    MainnetProtocolSpecs.daoRecoveryInitDefinition());
+                    MainnetProtocolSpecs.daoRecoveryInitDefinition(ethHasher));
                 addProtocolSpec(
                     protocolSchedule,
                     OptionalLong.of(daoBlockNumber + 1),
-                    MainnetProtocolSpecs.daoRecoveryTransitionDefinition());
+                    MainnetProtocolSpecs.daoRecoveryTransitionDefinition(ethHasher));
 
                 // Return to the previous protocol spec after the dao fork has completed.
                 protocolSchedule.putMilestone(daoBlockNumber + 10, originalProtocolSpec);
@@ -73,23 +102,23 @@ public class ProtocolScheduleBuilder<C> {
     addProtocolSpec(
         protocolSchedule,
         config.getTangerineWhistleBlockNumber(),
-        MainnetProtocolSpecs.tangerineWhistleDefinition());
+        MainnetProtocolSpecs.tangerineWhistleDefinition(ethHasher));
     addProtocolSpec(
         protocolSchedule,
         config.getSpuriousDragonBlockNumber(),
-        MainnetProtocolSpecs.spuriousDragonDefinition(chainId));
+        MainnetProtocolSpecs.spuriousDragonDefinition(chainId, ethHasher));
     addProtocolSpec(
         protocolSchedule,
         config.getByzantiumBlockNumber(),
-        MainnetProtocolSpecs.byzantiumDefinition(chainId));
+        MainnetProtocolSpecs.byzantiumDefinition(chainId, ethHasher));
     addProtocolSpec(
         protocolSchedule,
         config.getConstantinopleBlockNumber(),
-        MainnetProtocolSpecs.constantinopleDefinition(chainId));
+        MainnetProtocolSpecs.constantinopleDefinition(chainId, ethHasher));
     addProtocolSpec(
         protocolSchedule,
         config.getConstantinopleFixBlockNumber(),
-        MainnetProtocolSpecs.constantinopleFixDefinition(chainId));
+        MainnetProtocolSpecs.constantinopleFixDefinition(chainId, ethHasher));
 
     return protocolSchedule;
   }
@@ -33,13 +33,21 @@ public final class ProofOfWorkValidationRule implements DetachedBlockHeaderValid
 
   private static final BigInteger ETHHASH_TARGET_UPPER_BOUND = BigInteger.valueOf(2).pow(256);
 
-  private static final EthHasher HASHER = new EthHasher.Light();
+  private final EthHasher hasher;
+
+  public ProofOfWorkValidationRule() {
+    this(new EthHasher.Light());
+  }
+
+  public ProofOfWorkValidationRule(final EthHasher hasher) {
+    this.hasher = hasher;
+  }
 
   @Override
   public boolean validate(final BlockHeader header, final BlockHeader parent) {
     final byte[] hashBuffer = new byte[64];
     final Hash headerHash = hashHeader(header);
-    HASHER.hash(hashBuffer, header.getNonce(), header.getNumber(), headerHash.extractArray());
+    hasher.hash(hashBuffer, header.getNonce(), header.getNumber(), headerHash.extractArray());
 
     if (header.getDifficulty().isZero()) {
       LOG.trace("Rejecting header because difficulty is 0");
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
 
 import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
 import tech.pegasys.pantheon.crypto.altbn128.Fq;
+import tech.pegasys.pantheon.crypto.altbn128.MontgomeryAltBn128Point;
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.mainnet.AbstractPrecompiledContract;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
@@ -22,11 +23,20 @@ import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Optional;
 
 public class AltBN128AddPrecompiledContract extends AbstractPrecompiledContract {
 
+  private final AltBN128Implementation implementation;
+
   public AltBN128AddPrecompiledContract(final GasCalculator gasCalculator) {
+    this(gasCalculator, AltBN128Implementation.MONTGOMERY);
+  }
+
+  public AltBN128AddPrecompiledContract(
+      final GasCalculator gasCalculator, final AltBN128Implementation implementation) {
     super("AltBN128Add", gasCalculator);
+    this.implementation = implementation;
   }
 
   @Override
@@ -41,6 +51,15 @@ public class AltBN128AddPrecompiledContract extends AbstractPrecompiledContract
     final BigInteger x2 = extractParameter(input, 64, 32);
     final BigInteger y2 = extractParameter(input, 96, 32);
 
+    if (implementation == AltBN128Implementation.MONTGOMERY) {
+      final Optional<MontgomeryAltBn128Point> p1 = MontgomeryAltBn128Point.create(x1, y1);
+      final Optional<MontgomeryAltBn128Point> p2 = MontgomeryAltBn128Point.create(x2, y2);
+      if (!p1.isPresent() || !p2.isPresent()) {
+        return null;
+      }
+      return p1.get().add(p2.get()).toBytesValue();
+    }
+
     final AltBn128Point p1 = new AltBn128Point(Fq.create(x1), Fq.create(y1));
     final AltBn128Point p2 = new AltBn128Point(Fq.create(x2), Fq.create(y2));
     if (!p1.isOnCurve() || !p2.isOnCurve()) {
@@ -0,0 +1,24 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+/** The field arithmetic used by the alt_bn128 precompiled contracts. */
+public enum AltBN128Implementation {
+  /** The reference implementation, on {@link java.math.BigInteger} field elements. */
+  BIG_INTEGER,
+  /**
+   * Fixed-width Montgomery multiplication, with an optimal ate pairing on precomputed line
+   * functions.
+   */
+  MONTGOMERY
+}
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
 
 import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
 import tech.pegasys.pantheon.crypto.altbn128.Fq;
+import tech.pegasys.pantheon.crypto.altbn128.MontgomeryAltBn128Point;
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.mainnet.AbstractPrecompiledContract;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
@@ -22,6 +23,7 @@ import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Optional;
 
 public class AltBN128MulPrecompiledContract extends AbstractPrecompiledContract {
 
@@ -29,8 +31,16 @@ public class AltBN128MulPrecompiledContract extends AbstractPrecompiledContract
       new BigInteger(
           "115792089237316195423570985008687907853269984665640564039457584007913129639935");
 
+  private final AltBN128Implementation implementation;
+
   public AltBN128MulPrecompiledContract(final GasCalculator gasCalculator) {
+    this(gasCalculator, AltBN128Implementation.MONTGOMERY);
+  }
+
+  public AltBN128MulPrecompiledContract(
+      final GasCalculator gasCalculator, final AltBN128Implementation implementation) {
     super("AltBn128Mul", gasCalculator);
+    this.implementation = implementation;
   }
 
   @Override
@@ -44,6 +54,14 @@ public class AltBN128MulPrecompiledContract extends AbstractPrecompiledContract
     final BigInteger y = extractParameter(input, 32, 32);
     final BigInteger n = extractParameter(input, 64, 32);
 
+    if (implementation == AltBN128Implementation.MONTGOMERY) {
+      final Optional<MontgomeryAltBn128Point> p = MontgomeryAltBn128Point.create(x, y);
+      if (!p.isPresent() || n.compareTo(MAX_N) > 0) {
+        return null;
+      }
+      return p.get().multiply(n).toBytesValue();
+    }
+
     final AltBn128Point p = new AltBn128Point(Fq.create(x), Fq.create(y));
     if (!p.isOnCurve() || n.compareTo(MAX_N) > 0) {
       return null;
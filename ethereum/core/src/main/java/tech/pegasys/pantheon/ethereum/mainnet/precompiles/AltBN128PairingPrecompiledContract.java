@@ -18,6 +18,9 @@ import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
 import tech.pegasys.pantheon.crypto.altbn128.Fq;
 import tech.pegasys.pantheon.crypto.altbn128.Fq12;
 import tech.pegasys.pantheon.crypto.altbn128.Fq2;
+import tech.pegasys.pantheon.crypto.altbn128.MontgomeryAltBn128Pairer;
+import tech.pegasys.pantheon.crypto.altbn128.MontgomeryAltBn128Point;
+import tech.pegasys.pantheon.crypto.altbn128.MontgomeryAltBn128TwistPoint;
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.mainnet.AbstractPrecompiledContract;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
@@ -27,6 +30,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 public class AltBN128PairingPrecompiledContract extends AbstractPrecompiledContract {
 
@@ -40,8 +44,16 @@ public class AltBN128PairingPrecompiledContract extends AbstractPrecompiledContr
       BytesValue.fromHexString(
           "0x0000000000000000000000000000000000000000000000000000000000000001");
 
+  private final AltBN128Implementation implementation;
+
   public AltBN128PairingPrecompiledContract(final GasCalculator gasCalculator) {
+    this(gasCalculator, AltBN128Implementation.MONTGOMERY);
+  }
+
+  public AltBN128PairingPrecompiledContract(
+      final GasCalculator gasCalculator, final AltBN128Implementation implementation) {
     super("AltBN128Pairing", gasCalculator);
+    this.implementation = implementation;
   }
 
   @Override
@@ -59,6 +71,39 @@ public class AltBN128PairingPrecompiledContract extends AbstractPrecompiledContr
       return null;
     }
 
+    if (implementation == AltBN128Implementation.MONTGOMERY) {
+      final int parameters = input.size() / PARAMETER_LENGTH;
+      final MontgomeryAltBn128Pairer pairer = new MontgomeryAltBn128Pairer();
+      for (int i = 0; i < parameters; ++i) {
+        final int offset = i * PARAMETER_LENGTH;
+        final Optional<MontgomeryAltBn128Point> p1 =
+            MontgomeryAltBn128Point.create(
+                extractParameter(input, offset, FIELD_LENGTH),
+                extractParameter(input, offset + 32, FIELD_LENGTH));
+        final Optional<MontgomeryAltBn128TwistPoint> p2 =
+            MontgomeryAltBn128TwistPoint.create(
+                extractParameter(input, offset + 96, FIELD_LENGTH),
+                extractParameter(input, offset + 64, FIELD_LENGTH),
+                extractParameter(input, offset + 160, FIELD_LENGTH),
+                extractParameter(input, offset + 128, FIELD_LENGTH));
+        if (!p1.isPresent() || !p2.isPresent()) {
+          return null;
+        }
+        pairer.addPair(p1.get(), p2.get());
+      }
+
+      // G2 points outside of the prime order subgroup can make the line functions undefined, in
+      // which case the result is the one of the reference implementation.
+      final Optional<Boolean> productIsOne = pairer.isProductOne();
+      if (productIsOne.isPresent()) {
+        return productIsOne.get() ? TRUE : FALSE;
+      }
+    }
+
+    return computeReference(input);
+  }
+
+  private static BytesValue computeReference(final BytesValue input) {
     final int parameters = input.size() / PARAMETER_LENGTH;
     final List<AltBn128Point> a = new ArrayList<>();
     final List<AltBn128Fq2Point> b = new ArrayList<>();
@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.ethereum.storage;
 import tech.pegasys.pantheon.ethereum.chain.BlockchainStorage;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 
 import java.io.Closeable;
 
@@ -23,4 +24,13 @@ public interface StorageProvider extends Closeable {
   BlockchainStorage createBlockchainStorage(ProtocolSchedule<?> protocolSchedule);
 
   WorldStateStorage createWorldStateStorage();
+
+  /**
+   * Storage for data kept by consensus protocols, such as Clique vote tally snapshots. Consensus
+   * protocols are responsible for prefixing their keys so they do not clash with each other or with
+   * the blockchain and world state.
+   *
+   * @return the consensus storage
+   */
+  KeyValueStorage createConsensusStorage();
 }
@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockHashFunction;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.rlp.LazyRLPList;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
@@ -72,19 +73,34 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
-    return get(BLOCK_HEADER_PREFIX, blockHash)
+    return getBlockHeaderRlp(blockHash)
         .map(b -> BlockHeader.readFrom(RLP.input(b), blockHashFunction));
   }
 
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHash) {
-    return get(BLOCK_BODY_PREFIX, blockHash)
-        .map(bytesValue -> BlockBody.readFrom(RLP.input(bytesValue), blockHashFunction));
+    return getBlockBodyRlp(blockHash)
+        .map(bytesValue -> BlockBody.readFromLazily(RLP.input(bytesValue), blockHashFunction));
   }
 
   @Override
   public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
-    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
+    return getTransactionReceiptsRlp(blockHash).map(this::rlpDecodeTransactionReceipts);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockHeaderRlp(final Hash blockHash) {
+    return get(BLOCK_HEADER_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockBodyRlp(final Hash blockHash) {
+    return get(BLOCK_BODY_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getTransactionReceiptsRlp(final Hash blockHash) {
+    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash);
   }
 
   @Override
@@ -109,7 +125,7 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   }
 
   private List<TransactionReceipt> rlpDecodeTransactionReceipts(final BytesValue bytes) {
-    return RLP.input(bytes).readList(TransactionReceipt::readFrom);
+    return LazyRLPList.decode(bytes, encoded -> TransactionReceipt.readFrom(RLP.input(encoded)));
   }
 
   private Hash bytesToHash(final BytesValue bytesValue) {
@@ -40,6 +40,11 @@ public class KeyValueStorageProvider implements StorageProvider {
     return new KeyValueStorageWorldStateStorage(keyValueStorage);
   }
 
+  @Override
+  public KeyValueStorage createConsensusStorage() {
+    return keyValueStorage;
+  }
+
   @Override
   public void close() throws IOException {
     keyValueStorage.close();
@@ -22,19 +22,70 @@ import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Captures a {@link TraceFrame} for every operation executed.
+ *
+ * <p>Frames are handed to a consumer as soon as they are captured, so a caller that writes them out
+ * straight away never holds the whole trace in memory. Consecutive frames share their memory and
+ * storage snapshots whenever the operation in between could not have modified them, so only the
+ * snapshots that actually changed are copied.
+ */
 public class DebugOperationTracer implements OperationTracer {
 
+  private static final Set<String> MEMORY_WRITING_OPERATIONS =
+      ImmutableSet.of(
+          "MSTORE",
+          "MSTORE8",
+          "CALLDATACOPY",
+          "CODECOPY",
+          "EXTCODECOPY",
+          "RETURNDATACOPY",
+          "CALL",
+          "CALLCODE",
+          "DELEGATECALL",
+          "STATICCALL",
+          "CREATE",
+          "CREATE2");
+  private static final String STORAGE_WRITING_OPERATION = "SSTORE";
+
   private final TraceOptions options;
   private final List<TraceFrame> traceFrames = new ArrayList<>();
+  private final Consumer<TraceFrame> traceFrameConsumer;
+
+  // The last snapshots taken, and the message frames they were taken from.
+  private MessageFrame memoryFrame;
+  private Bytes32[] memory;
+  private boolean memoryModified;
+  private MessageFrame storageFrame;
+  private Map<UInt256, UInt256> storage;
 
   public DebugOperationTracer(final TraceOptions options) {
     this.options = options;
+    this.traceFrameConsumer = traceFrames::add;
+  }
+
+  /**
+   * Creates a tracer that passes each frame on as it is captured instead of retaining it, {@link
+   * #getTraceFrames()} is then always empty.
+   *
+   * @param options What to capture for each frame
+   * @param traceFrameConsumer Receives each frame, in execution order
+   */
+  public DebugOperationTracer(
+      final TraceOptions options, final Consumer<TraceFrame> traceFrameConsumer) {
+    this.options = options;
+    this.traceFrameConsumer = traceFrameConsumer;
   }
 
   @Override
@@ -55,9 +106,12 @@ public class DebugOperationTracer implements OperationTracer {
     try {
       executeOperation.execute();
     } finally {
-      final Optional<Map<UInt256, UInt256>> storage = captureStorage(frame);
+      final Optional<Map<UInt256, UInt256>> storage = captureStorage(frame, opcode);
+      if (MEMORY_WRITING_OPERATIONS.contains(opcode)) {
+        memoryModified = true;
+      }
 
-      traceFrames.add(
+      traceFrameConsumer.accept(
           new TraceFrame(
               pc,
               opcode,
@@ -71,25 +125,40 @@ public class DebugOperationTracer implements OperationTracer {
     }
   }
 
-  private Optional<Map<UInt256, UInt256>> captureStorage(final MessageFrame frame) {
+  private Optional<Map<UInt256, UInt256>> captureStorage(
+      final MessageFrame frame, final String opcode) {
     if (!options.isStorageEnabled()) {
       return Optional.empty();
     }
-    final Map<UInt256, UInt256> storageContents =
-        new TreeMap<>(
-            frame.getWorldState().getMutable(frame.getRecipientAddress()).getUpdatedStorage());
-    return Optional.of(storageContents);
+    // Only SSTORE changes the storage of the executing account without switching message frame.
+    if (frame != storageFrame || STORAGE_WRITING_OPERATION.equals(opcode)) {
+      storage =
+          Collections.unmodifiableMap(
+              new TreeMap<>(
+                  frame
+                      .getWorldState()
+                      .getMutable(frame.getRecipientAddress())
+                      .getUpdatedStorage()));
+      storageFrame = frame;
+    }
+    return Optional.of(storage);
   }
 
   private Optional<Bytes32[]> captureMemory(final MessageFrame frame) {
     if (!options.isMemoryEnabled()) {
       return Optional.empty();
     }
-    final Bytes32[] memoryContents = new Bytes32[frame.memoryWordSize().toInt()];
-    for (int i = 0; i < memoryContents.length; i++) {
-      memoryContents[i] = Bytes32.wrap(frame.readMemory(UInt256.of(i).times(U_32), U_32), 0);
+    final int memoryWordSize = frame.memoryWordSize().toInt();
+    if (frame != memoryFrame || memoryModified || memory.length != memoryWordSize) {
+      final Bytes32[] memoryContents = new Bytes32[memoryWordSize];
+      for (int i = 0; i < memoryContents.length; i++) {
+        memoryContents[i] = Bytes32.wrap(frame.readMemory(UInt256.of(i).times(U_32), U_32), 0);
+      }
+      memory = memoryContents;
+      memoryFrame = frame;
+      memoryModified = false;
     }
-    return Optional.of(memoryContents);
+    return Optional.of(memory);
   }
 
   private Optional<Bytes32[]> captureStack(final MessageFrame frame) {
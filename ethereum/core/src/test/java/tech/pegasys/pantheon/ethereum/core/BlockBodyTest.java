@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHashFunction;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.junit.Test;
+
+public class BlockBodyTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  @Test
+  public void lazilyReadBodyMatchesEagerlyReadBody() {
+    final BlockBody body = gen.body();
+    final BytesValue encoded = RLP.encode(body::writeTo);
+
+    final BlockBody lazyBody =
+        BlockBody.readFromLazily(RLP.input(encoded), MainnetBlockHashFunction::createHash);
+
+    assertThat(lazyBody.getTransactions()).hasSize(body.getTransactions().size());
+    assertThat(lazyBody).isEqualTo(body);
+  }
+
+  @Test
+  public void lazilyReadBodyReEncodesToSameBytes() {
+    final BlockBody body = gen.body();
+    final BytesValue encoded = RLP.encode(body::writeTo);
+
+    final BlockBody lazyBody =
+        BlockBody.readFromLazily(RLP.input(encoded), MainnetBlockHashFunction::createHash);
+
+    assertThat(RLP.encode(lazyBody::writeTo)).isEqualTo(encoded);
+  }
+
+  @Test
+  public void transactionHashesMatchDecodedTransactions() {
+    final BlockBody body = gen.body();
+    final BlockBody lazyBody =
+        BlockBody.readFromLazily(
+            RLP.input(RLP.encode(body::writeTo)), MainnetBlockHashFunction::createHash);
+
+    final Object[] expectedHashes =
+        body.getTransactions().stream().map(Transaction::hash).collect(toList()).toArray();
+    assertThat(lazyBody.getTransactionHashes()).containsExactly(expectedHashes);
+    assertThat(body.getTransactionHashes()).containsExactly(expectedHashes);
+  }
+
+  @Test
+  public void transactionFromRlpHasHashOfEncoding() {
+    final Transaction transaction = gen.transaction();
+    final BytesValue encoded = RLP.encode(transaction::writeTo);
+
+    final Transaction decoded = Transaction.fromRlp(encoded);
+
+    assertThat(decoded).isEqualTo(transaction);
+    assertThat(decoded.hash()).isEqualTo(transaction.hash());
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory.EthHashDescriptor;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EthHashCacheFactoryTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void generatedCacheIsStoredAndReloaded() throws Exception {
+    final Path directory = folder.newFolder().toPath();
+    final EthHashDescriptor generated =
+        new EthHashCacheFactory(directory, new NoOpMetricsSystem()).ethHashCacheFor(1);
+
+    final Path file = directory.resolve("ethash-cache-0");
+    assertThat(file).exists();
+    assertThat(Files.size(file)).isEqualTo(EthHash.cacheSize(0));
+
+    final EthHashDescriptor loaded =
+        new EthHashCacheFactory(directory, new NoOpMetricsSystem()).ethHashCacheFor(2);
+    assertThat(loaded.getDatasetSize()).isEqualTo(generated.getDatasetSize());
+    assertThat(loaded.getCache()).isEqualTo(generated.getCache());
+  }
+
+  @Test
+  public void storedCacheMatchesInMemoryCache() throws Exception {
+    final Path directory = folder.newFolder().toPath();
+    new EthHashCacheFactory(directory, new NoOpMetricsSystem()).ethHashCacheFor(1);
+
+    final EthHashDescriptor loaded =
+        new EthHashCacheFactory(directory, new NoOpMetricsSystem()).ethHashCacheFor(1);
+    final EthHashDescriptor inMemory = new EthHashCacheFactory().ethHashCacheFor(1);
+
+    assertThat(loaded.getCache()).isEqualTo(inMemory.getCache());
+  }
+
+  @Test
+  public void incompleteStoredCacheIsRegenerated() throws Exception {
+    final Path directory = folder.newFolder().toPath();
+    final Path file = directory.resolve("ethash-cache-0");
+    Files.write(file, new byte[] {1, 2, 3});
+
+    final EthHashDescriptor descriptor =
+        new EthHashCacheFactory(directory, new NoOpMetricsSystem()).ethHashCacheFor(1);
+
+    final EthHashDescriptor inMemory = new EthHashCacheFactory().ethHashCacheFor(1);
+    assertThat(descriptor.getCache()).isEqualTo(inMemory.getCache());
+    assertThat(Files.size(file)).isEqualTo(EthHash.cacheSize(0));
+  }
+
+  @Test
+  public void storedCachesOfDistantEpochsAreDeleted() throws Exception {
+    final Path directory = folder.newFolder().toPath();
+    for (final long epoch : new long[] {1, 2, 5}) {
+      Files.write(directory.resolve("ethash-cache-" + epoch), new byte[] {1});
+    }
+
+    new EthHashCacheFactory(directory, new NoOpMetricsSystem()).ethHashCacheFor(1);
+
+    assertThat(directory.resolve("ethash-cache-0")).exists();
+    assertThat(directory.resolve("ethash-cache-1")).exists();
+    assertThat(directory.resolve("ethash-cache-2")).doesNotExist();
+    assertThat(directory.resolve("ethash-cache-5")).doesNotExist();
+  }
+
+  @Test
+  public void incompleteCacheFilesAreDeletedOnStartup() throws Exception {
+    final Path directory = folder.newFolder().toPath();
+    final Path tempFile = directory.resolve("ethash-cache-3.tmp");
+    Files.write(tempFile, new byte[] {1, 2, 3});
+
+    new EthHashCacheFactory(directory, new NoOpMetricsSystem());
+
+    assertThat(tempFile).doesNotExist();
+  }
+}
@@ -23,9 +23,14 @@ import tech.pegasys.pantheon.ethereum.mainnet.EthHashSolver.EthHashSolverJob;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
@@ -125,4 +130,35 @@ public class EthHashSolverTest {
     soln = solver.solveFor(EthHashSolverJob.createFromInputs(secondInputs));
     assertThat(soln.getMixHash()).isEqualTo(expectedSecondOutput.getMixHash());
   }
+
+  @Test
+  public void solverThreadsSearchDisjointNonceRanges() throws Exception {
+    final Set<Long> testedNonces = ConcurrentHashMap.newKeySet();
+    final EthHasher hasher = mock(EthHasher.class);
+    doAnswer(
+            invocation -> {
+              final byte[] buffer = invocation.getArgument(0);
+              final long nonce = invocation.getArgument(1);
+              assertThat(testedNonces.add(nonce)).isTrue();
+              // Only nonce 1003 meets the target.
+              buffer[32] = nonce == 1003L ? (byte) 0 : (byte) 1;
+              return null;
+            })
+        .when(hasher)
+        .hash(any(), anyLong(), anyLong(), any());
+
+    final ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      final EthHashSolver solver =
+          new EthHashSolver(Collections.singletonList(1000L), hasher, 4, executor);
+      final EthHashSolverInputs inputs = new EthHashSolverInputs(UInt256.ONE, new byte[0], 5);
+
+      final EthHashSolution solution = solver.solveFor(EthHashSolverJob.createFromInputs(inputs));
+
+      assertThat(solution.getNonce()).isEqualTo(1003L);
+      assertThat(solver.hashesPerSecond()).isPresent();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
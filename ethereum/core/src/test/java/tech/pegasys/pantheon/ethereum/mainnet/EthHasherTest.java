@@ -34,7 +34,7 @@ public final class EthHasherTest {
   @Test
   @Ignore
   public void hashimotoFull() throws Exception {
-    try (final EthHasher.Full hasher = new EthHasher.Full(folder.newFile().toPath())) {
+    try (final EthHasher.Full hasher = new EthHasher.Full(folder.newFolder().toPath())) {
       final RLPInput input =
           new BytesValueRLPInput(
               BytesValue.wrap(
@@ -42,6 +42,7 @@ public final class EthHasherTest {
               false);
       input.enterList();
       final BlockHeader header = BlockHeader.readFrom(input, MainnetBlockHashFunction::createHash);
+      hasher.prepare(EthHash.epoch(header.getNumber())).get();
       final byte[] buffer = new byte[64];
       hasher.hash(buffer, header.getNonce(), header.getNumber(), EthHash.hashHeader(header));
       Assertions.assertThat(
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.mainnet.SpuriousDragonGasCalculator;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class AltBN128PrecompiledContractTest {
+
+  private static final String G1 =
+      "0000000000000000000000000000000000000000000000000000000000000001"
+          + "0000000000000000000000000000000000000000000000000000000000000002";
+  private static final String NEGATED_G1 =
+      "0000000000000000000000000000000000000000000000000000000000000001"
+          + "30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd45";
+  private static final String TWICE_G1 =
+      "030644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd3"
+          + "15ed738c0e0a7c92e7845f96b2ae9c0a68a6a449e3538fc7ff3ebf7a5a18a2c4";
+  private static final String THRICE_G1 =
+      "0769bf9ac56bea3ff40232bcb1b6bd159315d84715b8e679f2d355961915abf0"
+          + "2ab799bee0489429554fdb7c8d086475319e63b40b9c5b57cdf1ff3dd9fe2261";
+  private static final String INFINITY =
+      "0000000000000000000000000000000000000000000000000000000000000000"
+          + "0000000000000000000000000000000000000000000000000000000000000000";
+  private static final String G2 =
+      "198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+          + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+          + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+          + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa";
+  private static final String THRICE_G2 =
+      "1014772f57bb9742735191cd5dcfe4ebbc04156b6878a0a7c9824f32ffb66e85"
+          + "06064e784db10e9051e52826e192715e8d7e478cb09a5e0012defa0694fbc7f5"
+          + "021e2335f3354bb7922ffcc2f38d3323dd9453ac49b55441452aeaca147711b2"
+          + "058e1d5681b5b9e0074b0f9c8d2c68a069b920d74521e79765036d57666c5597";
+  private static final String NOT_ON_CURVE =
+      "0000000000000000000000000000000000000000000000000000000000000001"
+          + "0000000000000000000000000000000000000000000000000000000000000003";
+
+  private static final String THREE =
+      "0000000000000000000000000000000000000000000000000000000000000003";
+  private static final String CURVE_ORDER =
+      "30644e72e131a029b85045b68181585d2833e84879b9709143e1f593f0000001";
+
+  private static final BytesValue TRUE =
+      BytesValue.fromHexString(
+          "0x0000000000000000000000000000000000000000000000000000000000000001");
+  private static final BytesValue FALSE =
+      BytesValue.fromHexString(
+          "0x0000000000000000000000000000000000000000000000000000000000000000");
+
+  @Parameters(name = "{0}")
+  public static Object[] parameters() {
+    return AltBN128Implementation.values();
+  }
+
+  @Parameter public AltBN128Implementation implementation;
+
+  private BytesValue add(final String input) {
+    return new AltBN128AddPrecompiledContract(new SpuriousDragonGasCalculator(), implementation)
+        .compute(BytesValue.fromHexString(input));
+  }
+
+  private BytesValue mul(final String input) {
+    return new AltBN128MulPrecompiledContract(new SpuriousDragonGasCalculator(), implementation)
+        .compute(BytesValue.fromHexString(input));
+  }
+
+  private BytesValue pairing(final String input) {
+    return new AltBN128PairingPrecompiledContract(
+            new SpuriousDragonGasCalculator(), implementation)
+        .compute(BytesValue.fromHexString(input));
+  }
+
+  @Test
+  public void addShouldDoublePoint() {
+    assertThat(add(G1 + G1)).isEqualTo(BytesValue.fromHexString(TWICE_G1));
+  }
+
+  @Test
+  public void addShouldAddDistinctPoints() {
+    assertThat(add(TWICE_G1 + G1)).isEqualTo(BytesValue.fromHexString(THRICE_G1));
+  }
+
+  @Test
+  public void addShouldReturnInfinityForOppositePoints() {
+    assertThat(add(G1 + NEGATED_G1)).isEqualTo(BytesValue.fromHexString(INFINITY));
+  }
+
+  @Test
+  public void addShouldTreatMissingInputAsInfinity() {
+    assertThat(add(G1)).isEqualTo(BytesValue.fromHexString(G1));
+    assertThat(add("")).isEqualTo(BytesValue.fromHexString(INFINITY));
+  }
+
+  @Test
+  public void addShouldRejectPointNotOnCurve() {
+    assertThat(add(G1 + NOT_ON_CURVE)).isNull();
+  }
+
+  @Test
+  public void mulShouldMultiplyPoint() {
+    assertThat(mul(G1 + THREE)).isEqualTo(BytesValue.fromHexString(THRICE_G1));
+  }
+
+  @Test
+  public void mulByCurveOrderShouldReturnInfinity() {
+    assertThat(mul(G1 + CURVE_ORDER)).isEqualTo(BytesValue.fromHexString(INFINITY));
+  }
+
+  @Test
+  public void mulShouldRejectPointNotOnCurve() {
+    assertThat(mul(NOT_ON_CURVE + THREE)).isNull();
+  }
+
+  @Test
+  public void pairingOfEmptyInputShouldBeTrue() {
+    assertThat(pairing("")).isEqualTo(TRUE);
+  }
+
+  @Test
+  public void pairingOfSinglePairShouldBeFalse() {
+    assertThat(pairing(G1 + G2)).isEqualTo(FALSE);
+  }
+
+  @Test
+  public void pairingOfNegatedPairsShouldBeTrue() {
+    assertThat(pairing(G1 + G2 + NEGATED_G1 + G2)).isEqualTo(TRUE);
+  }
+
+  @Test
+  public void pairingShouldBeBilinear() {
+    assertThat(pairing(THRICE_G1 + G2 + NEGATED_G1 + THRICE_G2)).isEqualTo(TRUE);
+    assertThat(pairing(TWICE_G1 + G2 + NEGATED_G1 + THRICE_G2)).isEqualTo(FALSE);
+  }
+
+  @Test
+  public void pairingWithPointAtInfinityShouldBeTrue() {
+    assertThat(pairing(INFINITY + G2)).isEqualTo(TRUE);
+  }
+
+  @Test
+  public void pairingShouldRejectPointNotOnCurve() {
+    assertThat(pairing(NOT_ON_CURVE + G2)).isNull();
+  }
+
+  @Test
+  public void pairingShouldRejectIncompleteInput() {
+    assertThat(pairing(G1 + G2 + G1)).isNull();
+  }
+}
@@ -33,7 +33,9 @@ import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
@@ -64,6 +66,17 @@ public class DebugOperationTracerTest {
         public void execute(final MessageFrame frame) {}
       };
 
+  private final Operation memoryWritingOperation =
+      new AbstractOperation(0x52, "MSTORE", 2, 0, false, 1, null) {
+        @Override
+        public Gas cost(final MessageFrame frame) {
+          return Gas.of(3);
+        }
+
+        @Override
+        public void execute(final MessageFrame frame) {}
+      };
+
   @Test
   public void shouldRecordProgramCounter() throws Exception {
     final MessageFrame frame = validMessageFrame();
@@ -172,6 +185,54 @@ public class DebugOperationTracerTest {
     assertThat(traceFrame.getStorage()).contains(updatedStorage);
   }
 
+  @Test
+  public void shouldPassFramesToConsumerInsteadOfRetainingThem() throws Exception {
+    final List<TraceFrame> consumedFrames = new ArrayList<>();
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, false, false), consumedFrames::add);
+
+    tracer.traceExecution(validMessageFrame(), Optional.of(Gas.ZERO), executeOperationAction);
+
+    assertThat(consumedFrames).hasSize(1);
+    assertThat(tracer.getTraceFrames()).isEmpty();
+  }
+
+  @Test
+  public void shouldShareMemoryBetweenFramesWhenItCannotHaveChanged() throws Exception {
+    final MessageFrame frame = validMessageFrame();
+    setupStorageForCapture(frame);
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(true, true, false));
+
+    tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction);
+    tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction);
+
+    final List<TraceFrame> traceFrames = tracer.getTraceFrames();
+    assertThat(traceFrames.get(1).getMemory().get()).isSameAs(traceFrames.get(0).getMemory().get());
+    assertThat(traceFrames.get(1).getStorage().get())
+        .isSameAs(traceFrames.get(0).getStorage().get());
+  }
+
+  @Test
+  public void shouldRecaptureMemoryAfterMemoryWritingOperation() throws Exception {
+    final MessageFrame frame = validMessageFrame();
+    frame.setCurrentOperation(memoryWritingOperation);
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, true, false));
+    final Bytes32 word = Bytes32.fromHexString("0x01");
+
+    tracer.traceExecution(
+        frame,
+        Optional.of(Gas.ZERO),
+        () -> frame.writeMemory(UInt256.ZERO, UInt256.of(32), word));
+    frame.setCurrentOperation(anOperation);
+    tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction);
+
+    final List<TraceFrame> traceFrames = tracer.getTraceFrames();
+    assertThat(traceFrames.get(0).getMemory().get()).isEmpty();
+    assertThat(traceFrames.get(1).getMemory().get()).containsExactly(word);
+  }
+
   private TraceFrame traceFrame(final MessageFrame frame, final Gas currentGasCost)
       throws Exception {
     return traceFrame(frame, currentGasCost, new TraceOptions(false, false, false));
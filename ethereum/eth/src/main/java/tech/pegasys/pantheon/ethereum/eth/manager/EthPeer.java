@@ -55,6 +55,7 @@ public class EthPeer {
   private final ChainState chainHeadState;
   private final AtomicBoolean statusHasBeenSentToPeer = new AtomicBoolean(false);
   private final AtomicBoolean statusHasBeenReceivedFromPeer = new AtomicBoolean(false);
+  private volatile boolean disconnected = false;
 
   private final RequestManager headersRequestManager = new RequestManager(this);
   private final RequestManager bodiesRequestManager = new RequestManager(this);
@@ -249,6 +250,15 @@ public class EthPeer {
     return reputation.timeoutCounts();
   }
 
+  /** @return true once the connection to this peer has been closed. */
+  public boolean isDisconnected() {
+    return disconnected;
+  }
+
+  void markDisconnected() {
+    disconnected = true;
+  }
+
   void handleDisconnect() {
     headersRequestManager.close();
     bodiesRequestManager.close();
@@ -56,6 +56,8 @@ public class EthPeers {
   void registerDisconnect(final PeerConnection connection) {
     final EthPeer peer = connections.remove(connection);
     if (peer != null) {
+      // Marked first so subscribers never see the peer as connected once they have been notified.
+      peer.markDisconnected();
       disconnectCallbacks.forEach(callback -> callback.onDisconnect(peer));
       peer.handleDisconnect();
     }
@@ -31,6 +31,7 @@ import tech.pegasys.pantheon.ethereum.p2p.wire.Capability;
 import tech.pegasys.pantheon.ethereum.p2p.wire.messages.DisconnectMessage.DisconnectReason;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Arrays;
@@ -45,6 +46,7 @@ import org.apache.logging.log4j.Logger;
 
 public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
   static final int DEFAULT_REQUEST_LIMIT = 200;
+  static final int DEFAULT_SERVICES_WORKERS = 2;
   private static final Logger LOG = LogManager.getLogger();
   private static final List<Capability> FAST_SYNC_CAPS =
       Collections.singletonList(EthProtocol.ETH63);
@@ -70,7 +72,8 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
       final int networkId,
       final boolean fastSyncEnabled,
       final int requestLimit,
-      final EthScheduler scheduler) {
+      final EthScheduler scheduler,
+      final MetricsSystem metricsSystem) {
     this.networkId = networkId;
 
     this.scheduler = scheduler;
@@ -85,7 +88,8 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
     ethContext = new EthContext(getSupportedProtocol(), ethPeers, ethMessages, scheduler);
 
     // Set up request handlers
-    new EthServer(blockchain, worldStateArchive, ethMessages, requestLimit);
+    final PeerRequestQueue requestQueue = new PeerRequestQueue(scheduler, ethPeers, metricsSystem);
+    new EthServer(blockchain, worldStateArchive, ethMessages, requestQueue, requestLimit);
   }
 
   EthProtocolManager(
@@ -95,14 +99,36 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
       final boolean fastSyncEnabled,
       final int syncWorkers,
       final int txWorkers,
-      final int requestLimit) {
+      final int servicesWorkers,
+      final int requestLimit,
+      final MetricsSystem metricsSystem) {
     this(
         blockchain,
         worldStateArchive,
         networkId,
         fastSyncEnabled,
         requestLimit,
-        new EthScheduler(syncWorkers, txWorkers));
+        new EthScheduler(syncWorkers, txWorkers, servicesWorkers),
+        metricsSystem);
+  }
+
+  public EthProtocolManager(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final int networkId,
+      final boolean fastSyncEnabled,
+      final int syncWorkers,
+      final int txWorkers,
+      final MetricsSystem metricsSystem) {
+    this(
+        blockchain,
+        worldStateArchive,
+        networkId,
+        fastSyncEnabled,
+        syncWorkers,
+        txWorkers,
+        DEFAULT_SERVICES_WORKERS,
+        metricsSystem);
   }
 
   public EthProtocolManager(
@@ -111,7 +137,9 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
       final int networkId,
       final boolean fastSyncEnabled,
       final int syncWorkers,
-      final int txWorkers) {
+      final int txWorkers,
+      final int servicesWorkers,
+      final MetricsSystem metricsSystem) {
     this(
         blockchain,
         worldStateArchive,
@@ -119,7 +147,9 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
         fastSyncEnabled,
         syncWorkers,
         txWorkers,
-        DEFAULT_REQUEST_LIMIT);
+        servicesWorkers,
+        DEFAULT_REQUEST_LIMIT,
+        metricsSystem);
   }
 
   public EthContext ethContext() {
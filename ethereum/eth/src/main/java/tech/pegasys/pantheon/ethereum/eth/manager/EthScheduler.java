@@ -44,8 +44,9 @@ public class EthScheduler {
   protected final ExecutorService syncWorkerExecutor;
   protected final ScheduledExecutorService scheduler;
   protected final ExecutorService txWorkerExecutor;
+  protected final ExecutorService servicesExecutor;
 
-  EthScheduler(final int syncWorkerCount, final int txWorkerCount) {
+  EthScheduler(final int syncWorkerCount, final int txWorkerCount, final int servicesWorkerCount) {
     this(
         Executors.newFixedThreadPool(
             syncWorkerCount,
@@ -62,16 +63,23 @@ public class EthScheduler {
             txWorkerCount,
             new ThreadFactoryBuilder()
                 .setNameFormat(EthScheduler.class.getSimpleName() + "-Transactions")
+                .build()),
+        Executors.newFixedThreadPool(
+            servicesWorkerCount,
+            new ThreadFactoryBuilder()
+                .setNameFormat(EthScheduler.class.getSimpleName() + "-Services")
                 .build()));
   }
 
   protected EthScheduler(
       final ExecutorService syncWorkerExecutor,
       final ScheduledExecutorService scheduler,
-      final ExecutorService txWorkerExecutor) {
+      final ExecutorService txWorkerExecutor,
+      final ExecutorService servicesExecutor) {
     this.syncWorkerExecutor = syncWorkerExecutor;
     this.scheduler = scheduler;
     this.txWorkerExecutor = txWorkerExecutor;
+    this.servicesExecutor = servicesExecutor;
   }
 
   public <T> CompletableFuture<T> scheduleSyncWorkerTask(
@@ -109,6 +117,10 @@ public class EthScheduler {
     return txWorkerExecutor.submit(command);
   }
 
+  public Future<?> scheduleServiceTask(final Runnable command) {
+    return servicesExecutor.submit(command);
+  }
+
   public CompletableFuture<Void> scheduleFutureTask(
       final Runnable command, final Duration duration) {
     final CompletableFuture<Void> promise = new CompletableFuture<>();
@@ -195,6 +207,7 @@ public class EthScheduler {
       LOG.trace("Stopping " + getClass().getSimpleName());
       syncWorkerExecutor.shutdown();
       scheduler.shutdown();
+      servicesExecutor.shutdown();
       shutdown.countDown();
     } else {
       LOG.trace("Attempted to stop already stopped " + getClass().getSimpleName());
@@ -213,6 +226,11 @@ public class EthScheduler {
       scheduler.shutdownNow();
       scheduler.awaitTermination(2L, TimeUnit.MINUTES);
     }
+    if (!servicesExecutor.awaitTermination(2L, TimeUnit.MINUTES)) {
+      LOG.error("{} services executor did not shutdown cleanly.", this.getClass().getSimpleName());
+      servicesExecutor.shutdownNow();
+      servicesExecutor.awaitTermination(2L, TimeUnit.MINUTES);
+    }
     LOG.trace("{} stopped.", this.getClass().getSimpleName());
   }
 
@@ -13,10 +13,8 @@
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
-import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
-import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockHeadersMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
@@ -30,45 +28,53 @@ import tech.pegasys.pantheon.ethereum.eth.messages.ReceiptsMessage;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection.PeerNotConnected;
 import tech.pegasys.pantheon.ethereum.p2p.wire.messages.DisconnectMessage.DisconnectReason;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 
-import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 class EthServer {
   private static final Logger LOG = LogManager.getLogger();
+  // Matches the soft limit other clients use, responses stop growing once they reach it.
+  static final int DEFAULT_SOFT_RESPONSE_SIZE_LIMIT = 2 * 1024 * 1024;
 
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
   private final EthMessages ethMessages;
+  private final PeerRequestQueue requestQueue;
   private final int requestLimit;
 
   EthServer(
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
       final EthMessages ethMessages,
+      final PeerRequestQueue requestQueue,
       final int requestLimit) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.ethMessages = ethMessages;
+    this.requestQueue = requestQueue;
     this.requestLimit = requestLimit;
     this.setupListeners();
   }
 
   private void setupListeners() {
-    ethMessages.subscribe(EthPV62.GET_BLOCK_HEADERS, this::handleGetBlockHeaders);
-    ethMessages.subscribe(EthPV62.GET_BLOCK_BODIES, this::handleGetBlockBodies);
-    ethMessages.subscribe(EthPV63.GET_RECEIPTS, this::handleGetReceipts);
-    ethMessages.subscribe(EthPV63.GET_NODE_DATA, this::handleGetNodeData);
+    ethMessages.subscribe(
+        EthPV62.GET_BLOCK_HEADERS,
+        requestQueue.queued("get_block_headers", this::handleGetBlockHeaders));
+    ethMessages.subscribe(
+        EthPV62.GET_BLOCK_BODIES,
+        requestQueue.queued("get_block_bodies", this::handleGetBlockBodies));
+    ethMessages.subscribe(
+        EthPV63.GET_RECEIPTS, requestQueue.queued("get_receipts", this::handleGetReceipts));
+    ethMessages.subscribe(
+        EthPV63.GET_NODE_DATA, requestQueue.queued("get_node_data", this::handleGetNodeData));
   }
 
   private void handleGetBlockHeaders(final EthMessage message) {
@@ -125,100 +131,144 @@ class EthServer {
 
   static MessageData constructGetHeadersResponse(
       final Blockchain blockchain, final MessageData message, final int requestLimit) {
+    return constructGetHeadersResponse(
+        blockchain, message, requestLimit, DEFAULT_SOFT_RESPONSE_SIZE_LIMIT);
+  }
+
+  static MessageData constructGetHeadersResponse(
+      final Blockchain blockchain,
+      final MessageData message,
+      final int requestLimit,
+      final int softResponseSizeLimit) {
     final GetBlockHeadersMessage getHeaders = GetBlockHeadersMessage.readFrom(message);
     final Optional<Hash> hash = getHeaders.hash();
     final int skip = getHeaders.skip();
     final int maxHeaders = Math.min(requestLimit, getHeaders.maxHeaders());
     final boolean reversed = getHeaders.reverse();
-    final BlockHeader firstHeader;
+    final Optional<BytesValue> firstHeader;
     if (hash.isPresent()) {
-      final Hash startHash = hash.get();
-      firstHeader = blockchain.getBlockHeader(startHash).orElse(null);
+      firstHeader = blockchain.getBlockHeaderRlp(hash.get());
     } else {
-      final long firstNumber = getHeaders.blockNumber().getAsLong();
-      firstHeader = blockchain.getBlockHeader(firstNumber).orElse(null);
+      firstHeader =
+          blockchain
+              .getBlockHashByNumber(getHeaders.blockNumber().getAsLong())
+              .flatMap(blockchain::getBlockHeaderRlp);
     }
-    final Collection<BlockHeader> resp;
-    if (firstHeader == null) {
-      resp = Collections.emptyList();
-    } else {
-      resp = Lists.newArrayList(firstHeader);
+    final RawResponseBuilder response = new RawResponseBuilder(softResponseSizeLimit);
+    if (firstHeader.isPresent()) {
+      response.add(firstHeader.get());
+      final long firstNumber =
+          hash.isPresent()
+              ? readHeaderNumber(firstHeader.get())
+              : getHeaders.blockNumber().getAsLong();
       final long numberDelta = reversed ? -(skip + 1) : (skip + 1);
-      for (int i = 1; i < maxHeaders; i++) {
-        final long blockNumber = firstHeader.getNumber() + i * numberDelta;
+      for (int i = 1; i < maxHeaders && !response.isFull(); i++) {
+        final long blockNumber = firstNumber + i * numberDelta;
         if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
           break;
         }
-        final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
+        final Optional<BytesValue> maybeHeader =
+            blockchain.getBlockHashByNumber(blockNumber).flatMap(blockchain::getBlockHeaderRlp);
         if (maybeHeader.isPresent()) {
-          resp.add(maybeHeader.get());
+          response.add(maybeHeader.get());
         } else {
           break;
         }
       }
     }
-    return BlockHeadersMessage.create(resp);
+    return BlockHeadersMessage.createFromRlp(response.items());
+  }
+
+  /** Reads the block number of an RLP encoded header without decoding the other fields. */
+  private static long readHeaderNumber(final BytesValue headerRlp) {
+    final RLPInput input = RLP.input(headerRlp);
+    input.enterList();
+    // The number follows the parent hash, ommers hash, coinbase, state root, transactions root,
+    // receipts root, logs bloom and difficulty.
+    for (int i = 0; i < 8; i++) {
+      input.skipNext();
+    }
+    return input.readLongScalar();
   }
 
   static MessageData constructGetBodiesResponse(
       final Blockchain blockchain, final MessageData message, final int requestLimit) {
+    return constructGetBodiesResponse(
+        blockchain, message, requestLimit, DEFAULT_SOFT_RESPONSE_SIZE_LIMIT);
+  }
+
+  static MessageData constructGetBodiesResponse(
+      final Blockchain blockchain,
+      final MessageData message,
+      final int requestLimit,
+      final int softResponseSizeLimit) {
     final GetBlockBodiesMessage getBlockBodiesMessage = GetBlockBodiesMessage.readFrom(message);
     final Iterable<Hash> hashes = getBlockBodiesMessage.hashes();
 
-    final Collection<BlockBody> bodies = new ArrayList<>();
+    final RawResponseBuilder response = new RawResponseBuilder(softResponseSizeLimit);
     int count = 0;
     for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
+      if (count >= requestLimit || response.isFull()) {
         break;
       }
       count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
-      if (!maybeBody.isPresent()) {
-        continue;
-      }
-      bodies.add(maybeBody.get());
+      blockchain.getBlockBodyRlp(hash).ifPresent(response::add);
     }
-    return BlockBodiesMessage.create(bodies);
+    return BlockBodiesMessage.createFromRlp(response.items());
   }
 
   static MessageData constructGetReceiptsResponse(
       final Blockchain blockchain, final MessageData message, final int requestLimit) {
+    return constructGetReceiptsResponse(
+        blockchain, message, requestLimit, DEFAULT_SOFT_RESPONSE_SIZE_LIMIT);
+  }
+
+  static MessageData constructGetReceiptsResponse(
+      final Blockchain blockchain,
+      final MessageData message,
+      final int requestLimit,
+      final int softResponseSizeLimit) {
     final GetReceiptsMessage getReceipts = GetReceiptsMessage.readFrom(message);
     final Iterable<Hash> hashes = getReceipts.hashes();
 
-    final List<List<TransactionReceipt>> receipts = new ArrayList<>();
+    final RawResponseBuilder response = new RawResponseBuilder(softResponseSizeLimit);
     int count = 0;
     for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
+      if (count >= requestLimit || response.isFull()) {
         break;
       }
       count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
-      if (!maybeReceipts.isPresent()) {
-        continue;
-      }
-      receipts.add(maybeReceipts.get());
+      blockchain.getTxReceiptsRlp(hash).ifPresent(response::add);
     }
-    return ReceiptsMessage.create(receipts);
+    return ReceiptsMessage.createFromRlp(response.items());
   }
 
   static MessageData constructGetNodeDataResponse(
       final WorldStateArchive worldStateArchive,
       final MessageData message,
       final int requestLimit) {
+    return constructGetNodeDataResponse(
+        worldStateArchive, message, requestLimit, DEFAULT_SOFT_RESPONSE_SIZE_LIMIT);
+  }
+
+  static MessageData constructGetNodeDataResponse(
+      final WorldStateArchive worldStateArchive,
+      final MessageData message,
+      final int requestLimit,
+      final int softResponseSizeLimit) {
     final GetNodeDataMessage getNodeDataMessage = GetNodeDataMessage.readFrom(message);
     final Iterable<Hash> hashes = getNodeDataMessage.hashes();
 
-    final List<BytesValue> nodeData = new ArrayList<>();
+    final RawResponseBuilder response = new RawResponseBuilder(softResponseSizeLimit);
     int count = 0;
     for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
+      if (count >= requestLimit || response.isFull()) {
         break;
       }
       count++;
 
-      worldStateArchive.getNodeData(hash).ifPresent(nodeData::add);
+      worldStateArchive.getNodeData(hash).ifPresent(response::add);
     }
-    return NodeDataMessage.create(nodeData);
+    return NodeDataMessage.create(response.items());
   }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import tech.pegasys.pantheon.ethereum.eth.manager.EthMessages.MessageCallback;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
+import tech.pegasys.pantheon.util.TokenBucket;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Ticker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Queues requests received from peers and serves them on the services executor of the {@link
+ * EthScheduler}.
+ *
+ * <p>Requests are queued per peer, and peers with pending requests are served round-robin, one
+ * request at a time, so that a peer flooding us with requests only delays its own responses. Each
+ * peer is additionally rate limited per request type, allowing bursts of up to a second's worth of
+ * requests. Requests exceeding the rate limit, arriving when the peer already has too many requests
+ * queued, or arriving from a peer that has disconnected, are dropped.
+ */
+class PeerRequestQueue {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final int DEFAULT_MAX_QUEUED_REQUESTS_PER_PEER = 50;
+  static final double DEFAULT_REQUESTS_PER_SECOND = 20;
+
+  private final EthScheduler scheduler;
+  private final MetricsSystem metricsSystem;
+  private final int maxQueuedRequestsPerPeer;
+  private final double requestsPerSecond;
+  private final Ticker ticker;
+
+  private final LabelledMetric<OperationTimer> serviceTimer;
+  private final LabelledMetric<Counter> droppedRequestsCounter;
+
+  // Guarded by this
+  private final Map<EthPeer, PeerRequests> requestsByPeer = new HashMap<>();
+  private final Deque<PeerRequests> peersWithPendingRequests = new ArrayDeque<>();
+
+  PeerRequestQueue(
+      final EthScheduler scheduler, final EthPeers ethPeers, final MetricsSystem metricsSystem) {
+    this(
+        scheduler,
+        ethPeers,
+        metricsSystem,
+        DEFAULT_MAX_QUEUED_REQUESTS_PER_PEER,
+        DEFAULT_REQUESTS_PER_SECOND,
+        Ticker.systemTicker());
+  }
+
+  PeerRequestQueue(
+      final EthScheduler scheduler,
+      final EthPeers ethPeers,
+      final MetricsSystem metricsSystem,
+      final int maxQueuedRequestsPerPeer,
+      final double requestsPerSecond,
+      final Ticker ticker) {
+    this.scheduler = scheduler;
+    this.metricsSystem = metricsSystem;
+    this.maxQueuedRequestsPerPeer = maxQueuedRequestsPerPeer;
+    this.requestsPerSecond = requestsPerSecond;
+    this.ticker = ticker;
+    serviceTimer =
+        metricsSystem.createLabelledTimer(
+            MetricCategory.PEERS,
+            "request_service_time",
+            "Time taken to serve a request received from a peer",
+            "request_type");
+    droppedRequestsCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.PEERS,
+            "requests_dropped_total",
+            "Total number of requests received from peers that were dropped without a response",
+            "request_type",
+            "reason");
+    ethPeers.subscribeDisconnect(this::handleDisconnect);
+  }
+
+  /**
+   * Wraps a request handler so that requests are queued and served by the worker pool rather than
+   * on the thread delivering the message.
+   *
+   * @param requestType the name of the request type, used for metrics.
+   * @param handler the handler that serves the request.
+   * @return a callback enqueueing requests for the given handler.
+   */
+  MessageCallback queued(final String requestType, final MessageCallback handler) {
+    final AtomicInteger queuedRequests = new AtomicInteger();
+    metricsSystem.createGauge(
+        MetricCategory.PEERS,
+        requestType + "_requests_queued",
+        "Number of " + requestType + " requests from peers waiting to be served",
+        () -> (double) queuedRequests.get());
+    final RequestType type = new RequestType(requestType, handler, queuedRequests);
+    return message -> enqueue(type, message);
+  }
+
+  private void enqueue(final RequestType type, final EthMessage message) {
+    final EthPeer peer = message.getPeer();
+    synchronized (this) {
+      // Disconnected peers are removed from requestsByPeer and must not be added back.
+      if (peer.isDisconnected()) {
+        droppedRequestsCounter.labels(type.name, "disconnected").inc();
+        LOG.trace("Dropping {} request from disconnected peer {}", type.name, peer);
+        return;
+      }
+      final PeerRequests peerRequests =
+          requestsByPeer.computeIfAbsent(peer, p -> new PeerRequests());
+      if (!peerRequests.rateLimiterFor(type).tryAcquire()) {
+        droppedRequestsCounter.labels(type.name, "rate_limited").inc();
+        LOG.trace("Dropping {} request from rate limited peer {}", type.name, peer);
+        return;
+      }
+      if (peerRequests.pending.size() >= maxQueuedRequestsPerPeer) {
+        droppedRequestsCounter.labels(type.name, "queue_full").inc();
+        LOG.trace("Dropping {} request from peer {} with full request queue", type.name, peer);
+        return;
+      }
+      if (peerRequests.pending.isEmpty()) {
+        peersWithPendingRequests.addLast(peerRequests);
+      }
+      peerRequests.pending.addLast(new PendingRequest(type, message));
+      type.queuedRequests.incrementAndGet();
+    }
+    // Every queued request schedules exactly one call to serveNextRequest, which serves whichever
+    // peer is next in line rather than necessarily this one.
+    scheduler.scheduleServiceTask(this::serveNextRequest);
+  }
+
+  private void serveNextRequest() {
+    final PendingRequest request;
+    synchronized (this) {
+      final PeerRequests peerRequests = peersWithPendingRequests.pollFirst();
+      if (peerRequests == null) {
+        return;
+      }
+      request = peerRequests.pending.pollFirst();
+      if (!peerRequests.pending.isEmpty()) {
+        peersWithPendingRequests.addLast(peerRequests);
+      }
+    }
+    request.type.queuedRequests.decrementAndGet();
+    try (final TimingContext ignored = serviceTimer.labels(request.type.name).startTimer()) {
+      request.type.handler.exec(request.message);
+    } catch (final RuntimeException e) {
+      LOG.error(
+          "Failed to serve {} request from peer {}",
+          request.type.name,
+          request.message.getPeer(),
+          e);
+    }
+  }
+
+  private synchronized void handleDisconnect(final EthPeer peer) {
+    final PeerRequests peerRequests = requestsByPeer.remove(peer);
+    if (peerRequests == null) {
+      return;
+    }
+    // Drop anything still queued; the scheduled serve calls then serve other peers instead.
+    peersWithPendingRequests.remove(peerRequests);
+    for (final PendingRequest request : peerRequests.pending) {
+      request.type.queuedRequests.decrementAndGet();
+      droppedRequestsCounter.labels(request.type.name, "disconnected").inc();
+    }
+    peerRequests.pending.clear();
+  }
+
+  private static class RequestType {
+    private final String name;
+    private final MessageCallback handler;
+    private final AtomicInteger queuedRequests;
+
+    private RequestType(
+        final String name, final MessageCallback handler, final AtomicInteger queuedRequests) {
+      this.name = name;
+      this.handler = handler;
+      this.queuedRequests = queuedRequests;
+    }
+  }
+
+  private static class PendingRequest {
+    private final RequestType type;
+    private final EthMessage message;
+
+    private PendingRequest(final RequestType type, final EthMessage message) {
+      this.type = type;
+      this.message = message;
+    }
+  }
+
+  private class PeerRequests {
+    private final Deque<PendingRequest> pending = new ArrayDeque<>();
+    private final Map<RequestType, TokenBucket> rateLimiters = new HashMap<>();
+
+    private TokenBucket rateLimiterFor(final RequestType type) {
+      return rateLimiters.computeIfAbsent(
+          type, t -> new TokenBucket(Math.max(1, requestsPerSecond), requestsPerSecond, ticker));
+    }
+  }
+}
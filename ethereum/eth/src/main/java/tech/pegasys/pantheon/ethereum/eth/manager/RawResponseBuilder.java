@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects already RLP encoded items (as read from storage) to be spliced into a response message.
+ *
+ * <p>The number of items is bounded by the request limit, and the total size by a soft limit: items
+ * are accepted until the accumulated size reaches the limit, so the last accepted item may cross
+ * it, but a response always contains at least one item if any is available.
+ */
+class RawResponseBuilder {
+
+  private final List<BytesValue> items = new ArrayList<>();
+  private final int softSizeLimit;
+  private int size = 0;
+
+  RawResponseBuilder(final int softSizeLimit) {
+    this.softSizeLimit = softSizeLimit;
+  }
+
+  boolean isFull() {
+    return size >= softSizeLimit;
+  }
+
+  void add(final BytesValue encodedItem) {
+    items.add(encodedItem);
+    size += encodedItem.size();
+  }
+
+  List<BytesValue> items() {
+    return items;
+  }
+}
@@ -46,6 +46,20 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     return new BlockBodiesMessage(tmp.encoded());
   }
 
+  /**
+   * Create a message from already RLP encoded block bodies, splicing them into the message as is.
+   *
+   * @param encodedBodies The RLP encoded items to include in the message.
+   * @return The created message.
+   */
+  public static BlockBodiesMessage createFromRlp(final Iterable<BytesValue> encodedBodies) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedBodies.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockBodiesMessage(tmp.encoded());
+  }
+
   private BlockBodiesMessage(final BytesValue data) {
     super(data);
   }
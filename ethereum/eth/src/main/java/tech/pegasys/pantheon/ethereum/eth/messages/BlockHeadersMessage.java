@@ -48,6 +48,20 @@ public final class BlockHeadersMessage extends AbstractMessageData {
     return new BlockHeadersMessage(tmp.encoded());
   }
 
+  /**
+   * Create a message from already RLP encoded block headers, splicing them into the message as is.
+   *
+   * @param encodedHeaders The RLP encoded items to include in the message.
+   * @return The created message.
+   */
+  public static BlockHeadersMessage createFromRlp(final Iterable<BytesValue> encodedHeaders) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedHeaders.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockHeadersMessage(tmp.encoded());
+  }
+
   private BlockHeadersMessage(final BytesValue data) {
     super(data);
   }
@@ -50,6 +50,21 @@ public final class ReceiptsMessage extends AbstractMessageData {
     return new ReceiptsMessage(tmp.encoded());
   }
 
+  /**
+   * Create a message from already RLP encoded lists of transaction receipts (one list per block),
+   * splicing them into the message as is.
+   *
+   * @param encodedReceipts The RLP encoded items to include in the message.
+   * @return The created message.
+   */
+  public static ReceiptsMessage createFromRlp(final Iterable<BytesValue> encodedReceipts) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedReceipts.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new ReceiptsMessage(tmp.encoded());
+  }
+
   private ReceiptsMessage(final BytesValue data) {
     super(data);
   }
@@ -21,6 +21,7 @@ import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Function;
 
 public class TransactionsMessage extends AbstractMessageData {
@@ -47,6 +48,22 @@ public class TransactionsMessage extends AbstractMessageData {
     return new TransactionsMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a message from transactions that are already RLP encoded.
+   *
+   * @param rawTransactions The RLP encoding of each transaction
+   * @return A message containing the transactions.
+   */
+  public static TransactionsMessage createFromRaw(final Iterable<BytesValue> rawTransactions) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    for (final BytesValue rawTransaction : rawTransactions) {
+      tmp.writeRLPUnsafe(rawTransaction);
+    }
+    tmp.endList();
+    return new TransactionsMessage(tmp.encoded());
+  }
+
   private TransactionsMessage(final BytesValue data) {
     super(data);
   }
@@ -60,4 +77,9 @@ public class TransactionsMessage extends AbstractMessageData {
       final Function<RLPInput, Transaction> transactionReader) {
     return new BytesValueRLPInput(data, false).readList(transactionReader).iterator();
   }
+
+  /** @return The RLP encoding of each transaction in this message, none of which are decoded. */
+  public List<BytesValue> rawTransactions() {
+    return new BytesValueRLPInput(data, false).readList(RLPInput::readRaw);
+  }
 }
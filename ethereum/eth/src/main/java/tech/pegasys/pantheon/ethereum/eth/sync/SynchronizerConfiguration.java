@@ -58,6 +58,7 @@ public class SynchronizerConfiguration {
   private final int maxTrailingPeers;
   private final int downloaderParallelism;
   private final int transactionsParallelism;
+  private final int peerRequestsParallelism;
 
   private SynchronizerConfiguration(
       final SyncMode requestedSyncMode,
@@ -76,7 +77,8 @@ public class SynchronizerConfiguration {
       final long trailingPeerBlocksBehindThreshold,
       final int maxTrailingPeers,
       final int downloaderParallelism,
-      final int transactionsParallelism) {
+      final int transactionsParallelism,
+      final int peerRequestsParallelism) {
     this.requestedSyncMode = requestedSyncMode;
     this.fastSyncPivotDistance = fastSyncPivotDistance;
     this.fastSyncFullValidationRate = fastSyncFullValidationRate;
@@ -94,6 +96,7 @@ public class SynchronizerConfiguration {
     this.maxTrailingPeers = maxTrailingPeers;
     this.downloaderParallelism = downloaderParallelism;
     this.transactionsParallelism = transactionsParallelism;
+    this.peerRequestsParallelism = peerRequestsParallelism;
   }
 
   /**
@@ -137,7 +140,8 @@ public class SynchronizerConfiguration {
         trailingPeerBlocksBehindThreshold,
         maxTrailingPeers,
         downloaderParallelism,
-        transactionsParallelism);
+        transactionsParallelism,
+        peerRequestsParallelism);
   }
 
   public static Builder builder() {
@@ -222,6 +226,10 @@ public class SynchronizerConfiguration {
     return transactionsParallelism;
   }
 
+  public int peerRequestsParallelism() {
+    return peerRequestsParallelism;
+  }
+
   /**
    * The rate at which blocks should be fully validated during fast sync. At a rate of 1f, all
    * blocks are fully validated. At rates less than 1f, a subset of blocks will undergo light-weight
@@ -256,6 +264,7 @@ public class SynchronizerConfiguration {
     private int maxTrailingPeers = Integer.MAX_VALUE;
     private int downloaderParallelism = 2;
     private int transactionsParallelism = 2;
+    private int peerRequestsParallelism = 2;
 
     public Builder fastSyncPivotDistance(final int distance) {
       fastSyncPivotDistance = distance;
@@ -332,6 +341,11 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder peerRequestsParallelism(final int peerRequestsParallelism) {
+      this.peerRequestsParallelism = peerRequestsParallelism;
+      return this;
+    }
+
     public SynchronizerConfiguration build() {
       return new SynchronizerConfiguration(
           syncMode,
@@ -350,7 +364,8 @@ public class SynchronizerConfiguration {
           trailingPeerBlocksBehindThreshold,
           maxTrailingPeers,
           downloaderParallelism,
-          transactionsParallelism);
+          transactionsParallelism,
+          peerRequestsParallelism);
     }
   }
 }
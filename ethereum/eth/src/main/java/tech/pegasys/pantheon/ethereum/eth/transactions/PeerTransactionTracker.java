@@ -18,6 +18,9 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer.DisconnectCallback;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -27,27 +30,89 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 class PeerTransactionTracker implements DisconnectCallback {
-  private static final int MAX_TRACKED_SEEN_TRANSACTIONS = 30_000;
-  private final Map<EthPeer, Set<Hash>> seenTransactions = new ConcurrentHashMap<>();
+  // Each peer remembers between this many and twice this many of the transactions it last saw
+  private static final int SEEN_TRANSACTIONS_FILTER_CAPACITY = 16_384;
+  private static final int MAX_TRANSACTIONS_TO_SEND = 30_000;
+  private final Map<EthPeer, SeenTransactionsFilter> seenTransactions = new ConcurrentHashMap<>();
   private final Map<EthPeer, Set<Transaction>> transactionsToSend = new ConcurrentHashMap<>();
 
-  public synchronized void markTransactionsAsSeen(
+  PeerTransactionTracker() {
+    this(new NoOpMetricsSystem());
+  }
+
+  PeerTransactionTracker(final MetricsSystem metricsSystem) {
+    metricsSystem.createGauge(
+        MetricCategory.PEERS,
+        "seen_transactions_filter_memory_bytes",
+        "Memory used to track the transactions each peer has seen",
+        () ->
+            (double)
+                seenTransactions
+                    .values()
+                    .stream()
+                    .mapToLong(SeenTransactionsFilter::sizeInBytes)
+                    .sum());
+    metricsSystem.createGauge(
+        MetricCategory.PEERS,
+        "seen_transactions_filter_false_positive_ratio",
+        "Estimated proportion of unseen transactions not sent to a peer as it may have seen them",
+        () ->
+            seenTransactions
+                .values()
+                .stream()
+                .mapToDouble(SeenTransactionsFilter::estimatedFalsePositiveRate)
+                .average()
+                .orElse(0));
+  }
+
+  public void markTransactionsAsSeen(
       final EthPeer peer, final Collection<Transaction> transactions) {
-    final Set<Hash> seenTransactionsForPeer = getOrCreateSeenTransactionsForPeer(peer);
+    final SeenTransactionsFilter seenTransactionsForPeer = getOrCreateSeenTransactionsForPeer(peer);
     transactions.stream().map(Transaction::hash).forEach(seenTransactionsForPeer::add);
   }
 
-  public synchronized void addToPeerSendQueue(final EthPeer peer, final Transaction transaction) {
+  public void markTransactionHashesAsSeen(final EthPeer peer, final Collection<Hash> hashes) {
+    final SeenTransactionsFilter seenTransactionsForPeer = getOrCreateSeenTransactionsForPeer(peer);
+    hashes.forEach(seenTransactionsForPeer::add);
+  }
+
+  public void addToPeerSendQueue(final EthPeer peer, final Transaction transaction) {
     if (!hasPeerSeenTransaction(peer, transaction)) {
-      transactionsToSend.computeIfAbsent(peer, key -> createTransactionsSet()).add(transaction);
+      // Adding within compute ensures the transaction is not added to a set already claimed
+      transactionsToSend.compute(
+          peer,
+          (key, transactions) -> {
+            final Set<Transaction> result =
+                transactions != null ? transactions : createTransactionsSet();
+            result.add(transaction);
+            return result;
+          });
     }
   }
 
+  /**
+   * Puts back transactions that were claimed but could not be sent yet. They are not checked
+   * against the transactions seen by the peer, as claiming them marked them as seen.
+   *
+   * @param peer The peer the transactions are to be sent to
+   * @param transactions The transactions to send later
+   */
+  public void returnToPeerSendQueue(
+      final EthPeer peer, final Collection<Transaction> transactions) {
+    transactionsToSend.compute(
+        peer,
+        (key, queued) -> {
+          final Set<Transaction> result = queued != null ? queued : createTransactionsSet();
+          result.addAll(transactions);
+          return result;
+        });
+  }
+
   public Iterable<EthPeer> getEthPeersWithUnsentTransactions() {
     return transactionsToSend.keySet();
   }
 
-  public synchronized Set<Transaction> claimTransactionsToSendToPeer(final EthPeer peer) {
+  public Set<Transaction> claimTransactionsToSendToPeer(final EthPeer peer) {
     final Set<Transaction> transactionsToSend = this.transactionsToSend.remove(peer);
     if (transactionsToSend != null) {
       markTransactionsAsSeen(peer, transactionsToSend);
@@ -57,13 +122,15 @@ class PeerTransactionTracker implements DisconnectCallback {
     }
   }
 
-  private Set<Hash> getOrCreateSeenTransactionsForPeer(final EthPeer peer) {
-    return seenTransactions.computeIfAbsent(peer, key -> createTransactionsSet());
+  private SeenTransactionsFilter getOrCreateSeenTransactionsForPeer(final EthPeer peer) {
+    return seenTransactions.computeIfAbsent(
+        peer, key -> new SeenTransactionsFilter(SEEN_TRANSACTIONS_FILTER_CAPACITY));
   }
 
-  private boolean hasPeerSeenTransaction(final EthPeer peer, final Transaction transaction) {
-    final Set<Hash> seenTransactionsForPeer = seenTransactions.get(peer);
-    return seenTransactionsForPeer != null && seenTransactionsForPeer.contains(transaction.hash());
+  boolean hasPeerSeenTransaction(final EthPeer peer, final Transaction transaction) {
+    final SeenTransactionsFilter seenTransactionsForPeer = seenTransactions.get(peer);
+    return seenTransactionsForPeer != null
+        && seenTransactionsForPeer.mightContain(transaction.hash());
   }
 
   private <T> Set<T> createTransactionsSet() {
@@ -71,7 +138,7 @@ class PeerTransactionTracker implements DisconnectCallback {
         new LinkedHashMap<T, Boolean>(1 << 4, 0.75f, true) {
           @Override
           protected boolean removeEldestEntry(final Map.Entry<T, Boolean> eldest) {
-            return size() > MAX_TRACKED_SEEN_TRANSACTIONS;
+            return size() > MAX_TRANSACTIONS_TO_SEND;
           }
         });
   }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.transactions;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A compact, lock-free record of the transactions a peer is known to have.
+ *
+ * <p>Hashes are added to a current Bloom filter which, once it holds {@code capacity} of them,
+ * becomes the previous filter and is replaced by an empty one. A hash is therefore remembered for
+ * between {@code capacity} and {@code 2 * capacity} further additions, and is never reported as
+ * unseen while remembered. Hashes that were never added may be reported as seen with a small
+ * probability, see {@link #estimatedFalsePositiveRate()}.
+ */
+class SeenTransactionsFilter {
+
+  // Transaction hashes are uniformly distributed, so their 32-bit words are used as bit indices
+  private static final int HASH_FUNCTIONS = Hash.SIZE / Integer.BYTES;
+  private static final int BITS_PER_ENTRY = 16;
+
+  private final int capacity;
+  private final int bitCount;
+  private final AtomicReference<Generation> currentGeneration;
+
+  /** @param capacity The number of hashes held by each filter, which must be a power of two. */
+  SeenTransactionsFilter(final int capacity) {
+    checkArgument(Integer.bitCount(capacity) == 1, "Capacity must be a power of two");
+    this.capacity = capacity;
+    this.bitCount = capacity * BITS_PER_ENTRY;
+    this.currentGeneration = new AtomicReference<>(new Generation(new BloomFilter(bitCount), null));
+  }
+
+  void add(final Hash hash) {
+    final Generation generation = currentGeneration.get();
+    if (generation.current.add(hash) && generation.current.incrementEntries() == capacity) {
+      currentGeneration.compareAndSet(
+          generation, new Generation(new BloomFilter(bitCount), generation.current));
+    }
+  }
+
+  boolean mightContain(final Hash hash) {
+    final Generation generation = currentGeneration.get();
+    return generation.current.mightContain(hash)
+        || (generation.previous != null && generation.previous.mightContain(hash));
+  }
+
+  /** @return The memory held by the bits of the filters. */
+  long sizeInBytes() {
+    final Generation generation = currentGeneration.get();
+    final long filters = generation.previous == null ? 1 : 2;
+    return filters * bitCount / Byte.SIZE;
+  }
+
+  /**
+   * @return The probability of a hash that was never added being reported as seen, estimated
+   *     from the proportion of bits set in each filter.
+   */
+  double estimatedFalsePositiveRate() {
+    final Generation generation = currentGeneration.get();
+    final double previousRate =
+        generation.previous == null ? 0 : generation.previous.estimatedFalsePositiveRate();
+    return 1 - (1 - generation.current.estimatedFalsePositiveRate()) * (1 - previousRate);
+  }
+
+  private static class Generation {
+    private final BloomFilter current;
+    private final BloomFilter previous;
+
+    private Generation(final BloomFilter current, final BloomFilter previous) {
+      this.current = current;
+      this.previous = previous;
+    }
+  }
+
+  private static class BloomFilter {
+    private final AtomicLongArray bits;
+    private final int bitMask;
+    private final AtomicInteger entries = new AtomicInteger();
+
+    private BloomFilter(final int bitCount) {
+      this.bits = new AtomicLongArray(bitCount / Long.SIZE);
+      this.bitMask = bitCount - 1;
+    }
+
+    /** @return true if any bit was set by this hash, meaning it was not already present. */
+    private boolean add(final Hash hash) {
+      boolean added = false;
+      for (int i = 0; i < HASH_FUNCTIONS; i++) {
+        added |= setBit(hash.getInt(i * Integer.BYTES) & bitMask);
+      }
+      return added;
+    }
+
+    private boolean setBit(final int index) {
+      final int word = index >>> 6;
+      final long mask = 1L << index;
+      while (true) {
+        final long value = bits.get(word);
+        if ((value & mask) != 0) {
+          return false;
+        }
+        if (bits.compareAndSet(word, value, value | mask)) {
+          return true;
+        }
+      }
+    }
+
+    private boolean mightContain(final Hash hash) {
+      for (int i = 0; i < HASH_FUNCTIONS; i++) {
+        final int index = hash.getInt(i * Integer.BYTES) & bitMask;
+        if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private int incrementEntries() {
+      return entries.incrementAndGet();
+    }
+
+    private double estimatedFalsePositiveRate() {
+      long setBits = 0;
+      for (int i = 0; i < bits.length(); i++) {
+        setBits += Long.bitCount(bits.get(i));
+      }
+      return Math.pow((double) setBits / (bits.length() * Long.SIZE), HASH_FUNCTIONS);
+    }
+  }
+}
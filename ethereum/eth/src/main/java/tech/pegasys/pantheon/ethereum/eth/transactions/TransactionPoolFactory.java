@@ -18,6 +18,8 @@ import tech.pegasys.pantheon.ethereum.core.TransactionPool;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 public class TransactionPoolFactory {
 
@@ -25,12 +27,25 @@ public class TransactionPoolFactory {
       final ProtocolSchedule<?> protocolSchedule,
       final ProtocolContext<?> protocolContext,
       final EthContext ethContext) {
+    return createTransactionPool(
+        protocolSchedule, protocolContext, ethContext, new NoOpMetricsSystem());
+  }
+
+  public static TransactionPool createTransactionPool(
+      final ProtocolSchedule<?> protocolSchedule,
+      final ProtocolContext<?> protocolContext,
+      final EthContext ethContext,
+      final MetricsSystem metricsSystem) {
     final PendingTransactions pendingTransactions =
         new PendingTransactions(PendingTransactions.MAX_PENDING_TRANSACTIONS);
 
-    final PeerTransactionTracker transactionTracker = new PeerTransactionTracker();
+    final PeerTransactionTracker transactionTracker = new PeerTransactionTracker(metricsSystem);
     final TransactionsMessageSender transactionsMessageSender =
-        new TransactionsMessageSender(transactionTracker);
+        new TransactionsMessageSender(
+            transactionTracker,
+            TransactionsMessageSender.DEFAULT_MAX_BATCH_SIZE_BYTES,
+            TransactionsMessageSender.DEFAULT_MAX_BYTES_PER_SECOND_PER_PEER,
+            metricsSystem);
 
     final TransactionPool transactionPool =
         new TransactionPool(
@@ -42,11 +57,12 @@ public class TransactionPoolFactory {
     final TransactionsMessageHandler transactionsMessageHandler =
         new TransactionsMessageHandler(
             ethContext.getScheduler(),
-            new TransactionsMessageProcessor(transactionTracker, transactionPool));
+            new TransactionsMessageProcessor(transactionTracker, transactionPool, metricsSystem));
 
     ethContext.getEthMessages().subscribe(EthPV62.TRANSACTIONS, transactionsMessageHandler);
     protocolContext.getBlockchain().observeBlockAdded(transactionPool);
     ethContext.getEthPeers().subscribeDisconnect(transactionTracker);
+    ethContext.getEthPeers().subscribeDisconnect(transactionsMessageSender);
     return transactionPool;
   }
 }
@@ -12,15 +12,33 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.transactions;
 
+import static java.util.stream.Collectors.toList;
+
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionPool.TransactionBatchAddedListener;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Queues new transactions to be sent to a random subset of the peers that have not seen them,
+ * the square root of the number of peers or {@link #MIN_BROADCAST_PEERS} whichever is larger.
+ * Each peer that receives a transaction passes it on in the same way, so it still reaches the
+ * whole network while each node sends it to far fewer peers.
+ */
 class TransactionSender implements TransactionBatchAddedListener {
 
+  static final int MIN_BROADCAST_PEERS = 5;
+  private static final Duration DEFERRED_SEND_DELAY = Duration.ofMillis(500);
+
   private final PeerTransactionTracker transactionTracker;
   private final TransactionsMessageSender transactionsMessageSender;
   private final EthContext ethContext;
+  private final AtomicBoolean deferredSendScheduled = new AtomicBoolean(false);
 
   public TransactionSender(
       final PeerTransactionTracker transactionTracker,
@@ -33,15 +51,39 @@ class TransactionSender implements TransactionBatchAddedListener {
 
   @Override
   public void onTransactionsAdded(final Iterable<Transaction> transactions) {
-    ethContext
-        .getEthPeers()
-        .availablePeers()
-        .forEach(
-            peer ->
-                transactions.forEach(
-                    transaction -> transactionTracker.addToPeerSendQueue(peer, transaction)));
-    ethContext
-        .getScheduler()
-        .scheduleSyncWorkerTask(transactionsMessageSender::sendTransactionsToPeers);
+    final List<EthPeer> peers = ethContext.getEthPeers().availablePeers().collect(toList());
+    final int broadcastPeers = broadcastPeerCount(peers.size());
+    for (final Transaction transaction : transactions) {
+      final List<EthPeer> candidates =
+          peers
+              .stream()
+              .filter(peer -> !transactionTracker.hasPeerSeenTransaction(peer, transaction))
+              .collect(toList());
+      Collections.shuffle(candidates);
+      candidates
+          .stream()
+          .limit(broadcastPeers)
+          .forEach(peer -> transactionTracker.addToPeerSendQueue(peer, transaction));
+    }
+    ethContext.getScheduler().scheduleSyncWorkerTask(this::sendTransactions);
+  }
+
+  static int broadcastPeerCount(final int peerCount) {
+    return Math.max(MIN_BROADCAST_PEERS, (int) Math.ceil(Math.sqrt(peerCount)));
+  }
+
+  private void sendTransactions() {
+    final boolean deferred = transactionsMessageSender.sendTransactionsToPeers();
+    // A single attempt is kept pending for transactions held back by rate limits
+    if (deferred && deferredSendScheduled.compareAndSet(false, true)) {
+      ethContext
+          .getScheduler()
+          .scheduleFutureTask(
+              () -> {
+                deferredSendScheduled.set(false);
+                sendTransactions();
+              },
+              DEFERRED_SEND_DELAY);
+    }
   }
 }
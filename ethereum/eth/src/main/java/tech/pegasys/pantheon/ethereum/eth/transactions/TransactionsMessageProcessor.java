@@ -14,29 +14,65 @@ package tech.pegasys.pantheon.ethereum.eth.transactions;
 
 import static org.apache.logging.log4j.LogManager.getLogger;
 
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionPool;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
 import tech.pegasys.pantheon.ethereum.eth.messages.TransactionsMessage;
 import tech.pegasys.pantheon.ethereum.p2p.wire.messages.DisconnectMessage.DisconnectReason;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
-import com.google.common.collect.Sets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.logging.log4j.Logger;
 
 class TransactionsMessageProcessor {
 
   private static final Logger LOG = getLogger();
+  // Bounds the hashes of transactions recently received, whether they were accepted or rejected
+  private static final int MAX_KNOWN_TRANSACTIONS = 32_768;
+  // Rejected transactions may become valid as the chain progresses, so are only skipped for a while
+  private static final long KNOWN_TRANSACTION_EXPIRY_MINUTES = 5;
+
   private final PeerTransactionTracker transactionTracker;
   private final TransactionPool transactionPool;
+  private final Cache<Hash, Boolean> knownTransactions =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_KNOWN_TRANSACTIONS)
+          .expireAfterWrite(KNOWN_TRANSACTION_EXPIRY_MINUTES, TimeUnit.MINUTES)
+          .build();
+  private final Counter knownTransactionsCounter;
+  private final Counter decodedTransactionsCounter;
 
   public TransactionsMessageProcessor(
       final PeerTransactionTracker transactionTracker, final TransactionPool transactionPool) {
+    this(transactionTracker, transactionPool, new NoOpMetricsSystem());
+  }
+
+  public TransactionsMessageProcessor(
+      final PeerTransactionTracker transactionTracker,
+      final TransactionPool transactionPool,
+      final MetricsSystem metricsSystem) {
     this.transactionTracker = transactionTracker;
     this.transactionPool = transactionPool;
+    final LabelledMetric<Counter> receivedTransactions =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.NETWORK,
+            "transactions_received_total",
+            "Transactions received from peers, by whether they were already known",
+            "outcome");
+    knownTransactionsCounter = receivedTransactions.labels("known");
+    decodedTransactionsCounter = receivedTransactions.labels("decoded");
   }
 
   void processTransactionsMessage(
@@ -44,15 +80,41 @@ class TransactionsMessageProcessor {
     try {
       LOG.debug("Received transactions message from {}", peer);
 
-      final Iterator<Transaction> readTransactions =
-          transactionsMessage.transactions(Transaction::readFrom);
-      final Set<Transaction> transactions = Sets.newHashSet(readTransactions);
-      transactionTracker.markTransactionsAsSeen(peer, transactions);
-      transactionPool.addRemoteTransactions(transactions);
+      // A transaction's hash is that of its encoding, so known transactions are never decoded
+      final Set<Hash> knownTransactionHashes = new HashSet<>();
+      final Set<Transaction> transactions = new HashSet<>();
+      for (final BytesValue rawTransaction : transactionsMessage.rawTransactions()) {
+        final Hash hash = Hash.hash(rawTransaction);
+        if (knownTransactions.getIfPresent(hash) != null) {
+          knownTransactionHashes.add(hash);
+          knownTransactionsCounter.inc();
+        } else {
+          transactions.add(decode(rawTransaction));
+          decodedTransactionsCounter.inc();
+        }
+      }
+      if (!knownTransactionHashes.isEmpty()) {
+        transactionTracker.markTransactionHashesAsSeen(peer, knownTransactionHashes);
+      }
+      if (!transactions.isEmpty()) {
+        transactionTracker.markTransactionsAsSeen(peer, transactions);
+        transactionPool.addRemoteTransactions(transactions);
+        transactions.forEach(transaction -> knownTransactions.put(transaction.hash(), true));
+      }
     } catch (final RLPException ex) {
       if (peer != null) {
         peer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
       }
     }
   }
+
+  private static Transaction decode(final BytesValue rawTransaction) {
+    try {
+      return Transaction.fromRlp(rawTransaction);
+    } catch (final RuntimeException e) {
+      throw e instanceof RLPException
+          ? e
+          : new RLPException("Invalid transaction encoding: " + e.getMessage());
+    }
+  }
 }
@@ -12,39 +12,161 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.transactions;
 
-import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Collectors.toList;
 
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer.DisconnectCallback;
 import tech.pegasys.pantheon.ethereum.eth.messages.TransactionsMessage;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection.PeerNotConnected;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-class TransactionsMessageSender {
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Sends the transactions queued for each peer, packing as many into each message as fit within a
+ * size bound. Each peer may additionally be limited to a number of bytes per second, in which
+ * case transactions it cannot be sent yet are kept queued for a later attempt.
+ */
+class TransactionsMessageSender implements DisconnectCallback {
+
+  static final int DEFAULT_MAX_BATCH_SIZE_BYTES = 100 * 1024;
+  static final int DEFAULT_MAX_BYTES_PER_SECOND_PER_PEER = 256 * 1024;
 
-  private static final int MAX_BATCH_SIZE = 10;
   private final PeerTransactionTracker transactionTracker;
+  private final int maxBatchSizeBytes;
+  private final double maxBytesPerSecondPerPeer;
+  private final Map<EthPeer, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+  private final Counter bytesSentCounter;
+  private final Counter transactionsSentCounter;
+  private final Counter transactionsDeferredCounter;
 
   public TransactionsMessageSender(final PeerTransactionTracker transactionTracker) {
+    this(transactionTracker, DEFAULT_MAX_BATCH_SIZE_BYTES, 0, new NoOpMetricsSystem());
+  }
+
+  /**
+   * @param transactionTracker Holds the transactions to send to each peer
+   * @param maxBatchSizeBytes The largest encoded size of the transactions of a message, unless a
+   *     single transaction is larger
+   * @param maxBytesPerSecondPerPeer The rate at which transactions may be sent to each peer, or 0
+   *     to send them all straight away
+   * @param metricsSystem The metrics system
+   */
+  public TransactionsMessageSender(
+      final PeerTransactionTracker transactionTracker,
+      final int maxBatchSizeBytes,
+      final double maxBytesPerSecondPerPeer,
+      final MetricsSystem metricsSystem) {
     this.transactionTracker = transactionTracker;
+    this.maxBatchSizeBytes = maxBatchSizeBytes;
+    this.maxBytesPerSecondPerPeer = maxBytesPerSecondPerPeer;
+    bytesSentCounter =
+        metricsSystem.createCounter(
+            MetricCategory.NETWORK,
+            "transactions_sent_bytes_total",
+            "Total encoded size of the transactions sent to peers");
+    transactionsSentCounter =
+        metricsSystem.createCounter(
+            MetricCategory.NETWORK,
+            "transactions_sent_total",
+            "Total number of transactions sent to peers");
+    transactionsDeferredCounter =
+        metricsSystem.createCounter(
+            MetricCategory.NETWORK,
+            "transactions_send_deferred_total",
+            "Total number of transactions held back by a peer's outbound rate limit");
   }
 
-  public void sendTransactionsToPeers() {
-    transactionTracker.getEthPeersWithUnsentTransactions().forEach(this::sendTransactionsToPeer);
+  /** @return true if transactions were held back by a rate limit and should be sent later. */
+  public boolean sendTransactionsToPeers() {
+    boolean deferred = false;
+    for (final EthPeer peer : transactionTracker.getEthPeersWithUnsentTransactions()) {
+      deferred |= sendTransactionsToPeer(peer);
+    }
+    return deferred;
   }
 
-  private void sendTransactionsToPeer(final EthPeer peer) {
-    final Set<Transaction> allTxToSend = transactionTracker.claimTransactionsToSendToPeer(peer);
-    while (!allTxToSend.isEmpty()) {
-      final Set<Transaction> subsetToSend =
-          allTxToSend.stream().limit(MAX_BATCH_SIZE).collect(toSet());
-      allTxToSend.removeAll(subsetToSend);
+  private boolean sendTransactionsToPeer(final EthPeer peer) {
+    final List<Batch> batches =
+        createBatches(transactionTracker.claimTransactionsToSendToPeer(peer));
+    for (int i = 0; i < batches.size(); i++) {
+      final Batch batch = batches.get(i);
+      if (!tryAcquire(peer, batch.sizeBytes)) {
+        final List<Transaction> deferred =
+            batches
+                .subList(i, batches.size())
+                .stream()
+                .flatMap(deferredBatch -> deferredBatch.transactions.stream())
+                .collect(toList());
+        transactionTracker.returnToPeerSendQueue(peer, deferred);
+        transactionsDeferredCounter.inc(deferred.size());
+        return true;
+      }
       try {
-        peer.send(TransactionsMessage.create(subsetToSend));
+        peer.send(TransactionsMessage.createFromRaw(batch.rawTransactions));
       } catch (final PeerNotConnected e) {
-        return;
+        return false;
+      }
+      bytesSentCounter.inc(batch.sizeBytes);
+      transactionsSentCounter.inc(batch.transactions.size());
+    }
+    return false;
+  }
+
+  private List<Batch> createBatches(final Set<Transaction> transactions) {
+    final List<Batch> batches = new ArrayList<>();
+    Batch batch = new Batch();
+    for (final Transaction transaction : transactions) {
+      final BytesValue rawTransaction = RLP.encode(transaction::writeTo);
+      if (!batch.transactions.isEmpty()
+          && batch.sizeBytes + rawTransaction.size() > maxBatchSizeBytes) {
+        batches.add(batch);
+        batch = new Batch();
       }
+      batch.add(transaction, rawTransaction);
+    }
+    if (!batch.transactions.isEmpty()) {
+      batches.add(batch);
+    }
+    return batches;
+  }
+
+  private boolean tryAcquire(final EthPeer peer, final int bytes) {
+    if (maxBytesPerSecondPerPeer <= 0) {
+      return true;
+    }
+    return rateLimiters
+        .computeIfAbsent(peer, key -> RateLimiter.create(maxBytesPerSecondPerPeer))
+        .tryAcquire(bytes);
+  }
+
+  @Override
+  public void onDisconnect(final EthPeer peer) {
+    rateLimiters.remove(peer);
+  }
+
+  private static class Batch {
+    private final List<Transaction> transactions = new ArrayList<>();
+    private final List<BytesValue> rawTransactions = new ArrayList<>();
+    private int sizeBytes;
+
+    private void add(final Transaction transaction, final BytesValue rawTransaction) {
+      transactions.add(transaction);
+      rawTransactions.add(rawTransaction);
+      sizeBytes += rawTransaction.size();
     }
   }
 }
@@ -14,15 +14,28 @@ package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
+import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.BlockHeadersMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockBodiesMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockHeadersMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.GetNodeDataMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetReceiptsMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.NodeDataMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.ReceiptsMessage;
+import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Optional;
@@ -42,10 +55,14 @@ public class EthServerTest {
   private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
   private final EthPeer ethPeer = mock(EthPeer.class);
   private final EthMessages ethMessages = new EthMessages();
+  private final MetricsSystem metricsSystem = new NoOpMetricsSystem();
 
   @Before
   public void setUp() {
-    new EthServer(blockchain, worldStateArchive, ethMessages, 2);
+    final PeerRequestQueue requestQueue =
+        new PeerRequestQueue(
+            new DeterministicEthScheduler(), new EthPeers(EthProtocol.NAME), metricsSystem);
+    new EthServer(blockchain, worldStateArchive, ethMessages, requestQueue, 2);
   }
 
   @Test
@@ -87,4 +104,62 @@ public class EthServerTest {
 
     verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE1)));
   }
+
+  @Test
+  public void shouldRespondToBlockBodiesRequestsWithStoredRlp() throws Exception {
+    final BytesValue body1 = rlpList(VALUE1);
+    final BytesValue body2 = rlpList(VALUE2);
+    when(blockchain.getBlockBodyRlp(HASH1)).thenReturn(Optional.of(body1));
+    when(blockchain.getBlockBodyRlp(HASH2)).thenReturn(Optional.of(body2));
+    ethMessages.dispatch(
+        new EthMessage(ethPeer, GetBlockBodiesMessage.create(asList(HASH1, HASH2))));
+
+    verify(ethPeer).send(BlockBodiesMessage.createFromRlp(asList(body1, body2)));
+  }
+
+  @Test
+  public void shouldRespondToHeadersRequestsByHashWithStoredRlp() throws Exception {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BytesValue header5 = RLP.encode(gen.header(5)::writeTo);
+    final BytesValue header6 = RLP.encode(gen.header(6)::writeTo);
+    when(blockchain.getBlockHeaderRlp(HASH1)).thenReturn(Optional.of(header5));
+    when(blockchain.getBlockHashByNumber(6)).thenReturn(Optional.of(HASH2));
+    when(blockchain.getBlockHeaderRlp(HASH2)).thenReturn(Optional.of(header6));
+    ethMessages.dispatch(
+        new EthMessage(ethPeer, GetBlockHeadersMessage.create(HASH1, 2, 0, false)));
+
+    verify(ethPeer).send(BlockHeadersMessage.createFromRlp(asList(header5, header6)));
+  }
+
+  @Test
+  public void shouldRespondToReceiptsRequestsWithStoredRlp() throws Exception {
+    final BytesValue receipts = rlpList(VALUE1);
+    when(blockchain.getTxReceiptsRlp(HASH1)).thenReturn(Optional.of(receipts));
+    ethMessages.dispatch(new EthMessage(ethPeer, GetReceiptsMessage.create(asList(HASH1, HASH2))));
+
+    verify(ethPeer).send(ReceiptsMessage.createFromRlp(singletonList(receipts)));
+  }
+
+  @Test
+  public void shouldStopAddingItemsOnceSoftResponseSizeLimitIsReached() {
+    final BytesValue body1 = rlpList(VALUE1);
+    final BytesValue body2 = rlpList(VALUE2);
+    when(blockchain.getBlockBodyRlp(HASH1)).thenReturn(Optional.of(body1));
+    when(blockchain.getBlockBodyRlp(HASH2)).thenReturn(Optional.of(body2));
+
+    final MessageData response =
+        EthServer.constructGetBodiesResponse(
+            blockchain, GetBlockBodiesMessage.create(asList(HASH1, HASH2)), 10, body1.size());
+
+    assertThat(response).isEqualTo(BlockBodiesMessage.createFromRlp(singletonList(body1)));
+  }
+
+  private static BytesValue rlpList(final BytesValue value) {
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeBytesValue(value);
+          out.endList();
+        });
+  }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthMessages.MessageCallback;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetNodeDataMessage;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PeerRequestQueueTest {
+
+  private final ExecutorService servicesExecutor = mock(ExecutorService.class);
+  private final EthScheduler scheduler =
+      new EthScheduler(
+          mock(ExecutorService.class),
+          mock(ScheduledExecutorService.class),
+          mock(ExecutorService.class),
+          servicesExecutor);
+  private final EthPeer peerA = mock(EthPeer.class);
+  private final EthPeer peerB = mock(EthPeer.class);
+  private final List<EthMessage> served = new ArrayList<>();
+  private long now = 0;
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return now;
+        }
+      };
+
+  @Test
+  public void shouldServePeersRoundRobin() {
+    final MessageCallback handler = queue(10, 1000).queued("test", served::add);
+    final EthMessage a1 = request(peerA);
+    final EthMessage a2 = request(peerA);
+    final EthMessage a3 = request(peerA);
+    final EthMessage b1 = request(peerB);
+
+    handler.exec(a1);
+    handler.exec(a2);
+    handler.exec(a3);
+    handler.exec(b1);
+    runScheduledTasks();
+
+    assertThat(served).containsExactly(a1, b1, a2, a3);
+  }
+
+  @Test
+  public void shouldDropRequestsWhenPeerQueueIsFull() {
+    final MessageCallback handler = queue(2, 1000).queued("test", served::add);
+    final EthMessage a1 = request(peerA);
+    final EthMessage a2 = request(peerA);
+    final EthMessage a3 = request(peerA);
+    final EthMessage b1 = request(peerB);
+
+    asList(a1, a2, a3, b1).forEach(handler::exec);
+    runScheduledTasks();
+
+    assertThat(served).containsExactly(a1, b1, a2);
+  }
+
+  @Test
+  public void shouldDropRequestsExceedingRateLimit() {
+    final MessageCallback handler = queue(10, 0.001).queued("test", served::add);
+    final EthMessage a1 = request(peerA);
+    final EthMessage a2 = request(peerA);
+    final EthMessage b1 = request(peerB);
+
+    asList(a1, a2, b1).forEach(handler::exec);
+    runScheduledTasks();
+
+    assertThat(served).containsExactly(a1, b1);
+  }
+
+  @Test
+  public void shouldServeBackToBackRequestsAtDefaultRate() {
+    final MessageCallback handler =
+        queue(10, PeerRequestQueue.DEFAULT_REQUESTS_PER_SECOND).queued("test", served::add);
+    final EthMessage a1 = request(peerA);
+    final EthMessage a2 = request(peerA);
+
+    asList(a1, a2).forEach(handler::exec);
+    runScheduledTasks();
+
+    assertThat(served).containsExactly(a1, a2);
+  }
+
+  @Test
+  public void shouldServeRequestsAgainOnceRateLimitRefills() {
+    final MessageCallback handler = queue(10, 1).queued("test", served::add);
+    final EthMessage a1 = request(peerA);
+    final EthMessage a2 = request(peerA);
+    final EthMessage a3 = request(peerA);
+
+    handler.exec(a1);
+    handler.exec(a2);
+    now += TimeUnit.SECONDS.toNanos(1);
+    handler.exec(a3);
+    runScheduledTasks();
+
+    assertThat(served).containsExactly(a1, a3);
+  }
+
+  @Test
+  public void shouldDropRequestsFromDisconnectedPeers() {
+    final MessageCallback handler = queue(10, 1000).queued("test", served::add);
+    when(peerA.isDisconnected()).thenReturn(true);
+    final EthMessage a1 = request(peerA);
+    final EthMessage b1 = request(peerB);
+
+    asList(a1, b1).forEach(handler::exec);
+    runScheduledTasks();
+
+    assertThat(served).containsExactly(b1);
+  }
+
+  private PeerRequestQueue queue(final int maxQueuedPerPeer, final double requestsPerSecond) {
+    return new PeerRequestQueue(
+        scheduler,
+        new EthPeers(EthProtocol.NAME),
+        new NoOpMetricsSystem(),
+        maxQueuedPerPeer,
+        requestsPerSecond,
+        ticker);
+  }
+
+  private EthMessage request(final EthPeer peer) {
+    return new EthMessage(peer, GetNodeDataMessage.create(Collections.singletonList(Hash.ZERO)));
+  }
+
+  private void runScheduledTasks() {
+    final ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+    verify(servicesExecutor, atLeastOnce()).submit(tasks.capture());
+    tasks.getAllValues().forEach(Runnable::run);
+  }
+}
@@ -70,6 +70,16 @@ public class PeerTransactionTrackerTest {
     assertThat(tracker.claimTransactionsToSendToPeer(ethPeer2)).containsOnly(transaction3);
   }
 
+  @Test
+  public void shouldExcludeTransactionsWithSeenHashesFromTransactionsToSend() {
+    tracker.markTransactionHashesAsSeen(ethPeer1, ImmutableSet.of(transaction1.hash()));
+
+    tracker.addToPeerSendQueue(ethPeer1, transaction1);
+    tracker.addToPeerSendQueue(ethPeer1, transaction2);
+
+    assertThat(tracker.claimTransactionsToSendToPeer(ethPeer1)).containsOnly(transaction2);
+  }
+
   @Test
   public void shouldClearDataWhenPeerDisconnects() {
     tracker.markTransactionsAsSeen(ethPeer1, ImmutableSet.of(transaction1));
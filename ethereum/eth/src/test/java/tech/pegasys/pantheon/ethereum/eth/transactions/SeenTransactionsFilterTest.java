@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SeenTransactionsFilterTest {
+
+  private static final int CAPACITY = 64;
+  private final SeenTransactionsFilter filter = new SeenTransactionsFilter(CAPACITY);
+
+  @Test
+  public void shouldContainAddedHashes() {
+    final List<Hash> hashes = hashes(0, CAPACITY);
+    hashes.forEach(filter::add);
+
+    assertThat(hashes).allMatch(filter::mightContain);
+  }
+
+  @Test
+  public void shouldNotContainHashesThatWereNeverAdded() {
+    hashes(0, CAPACITY / 2).forEach(filter::add);
+
+    assertThat(hashes(CAPACITY, 2 * CAPACITY)).noneMatch(filter::mightContain);
+    assertThat(filter.estimatedFalsePositiveRate()).isBetween(0.0, 0.001);
+  }
+
+  @Test
+  public void shouldRememberHashesForAtLeastOneFullFilter() {
+    final List<Hash> oldest = hashes(0, CAPACITY);
+    final List<Hash> newer = hashes(CAPACITY, 2 * CAPACITY - 1);
+    oldest.forEach(filter::add);
+    newer.forEach(filter::add);
+
+    assertThat(oldest).allMatch(filter::mightContain);
+    assertThat(newer).allMatch(filter::mightContain);
+  }
+
+  @Test
+  public void shouldForgetHashesOnceTwoNewerFiltersHaveFilled() {
+    final List<Hash> oldest = hashes(0, CAPACITY);
+    oldest.forEach(filter::add);
+    hashes(CAPACITY, 3 * CAPACITY).forEach(filter::add);
+
+    assertThat(oldest).noneMatch(filter::mightContain);
+  }
+
+  @Test
+  public void shouldHoldAtMostTwoFilters() {
+    final long singleFilterSize = filter.sizeInBytes();
+    hashes(0, 5 * CAPACITY).forEach(filter::add);
+
+    assertThat(filter.sizeInBytes()).isEqualTo(2 * singleFilterSize);
+  }
+
+  @Test
+  public void shouldRejectCapacityThatIsNotAPowerOfTwo() {
+    assertThatThrownBy(() -> new SeenTransactionsFilter(100))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static List<Hash> hashes(final int from, final int to) {
+    final List<Hash> hashes = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      hashes.add(Hash.hash(BytesValue.wrap(new byte[] {(byte) (i >> 8), (byte) i})));
+    }
+    return hashes;
+  }
+}
@@ -102,7 +102,8 @@ public class TestNode implements Closeable {
     final ProtocolContext<Void> protocolContext =
         new ProtocolContext<>(blockchain, worldStateArchive, null);
     final EthProtocolManager ethProtocolManager =
-        new EthProtocolManager(blockchain, worldStateArchive, 1, false, 1, 1);
+        new EthProtocolManager(
+            blockchain, worldStateArchive, 1, false, 1, 1, new NoOpMetricsSystem());
 
     final NetworkRunner networkRunner =
         NetworkRunner.builder()
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.transactions;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class TransactionSenderTest {
+
+  private final BlockDataGenerator generator = new BlockDataGenerator();
+  private final EthPeers ethPeers = mock(EthPeers.class);
+  private final EthContext ethContext = mock(EthContext.class);
+  private final PeerTransactionTracker transactionTracker = new PeerTransactionTracker();
+  private final TransactionSender transactionSender =
+      new TransactionSender(
+          transactionTracker, mock(TransactionsMessageSender.class), ethContext);
+
+  @Test
+  public void broadcastPeerCountIsSquareRootOfPeersWithMinimum() {
+    assertThat(TransactionSender.broadcastPeerCount(0))
+        .isEqualTo(TransactionSender.MIN_BROADCAST_PEERS);
+    assertThat(TransactionSender.broadcastPeerCount(3))
+        .isEqualTo(TransactionSender.MIN_BROADCAST_PEERS);
+    assertThat(TransactionSender.broadcastPeerCount(25))
+        .isEqualTo(TransactionSender.MIN_BROADCAST_PEERS);
+    assertThat(TransactionSender.broadcastPeerCount(26)).isEqualTo(6);
+    assertThat(TransactionSender.broadcastPeerCount(100)).isEqualTo(10);
+    assertThat(TransactionSender.broadcastPeerCount(101)).isEqualTo(11);
+  }
+
+  @Test
+  public void shouldSendToAllPeersWhenFewerThanMinimum() {
+    final List<EthPeer> peers = givenPeers(3);
+    final Transaction transaction = generator.transaction();
+
+    transactionSender.onTransactionsAdded(singletonList(transaction));
+
+    assertThat(peersSentTransaction(peers, transaction)).containsExactlyInAnyOrderElementsOf(peers);
+  }
+
+  @Test
+  public void shouldSendEachTransactionToSquareRootOfPeers() {
+    final List<EthPeer> peers = givenPeers(100);
+    final Transaction transaction = generator.transaction();
+
+    transactionSender.onTransactionsAdded(singletonList(transaction));
+
+    final Set<EthPeer> recipients = peersSentTransaction(peers, transaction);
+    assertThat(recipients).hasSize(10);
+    assertThat(peers).containsAll(recipients);
+  }
+
+  @Test
+  public void shouldSelectDifferentPeersForDifferentTransactions() {
+    final List<EthPeer> peers = givenPeers(100);
+    final List<Set<EthPeer>> recipientSets = new ArrayList<>();
+
+    for (int i = 0; i < 20; i++) {
+      final Transaction transaction = generator.transaction();
+      transactionSender.onTransactionsAdded(singletonList(transaction));
+      final Set<EthPeer> recipients = peersSentTransaction(peers, transaction);
+      assertThat(recipients).hasSize(10);
+      recipientSets.add(recipients);
+    }
+
+    assertThat(new HashSet<>(recipientSets)).hasSizeGreaterThan(1);
+  }
+
+  @Test
+  public void shouldNotSendToPeersThatHaveSeenTransaction() {
+    final List<EthPeer> peers = givenPeers(10);
+    final Transaction transaction = generator.transaction();
+    final List<EthPeer> seenBy = peers.subList(0, 7);
+    seenBy.forEach(
+        peer -> transactionTracker.markTransactionsAsSeen(peer, singletonList(transaction)));
+
+    transactionSender.onTransactionsAdded(singletonList(transaction));
+
+    assertThat(peersSentTransaction(peers, transaction))
+        .containsExactlyInAnyOrderElementsOf(peers.subList(7, 10));
+  }
+
+  @Test
+  public void shouldChooseOnlyAmongPeersThatHaveNotSeenTransaction() {
+    final List<EthPeer> peers = givenPeers(10);
+    final Transaction transaction = generator.transaction();
+    final List<EthPeer> seenBy = peers.subList(0, 4);
+    seenBy.forEach(
+        peer -> transactionTracker.markTransactionsAsSeen(peer, singletonList(transaction)));
+
+    transactionSender.onTransactionsAdded(singletonList(transaction));
+
+    final Set<EthPeer> recipients = peersSentTransaction(peers, transaction);
+    assertThat(recipients).hasSize(TransactionSender.MIN_BROADCAST_PEERS);
+    assertThat(recipients).doesNotContainAnyElementsOf(seenBy);
+  }
+
+  private List<EthPeer> givenPeers(final int count) {
+    final List<EthPeer> peers =
+        IntStream.range(0, count).<EthPeer>mapToObj(i -> mock(EthPeer.class)).collect(toList());
+    when(ethContext.getEthPeers()).thenReturn(ethPeers);
+    when(ethContext.getScheduler()).thenReturn(mock(EthScheduler.class));
+    when(ethPeers.availablePeers()).thenAnswer(invocation -> peers.stream());
+    return peers;
+  }
+
+  private Set<EthPeer> peersSentTransaction(
+      final List<EthPeer> peers, final Transaction transaction) {
+    return peers
+        .stream()
+        .filter(
+            peer -> transactionTracker.claimTransactionsToSendToPeer(peer).contains(transaction))
+        .collect(toSet());
+  }
+}
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.eth.transactions;
 
 import static java.util.Arrays.asList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
@@ -30,6 +31,7 @@ public class TransactionsMessageProcessorTest {
   private final TransactionPool transactionPool = mock(TransactionPool.class);
   private final PeerTransactionTracker transactionTracker = mock(PeerTransactionTracker.class);
   private final EthPeer peer1 = mock(EthPeer.class);
+  private final EthPeer peer2 = mock(EthPeer.class);
 
   private final BlockDataGenerator generator = new BlockDataGenerator();
   private final Transaction transaction1 = generator.transaction();
@@ -56,4 +58,29 @@ public class TransactionsMessageProcessorTest {
     verify(transactionPool)
         .addRemoteTransactions(ImmutableSet.of(transaction1, transaction2, transaction3));
   }
+
+  @Test
+  public void shouldNotAddTransactionsAlreadyReceivedToTransactionPoolAgain() {
+    messageHandler.processTransactionsMessage(
+        peer1, TransactionsMessage.create(asList(transaction1, transaction2)));
+    messageHandler.processTransactionsMessage(
+        peer2, TransactionsMessage.create(asList(transaction2, transaction3)));
+
+    verify(transactionPool).addRemoteTransactions(ImmutableSet.of(transaction1, transaction2));
+    verify(transactionPool).addRemoteTransactions(ImmutableSet.of(transaction3));
+  }
+
+  @Test
+  public void shouldMarkTransactionsAlreadyReceivedAsSeenByTheSendingPeer() {
+    messageHandler.processTransactionsMessage(
+        peer1, TransactionsMessage.create(asList(transaction1, transaction2)));
+    messageHandler.processTransactionsMessage(
+        peer2, TransactionsMessage.create(asList(transaction1, transaction2)));
+
+    verify(transactionTracker)
+        .markTransactionHashesAsSeen(
+            peer2, ImmutableSet.of(transaction1.hash(), transaction2.hash()));
+    verify(transactionTracker, never())
+        .markTransactionsAsSeen(peer2, ImmutableSet.of(transaction1, transaction2));
+  }
 }
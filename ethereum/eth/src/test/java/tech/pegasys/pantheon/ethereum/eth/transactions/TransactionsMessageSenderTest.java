@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
 import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
 import tech.pegasys.pantheon.ethereum.eth.messages.TransactionsMessage;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 import java.util.List;
 import java.util.Set;
@@ -63,29 +64,66 @@ public class TransactionsMessageSenderTest {
   }
 
   @Test
-  public void shouldSendTransactionsInBatches() throws Exception {
+  public void shouldSendSmallTransactionsInASingleMessage() throws Exception {
     final Set<Transaction> fifteenTransactions =
         IntStream.range(0, 15).mapToObj(number -> generator.transaction()).collect(toSet());
     fifteenTransactions.forEach(
         transaction -> transactionTracker.addToPeerSendQueue(peer1, transaction));
 
+    final boolean deferred = messageSender.sendTransactionsToPeers();
+
+    assertThat(deferred).isFalse();
+    verify(peer1)
+        .send(transactionsMessageContaining(fifteenTransactions.toArray(new Transaction[0])));
+    verifyNoMoreInteractions(peer1);
+  }
+
+  @Test
+  public void shouldSplitBatchesAtMaxBatchSize() throws Exception {
+    final TransactionsMessageSender messageSender =
+        new TransactionsMessageSender(transactionTracker, 1, 0, new NoOpMetricsSystem());
+    transactionTracker.addToPeerSendQueue(peer1, transaction1);
+    transactionTracker.addToPeerSendQueue(peer1, transaction2);
+    transactionTracker.addToPeerSendQueue(peer1, transaction3);
+
     messageSender.sendTransactionsToPeers();
 
     final ArgumentCaptor<MessageData> messageDataArgumentCaptor =
         ArgumentCaptor.forClass(MessageData.class);
-    verify(peer1, times(2)).send(messageDataArgumentCaptor.capture());
+    verify(peer1, times(3)).send(messageDataArgumentCaptor.capture());
 
     final List<MessageData> sentMessages = messageDataArgumentCaptor.getAllValues();
-
-    assertThat(sentMessages).hasSize(2);
     assertThat(sentMessages).allMatch(message -> message.getCode() == EthPV62.TRANSACTIONS);
-    final Set<Transaction> firstBatch = getTransactionsFromMessage(sentMessages.get(0));
-    final Set<Transaction> secondBatch = getTransactionsFromMessage(sentMessages.get(1));
+    assertThat(sentMessages).allMatch(message -> getTransactionsFromMessage(message).size() == 1);
+    assertThat(
+            sentMessages
+                .stream()
+                .flatMap(message -> getTransactionsFromMessage(message).stream())
+                .collect(toSet()))
+        .containsExactlyInAnyOrder(transaction1, transaction2, transaction3);
+  }
 
-    assertThat(firstBatch).hasSize(10);
-    assertThat(secondBatch).hasSize(5);
+  @Test
+  public void shouldDeferTransactionsBeyondPeerRateLimit() throws Exception {
+    final TransactionsMessageSender messageSender =
+        new TransactionsMessageSender(transactionTracker, 1, 1, new NoOpMetricsSystem());
+    transactionTracker.addToPeerSendQueue(peer1, transaction1);
+    transactionTracker.addToPeerSendQueue(peer1, transaction2);
+    transactionTracker.addToPeerSendQueue(peer1, transaction3);
 
-    assertThat(Sets.union(firstBatch, secondBatch)).isEqualTo(fifteenTransactions);
+    final boolean deferred = messageSender.sendTransactionsToPeers();
+
+    assertThat(deferred).isTrue();
+    final ArgumentCaptor<MessageData> messageDataArgumentCaptor =
+        ArgumentCaptor.forClass(MessageData.class);
+    verify(peer1).send(messageDataArgumentCaptor.capture());
+    final Set<Transaction> sentTransactions =
+        getTransactionsFromMessage(messageDataArgumentCaptor.getValue());
+    assertThat(sentTransactions).hasSize(1);
+    final Set<Transaction> remainingTransactions =
+        transactionTracker.claimTransactionsToSendToPeer(peer1);
+    assertThat(Sets.union(sentTransactions, remainingTransactions))
+        .containsExactlyInAnyOrder(transaction1, transaction2, transaction3);
   }
 
   private MessageData transactionsMessageContaining(final Transaction... transactions) {
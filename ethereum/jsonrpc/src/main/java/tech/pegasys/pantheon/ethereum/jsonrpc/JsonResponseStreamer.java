@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Serialises a JSON-RPC response body compactly into an HTTP response as it is generated, from a
+ * worker thread. A body that fits within a single chunk is sent whole with a content length, and a
+ * larger body is sent with chunked transfer encoding as each chunk fills, so that it is never held
+ * in memory in its entirety.
+ *
+ * <p>After sending a chunk, the worker waits until the connection's write queue has room again
+ * before generating the next one, so a client that reads slowly holds back the worker rather than
+ * having the whole body queued for it. A client that stops reading entirely fails the response
+ * after {@link #DRAIN_TIMEOUT_SECONDS}. When used from an event loop thread, chunks are queued
+ * without waiting.
+ */
+class JsonResponseStreamer extends OutputStream {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+  static final long DRAIN_TIMEOUT_SECONDS = 30;
+  private static final String APPLICATION_JSON = "application/json";
+
+  private final HttpServerResponse response;
+  private final Context context;
+  private final int statusCode;
+  private final int chunkSize;
+  private Buffer buffer;
+  private boolean chunked = false;
+  private boolean closed = false;
+
+  /**
+   * @param response The response to write the body to
+   * @param context The context the response must be written from
+   * @param statusCode The HTTP status of the response
+   * @param chunkSize The size of each chunk of a body sent with chunked transfer encoding
+   */
+  JsonResponseStreamer(
+      final HttpServerResponse response,
+      final Context context,
+      final int statusCode,
+      final int chunkSize) {
+    this.response = response;
+    this.context = context;
+    this.statusCode = statusCode;
+    this.chunkSize = chunkSize;
+    this.buffer = Buffer.buffer(chunkSize);
+  }
+
+  JsonResponseStreamer(
+      final HttpServerResponse response, final Context context, final int statusCode) {
+    this(response, context, statusCode, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Writes a value as the JSON body and completes the response. If the value cannot be serialised,
+   * the response fails with an internal error, or is closed if part of the body was already sent.
+   *
+   * @param value The value to serialise
+   */
+  void writeJson(final Object value) {
+    try {
+      final JsonGenerator generator = Json.mapper.getFactory().createGenerator(this);
+      // Only close the response once the whole body is written.
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      Json.mapper.writeValue(generator, value);
+      generator.close();
+      close();
+    } catch (final IOException | RuntimeException e) {
+      LOG.error("Unable to write JSON-RPC response", e);
+      abort();
+    }
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    buffer.appendByte((byte) b);
+    sendIfFull();
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+    buffer.appendBytes(bytes, offset, length);
+    sendIfFull();
+  }
+
+  private void sendIfFull() throws IOException {
+    if (buffer.length() < chunkSize) {
+      return;
+    }
+    final Buffer chunk = buffer;
+    final boolean first = !chunked;
+    buffer = Buffer.buffer(chunkSize);
+    chunked = true;
+    final CompletableFuture<Void> drained = new CompletableFuture<>();
+    context.runOnContext(
+        v -> {
+          if (first) {
+            start().setChunked(true);
+          }
+          response.write(chunk);
+          if (response.writeQueueFull()) {
+            response.drainHandler(d -> drained.complete(null));
+          } else {
+            drained.complete(null);
+          }
+        });
+    // Responses completed without reaching a worker are written from the event loop, which must
+    // never block. Their chunks are queued as before.
+    if (!Context.isOnEventLoopThread()) {
+      awaitDrained(drained);
+    }
+  }
+
+  private void awaitDrained(final CompletableFuture<Void> drained) throws IOException {
+    try {
+      drained.get(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the response to drain");
+    } catch (final ExecutionException | TimeoutException e) {
+      throw new IOException("Client did not read the response in time", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    final Buffer remaining = buffer;
+    final boolean started = chunked;
+    context.runOnContext(
+        v -> {
+          if (!started) {
+            start();
+          }
+          response.end(remaining);
+        });
+  }
+
+  private void abort() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    final boolean started = chunked;
+    context.runOnContext(
+        v -> {
+          if (started) {
+            // The status was already sent, so the only way to signal the failure is to not
+            // complete the body.
+            response.close();
+          } else {
+            response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+          }
+        });
+  }
+
+  private HttpServerResponse start() {
+    return response.setStatusCode(statusCode).putHeader("Content-Type", APPLICATION_JSON);
+  }
+}
@@ -23,6 +23,15 @@ import com.google.common.collect.Lists;
 public class JsonRpcConfiguration {
   private static final String DEFAULT_JSON_RPC_HOST = "127.0.0.1";
   public static final int DEFAULT_JSON_RPC_PORT = 8545;
+  public static final int DEFAULT_WORKER_THREADS = 20;
+  public static final int DEFAULT_MAX_QUEUED_REQUESTS = 4096;
+  public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+  public static final int DEFAULT_MAX_REQUESTS_PER_METHOD = 1024;
+  // Well below the queue size and the batch size, so that one client can't hold the workers for
+  // long, at the cost of refusing the part of a larger batch beyond the limit.
+  public static final int DEFAULT_MAX_REQUESTS_PER_CONNECTION = 64;
+  public static final long DEFAULT_REQUEST_QUEUE_TIMEOUT_MILLIS = 30_000;
+  public static final long DEFAULT_RESPONSE_CACHE_MAX_SIZE_BYTES = 0;
 
   private boolean enabled;
   private int port;
@@ -30,6 +39,13 @@ public class JsonRpcConfiguration {
   private Collection<String> corsAllowedDomains = Collections.emptyList();
   private Collection<RpcApi> rpcApis;
   private Collection<String> hostsWhitelist = Collections.singletonList("localhost");
+  private int workerThreads = DEFAULT_WORKER_THREADS;
+  private int maxQueuedRequests = DEFAULT_MAX_QUEUED_REQUESTS;
+  private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+  private int maxRequestsPerMethod = DEFAULT_MAX_REQUESTS_PER_METHOD;
+  private int maxRequestsPerConnection = DEFAULT_MAX_REQUESTS_PER_CONNECTION;
+  private long requestQueueTimeoutMillis = DEFAULT_REQUEST_QUEUE_TIMEOUT_MILLIS;
+  private long responseCacheMaxSizeBytes = DEFAULT_RESPONSE_CACHE_MAX_SIZE_BYTES;
 
   public static JsonRpcConfiguration createDefault() {
     final JsonRpcConfiguration config = new JsonRpcConfiguration();
@@ -97,6 +113,65 @@ public class JsonRpcConfiguration {
     this.hostsWhitelist = hostsWhitelist;
   }
 
+  public int getWorkerThreads() {
+    return workerThreads;
+  }
+
+  public void setWorkerThreads(final int workerThreads) {
+    this.workerThreads = workerThreads;
+  }
+
+  public int getMaxQueuedRequests() {
+    return maxQueuedRequests;
+  }
+
+  public void setMaxQueuedRequests(final int maxQueuedRequests) {
+    this.maxQueuedRequests = maxQueuedRequests;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public void setMaxBatchSize(final int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /** @return The most requests for one method that may be queued or running at once. */
+  public int getMaxRequestsPerMethod() {
+    return maxRequestsPerMethod;
+  }
+
+  public void setMaxRequestsPerMethod(final int maxRequestsPerMethod) {
+    this.maxRequestsPerMethod = maxRequestsPerMethod;
+  }
+
+  /** @return The most requests from one connection that may be queued or running at once. */
+  public int getMaxRequestsPerConnection() {
+    return maxRequestsPerConnection;
+  }
+
+  public void setMaxRequestsPerConnection(final int maxRequestsPerConnection) {
+    this.maxRequestsPerConnection = maxRequestsPerConnection;
+  }
+
+  public long getRequestQueueTimeoutMillis() {
+    return requestQueueTimeoutMillis;
+  }
+
+  public void setRequestQueueTimeoutMillis(final long requestQueueTimeoutMillis) {
+    this.requestQueueTimeoutMillis = requestQueueTimeoutMillis;
+  }
+
+  /** @return The most memory used to cache responses to immutable queries, or 0 not to cache. */
+  public long getResponseCacheMaxSizeBytes() {
+    return responseCacheMaxSizeBytes;
+  }
+
+  public void setResponseCacheMaxSizeBytes(final long responseCacheMaxSizeBytes) {
+    this.responseCacheMaxSizeBytes = responseCacheMaxSizeBytes;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -106,6 +181,13 @@ public class JsonRpcConfiguration {
         .add("corsAllowedDomains", corsAllowedDomains)
         .add("hostsWhitelist", hostsWhitelist)
         .add("rpcApis", rpcApis)
+        .add("workerThreads", workerThreads)
+        .add("maxQueuedRequests", maxQueuedRequests)
+        .add("maxBatchSize", maxBatchSize)
+        .add("maxRequestsPerMethod", maxRequestsPerMethod)
+        .add("maxRequestsPerConnection", maxRequestsPerConnection)
+        .add("requestQueueTimeoutMillis", requestQueueTimeoutMillis)
+        .add("responseCacheMaxSizeBytes", responseCacheMaxSizeBytes)
         .toString();
   }
 
@@ -120,6 +202,13 @@ public class JsonRpcConfiguration {
     final JsonRpcConfiguration that = (JsonRpcConfiguration) o;
     return enabled == that.enabled
         && port == that.port
+        && workerThreads == that.workerThreads
+        && maxQueuedRequests == that.maxQueuedRequests
+        && maxBatchSize == that.maxBatchSize
+        && maxRequestsPerMethod == that.maxRequestsPerMethod
+        && maxRequestsPerConnection == that.maxRequestsPerConnection
+        && requestQueueTimeoutMillis == that.requestQueueTimeoutMillis
+        && responseCacheMaxSizeBytes == that.responseCacheMaxSizeBytes
         && Objects.equal(host, that.host)
         && Objects.equal(
             Lists.newArrayList(corsAllowedDomains), Lists.newArrayList(that.corsAllowedDomains))
@@ -130,6 +219,19 @@ public class JsonRpcConfiguration {
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(enabled, port, host, corsAllowedDomains, hostsWhitelist, rpcApis);
+    return Objects.hashCode(
+        enabled,
+        port,
+        host,
+        corsAllowedDomains,
+        hostsWhitelist,
+        rpcApis,
+        workerThreads,
+        maxQueuedRequests,
+        maxBatchSize,
+        maxRequestsPerMethod,
+        maxRequestsPerConnection,
+        requestQueueTimeoutMillis,
+        responseCacheMaxSizeBytes);
   }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs JSON-RPC requests on a dedicated, bounded pool of threads.
+ *
+ * <p>A request is refused with an error straight away, rather than queued, when its method or its
+ * connection already has as many requests queued or running as allowed, or when the queue is
+ * full. A request that waited in the queue for longer than the timeout is answered with an error
+ * instead of being run.
+ *
+ * <p>Idle worker threads are daemons and time out, so the executor does not need to be shut down
+ * when the service is stopped and can be reused if it is started again.
+ */
+class JsonRpcExecutor {
+
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+  private final ThreadPoolExecutor executor;
+  private final int maxRequestsPerMethod;
+  private final int maxRequestsPerConnection;
+  private final long queueTimeoutNanos;
+  private final Map<String, Integer> outstandingByMethod = new ConcurrentHashMap<>();
+  private final Map<Object, Integer> outstandingByConnection = new ConcurrentHashMap<>();
+
+  private final LabelledMetric<OperationTimer> queueTimer;
+  private final LabelledMetric<OperationTimer> requestTimer;
+  private final LabelledMetric<Counter> rejectedRequestsCounter;
+
+  JsonRpcExecutor(final JsonRpcConfiguration config, final MetricsSystem metricsSystem) {
+    this.maxRequestsPerMethod = config.getMaxRequestsPerMethod();
+    this.maxRequestsPerConnection = config.getMaxRequestsPerConnection();
+    this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getRequestQueueTimeoutMillis());
+    executor =
+        new ThreadPoolExecutor(
+            config.getWorkerThreads(),
+            config.getWorkerThreads(),
+            IDLE_THREAD_TIMEOUT_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(config.getMaxQueuedRequests()),
+            new ThreadFactoryBuilder().setNameFormat("json-rpc-worker-%d").setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+
+    requestTimer =
+        metricsSystem.createLabelledTimer(
+            MetricCategory.RPC,
+            "request_time",
+            "Time taken to process a JSON-RPC request",
+            "methodName");
+    queueTimer =
+        metricsSystem.createLabelledTimer(
+            MetricCategory.RPC,
+            "request_queue_time",
+            "Time a JSON-RPC request waited before being processed",
+            "methodName");
+    rejectedRequestsCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "requests_rejected",
+            "Count of JSON-RPC requests refused because of a limit",
+            "reason");
+    metricsSystem.createGauge(
+        MetricCategory.RPC,
+        "requests_queued",
+        "Number of JSON-RPC requests waiting for a worker thread",
+        () -> (double) executor.getQueue().size());
+  }
+
+  /**
+   * Runs a request subject to the limits of this executor.
+   *
+   * @param method The name of the requested method
+   * @param connection Identifies the connection the request was received on
+   * @param id The id of the request, to answer it with an error when it is refused
+   * @param request Processes the request
+   * @return The response to the request, completed once the request has run or been refused
+   */
+  CompletableFuture<JsonRpcResponse> execute(
+      final String method,
+      final Object connection,
+      final Object id,
+      final Supplier<JsonRpcResponse> request) {
+    if (!tryAcquire(outstandingByConnection, connection, maxRequestsPerConnection)) {
+      return refuse(id, "connection_limit", JsonRpcError.REQUEST_LIMIT_EXCEEDED);
+    }
+    if (!tryAcquire(outstandingByMethod, method, maxRequestsPerMethod)) {
+      release(outstandingByConnection, connection);
+      return refuse(id, "method_limit", JsonRpcError.REQUEST_LIMIT_EXCEEDED);
+    }
+
+    final CompletableFuture<JsonRpcResponse> response = new CompletableFuture<>();
+    final long queuedAt = System.nanoTime();
+    final TimingContext queueTimingContext = queueTimer.labels(method).startTimer();
+    try {
+      executor.execute(
+          () -> {
+            // The request is released before its response completes, so that whoever receives
+            // the response can make another request straight away.
+            final JsonRpcResponse result;
+            try {
+              queueTimingContext.stopTimer();
+              result = run(method, id, queuedAt, request);
+            } catch (final Throwable t) {
+              release(method, connection);
+              response.completeExceptionally(t);
+              return;
+            }
+            release(method, connection);
+            response.complete(result);
+          });
+    } catch (final RejectedExecutionException e) {
+      release(method, connection);
+      return refuse(id, "queue_full", JsonRpcError.REQUEST_LIMIT_EXCEEDED);
+    }
+    return response;
+  }
+
+  private JsonRpcResponse run(
+      final String method,
+      final Object id,
+      final long queuedAt,
+      final Supplier<JsonRpcResponse> request) {
+    if (System.nanoTime() - queuedAt > queueTimeoutNanos) {
+      rejectedRequestsCounter.labels("queue_timeout").inc();
+      return new JsonRpcErrorResponse(id, JsonRpcError.REQUEST_TIMEOUT);
+    }
+    try (final TimingContext ignored = requestTimer.labels(method).startTimer()) {
+      return request.get();
+    }
+  }
+
+  private void release(final String method, final Object connection) {
+    release(outstandingByMethod, method);
+    release(outstandingByConnection, connection);
+  }
+
+  private CompletableFuture<JsonRpcResponse> refuse(
+      final Object id, final String reason, final JsonRpcError error) {
+    rejectedRequestsCounter.labels(reason).inc();
+    return CompletableFuture.completedFuture(new JsonRpcErrorResponse(id, error));
+  }
+
+  private static <K> boolean tryAcquire(
+      final Map<K, Integer> outstanding, final K key, final int limit) {
+    if (limit <= 0) {
+      return true;
+    }
+    final AtomicBoolean acquired = new AtomicBoolean(false);
+    outstanding.compute(
+        key,
+        (k, count) -> {
+          final int current = count == null ? 0 : count;
+          if (current >= limit) {
+            return count;
+          }
+          acquired.set(true);
+          return current + 1;
+        });
+    return acquired.get();
+  }
+
+  private static <K> void release(final Map<K, Integer> outstanding, final K key) {
+    // Entries are removed when they reach zero so that closed connections aren't retained.
+    outstanding.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+  }
+}
@@ -26,11 +26,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResp
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcNoResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponseType;
-import tech.pegasys.pantheon.metrics.LabelledMetric;
-import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
-import tech.pegasys.pantheon.metrics.OperationTimer;
-import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
 import tech.pegasys.pantheon.util.NetworkUtility;
 
 import java.net.InetSocketAddress;
@@ -46,8 +42,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
 import io.netty.handler.codec.http.HttpResponseStatus;
-import io.vertx.core.CompositeFuture;
-import io.vertx.core.Future;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
@@ -72,13 +67,12 @@ public class JsonRpcHttpService {
   private static final InetSocketAddress EMPTY_SOCKET_ADDRESS = new InetSocketAddress("0.0.0.0", 0);
   private static final String APPLICATION_JSON = "application/json";
   private static final JsonRpcResponse NO_RESPONSE = new JsonRpcNoResponse();
-  private static final String EMPTY_RESPONSE = "";
 
   private final Vertx vertx;
   private final JsonRpcConfiguration config;
   private final Map<String, JsonRpcMethod> jsonRpcMethods;
   private final Path dataDir;
-  private final LabelledMetric<OperationTimer> requestTimer;
+  private final JsonRpcExecutor executor;
 
   private HttpServer httpServer;
 
@@ -89,13 +83,8 @@ public class JsonRpcHttpService {
       final MetricsSystem metricsSystem,
       final Map<String, JsonRpcMethod> methods) {
     this.dataDir = dataDir;
-    requestTimer =
-        metricsSystem.createLabelledTimer(
-            MetricCategory.RPC,
-            "request_time",
-            "Time taken to process a JSON-RPC request",
-            "methodName");
     validateConfig(config);
+    this.executor = new JsonRpcExecutor(config, metricsSystem);
     this.config = config;
     this.vertx = vertx;
     this.jsonRpcMethods = methods;
@@ -106,6 +95,8 @@ public class JsonRpcHttpService {
         config.getPort() == 0 || NetworkUtility.isValidPort(config.getPort()),
         "Invalid port configuration.");
     checkArgument(config.getHost() != null, "Required host is not configured.");
+    checkArgument(config.getWorkerThreads() > 0, "Worker threads must be positive.");
+    checkArgument(config.getMaxQueuedRequests() > 0, "Max queued requests must be positive.");
   }
 
   public CompletableFuture<?> start() {
@@ -250,6 +241,10 @@ public class JsonRpcHttpService {
           handleJsonRpcError(routingContext, null, JsonRpcError.INVALID_REQUEST);
           return;
         }
+        if (config.getMaxBatchSize() > 0 && array.size() > config.getMaxBatchSize()) {
+          handleJsonRpcError(routingContext, null, JsonRpcError.EXCEEDS_RPC_MAX_BATCH_SIZE);
+          return;
+        }
         handleJsonBatchRequest(routingContext, array);
       }
     } catch (final DecodeException ex) {
@@ -265,23 +260,23 @@ public class JsonRpcHttpService {
   private void handleJsonSingleRequest(
       final RoutingContext routingContext, final JsonObject request) {
     final HttpServerResponse response = routingContext.response();
-    vertx.executeBlocking(
-        future -> {
-          final JsonRpcResponse jsonRpcResponse = process(request);
-          future.complete(jsonRpcResponse);
-        },
-        false,
-        (res) -> {
-          if (res.failed()) {
-            response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
-            return;
-          }
-
-          final JsonRpcResponse jsonRpcResponse = (JsonRpcResponse) res.result();
-          response.setStatusCode(status(jsonRpcResponse).code());
-          response.putHeader("Content-Type", APPLICATION_JSON);
-          response.end(serialise(jsonRpcResponse));
-        });
+    final Context context = vertx.getOrCreateContext();
+    process(routingContext, request)
+        .whenComplete(
+            (jsonRpcResponse, error) -> {
+              if (error != null) {
+                LOG.error("Error processing JSON-RPC request", error);
+                context.runOnContext(v -> internalServerError(response));
+                return;
+              }
+              final JsonResponseStreamer streamer =
+                  new JsonResponseStreamer(response, context, status(jsonRpcResponse).code());
+              if (jsonRpcResponse.getType() == JsonRpcResponseType.NONE) {
+                streamer.close();
+              } else {
+                streamer.writeJson(jsonRpcResponse);
+              }
+            });
   }
 
   private HttpResponseStatus status(final JsonRpcResponse response) {
@@ -296,64 +291,40 @@ public class JsonRpcHttpService {
     }
   }
 
-  private String serialise(final JsonRpcResponse response) {
-
-    if (response.getType() == JsonRpcResponseType.NONE) {
-      return EMPTY_RESPONSE;
-    }
-
-    return Json.encodePrettily(response);
-  }
-
-  @SuppressWarnings("rawtypes")
   private void handleJsonBatchRequest(
       final RoutingContext routingContext, final JsonArray jsonArray) {
+    final HttpServerResponse response = routingContext.response();
+    final Context context = vertx.getOrCreateContext();
     // Interpret json as rpc request
-    final List<Future> responses =
+    final List<CompletableFuture<JsonRpcResponse>> responses =
         jsonArray
             .stream()
             .map(
                 obj -> {
                   if (!(obj instanceof JsonObject)) {
-                    return Future.succeededFuture(
+                    return CompletableFuture.completedFuture(
                         errorResponse(null, JsonRpcError.INVALID_REQUEST));
                   }
-
-                  final JsonObject req = (JsonObject) obj;
-                  final Future<JsonRpcResponse> fut = Future.future();
-                  vertx.executeBlocking(
-                      future -> future.complete(process(req)),
-                      false,
-                      ar -> {
-                        if (ar.failed()) {
-                          fut.fail(ar.cause());
-                        } else {
-                          fut.complete((JsonRpcResponse) ar.result());
-                        }
-                      });
-                  return fut;
+                  return process(routingContext, (JsonObject) obj);
                 })
             .collect(toList());
 
-    CompositeFuture.all(responses)
-        .setHandler(
-            (res) -> {
-              if (res.failed()) {
-                routingContext
-                    .response()
-                    .setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
-                    .end();
+    CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0]))
+        .whenComplete(
+            (result, error) -> {
+              if (error != null) {
+                LOG.error("Error processing JSON-RPC batch request", error);
+                context.runOnContext(v -> internalServerError(response));
                 return;
               }
-              final JsonRpcResponse[] completed =
-                  res.result()
-                      .list()
+              final List<JsonRpcResponse> completed =
+                  responses
                       .stream()
-                      .map(JsonRpcResponse.class::cast)
+                      .map(CompletableFuture::join)
                       .filter(this::isNonEmptyResponses)
-                      .toArray(JsonRpcResponse[]::new);
-
-              routingContext.response().end(Json.encode(completed));
+                      .collect(toList());
+              new JsonResponseStreamer(response, context, HttpResponseStatus.OK.code())
+                  .writeJson(completed);
             });
   }
 
@@ -361,34 +332,48 @@ public class JsonRpcHttpService {
     return result.getType() != JsonRpcResponseType.NONE;
   }
 
-  private JsonRpcResponse process(final JsonObject requestJson) {
+  private CompletableFuture<JsonRpcResponse> process(
+      final RoutingContext routingContext, final JsonObject requestJson) {
     final JsonRpcRequest request;
     Object id = null;
     try {
       id = new JsonRpcRequestId(requestJson.getValue("id")).getValue();
       request = requestJson.mapTo(JsonRpcRequest.class);
     } catch (final IllegalArgumentException exception) {
-      return errorResponse(id, JsonRpcError.INVALID_REQUEST);
+      return CompletableFuture.completedFuture(errorResponse(id, JsonRpcError.INVALID_REQUEST));
     }
     // Handle notifications
     if (request.isNotification()) {
       // Notifications aren't handled so create empty result for now.
-      return NO_RESPONSE;
+      return CompletableFuture.completedFuture(NO_RESPONSE);
     }
 
     LOG.debug("JSON-RPC request -> {}", request.getMethod());
     // Find method handler
     final JsonRpcMethod method = jsonRpcMethods.get(request.getMethod());
     if (method == null) {
-      return errorResponse(id, JsonRpcError.METHOD_NOT_FOUND);
+      return CompletableFuture.completedFuture(errorResponse(id, JsonRpcError.METHOD_NOT_FOUND));
     }
 
     // Generate response
-    try (final TimingContext ignored = requestTimer.labels(request.getMethod()).startTimer()) {
-      return method.response(request);
-    } catch (final InvalidJsonRpcParameters e) {
-      LOG.debug(e);
-      return errorResponse(id, JsonRpcError.INVALID_PARAMS);
+    final Object requestId = id;
+    return executor.execute(
+        request.getMethod(),
+        routingContext.request().connection(),
+        requestId,
+        () -> {
+          try {
+            return method.response(request);
+          } catch (final InvalidJsonRpcParameters e) {
+            LOG.debug(e);
+            return errorResponse(requestId, JsonRpcError.INVALID_PARAMS);
+          }
+        });
+  }
+
+  private void internalServerError(final HttpServerResponse response) {
+    if (!response.ended() && !response.closed()) {
+      response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
     }
   }
 
@@ -21,6 +21,8 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.AdminAddPeer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.AdminPeers;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugMetrics;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugStorageRangeAt;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugTraceBlockByHash;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugTraceBlockByNumber;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugTraceTransaction;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.EthAccounts;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.EthBlockNumber;
@@ -189,7 +191,8 @@ public class JsonRpcMethodsFactory {
                   blockchainQueries.getBlockchain(),
                   blockchainQueries.getWorldStateArchive(),
                   protocolSchedule),
-              parameter),
+              parameter,
+              metricsSystem),
           new EthMining(miningCoordinator),
           new EthCoinbase(miningCoordinator),
           new EthProtocolVersion(supportedCapabilities),
@@ -204,10 +207,12 @@ public class JsonRpcMethodsFactory {
               protocolSchedule,
               blockchainQueries.getBlockchain(),
               blockchainQueries.getWorldStateArchive());
+      final TransactionTracer transactionTracer = new TransactionTracer(blockReplay);
       addMethods(
           enabledMethods,
-          new DebugTraceTransaction(
-              blockchainQueries, new TransactionTracer(blockReplay), parameter),
+          new DebugTraceTransaction(blockchainQueries, transactionTracer, parameter),
+          new DebugTraceBlockByHash(transactionTracer, parameter),
+          new DebugTraceBlockByNumber(blockchainQueries, transactionTracer, parameter),
           new DebugStorageRangeAt(parameter, blockchainQueries, blockReplay),
           new DebugMetrics(metricsSystem));
     }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.cache;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.cache.JsonRpcResponseCache.CachePolicy;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+
+/** Answers requests to a method from a {@link JsonRpcResponseCache} where possible. */
+class CachingJsonRpcMethod implements JsonRpcMethod {
+
+  private final JsonRpcMethod delegate;
+  private final CachePolicy policy;
+  private final JsonRpcResponseCache cache;
+
+  CachingJsonRpcMethod(
+      final JsonRpcMethod delegate, final CachePolicy policy, final JsonRpcResponseCache cache) {
+    this.delegate = delegate;
+    this.policy = policy;
+    this.cache = cache;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public JsonRpcResponse response(final JsonRpcRequest request) {
+    return cache.response(delegate, policy, request);
+  }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.cache;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent.EventType;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedObserver;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.BlockParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.FilterParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponseType;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.TransactionPendingResult;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.json.Json;
+
+/**
+ * Caches the encoded results of JSON-RPC queries whose answer can't change while the canonical
+ * chain only grows, such as blocks and receipts looked up by hash.
+ *
+ * <p>Only successful, non-null results are cached. Everything is invalidated whenever the chain
+ * reorganises, and a result computed before a reorganisation is not cached after it. Logs looked
+ * up by block hash are only cached once the block is imported.
+ */
+public class JsonRpcResponseCache implements BlockAddedObserver {
+
+  private static final JsonRpcParameter PARAMETERS = new JsonRpcParameter();
+
+  private final Map<String, CachePolicy> policies;
+  private final Cache<String, String> cache;
+  private final Object lock = new Object();
+  private long generation = 0;
+
+  private final LabelledMetric<Counter> hitsCounter;
+  private final LabelledMetric<Counter> missesCounter;
+  private final Counter invalidationsCounter;
+
+  public JsonRpcResponseCache(
+      final long maxSizeBytes, final Blockchain blockchain, final MetricsSystem metricsSystem) {
+    policies = policies(blockchain);
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxSizeBytes)
+            .weigher((String key, String value) -> 2 * (key.length() + value.length()))
+            .recordStats()
+            .build();
+    hitsCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "response_cache_hits",
+            "Number of JSON-RPC requests answered from the response cache",
+            "methodName");
+    missesCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "response_cache_misses",
+            "Number of cacheable JSON-RPC requests not found in the response cache",
+            "methodName");
+    invalidationsCounter =
+        metricsSystem.createCounter(
+            MetricCategory.RPC,
+            "response_cache_invalidations",
+            "Number of times the response cache was cleared because of a chain reorganisation");
+    metricsSystem.createGauge(
+        MetricCategory.RPC,
+        "response_cache_entries",
+        "Number of responses held in the response cache",
+        () -> (double) cache.size());
+    metricsSystem.createGauge(
+        MetricCategory.RPC,
+        "response_cache_hit_ratio",
+        "Proportion of cacheable JSON-RPC requests answered from the response cache",
+        () -> cache.stats().hitRate());
+  }
+
+  private static Map<String, CachePolicy> policies(final Blockchain blockchain) {
+    return ImmutableMap.<String, CachePolicy>builder()
+        .put(
+            "eth_getBlockByHash",
+            new CachePolicy(
+                params -> param(params, 0, Hash.class) + "," + param(params, 1, Boolean.class)))
+        .put(
+            "eth_getBlockByNumber",
+            new CachePolicy(
+                params -> {
+                  final BlockParameter block = param(params, 0, BlockParameter.class);
+                  if (!block.isNumeric()) {
+                    return null;
+                  }
+                  return block.getNumber().getAsLong() + "," + param(params, 1, Boolean.class);
+                }))
+        .put(
+            "eth_getTransactionReceipt",
+            new CachePolicy(params -> param(params, 0, Hash.class).toString()))
+        .put(
+            "eth_getTransactionByHash",
+            new CachePolicy(
+                params -> param(params, 0, Hash.class).toString(),
+                // A pending transaction will change once it is mined.
+                result -> !(result instanceof TransactionPendingResult)))
+        .put(
+            "eth_getLogs",
+            new CachePolicy(
+                params -> {
+                  final FilterParameter filter = param(params, 0, FilterParameter.class);
+                  // The logs of a block that isn't imported yet are empty until it is, and
+                  // importing it on top of the chain doesn't invalidate the cache. The header is
+                  // checked before the logs are looked up so they can't predate the import.
+                  if (filter.getBlockhash() == null
+                      || !blockchain.getBlockHeader(filter.getBlockhash()).isPresent()) {
+                    return null;
+                  }
+                  return filter.getBlockhash()
+                      + ","
+                      + filter.getAddresses()
+                      + ","
+                      + filter.getTopics().getTopics();
+                }))
+        .build();
+  }
+
+  /**
+   * Wraps the methods whose responses can be cached.
+   *
+   * @param methods The JSON-RPC methods by name
+   * @return The same methods, with those whose responses can be cached going through this cache
+   */
+  public Map<String, JsonRpcMethod> decorate(final Map<String, JsonRpcMethod> methods) {
+    final Map<String, JsonRpcMethod> decorated = new HashMap<>(methods);
+    policies.forEach(
+        (name, policy) ->
+            decorated.computeIfPresent(
+                name, (key, method) -> new CachingJsonRpcMethod(method, policy, this)));
+    return decorated;
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event, final Blockchain blockchain) {
+    if (event.getEventType() != EventType.CHAIN_REORG) {
+      return;
+    }
+    synchronized (lock) {
+      generation++;
+      cache.invalidateAll();
+    }
+    invalidationsCounter.inc();
+  }
+
+  JsonRpcResponse response(
+      final JsonRpcMethod method, final CachePolicy policy, final JsonRpcRequest request) {
+    final Optional<String> key = policy.key(method.getName(), request);
+    if (!key.isPresent()) {
+      return method.response(request);
+    }
+
+    final String cached = cache.getIfPresent(key.get());
+    if (cached != null) {
+      hitsCounter.labels(method.getName()).inc();
+      return new JsonRpcSuccessResponse(request.getId(), new RawValue(cached));
+    }
+    missesCounter.labels(method.getName()).inc();
+
+    final long requestGeneration;
+    synchronized (lock) {
+      requestGeneration = generation;
+    }
+    final JsonRpcResponse response = method.response(request);
+    if (response.getType() != JsonRpcResponseType.SUCCESS) {
+      return response;
+    }
+    final Object result = ((JsonRpcSuccessResponse) response).getResult();
+    if (result == null || !policy.isCacheable(result)) {
+      return response;
+    }
+
+    final String encoded = Json.encode(result);
+    synchronized (lock) {
+      // The result may have been computed from a chain that has since been reorganised.
+      if (generation == requestGeneration) {
+        cache.put(key.get(), encoded);
+      }
+    }
+    return new JsonRpcSuccessResponse(request.getId(), new RawValue(encoded));
+  }
+
+  @VisibleForTesting
+  long size() {
+    cache.cleanUp();
+    return cache.size();
+  }
+
+  private static <T> T param(final Object[] params, final int index, final Class<T> paramClass) {
+    return PARAMETERS.required(params, index, paramClass);
+  }
+
+  /** Which requests to a method can be cached, and under which key. */
+  static class CachePolicy {
+    private final Function<Object[], String> paramsKey;
+    private final Predicate<Object> cacheableResult;
+
+    CachePolicy(final Function<Object[], String> paramsKey) {
+      this(paramsKey, result -> true);
+    }
+
+    CachePolicy(
+        final Function<Object[], String> paramsKey, final Predicate<Object> cacheableResult) {
+      this.paramsKey = paramsKey;
+      this.cacheableResult = cacheableResult;
+    }
+
+    /**
+     * @return The key of the request, built from the parsed parameters so that equivalent requests
+     *     share it, or empty if the request can't be cached.
+     */
+    Optional<String> key(final String methodName, final JsonRpcRequest request) {
+      try {
+        return Optional.ofNullable(paramsKey.apply(request.getParams()))
+            .map(key -> methodName + ":" + key);
+      } catch (final IllegalArgumentException e) {
+        // Invalid requests, including InvalidJsonRpcParameters, are left for the method to answer.
+        return Optional.empty();
+      }
+    }
+
+    boolean isCacheable(final Object result) {
+      return cacheableResult.test(result);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceParams;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLogsWriter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLogsWriter.TraceSizeExceededException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DebugTraceBlockByHash implements JsonRpcMethod {
+
+  private final JsonRpcParameter parameters;
+  private final TransactionTracer transactionTracer;
+  private final long maxTraceSizeBytes;
+
+  public DebugTraceBlockByHash(
+      final TransactionTracer transactionTracer, final JsonRpcParameter parameters) {
+    this(transactionTracer, parameters, DebugTraceTransaction.DEFAULT_MAX_TRACE_SIZE_BYTES);
+  }
+
+  public DebugTraceBlockByHash(
+      final TransactionTracer transactionTracer,
+      final JsonRpcParameter parameters,
+      final long maxTraceSizeBytes) {
+    this.transactionTracer = transactionTracer;
+    this.parameters = parameters;
+    this.maxTraceSizeBytes = maxTraceSizeBytes;
+  }
+
+  @Override
+  public String getName() {
+    return "debug_traceBlockByHash";
+  }
+
+  @Override
+  public JsonRpcResponse response(final JsonRpcRequest request) {
+    final Hash blockHash = parameters.required(request.getParams(), 0, Hash.class);
+    final TraceOptions traceOptions = traceOptions(parameters, request, 1);
+    try {
+      return new JsonRpcSuccessResponse(
+          request.getId(),
+          traceBlock(transactionTracer, blockHash, traceOptions, maxTraceSizeBytes));
+    } catch (final TraceSizeExceededException e) {
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.TRACE_SIZE_EXCEEDED);
+    }
+  }
+
+  static TraceOptions traceOptions(
+      final JsonRpcParameter parameters, final JsonRpcRequest request, final int index) {
+    return parameters
+        .optional(request.getParams(), index, TransactionTraceParams.class)
+        .map(TransactionTraceParams::traceOptions)
+        .orElse(TraceOptions.DEFAULT);
+  }
+
+  /**
+   * Traces every transaction of a block, bounding the JSON text of all the traces together.
+   *
+   * @return The trace of each transaction in block order, or null if the block is unknown
+   * @throws TraceSizeExceededException if the traces grow beyond the maximum size
+   */
+  static List<DebugTraceTransactionResult> traceBlock(
+      final TransactionTracer transactionTracer,
+      final Hash blockHash,
+      final TraceOptions traceOptions,
+      final long maxTraceSizeBytes) {
+    final List<StructLogsWriter> structLogsWriters = new ArrayList<>();
+    return transactionTracer
+        .traceBlock(
+            blockHash,
+            traceOptions,
+            transaction -> {
+              final long written =
+                  structLogsWriters.stream().mapToLong(StructLogsWriter::getSizeBytes).sum();
+              final StructLogsWriter writer = new StructLogsWriter(maxTraceSizeBytes - written);
+              structLogsWriters.add(writer);
+              return writer;
+            })
+        .map(
+            traces -> {
+              final List<DebugTraceTransactionResult> results = new ArrayList<>(traces.size());
+              for (int i = 0; i < traces.size(); i++) {
+                final TransactionTrace trace = traces.get(i);
+                results.add(
+                    new DebugTraceTransactionResult(trace, structLogsWriters.get(i).toJson()));
+              }
+              return results;
+            })
+        .orElse(null);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.BlockParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLogsWriter.TraceSizeExceededException;
+
+public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
+
+  private final TransactionTracer transactionTracer;
+  private final long maxTraceSizeBytes;
+
+  public DebugTraceBlockByNumber(
+      final BlockchainQueries blockchain,
+      final TransactionTracer transactionTracer,
+      final JsonRpcParameter parameters) {
+    this(
+        blockchain,
+        transactionTracer,
+        parameters,
+        DebugTraceTransaction.DEFAULT_MAX_TRACE_SIZE_BYTES);
+  }
+
+  public DebugTraceBlockByNumber(
+      final BlockchainQueries blockchain,
+      final TransactionTracer transactionTracer,
+      final JsonRpcParameter parameters,
+      final long maxTraceSizeBytes) {
+    super(blockchain, parameters);
+    this.transactionTracer = transactionTracer;
+    this.maxTraceSizeBytes = maxTraceSizeBytes;
+  }
+
+  @Override
+  public String getName() {
+    return "debug_traceBlockByNumber";
+  }
+
+  @Override
+  protected BlockParameter blockParameter(final JsonRpcRequest request) {
+    return parameters().required(request.getParams(), 0, BlockParameter.class);
+  }
+
+  @Override
+  protected Object resultByBlockNumber(final JsonRpcRequest request, final long blockNumber) {
+    return blockchainQueries()
+        .getBlockHashByNumber(blockNumber)
+        .map(
+            blockHash ->
+                DebugTraceBlockByHash.traceBlock(
+                    transactionTracer,
+                    blockHash,
+                    DebugTraceBlockByHash.traceOptions(parameters(), request, 1),
+                    maxTraceSizeBytes))
+        .orElse(null);
+  }
+
+  @Override
+  public JsonRpcResponse response(final JsonRpcRequest request) {
+    try {
+      return super.response(request);
+    } catch (final TraceSizeExceededException e) {
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.TRACE_SIZE_EXCEEDED);
+    }
+  }
+}
@@ -20,26 +20,42 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrac
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
-import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLogsWriter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLogsWriter.TraceSizeExceededException;
 
 import java.util.Optional;
 
 public class DebugTraceTransaction implements JsonRpcMethod {
 
+  // Bounds the JSON text of a trace, which is all that is kept in memory while tracing
+  public static final long DEFAULT_MAX_TRACE_SIZE_BYTES = 64 * 1024 * 1024;
+
   private final JsonRpcParameter parameters;
   private final TransactionTracer transactionTracer;
   private final BlockchainQueries blockchain;
+  private final long maxTraceSizeBytes;
 
   public DebugTraceTransaction(
       final BlockchainQueries blockchain,
       final TransactionTracer transactionTracer,
       final JsonRpcParameter parameters) {
+    this(blockchain, transactionTracer, parameters, DEFAULT_MAX_TRACE_SIZE_BYTES);
+  }
+
+  public DebugTraceTransaction(
+      final BlockchainQueries blockchain,
+      final TransactionTracer transactionTracer,
+      final JsonRpcParameter parameters,
+      final long maxTraceSizeBytes) {
     this.blockchain = blockchain;
     this.transactionTracer = transactionTracer;
     this.parameters = parameters;
+    this.maxTraceSizeBytes = maxTraceSizeBytes;
   }
 
   @Override
@@ -60,13 +76,18 @@ public class DebugTraceTransaction implements JsonRpcMethod {
             .map(TransactionTraceParams::traceOptions)
             .orElse(TraceOptions.DEFAULT);
 
-    final DebugOperationTracer execTracer = new DebugOperationTracer(traceOptions);
-
-    final DebugTraceTransactionResult result =
-        transactionTracer
-            .traceTransaction(blockHash, hash, execTracer)
-            .map(DebugTraceTransactionResult::new)
-            .orElse(null);
+    // Frames are written out as they are captured rather than kept until the trace completes
+    final StructLogsWriter structLogsWriter = new StructLogsWriter(maxTraceSizeBytes);
+    final DebugTraceTransactionResult result;
+    try {
+      result =
+          transactionTracer
+              .traceTransaction(blockHash, hash, traceOptions, structLogsWriter)
+              .map(trace -> new DebugTraceTransactionResult(trace, structLogsWriter.toJson()))
+              .orElse(null);
+    } catch (final TraceSizeExceededException e) {
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.TRACE_SIZE_EXCEEDED);
+    }
     return new JsonRpcSuccessResponse(request.getId(), result);
   }
 }
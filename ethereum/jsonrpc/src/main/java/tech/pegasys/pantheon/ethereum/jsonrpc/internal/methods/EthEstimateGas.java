@@ -16,6 +16,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.CallParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.PreparedTransientTransaction;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessingResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessor;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
@@ -24,22 +25,51 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResp
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.Quantity;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
 
 import java.util.function.Function;
 
+/**
+ * Estimates the gas needed by a call as the lowest gas limit it succeeds with.
+ *
+ * <p>The call is first executed with the block gas limit. Its gas used is usually enough, so the
+ * call is executed again with that limit and the search stops there if it succeeds. Otherwise, as
+ * when the call needs more gas to be available than it ends up using, the limit is binary searched
+ * between the gas used and the block gas limit. All executions share the same world state.
+ */
 public class EthEstimateGas implements JsonRpcMethod {
 
+  // Enough to converge for any block gas limit below 2^32.
+  private static final int MAX_SEARCH_ITERATIONS = 32;
+
   private final BlockchainQueries blockchainQueries;
   private final TransientTransactionProcessor transientTransactionProcessor;
   private final JsonRpcParameter parameters;
+  private final Counter executionsCounter;
+  private final LabelledMetric<Counter> estimatesCounter;
 
   public EthEstimateGas(
       final BlockchainQueries blockchainQueries,
       final TransientTransactionProcessor transientTransactionProcessor,
-      final JsonRpcParameter parameters) {
+      final JsonRpcParameter parameters,
+      final MetricsSystem metricsSystem) {
     this.blockchainQueries = blockchainQueries;
     this.transientTransactionProcessor = transientTransactionProcessor;
     this.parameters = parameters;
+    this.executionsCounter =
+        metricsSystem.createCounter(
+            MetricCategory.RPC,
+            "estimate_gas_executions",
+            "Number of times calls were executed to estimate their gas");
+    this.estimatesCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "estimate_gas_estimates",
+            "Number of gas estimates by how they were found",
+            "search");
   }
 
   @Override
@@ -61,11 +91,46 @@ public class EthEstimateGas implements JsonRpcMethod {
         overrideGasLimitAndPrice(callParams, blockHeader.getGasLimit());
 
     return transientTransactionProcessor
-        .process(modifiedCallParams, blockHeader.getNumber())
+        .prepare(modifiedCallParams, blockHeader.getNumber())
+        .map(transaction -> estimateGas(transaction, blockHeader.getGasLimit()))
         .map(gasEstimateResponse(request))
         .orElse(errorResponse(request));
   }
 
+  private long estimateGas(final PreparedTransientTransaction transaction, final long maxGas) {
+    final TransientTransactionProcessingResult maxGasResult = execute(transaction, maxGas);
+    final long gasUsed = maxGasResult.getGasEstimate();
+    if (!maxGasResult.isSuccessful()) {
+      // No gas limit can make the call succeed, so there is nothing to search for.
+      estimatesCounter.labels("failed").inc();
+      return gasUsed;
+    }
+    if (gasUsed >= maxGas || execute(transaction, gasUsed).isSuccessful()) {
+      estimatesCounter.labels("gas_used").inc();
+      return gasUsed;
+    }
+
+    // The call fails with the lower bound and succeeds with the upper bound.
+    long lowerBound = gasUsed;
+    long upperBound = maxGas;
+    for (int i = 0; i < MAX_SEARCH_ITERATIONS && upperBound - lowerBound > 1; i++) {
+      final long gasLimit = lowerBound + (upperBound - lowerBound) / 2;
+      if (execute(transaction, gasLimit).isSuccessful()) {
+        upperBound = gasLimit;
+      } else {
+        lowerBound = gasLimit;
+      }
+    }
+    estimatesCounter.labels("binary_search").inc();
+    return upperBound;
+  }
+
+  private TransientTransactionProcessingResult execute(
+      final PreparedTransientTransaction transaction, final long gasLimit) {
+    executionsCounter.inc();
+    return transaction.process(gasLimit);
+  }
+
   private BlockHeader blockHeader() {
     final long headBlockNumber = blockchainQueries.headBlockNumber();
     return blockchainQueries.getBlockchain().getBlockHeader(headBlockNumber).orElse(null);
@@ -82,10 +147,8 @@ public class EthEstimateGas implements JsonRpcMethod {
         callParams.getPayload() != null ? callParams.getPayload().toString() : null);
   }
 
-  private Function<TransientTransactionProcessingResult, JsonRpcResponse> gasEstimateResponse(
-      final JsonRpcRequest request) {
-    return result ->
-        new JsonRpcSuccessResponse(request.getId(), Quantity.create(result.getGasEstimate()));
+  private Function<Long, JsonRpcResponse> gasEstimateResponse(final JsonRpcRequest request) {
+    return gasEstimate -> new JsonRpcSuccessResponse(request.getId(), Quantity.create(gasEstimate));
   }
 
   private JsonRpcErrorResponse errorResponse(final JsonRpcRequest request) {
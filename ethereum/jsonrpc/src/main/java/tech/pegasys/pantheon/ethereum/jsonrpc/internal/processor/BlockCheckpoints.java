@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.worldstate.DefaultMutableWorldState;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The world state roots reached while replaying the transactions of a block, along with the trie
+ * nodes needed to reopen them. The root before the first transaction is the parent's state root.
+ */
+class BlockCheckpoints {
+
+  private final WorldStateStorage storage;
+  // rootsBeforeTransaction.get(i) is the state root just before the transaction at index i
+  private final List<Hash> rootsBeforeTransaction = new ArrayList<>();
+
+  BlockCheckpoints(final WorldStateStorage parentStorage, final Hash parentStateRoot) {
+    this.storage = new ReplayWorldStateStorage(parentStorage);
+    rootsBeforeTransaction.add(parentStateRoot);
+  }
+
+  /**
+   * Records the state root just before a transaction. Roots are recorded in transaction order, so
+   * a root is only kept if all the earlier ones are already known.
+   *
+   * @param transactionIndex The index of the transaction in the block
+   * @param root The state root once every earlier transaction has been processed
+   */
+  synchronized void record(final int transactionIndex, final Hash root) {
+    if (transactionIndex == rootsBeforeTransaction.size()) {
+      rootsBeforeTransaction.add(root);
+    }
+  }
+
+  /**
+   * @param transactionIndex The index of a transaction in the block
+   * @return The index of the latest transaction at or before the given one whose starting state is
+   *     known
+   */
+  synchronized int nearestCheckpoint(final int transactionIndex) {
+    return Math.min(transactionIndex, rootsBeforeTransaction.size() - 1);
+  }
+
+  /**
+   * @param transactionIndex The index of a transaction whose starting state has been recorded
+   * @return A world state that transaction can be processed against, which records its own
+   *     changes into these checkpoints once persisted
+   */
+  MutableWorldState worldStateBefore(final int transactionIndex) {
+    final Hash root;
+    synchronized (this) {
+      root = rootsBeforeTransaction.get(transactionIndex);
+    }
+    return new DefaultMutableWorldState(root, storage);
+  }
+}
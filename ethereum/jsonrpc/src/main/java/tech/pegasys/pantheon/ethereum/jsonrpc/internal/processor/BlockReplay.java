@@ -13,32 +13,109 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 public class BlockReplay {
 
+  // Number of recently replayed blocks whose intermediate states are kept in memory
+  public static final int DEFAULT_CHECKPOINT_CACHE_SIZE = 8;
+
   private final ProtocolSchedule<?> protocolSchedule;
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
+  private final Cache<Hash, BlockCheckpoints> checkpoints;
 
   public BlockReplay(
       final ProtocolSchedule<?> protocolSchedule,
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive) {
+    this(protocolSchedule, blockchain, worldStateArchive, DEFAULT_CHECKPOINT_CACHE_SIZE);
+  }
+
+  public BlockReplay(
+      final ProtocolSchedule<?> protocolSchedule,
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final int checkpointCacheSize) {
     this.protocolSchedule = protocolSchedule;
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
+    this.checkpoints = CacheBuilder.newBuilder().maximumSize(checkpointCacheSize).build();
+  }
+
+  /**
+   * Replays every transaction of a block in a single pass, each against the state left by the
+   * previous one. The state reached before each transaction is kept so that later replays of
+   * transactions in the same block can start from it rather than from the parent block.
+   *
+   * @param blockHash The hash of the block to replay
+   * @param action Performed for each transaction, in block order, and is responsible for
+   *     processing it against the given updater
+   * @param <T> The type of the result of the action
+   * @return The result of the action for each transaction, or empty if the block or its parent
+   *     could not be found
+   */
+  public <T> Optional<List<T>> forEachTransactionInBlock(
+      final Hash blockHash, final TransactionAction<T> action) {
+    final BlockHeader header = blockchain.getBlockHeader(blockHash).orElse(null);
+    if (header == null) {
+      return Optional.empty();
+    }
+    final BlockBody body = blockchain.getBlockBody(header.getHash()).orElse(null);
+    if (body == null) {
+      return Optional.empty();
+    }
+    final ProtocolSpec<?> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
+    final TransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
+    final Address miningBeneficiary =
+        protocolSpec.getMiningBeneficiaryCalculator().calculateBeneficiary(header);
+    final BlockHeader previous = blockchain.getBlockHeader(header.getParentHash()).orElse(null);
+    if (previous == null) {
+      return Optional.empty();
+    }
+    final BlockCheckpoints blockCheckpoints =
+        checkpoints
+            .asMap()
+            .computeIfAbsent(
+                header.getHash(),
+                hash ->
+                    new BlockCheckpoints(worldStateArchive.getStorage(), previous.getStateRoot()));
+    final MutableWorldState mutableWorldState = blockCheckpoints.worldStateBefore(0);
+    final List<Transaction> transactions = body.getTransactions();
+    final List<T> results = new ArrayList<>(transactions.size());
+    for (int i = 0; i < transactions.size(); i++) {
+      final WorldUpdater updater = mutableWorldState.updater();
+      results.add(
+          action.performAction(
+              transactions.get(i),
+              header,
+              blockchain,
+              updater,
+              transactionProcessor,
+              miningBeneficiary));
+      updater.commit();
+      mutableWorldState.persist();
+      blockCheckpoints.record(i + 1, mutableWorldState.rootHash());
+    }
+    return Optional.of(results);
   }
 
   public <T> Optional<T> beforeTransactionInBlock(
@@ -57,26 +134,46 @@ public class BlockReplay {
     if (previous == null) {
       return Optional.empty();
     }
-    final MutableWorldState mutableWorldState =
-        worldStateArchive.getMutable(previous.getStateRoot());
+    final List<Transaction> transactions = body.getTransactions();
+    final int transactionIndex = indexOf(transactions, transactionHash);
+    if (transactionIndex < 0) {
+      return Optional.empty();
+    }
+
+    // Start from the latest known state of the block if it was replayed recently
+    final BlockCheckpoints blockCheckpoints = checkpoints.getIfPresent(header.getHash());
+    final int firstTransaction;
+    final MutableWorldState mutableWorldState;
+    if (blockCheckpoints != null) {
+      firstTransaction = blockCheckpoints.nearestCheckpoint(transactionIndex);
+      mutableWorldState = blockCheckpoints.worldStateBefore(firstTransaction);
+    } else {
+      firstTransaction = 0;
+      mutableWorldState = worldStateArchive.getMutable(previous.getStateRoot());
+    }
     final BlockHashLookup blockHashLookup = new BlockHashLookup(header, blockchain);
-    for (final Transaction transaction : body.getTransactions()) {
-      if (transaction.hash().equals(transactionHash)) {
-        return Optional.of(
-            action.performAction(
-                transaction, header, blockchain, mutableWorldState, transactionProcessor));
-      } else {
-        final ProtocolSpec<?> spec = protocolSchedule.getByBlockNumber(header.getNumber());
-        transactionProcessor.processTransaction(
-            blockchain,
-            mutableWorldState.updater(),
-            header,
-            transaction,
-            spec.getMiningBeneficiaryCalculator().calculateBeneficiary(header),
-            blockHashLookup);
+    for (int i = firstTransaction; i < transactionIndex; i++) {
+      final WorldUpdater updater = mutableWorldState.updater();
+      transactionProcessor.processTransaction(
+          blockchain,
+          updater,
+          header,
+          transactions.get(i),
+          protocolSpec.getMiningBeneficiaryCalculator().calculateBeneficiary(header),
+          blockHashLookup);
+      updater.commit();
+      if (blockCheckpoints != null) {
+        mutableWorldState.persist();
+        blockCheckpoints.record(i + 1, mutableWorldState.rootHash());
       }
     }
-    return Optional.empty();
+    return Optional.of(
+        action.performAction(
+            transactions.get(transactionIndex),
+            header,
+            blockchain,
+            mutableWorldState,
+            transactionProcessor));
   }
 
   public <T> Optional<T> afterTransactionInBlock(
@@ -86,18 +183,29 @@ public class BlockReplay {
         transactionHash,
         (transaction, blockHeader, blockchain, worldState, transactionProcessor) -> {
           final ProtocolSpec<?> spec = protocolSchedule.getByBlockNumber(blockHeader.getNumber());
+          final WorldUpdater updater = worldState.updater();
           transactionProcessor.processTransaction(
               blockchain,
-              worldState.updater(),
+              updater,
               blockHeader,
               transaction,
               spec.getMiningBeneficiaryCalculator().calculateBeneficiary(blockHeader),
               new BlockHashLookup(blockHeader, blockchain));
+          updater.commit();
           return action.performAction(
               transaction, blockHeader, blockchain, worldState, transactionProcessor);
         });
   }
 
+  private static int indexOf(final List<Transaction> transactions, final Hash transactionHash) {
+    for (int i = 0; i < transactions.size(); i++) {
+      if (transactions.get(i).hash().equals(transactionHash)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   public interface Action<T> {
 
     T performAction(
@@ -107,4 +215,15 @@ public class BlockReplay {
         MutableWorldState worldState,
         TransactionProcessor transactionProcessor);
   }
+
+  public interface TransactionAction<T> {
+
+    T performAction(
+        Transaction transaction,
+        BlockHeader blockHeader,
+        Blockchain blockchain,
+        WorldUpdater worldUpdater,
+        TransactionProcessor transactionProcessor,
+        Address miningBeneficiary);
+  }
 }
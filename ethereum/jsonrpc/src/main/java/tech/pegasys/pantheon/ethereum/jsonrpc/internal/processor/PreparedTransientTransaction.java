@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
+
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
+import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
+
+/**
+ * A transient transaction bound to the world state of a block, which can be executed repeatedly
+ * with different gas limits.
+ *
+ * <p>Each execution runs against a fresh updater of the same world state that is never committed,
+ * so the world state only has to be loaded once however many times the transaction is executed.
+ * Instances are not thread safe.
+ */
+public class PreparedTransientTransaction {
+
+  private final Blockchain blockchain;
+  private final BlockHeader header;
+  private final MutableWorldState worldState;
+  private final TransactionProcessor transactionProcessor;
+  private final Address miningBeneficiary;
+  private final Transaction.Builder transactionBuilder;
+  private final long defaultGasLimit;
+
+  PreparedTransientTransaction(
+      final Blockchain blockchain,
+      final BlockHeader header,
+      final MutableWorldState worldState,
+      final TransactionProcessor transactionProcessor,
+      final Address miningBeneficiary,
+      final Transaction.Builder transactionBuilder,
+      final long defaultGasLimit) {
+    this.blockchain = blockchain;
+    this.header = header;
+    this.worldState = worldState;
+    this.transactionProcessor = transactionProcessor;
+    this.miningBeneficiary = miningBeneficiary;
+    this.transactionBuilder = transactionBuilder;
+    this.defaultGasLimit = defaultGasLimit;
+  }
+
+  public TransientTransactionProcessingResult process() {
+    return process(defaultGasLimit);
+  }
+
+  public TransientTransactionProcessingResult process(final long gasLimit) {
+    final Transaction transaction = transactionBuilder.gasLimit(gasLimit).build();
+    final TransactionProcessor.Result result =
+        transactionProcessor.processTransaction(
+            blockchain,
+            worldState.updater(),
+            header,
+            transaction,
+            miningBeneficiary,
+            new BlockHashLookup(header, blockchain));
+    return new TransientTransactionProcessingResult(transaction, result);
+  }
+}
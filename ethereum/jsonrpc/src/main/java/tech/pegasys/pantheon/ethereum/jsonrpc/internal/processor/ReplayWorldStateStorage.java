@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
+
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * World state storage that keeps everything written to it in memory and reads through to the
+ * node's storage for anything else, so that the intermediate states of a replayed block can be
+ * reopened without ever being written to disk.
+ */
+class ReplayWorldStateStorage implements WorldStateStorage {
+
+  private final WorldStateStorage parent;
+  private final Map<Bytes32, BytesValue> values = new ConcurrentHashMap<>();
+
+  ReplayWorldStateStorage(final WorldStateStorage parent) {
+    this.parent = parent;
+  }
+
+  @Override
+  public Optional<BytesValue> getCode(final Bytes32 codeHash) {
+    final BytesValue code = values.get(codeHash);
+    return code != null ? Optional.of(code) : parent.getCode(codeHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getAccountStateTrieNode(final Bytes32 nodeHash) {
+    final BytesValue node = values.get(nodeHash);
+    return node != null ? Optional.of(node) : parent.getAccountStateTrieNode(nodeHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getAccountStorageTrieNode(final Bytes32 nodeHash) {
+    final BytesValue node = values.get(nodeHash);
+    return node != null ? Optional.of(node) : parent.getAccountStorageTrieNode(nodeHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getNodeData(final Bytes32 hash) {
+    final BytesValue value = values.get(hash);
+    return value != null ? Optional.of(value) : parent.getNodeData(hash);
+  }
+
+  @Override
+  public Updater updater() {
+    return new Updater();
+  }
+
+  private class Updater implements WorldStateStorage.Updater {
+
+    private final Map<Bytes32, BytesValue> pending = new HashMap<>();
+
+    @Override
+    public Updater putCode(final Bytes32 codeHash, final BytesValue code) {
+      pending.put(codeHash, code);
+      return this;
+    }
+
+    @Override
+    public Updater putAccountStateTrieNode(final Bytes32 nodeHash, final BytesValue node) {
+      pending.put(nodeHash, node);
+      return this;
+    }
+
+    @Override
+    public Updater putAccountStorageTrieNode(final Bytes32 nodeHash, final BytesValue node) {
+      pending.put(nodeHash, node);
+      return this;
+    }
+
+    @Override
+    public void commit() {
+      values.putAll(pending);
+      pending.clear();
+    }
+
+    @Override
+    public void rollback() {
+      pending.clear();
+    }
+  }
+}
@@ -13,11 +13,17 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
 
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /** Used to produce debug traces of transactions */
 public class TransactionTracer {
@@ -28,6 +34,58 @@ public class TransactionTracer {
     this.blockReplay = blockReplay;
   }
 
+  /**
+   * Traces a transaction, handing each frame to a consumer as soon as it is captured. The returned
+   * trace holds the outcome of the transaction but no frames.
+   *
+   * @param blockHash The hash of the block containing the transaction
+   * @param transactionHash The hash of the transaction to trace
+   * @param traceOptions What to capture for each frame
+   * @param traceFrameConsumer Receives each frame, in execution order
+   * @return The outcome of the transaction, or empty if it could not be found
+   */
+  public Optional<TransactionTrace> traceTransaction(
+      final Hash blockHash,
+      final Hash transactionHash,
+      final TraceOptions traceOptions,
+      final Consumer<TraceFrame> traceFrameConsumer) {
+    return traceTransaction(
+        blockHash, transactionHash, new DebugOperationTracer(traceOptions, traceFrameConsumer));
+  }
+
+  /**
+   * Traces every transaction of a block in a single replay of the block, handing the frames of
+   * each transaction to its own consumer as soon as they are captured.
+   *
+   * @param blockHash The hash of the block to trace
+   * @param traceOptions What to capture for each frame
+   * @param traceFrameConsumers Provides the consumer for the frames of each transaction, called
+   *     just before the transaction is traced
+   * @return The outcome of each transaction in block order, or empty if the block could not be
+   *     found
+   */
+  public Optional<List<TransactionTrace>> traceBlock(
+      final Hash blockHash,
+      final TraceOptions traceOptions,
+      final Function<Transaction, Consumer<TraceFrame>> traceFrameConsumers) {
+    return blockReplay.forEachTransactionInBlock(
+        blockHash,
+        (transaction, header, blockchain, worldUpdater, transactionProcessor, beneficiary) -> {
+          final DebugOperationTracer tracer =
+              new DebugOperationTracer(traceOptions, traceFrameConsumers.apply(transaction));
+          final Result result =
+              transactionProcessor.processTransaction(
+                  blockchain,
+                  worldUpdater,
+                  header,
+                  transaction,
+                  beneficiary,
+                  tracer,
+                  new BlockHashLookup(header, blockchain));
+          return new TransactionTrace(transaction, result, tracer.getTraceFrames());
+        });
+  }
+
   public Optional<TransactionTrace> traceTransaction(
       final Hash blockHash, final Hash transactionHash, final DebugOperationTracer tracer) {
     return blockReplay.beforeTransactionInBlock(
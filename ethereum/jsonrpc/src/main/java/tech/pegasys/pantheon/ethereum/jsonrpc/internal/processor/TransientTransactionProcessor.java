@@ -23,8 +23,6 @@ import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.CallParameter;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
-import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
-import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
@@ -62,6 +60,19 @@ public class TransientTransactionProcessor {
 
   public Optional<TransientTransactionProcessingResult> process(
       final CallParameter callParams, final long blockNumber) {
+    return prepare(callParams, blockNumber).map(PreparedTransientTransaction::process);
+  }
+
+  /**
+   * Resolves the world state and the transaction to process for a call, so that it can be executed
+   * several times without reloading them.
+   *
+   * @param callParams the call to prepare
+   * @param blockNumber the number of the block whose world state the call is executed against
+   * @return the prepared transaction, or empty if the block does not exist
+   */
+  public Optional<PreparedTransientTransaction> prepare(
+      final CallParameter callParams, final long blockNumber) {
     final BlockHeader header = blockchain.getBlockHeader(blockNumber).orElse(null);
     if (header == null) {
       return Optional.empty();
@@ -79,31 +90,26 @@ public class TransientTransactionProcessor {
     final BytesValue payload =
         callParams.getPayload() != null ? callParams.getPayload() : BytesValue.EMPTY;
 
-    final Transaction transaction =
+    final Transaction.Builder transactionBuilder =
         Transaction.builder()
             .nonce(nonce)
             .gasPrice(gasPrice)
-            .gasLimit(gasLimit)
             .to(callParams.getTo())
             .sender(senderAddress)
             .value(value)
             .payload(payload)
-            .signature(FAKE_SIGNATURE)
-            .build();
+            .signature(FAKE_SIGNATURE);
 
     final ProtocolSpec<?> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
 
-    final TransactionProcessor transactionProcessor =
-        protocolSchedule.getByBlockNumber(header.getNumber()).getTransactionProcessor();
-    final TransactionProcessor.Result result =
-        transactionProcessor.processTransaction(
+    return Optional.of(
+        new PreparedTransientTransaction(
             blockchain,
-            worldState.updater(),
             header,
-            transaction,
+            worldState,
+            protocolSpec.getTransactionProcessor(),
             protocolSpec.getMiningBeneficiaryCalculator().calculateBeneficiary(header),
-            new BlockHashLookup(header, blockchain));
-
-    return Optional.of(new TransientTransactionProcessingResult(transaction, result));
+            transactionBuilder,
+            gasLimit));
   }
 }
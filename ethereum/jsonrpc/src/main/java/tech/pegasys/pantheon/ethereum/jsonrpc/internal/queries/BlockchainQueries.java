@@ -344,11 +344,7 @@ public class BlockchainQueries {
                                 .getTotalDifficultyByHash(blockHeaderHash)
                                 .map(
                                     (td) -> {
-                                      final List<Hash> txs =
-                                          body.getTransactions()
-                                              .stream()
-                                              .map(Transaction::hash)
-                                              .collect(Collectors.toList());
+                                      final List<Hash> txs = body.getTransactionHashes();
                                       final List<Hash> ommers =
                                           body.getOmmers()
                                               .stream()
@@ -46,6 +46,14 @@ public enum JsonRpcError {
   COINBASE_NOT_SET(-32010, "Coinbase not set. Unable to start mining without a coinbase."),
   NO_HASHES_PER_SECOND(-32011, "No hashes being generated by the current node."),
 
+  // Debug failures
+  TRACE_SIZE_EXCEEDED(-32000, "Trace exceeds the maximum allowed size"),
+
+  // Request limits
+  EXCEEDS_RPC_MAX_BATCH_SIZE(-32000, "Number of requests exceeds max batch size"),
+  REQUEST_LIMIT_EXCEEDED(-32000, "Too many requests are already in progress"),
+  REQUEST_TIMEOUT(-32000, "Timed out waiting for the request to be processed"),
+
   // Wallet errors
   COINBASE_NOT_SPECIFIED(-32000, "Coinbase must be explicitly specified"),
 
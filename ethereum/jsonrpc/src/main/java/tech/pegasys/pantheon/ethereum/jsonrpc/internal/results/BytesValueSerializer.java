@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes a {@link BytesValue} as a 0x-prefixed hex string straight into the JSON output, without
+ * building an intermediate {@link String}. Intended for values such as transaction input and log
+ * data, which can be large.
+ */
+public class BytesValueSerializer extends StdSerializer<BytesValue> {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  public BytesValueSerializer() {
+    super(BytesValue.class);
+  }
+
+  @Override
+  public void serialize(
+      final BytesValue value, final JsonGenerator generator, final SerializerProvider provider)
+      throws IOException {
+    final int size = value.size();
+    final char[] hex = new char[2 + size * 2];
+    hex[0] = '0';
+    hex[1] = 'x';
+    for (int i = 0; i < size; i++) {
+      final int b = value.get(i) & 0xff;
+      hex[2 + i * 2] = HEX_DIGITS[b >>> 4];
+      hex[3 + i * 2] = HEX_DIGITS[b & 0x0f];
+    }
+    generator.writeString(hex, 0, hex.length);
+  }
+}
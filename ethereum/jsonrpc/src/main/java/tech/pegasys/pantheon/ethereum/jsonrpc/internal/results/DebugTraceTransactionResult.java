@@ -12,43 +12,48 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
 
-import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 
 @JsonPropertyOrder({"gas", "failed", "returnValue", "structLogs"})
 public class DebugTraceTransactionResult {
 
-  private final List<StructLog> structLogs;
+  private final String structLogs;
   private final String returnValue;
   private final long gas;
   private final boolean failed;
 
   public DebugTraceTransactionResult(final TransactionTrace transactionTrace) {
+    this(transactionTrace, writeStructLogs(transactionTrace));
+  }
+
+  /**
+   * Creates the result of a trace whose frames were streamed rather than kept by the trace.
+   *
+   * @param transactionTrace The outcome of the traced transaction
+   * @param structLogs The JSON array of struct logs written while the transaction was traced
+   */
+  public DebugTraceTransactionResult(
+      final TransactionTrace transactionTrace, final String structLogs) {
     gas = transactionTrace.getGas();
     returnValue = transactionTrace.getResult().getOutput().toString().substring(2);
-    structLogs =
-        transactionTrace
-            .getTraceFrames()
-            .stream()
-            .map(DebugTraceTransactionResult::createStructLog)
-            .collect(Collectors.toList());
+    this.structLogs = structLogs;
     failed = !transactionTrace.getResult().isSuccessful();
   }
 
-  private static StructLog createStructLog(final TraceFrame frame) {
-    return frame.getExceptionalHaltReasons().isEmpty()
-        ? new StructLog(frame)
-        : new StructLogWithError(frame);
+  private static String writeStructLogs(final TransactionTrace transactionTrace) {
+    final StructLogsWriter writer = StructLogsWriter.unbounded();
+    transactionTrace.getTraceFrames().forEach(writer);
+    return writer.toJson();
   }
 
+  /** @return The struct logs as a JSON array, embedded as is when the result is serialised. */
+  @JsonRawValue
   @JsonGetter(value = "structLogs")
-  public List<StructLog> getStructLogs() {
+  public String getStructLogs() {
     return structLogs;
   }
 
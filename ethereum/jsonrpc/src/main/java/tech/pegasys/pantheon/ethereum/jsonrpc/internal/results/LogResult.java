@@ -14,12 +14,14 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
 
 import tech.pegasys.pantheon.ethereum.core.LogTopic;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 /** A single log result. */
 @JsonPropertyOrder({
@@ -41,7 +43,7 @@ public class LogResult implements JsonRpcResult {
   private final String transactionHash;
   private final String transactionIndex;
   private final String address;
-  private final String data;
+  private final BytesValue data;
   private final List<String> topics;
   private final boolean removed;
 
@@ -52,7 +54,7 @@ public class LogResult implements JsonRpcResult {
     this.transactionHash = logWithMetadata.getTransactionHash().toString();
     this.transactionIndex = Quantity.create(logWithMetadata.getTransactionIndex());
     this.address = logWithMetadata.getAddress().toString();
-    this.data = logWithMetadata.getData().toString();
+    this.data = logWithMetadata.getData();
     this.topics = new ArrayList<>(logWithMetadata.getTopics().size());
     this.removed = logWithMetadata.isRemoved();
 
@@ -92,7 +94,8 @@ public class LogResult implements JsonRpcResult {
   }
 
   @JsonGetter(value = "data")
-  public String getData() {
+  @JsonSerialize(using = BytesValueSerializer.class)
+  public BytesValue getData() {
     return data;
   }
 
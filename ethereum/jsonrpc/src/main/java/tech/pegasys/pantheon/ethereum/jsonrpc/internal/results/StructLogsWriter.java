@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.vertx.core.json.Json;
+
+/**
+ * Serialises trace frames to the JSON array of struct logs as they are produced, so that only the
+ * JSON text of a trace is ever held in memory rather than every captured frame.
+ */
+public class StructLogsWriter implements Consumer<TraceFrame> {
+
+  private final long maxSizeBytes;
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+  private final JsonGenerator generator;
+
+  /**
+   * @param maxSizeBytes The largest JSON text allowed, a {@link TraceSizeExceededException} is
+   *     thrown by the frame that exceeds it.
+   */
+  public StructLogsWriter(final long maxSizeBytes) {
+    this.maxSizeBytes = maxSizeBytes;
+    try {
+      generator = Json.mapper.getFactory().createGenerator(output);
+      generator.writeStartArray();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static StructLogsWriter unbounded() {
+    return new StructLogsWriter(Long.MAX_VALUE);
+  }
+
+  @Override
+  public void accept(final TraceFrame frame) {
+    final StructLog structLog =
+        frame.getExceptionalHaltReasons().isEmpty()
+            ? new StructLog(frame)
+            : new StructLogWithError(frame);
+    try {
+      Json.mapper.writeValue(generator, structLog);
+      generator.flush();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (output.size() > maxSizeBytes) {
+      throw new TraceSizeExceededException(maxSizeBytes);
+    }
+  }
+
+  /** @return The size of the JSON text written so far. */
+  public long getSizeBytes() {
+    return output.size();
+  }
+
+  /** @return The JSON array of all struct logs written so far. */
+  public String toJson() {
+    try {
+      generator.writeEndArray();
+      generator.close();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new String(output.toByteArray(), UTF_8);
+  }
+
+  /** Thrown to abandon a trace once its JSON text grows beyond the configured limit. */
+  public static class TraceSizeExceededException extends RuntimeException {
+    public TraceSizeExceededException(final long maxSizeBytes) {
+      super("Trace exceeds the maximum size of " + maxSizeBytes + " bytes");
+    }
+  }
+}
@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 @JsonPropertyOrder({
   "blockHash",
@@ -43,7 +44,7 @@ public class TransactionCompleteResult implements TransactionResult {
   private final String gas;
   private final String gasPrice;
   private final String hash;
-  private final String input;
+  private final BytesValue input;
   private final String nonce;
   private final String to;
   private final String transactionIndex;
@@ -60,7 +61,7 @@ public class TransactionCompleteResult implements TransactionResult {
     this.gas = Quantity.create(transaction.getGasLimit());
     this.gasPrice = Quantity.create(transaction.getGasPrice());
     this.hash = transaction.hash().toString();
-    this.input = transaction.getPayload().toString();
+    this.input = transaction.getPayload();
     this.nonce = Quantity.create(transaction.getNonce());
     this.to = transaction.getTo().map(BytesValue::toString).orElse(null);
     this.transactionIndex = Quantity.create(tx.getTransactionIndex());
@@ -101,7 +102,8 @@ public class TransactionCompleteResult implements TransactionResult {
   }
 
   @JsonGetter(value = "input")
-  public String getInput() {
+  @JsonSerialize(using = BytesValueSerializer.class)
+  public BytesValue getInput() {
     return input;
   }
 
@@ -17,6 +17,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 @JsonPropertyOrder({
   "blockHash",
@@ -40,7 +41,7 @@ public class TransactionPendingResult implements TransactionResult {
   private final String gas;
   private final String gasPrice;
   private final String hash;
-  private final String input;
+  private final BytesValue input;
   private final String nonce;
   private final String to;
   private final String value;
@@ -53,7 +54,7 @@ public class TransactionPendingResult implements TransactionResult {
     this.gas = Quantity.create(transaction.getGasLimit());
     this.gasPrice = Quantity.create(transaction.getGasPrice());
     this.hash = transaction.hash().toString();
-    this.input = transaction.getPayload().toString();
+    this.input = transaction.getPayload();
     this.nonce = Quantity.create(transaction.getNonce());
     this.to = transaction.getTo().map(BytesValue::toString).orElse(null);
     this.value = Quantity.create(transaction.getValue());
@@ -83,7 +84,8 @@ public class TransactionPendingResult implements TransactionResult {
   }
 
   @JsonGetter(value = "input")
-  public String getInput() {
+  @JsonSerialize(using = BytesValueSerializer.class)
+  public BytesValue getInput() {
     return input;
   }
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.websocket;
+
+import tech.pegasys.pantheon.metrics.Counter;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.http.ServerWebSocket;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes subscription notifications to a websocket, holding them back while the websocket's write
+ * queue is full. A connection that falls more than the maximum backlog behind is a slow consumer
+ * and is closed, so that it can't make the node buffer notifications without bound.
+ *
+ * <p>All methods but {@link #backlogSize()} must be called on the websocket's context.
+ */
+class SubscriptionNotificationWriter {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ServerWebSocket websocket;
+  private final int maxBacklog;
+  private final Counter slowConsumersCounter;
+  private final Queue<String> backlog = new ArrayDeque<>();
+  private final AtomicInteger backlogSize = new AtomicInteger(0);
+  private boolean closed = false;
+
+  SubscriptionNotificationWriter(
+      final ServerWebSocket websocket, final int maxBacklog, final Counter slowConsumersCounter) {
+    this.websocket = websocket;
+    this.maxBacklog = maxBacklog;
+    this.slowConsumersCounter = slowConsumersCounter;
+    websocket.drainHandler(v -> drain());
+  }
+
+  void write(final String notification) {
+    if (closed) {
+      return;
+    }
+    if (backlog.isEmpty() && !websocket.writeQueueFull()) {
+      websocket.writeTextMessage(notification);
+      return;
+    }
+    if (backlog.size() >= maxBacklog) {
+      LOG.debug(
+          "Closing websocket {} which is more than {} notifications behind",
+          websocket.textHandlerID(),
+          maxBacklog);
+      slowConsumersCounter.inc();
+      close();
+      websocket.close();
+      return;
+    }
+    backlog.add(notification);
+    backlogSize.incrementAndGet();
+  }
+
+  private void drain() {
+    while (!closed && !backlog.isEmpty() && !websocket.writeQueueFull()) {
+      websocket.writeTextMessage(backlog.poll());
+      backlogSize.decrementAndGet();
+    }
+  }
+
+  void close() {
+    closed = true;
+    backlog.clear();
+    backlogSize.set(0);
+  }
+
+  /** @return The number of notifications waiting for the websocket's write queue to drain. */
+  int backlogSize() {
+    return backlogSize.get();
+  }
+}
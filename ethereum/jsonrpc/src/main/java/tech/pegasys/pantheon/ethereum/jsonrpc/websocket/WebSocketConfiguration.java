@@ -29,12 +29,14 @@ public class WebSocketConfiguration {
   public static final Collection<RpcApi> DEFAULT_WEBSOCKET_APIS =
       Arrays.asList(RpcApis.ETH, RpcApis.NET, RpcApis.WEB3);
   public static final long DEFAULT_WEBSOCKET_REFRESH_DELAY = 5000;
+  public static final int DEFAULT_MAX_NOTIFICATION_BACKLOG = 1024;
 
   private boolean enabled;
   private int port;
   private String host;
   private Collection<RpcApi> rpcApis;
   private long refreshDelay;
+  private int maxNotificationBacklog = DEFAULT_MAX_NOTIFICATION_BACKLOG;
 
   public static WebSocketConfiguration createDefault() {
     final WebSocketConfiguration config = new WebSocketConfiguration();
@@ -92,6 +94,7 @@ public class WebSocketConfiguration {
         .add("port", port)
         .add("host", host)
         .add("rpcApis", rpcApis)
+        .add("maxNotificationBacklog", maxNotificationBacklog)
         .toString();
   }
 
@@ -106,13 +109,14 @@ public class WebSocketConfiguration {
     final WebSocketConfiguration that = (WebSocketConfiguration) o;
     return enabled == that.enabled
         && port == that.port
+        && maxNotificationBacklog == that.maxNotificationBacklog
         && Objects.equal(host, that.host)
         && Objects.equal(Lists.newArrayList(rpcApis), Lists.newArrayList(that.rpcApis));
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(enabled, port, host, rpcApis);
+    return Objects.hashCode(enabled, port, host, rpcApis, maxNotificationBacklog);
   }
 
   public void setRefreshDelay(final long refreshDelay) {
@@ -122,4 +126,16 @@ public class WebSocketConfiguration {
   public long getRefreshDelay() {
     return refreshDelay;
   }
+
+  /**
+   * @return The most notifications held for a connection that is not reading them fast enough,
+   *     before the connection is closed.
+   */
+  public int getMaxNotificationBacklog() {
+    return maxNotificationBacklog;
+  }
+
+  public void setMaxNotificationBacklog(final int maxNotificationBacklog) {
+    this.maxNotificationBacklog = maxNotificationBacklog;
+  }
 }
@@ -13,13 +13,20 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.websocket;
 
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.SubscriptionManager;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 import java.net.InetSocketAddress;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerRequest;
@@ -37,6 +44,9 @@ public class WebSocketService {
   private final Vertx vertx;
   private final WebSocketConfiguration configuration;
   private final WebSocketRequestHandler websocketRequestHandler;
+  private final Set<SubscriptionNotificationWriter> notificationWriters =
+      ConcurrentHashMap.newKeySet();
+  private final Counter slowConsumersCounter;
 
   private HttpServer httpServer;
 
@@ -44,9 +54,43 @@ public class WebSocketService {
       final Vertx vertx,
       final WebSocketConfiguration configuration,
       final WebSocketRequestHandler websocketRequestHandler) {
+    this(vertx, configuration, websocketRequestHandler, new NoOpMetricsSystem());
+  }
+
+  public WebSocketService(
+      final Vertx vertx,
+      final WebSocketConfiguration configuration,
+      final WebSocketRequestHandler websocketRequestHandler,
+      final MetricsSystem metricsSystem) {
     this.vertx = vertx;
     this.configuration = configuration;
     this.websocketRequestHandler = websocketRequestHandler;
+    slowConsumersCounter =
+        metricsSystem.createCounter(
+            MetricCategory.RPC,
+            "websocket_slow_consumers_disconnected",
+            "Number of websockets closed for falling too far behind on notifications");
+    metricsSystem.createGauge(
+        MetricCategory.RPC,
+        "websocket_notification_backlog",
+        "Number of notifications waiting to be written to websockets",
+        () ->
+            (double)
+                notificationWriters
+                    .stream()
+                    .mapToInt(SubscriptionNotificationWriter::backlogSize)
+                    .sum());
+    metricsSystem.createGauge(
+        MetricCategory.RPC,
+        "websocket_max_notification_backlog",
+        "Largest number of notifications waiting to be written to a single websocket",
+        () ->
+            (double)
+                notificationWriters
+                    .stream()
+                    .mapToInt(SubscriptionNotificationWriter::backlogSize)
+                    .max()
+                    .orElse(0));
   }
 
   public CompletableFuture<?> start() {
@@ -76,6 +120,17 @@ public class WebSocketService {
 
       LOG.debug("Websocket Connected ({})", socketAddressAsString(socketAddress));
 
+      final SubscriptionNotificationWriter notificationWriter =
+          new SubscriptionNotificationWriter(
+              websocket, configuration.getMaxNotificationBacklog(), slowConsumersCounter);
+      notificationWriters.add(notificationWriter);
+      final MessageConsumer<String> notificationConsumer =
+          vertx
+              .eventBus()
+              .localConsumer(
+                  SubscriptionManager.notificationsAddress(connectionId),
+                  message -> notificationWriter.write(message.body()));
+
       websocket.handler(
           buffer -> {
             LOG.debug(
@@ -89,6 +144,9 @@ public class WebSocketService {
       websocket.closeHandler(
           v -> {
             LOG.debug("Websocket Disconnected ({})", socketAddressAsString(socketAddress));
+            notificationConsumer.unregister();
+            notificationWriter.close();
+            notificationWriters.remove(notificationWriter);
             vertx
                 .eventBus()
                 .publish(SubscriptionManager.EVENTBUS_REMOVE_SUBSCRIPTIONS_ADDRESS, connectionId);
@@ -18,11 +18,19 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.Sub
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscriptionType;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.UnsubscribeRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.response.SubscriptionResponse;
-
-import java.util.HashMap;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -38,6 +46,9 @@ import org.apache.logging.log4j.Logger;
 /**
  * The SubscriptionManager is responsible for managing subscriptions and sending messages to the
  * clients that have an active subscription subscription.
+ *
+ * <p>Subscriptions are created and removed from several verticles and looked up from the threads
+ * notifying subscribers, so they are held in concurrent maps.
  */
 public class SubscriptionManager extends AbstractVerticle {
 
@@ -45,19 +56,53 @@ public class SubscriptionManager extends AbstractVerticle {
 
   public static final String EVENTBUS_REMOVE_SUBSCRIPTIONS_ADDRESS =
       "SubscriptionManager::removeSubscriptions";
+  private static final String EVENTBUS_NOTIFICATIONS_ADDRESS_PREFIX =
+      "SubscriptionManager::notifications::";
 
   private final AtomicLong subscriptionCounter = new AtomicLong(0);
-  private final Map<Long, Subscription> subscriptions = new HashMap<>();
-  private final Map<String, List<Long>> connectionSubscriptionsMap = new HashMap<>();
+  private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
+  private final Map<String, List<Long>> connectionSubscriptionsMap = new ConcurrentHashMap<>();
+  private final Map<Long, String> subscriptionConnectionMap = new ConcurrentHashMap<>();
   private final SubscriptionBuilder subscriptionBuilder = new SubscriptionBuilder();
   private final long refreshDelay;
+  private final OperationTimer dispatchTimer;
+  private final Counter notificationsCounter;
 
-  public SubscriptionManager(final long refreshDelay) {
+  public SubscriptionManager(final MetricsSystem metricsSystem, final long refreshDelay) {
     this.refreshDelay = refreshDelay;
+    dispatchTimer =
+        metricsSystem.createTimer(
+            MetricCategory.RPC,
+            "subscription_dispatch_time",
+            "Time taken to encode and dispatch a notification to its subscribers");
+    notificationsCounter =
+        metricsSystem.createCounter(
+            MetricCategory.RPC,
+            "subscription_notifications_total",
+            "Number of notifications dispatched to subscribers");
+    metricsSystem.createGauge(
+        MetricCategory.RPC,
+        "subscriptions",
+        "Number of active subscriptions",
+        () -> (double) subscriptions.size());
+  }
+
+  public SubscriptionManager(final long refreshDelay) {
+    this(new NoOpMetricsSystem(), refreshDelay);
   }
 
   public SubscriptionManager() {
-    this.refreshDelay = WebSocketConfiguration.DEFAULT_WEBSOCKET_REFRESH_DELAY;
+    this(WebSocketConfiguration.DEFAULT_WEBSOCKET_REFRESH_DELAY);
+  }
+
+  /**
+   * The event bus address that notifications for the subscriptions of a connection are sent to.
+   *
+   * @param connectionId The id of the connection
+   * @return The event bus address of the notifications for the connection
+   */
+  public static String notificationsAddress(final String connectionId) {
+    return EVENTBUS_NOTIFICATIONS_ADDRESS_PREFIX + connectionId;
   }
 
   @Override
@@ -81,11 +126,15 @@ public class SubscriptionManager extends AbstractVerticle {
   }
 
   private void mapSubscriptionToConnection(final String connectionId, final Long subscriptionId) {
-    if (connectionSubscriptionsMap.containsKey(connectionId)) {
-      connectionSubscriptionsMap.get(connectionId).add(subscriptionId);
-    } else {
-      connectionSubscriptionsMap.put(connectionId, Lists.newArrayList(subscriptionId));
-    }
+    subscriptionConnectionMap.put(subscriptionId, connectionId);
+    connectionSubscriptionsMap.compute(
+        connectionId,
+        (key, subscriptionIds) -> {
+          final List<Long> result =
+              subscriptionIds != null ? subscriptionIds : new CopyOnWriteArrayList<>();
+          result.add(subscriptionId);
+          return result;
+        });
   }
 
   public boolean unsubscribe(final UnsubscribeRequest request) {
@@ -105,25 +154,23 @@ public class SubscriptionManager extends AbstractVerticle {
   }
 
   private boolean connectionOwnsSubscription(final Long subscriptionId, final String connectionId) {
-    return connectionSubscriptionsMap.get(connectionId) != null
-        && connectionSubscriptionsMap.get(connectionId).contains(subscriptionId);
+    return connectionId.equals(subscriptionConnectionMap.get(subscriptionId));
   }
 
   private void destroySubscription(final long subscriptionId, final String connectionId) {
     subscriptions.remove(subscriptionId);
-
-    if (connectionSubscriptionsMap.containsKey(connectionId)) {
-      removeSubscriptionToConnectionMapping(connectionId, subscriptionId);
-    }
+    subscriptionConnectionMap.remove(subscriptionId);
+    removeSubscriptionToConnectionMapping(connectionId, subscriptionId);
   }
 
   private void removeSubscriptionToConnectionMapping(
       final String connectionId, final Long subscriptionId) {
-    if (connectionSubscriptionsMap.get(connectionId).size() > 1) {
-      connectionSubscriptionsMap.get(connectionId).remove(subscriptionId);
-    } else {
-      connectionSubscriptionsMap.remove(connectionId);
-    }
+    connectionSubscriptionsMap.computeIfPresent(
+        connectionId,
+        (key, subscriptionIds) -> {
+          subscriptionIds.remove(subscriptionId);
+          return subscriptionIds.isEmpty() ? null : subscriptionIds;
+        });
   }
 
   @VisibleForTesting
@@ -153,24 +200,42 @@ public class SubscriptionManager extends AbstractVerticle {
 
   public <T> List<T> subscriptionsOfType(final SubscriptionType type, final Class<T> clazz) {
     return subscriptions
-        .entrySet()
+        .values()
         .stream()
-        .map(Entry::getValue)
         .filter(subscription -> subscription.isType(type))
         .map(subscriptionBuilder.mapToSubscriptionClass(clazz))
         .collect(Collectors.toList());
   }
 
   public void sendMessage(final Long subscriptionId, final JsonRpcResult msg) {
-    final SubscriptionResponse response = new SubscriptionResponse(subscriptionId, msg);
-
-    connectionSubscriptionsMap
-        .entrySet()
-        .stream()
-        .filter(e -> e.getValue().contains(subscriptionId))
-        .map(Entry::getKey)
-        .findFirst()
-        .ifPresent(connectionId -> vertx.eventBus().send(connectionId, Json.encode(response)));
+    broadcastMessage(Collections.singletonList(subscriptionId), msg);
+  }
+
+  /**
+   * Sends the same result to several subscriptions. The result is encoded once, and only the id
+   * of each subscription is written separately into its notification.
+   *
+   * @param subscriptionIds The subscriptions to notify
+   * @param msg The result to send to each of the subscriptions
+   */
+  public void broadcastMessage(final Collection<Long> subscriptionIds, final JsonRpcResult msg) {
+    if (subscriptionIds.isEmpty()) {
+      return;
+    }
+    try (final TimingContext ignored = dispatchTimer.startTimer()) {
+      final String encodedResult = Json.encode(msg);
+      for (final Long subscriptionId : subscriptionIds) {
+        final String connectionId = subscriptionConnectionMap.get(subscriptionId);
+        if (connectionId != null) {
+          vertx
+              .eventBus()
+              .send(
+                  notificationsAddress(connectionId),
+                  SubscriptionResponse.encode(subscriptionId, encodedResult));
+          notificationsCounter.inc();
+        }
+      }
+    }
   }
 
   public long getRefreshDelay() {
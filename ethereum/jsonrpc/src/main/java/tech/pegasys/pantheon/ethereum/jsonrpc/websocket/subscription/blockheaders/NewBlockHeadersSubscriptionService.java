@@ -23,6 +23,8 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.Subscriptio
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscriptionType;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class NewBlockHeadersSubscriptionService implements BlockAddedObserver {
 
@@ -44,13 +46,27 @@ public class NewBlockHeadersSubscriptionService implements BlockAddedObserver {
 
     final Hash newBlockHash = event.getBlock().getHash();
 
-    for (final NewBlockHeadersSubscription subscription : subscribers) {
-      final BlockResult newBlock =
-          subscription.getIncludeTransactions()
-              ? blockWithCompleteTransaction(newBlockHash)
-              : blockWithTransactionHash(newBlockHash);
+    // Each form of the block is built and encoded once for all the subscriptions asking for it.
+    final Map<Boolean, List<Long>> subscriptionIdsByIncludeTransactions =
+        subscribers
+            .stream()
+            .collect(
+                Collectors.partitioningBy(
+                    NewBlockHeadersSubscription::getIncludeTransactions,
+                    Collectors.mapping(NewBlockHeadersSubscription::getId, Collectors.toList())));
 
-      subscriptionManager.sendMessage(subscription.getId(), newBlock);
+    final List<Long> completeTransactionSubscriptionIds =
+        subscriptionIdsByIncludeTransactions.get(true);
+    if (!completeTransactionSubscriptionIds.isEmpty()) {
+      subscriptionManager.broadcastMessage(
+          completeTransactionSubscriptionIds, blockWithCompleteTransaction(newBlockHash));
+    }
+
+    final List<Long> transactionHashSubscriptionIds =
+        subscriptionIdsByIncludeTransactions.get(false);
+    if (!transactionHashSubscriptionIds.isEmpty()) {
+      subscriptionManager.broadcastMessage(
+          transactionHashSubscriptionIds, blockWithTransactionHash(newBlockHash));
     }
   }
 
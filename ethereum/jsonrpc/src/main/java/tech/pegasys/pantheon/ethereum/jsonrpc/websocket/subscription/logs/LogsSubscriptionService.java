@@ -25,6 +25,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.Sub
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class LogsSubscriptionService implements BlockAddedObserver {
 
@@ -77,21 +78,26 @@ public class LogsSubscriptionService implements BlockAddedObserver {
       final TransactionReceiptWithMetadata receiptWithMetadata,
       final boolean removed) {
     for (int logIndex = 0; logIndex < logs.size(); logIndex++) {
-      for (final LogsSubscription subscription : logsSubscriptions) {
-        if (subscription.getLogsQuery().matches(logs.get(logIndex))) {
-          sendLogToSubscription(receiptWithMetadata, removed, logIndex, subscription);
-        }
+      final Log log = logs.get(logIndex);
+      final List<Long> matchingSubscriptionIds =
+          logsSubscriptions
+              .stream()
+              .filter(subscription -> subscription.getLogsQuery().matches(log))
+              .map(LogsSubscription::getId)
+              .collect(Collectors.toList());
+      if (!matchingSubscriptionIds.isEmpty()) {
+        sendLogToSubscriptions(receiptWithMetadata, removed, logIndex, matchingSubscriptionIds);
       }
     }
   }
 
-  private void sendLogToSubscription(
+  private void sendLogToSubscriptions(
       final TransactionReceiptWithMetadata receiptWithMetadata,
       final boolean removed,
       final int logIndex,
-      final LogsSubscription subscription) {
+      final List<Long> subscriptionIds) {
     final LogWithMetadata logWithMetaData = logWithMetadata(logIndex, receiptWithMetadata, removed);
-    subscriptionManager.sendMessage(subscription.getId(), new LogResult(logWithMetaData));
+    subscriptionManager.broadcastMessage(subscriptionIds, new LogResult(logWithMetaData));
   }
 
   // @formatter:off
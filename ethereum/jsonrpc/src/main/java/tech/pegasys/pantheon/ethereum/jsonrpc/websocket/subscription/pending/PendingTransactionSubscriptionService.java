@@ -20,6 +20,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.Subscriptio
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscriptionType;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class PendingTransactionSubscriptionService implements PendingTransactionListener {
 
@@ -35,11 +36,15 @@ public class PendingTransactionSubscriptionService implements PendingTransaction
   }
 
   private void notifySubscribers(final Hash pendingTransaction) {
-    final List<Subscription> subscriptions = pendingTransactionSubscriptions();
-
-    for (final Subscription subscription : subscriptions) {
-      subscriptionManager.sendMessage(
-          subscription.getId(), new PendingTransactionResult(pendingTransaction));
+    final List<Long> subscriptionIds =
+        pendingTransactionSubscriptions()
+            .stream()
+            .map(Subscription::getId)
+            .collect(Collectors.toList());
+
+    if (!subscriptionIds.isEmpty()) {
+      subscriptionManager.broadcastMessage(
+          subscriptionIds, new PendingTransactionResult(pendingTransaction));
     }
   }
 
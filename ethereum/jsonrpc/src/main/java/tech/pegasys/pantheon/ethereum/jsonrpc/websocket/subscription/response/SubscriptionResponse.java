@@ -30,6 +30,26 @@ public class SubscriptionResponse {
     this.params = new SubscriptionResponseResult(Quantity.create(subscriptionId), result);
   }
 
+  /**
+   * Builds the same JSON as encoding a response, from a result that was already encoded. This lets
+   * a result sent to many subscriptions be encoded only once.
+   *
+   * @param subscriptionId The id of the subscription the response is sent to
+   * @param encodedResult The JSON encoding of the result
+   * @return The JSON encoding of the response
+   */
+  public static String encode(final long subscriptionId, final String encodedResult) {
+    return "{\"jsonrpc\":\""
+        + JSON_RPC_VERSION
+        + "\",\"method\":\""
+        + METHOD_NAME
+        + "\",\"params\":{\"subscription\":\""
+        + Quantity.create(subscriptionId)
+        + "\",\"result\":"
+        + encodedResult
+        + "}}";
+  }
+
   @JsonGetter("jsonrpc")
   public String getJsonrpc() {
     return JSON_RPC_VERSION;
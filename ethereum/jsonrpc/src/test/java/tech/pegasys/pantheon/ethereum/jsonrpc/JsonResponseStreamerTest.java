@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Strings;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+
+public class JsonResponseStreamerTest {
+
+  private final HttpServerResponse response = mock(HttpServerResponse.class, Answers.RETURNS_SELF);
+  private final Context context = mock(Context.class);
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    doAnswer(
+            invocation -> {
+              ((Handler<Void>) invocation.getArgument(0)).handle(null);
+              return null;
+            })
+        .when(context)
+        .runOnContext(any());
+  }
+
+  @Test
+  public void shouldSendSmallBodyWholeAndCompact() {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response, context, 200, 1024);
+
+    streamer.writeJson(singletonMap("result", "0x01"));
+
+    final ArgumentCaptor<Buffer> body = ArgumentCaptor.forClass(Buffer.class);
+    verify(response).setStatusCode(200);
+    verify(response).putHeader("Content-Type", "application/json");
+    verify(response).end(body.capture());
+    verify(response, never()).setChunked(true);
+    assertThat(body.getValue().toString()).isEqualTo("{\"result\":\"0x01\"}");
+  }
+
+  @Test
+  public void shouldSendLargeBodyInChunks() {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response, context, 200, 16);
+    final String value = Strings.repeat("ab", 100);
+
+    streamer.writeJson(singletonMap("result", value));
+
+    final ArgumentCaptor<Buffer> chunks = ArgumentCaptor.forClass(Buffer.class);
+    final ArgumentCaptor<Buffer> lastChunk = ArgumentCaptor.forClass(Buffer.class);
+    verify(response).setStatusCode(200);
+    verify(response).setChunked(true);
+    verify(response, atLeastOnce()).write(chunks.capture());
+    verify(response).end(lastChunk.capture());
+
+    final Buffer body = Buffer.buffer();
+    chunks.getAllValues().forEach(body::appendBuffer);
+    body.appendBuffer(lastChunk.getValue());
+    assertThat(body.toString()).isEqualTo("{\"result\":\"" + value + "\"}");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldWaitForFullWriteQueueToDrainBeforeSendingMore() throws Exception {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response, context, 200, 16);
+    final String value = Strings.repeat("ab", 100);
+    when(response.writeQueueFull()).thenReturn(true, false);
+
+    final Thread worker = new Thread(() -> streamer.writeJson(singletonMap("result", value)));
+    worker.start();
+
+    final ArgumentCaptor<Handler<Void>> drainHandler = ArgumentCaptor.forClass(Handler.class);
+    verify(response, timeout(1000)).drainHandler(drainHandler.capture());
+    verify(response).write(any(Buffer.class));
+    verify(response, never()).end(any(Buffer.class));
+
+    drainHandler.getValue().handle(null);
+    worker.join(1000);
+
+    assertThat(worker.isAlive()).isFalse();
+    verify(response).end(any(Buffer.class));
+  }
+
+  @Test
+  public void shouldRespondWithInternalErrorWhenSerialisationFails() {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response, context, 200, 1024);
+
+    streamer.writeJson(new Unserialisable());
+
+    verify(response).setStatusCode(500);
+    verify(response).end();
+    verify(response, never()).setStatusCode(200);
+  }
+
+  public static class Unserialisable {
+    public String getResult() {
+      throw new IllegalStateException("Cannot serialise");
+    }
+  }
+}
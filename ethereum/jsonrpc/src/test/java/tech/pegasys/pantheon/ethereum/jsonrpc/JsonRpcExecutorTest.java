@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class JsonRpcExecutorTest {
+
+  private static final Object CONNECTION = new Object();
+  private static final JsonRpcResponse SUCCESS = new JsonRpcSuccessResponse(1, "result");
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final JsonRpcConfiguration config = JsonRpcConfiguration.createDefault();
+
+  @After
+  public void releaseWorkers() {
+    release.countDown();
+  }
+
+  @Test
+  public void shouldRunRequest() throws Exception {
+    final JsonRpcExecutor executor = new JsonRpcExecutor(config, new NoOpMetricsSystem());
+
+    final JsonRpcResponse response =
+        executor.execute("eth_blockNumber", CONNECTION, 1, () -> SUCCESS).get(5, TimeUnit.SECONDS);
+
+    assertThat(response).isEqualTo(SUCCESS);
+  }
+
+  @Test
+  public void shouldCompleteExceptionallyWhenRequestFails() {
+    final JsonRpcExecutor executor = new JsonRpcExecutor(config, new NoOpMetricsSystem());
+
+    final CompletableFuture<JsonRpcResponse> response =
+        executor.execute(
+            "eth_blockNumber",
+            CONNECTION,
+            1,
+            () -> {
+              throw new IllegalStateException("failed");
+            });
+
+    assertThat(response).hasFailedWithThrowableThat().hasMessage("failed");
+  }
+
+  @Test
+  public void shouldRefuseRequestsOverMethodLimit() throws Exception {
+    config.setMaxRequestsPerMethod(1);
+    final JsonRpcExecutor executor = new JsonRpcExecutor(config, new NoOpMetricsSystem());
+
+    final CompletableFuture<JsonRpcResponse> blocked =
+        executor.execute("eth_call", CONNECTION, 1, blockingRequest());
+    final CompletableFuture<JsonRpcResponse> refused =
+        executor.execute("eth_call", new Object(), 2, () -> SUCCESS);
+    final CompletableFuture<JsonRpcResponse> otherMethod =
+        executor.execute("eth_blockNumber", CONNECTION, 3, () -> SUCCESS);
+
+    assertThat(refused.get(5, TimeUnit.SECONDS))
+        .isEqualTo(new JsonRpcErrorResponse(2, JsonRpcError.REQUEST_LIMIT_EXCEEDED));
+    assertThat(otherMethod.get(5, TimeUnit.SECONDS)).isEqualTo(SUCCESS);
+
+    release.countDown();
+    assertThat(blocked.get(5, TimeUnit.SECONDS)).isEqualTo(SUCCESS);
+    assertThat(executor.execute("eth_call", CONNECTION, 4, () -> SUCCESS).get(5, TimeUnit.SECONDS))
+        .isEqualTo(SUCCESS);
+  }
+
+  @Test
+  public void shouldRefuseRequestsOverConnectionLimit() throws Exception {
+    config.setMaxRequestsPerConnection(1);
+    final JsonRpcExecutor executor = new JsonRpcExecutor(config, new NoOpMetricsSystem());
+
+    executor.execute("eth_call", CONNECTION, 1, blockingRequest());
+    final CompletableFuture<JsonRpcResponse> refused =
+        executor.execute("eth_blockNumber", CONNECTION, 2, () -> SUCCESS);
+    final CompletableFuture<JsonRpcResponse> otherConnection =
+        executor.execute("eth_blockNumber", new Object(), 3, () -> SUCCESS);
+
+    assertThat(refused.get(5, TimeUnit.SECONDS))
+        .isEqualTo(new JsonRpcErrorResponse(2, JsonRpcError.REQUEST_LIMIT_EXCEEDED));
+    assertThat(otherConnection.get(5, TimeUnit.SECONDS)).isEqualTo(SUCCESS);
+  }
+
+  @Test
+  public void shouldRefuseRequestsWhenQueueIsFull() throws Exception {
+    config.setWorkerThreads(1);
+    config.setMaxQueuedRequests(1);
+    final JsonRpcExecutor executor = new JsonRpcExecutor(config, new NoOpMetricsSystem());
+
+    final CountDownLatch started = new CountDownLatch(1);
+    executor.execute(
+        "eth_call",
+        CONNECTION,
+        1,
+        () -> {
+          started.countDown();
+          return blockingRequest().get();
+        });
+    started.await(5, TimeUnit.SECONDS);
+    executor.execute("eth_call", CONNECTION, 2, () -> SUCCESS);
+    final CompletableFuture<JsonRpcResponse> refused =
+        executor.execute("eth_call", CONNECTION, 3, () -> SUCCESS);
+
+    assertThat(refused.get(5, TimeUnit.SECONDS))
+        .isEqualTo(new JsonRpcErrorResponse(3, JsonRpcError.REQUEST_LIMIT_EXCEEDED));
+  }
+
+  @Test
+  public void shouldTimeOutRequestsThatWaitedTooLong() throws Exception {
+    config.setWorkerThreads(1);
+    config.setRequestQueueTimeoutMillis(10);
+    final JsonRpcExecutor executor = new JsonRpcExecutor(config, new NoOpMetricsSystem());
+
+    executor.execute(
+        "eth_call",
+        CONNECTION,
+        1,
+        () -> {
+          try {
+            Thread.sleep(100);
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return SUCCESS;
+        });
+    final CompletableFuture<JsonRpcResponse> queued =
+        executor.execute("eth_call", CONNECTION, 2, () -> SUCCESS);
+
+    assertThat(queued.get(5, TimeUnit.SECONDS))
+        .isEqualTo(new JsonRpcErrorResponse(2, JsonRpcError.REQUEST_TIMEOUT));
+  }
+
+  private Supplier<JsonRpcResponse> blockingRequest() {
+    return () -> {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return SUCCESS;
+    };
+  }
+}
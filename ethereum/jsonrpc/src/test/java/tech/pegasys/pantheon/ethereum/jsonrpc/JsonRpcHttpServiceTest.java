@@ -1634,6 +1634,33 @@ public class JsonRpcHttpServiceTest {
     }
   }
 
+  @Test
+  public void batchRequestExceedingMaxBatchSize() throws Exception {
+    final JsonRpcConfiguration config = createJsonRpcConfig();
+    config.setMaxBatchSize(1);
+    final JsonRpcHttpService service = createJsonRpcHttpService(config);
+    service.start().join();
+
+    try {
+      final RequestBody body =
+          RequestBody.create(
+              JSON,
+              "[{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"web3_clientVersion\"},"
+                  + "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"net_version\"}]");
+      final Request request = new Request.Builder().post(body).url(service.url()).build();
+
+      try (final Response resp = client.newCall(request).execute()) {
+        assertThat(resp.code()).isEqualTo(400);
+        final JsonObject json = new JsonObject(resp.body().string());
+        final JsonRpcError expectedError = JsonRpcError.EXCEEDS_RPC_MAX_BATCH_SIZE;
+        testHelper.assertValidJsonRpcError(
+            json, null, expectedError.getCode(), expectedError.getMessage());
+      }
+    } finally {
+      service.stop().join();
+    }
+  }
+
   private void verifyBlockResult(
       final Block block,
       final UInt256 td,
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.TransactionPendingResult;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import io.vertx.core.json.Json;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonRpcResponseCacheTest {
+
+  private static final String HASH =
+      "0x15876958423545c3c7b0fcf9be8ffb543305ee1b43db87ed380dcf0cd16589f7";
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final JsonRpcResponseCache cache =
+      new JsonRpcResponseCache(1024 * 1024, blockchain, new NoOpMetricsSystem());
+
+  private final JsonRpcMethod getBlockByHash = method("eth_getBlockByHash");
+  private final JsonRpcMethod getBlockByNumber = method("eth_getBlockByNumber");
+  private final JsonRpcMethod getTransactionByHash = method("eth_getTransactionByHash");
+  private final JsonRpcMethod getLogs = method("eth_getLogs");
+  private final JsonRpcMethod blockNumber = method("eth_blockNumber");
+  private Map<String, JsonRpcMethod> methods;
+
+  @Before
+  public void setUp() {
+    final Map<String, JsonRpcMethod> undecorated = new HashMap<>();
+    undecorated.put(getBlockByHash.getName(), getBlockByHash);
+    undecorated.put(getBlockByNumber.getName(), getBlockByNumber);
+    undecorated.put(getTransactionByHash.getName(), getTransactionByHash);
+    undecorated.put(getLogs.getName(), getLogs);
+    undecorated.put(blockNumber.getName(), blockNumber);
+    methods = cache.decorate(undecorated);
+  }
+
+  @Test
+  public void shouldOnlyDecorateCacheableMethods() {
+    assertThat(methods.get("eth_getBlockByHash")).isInstanceOf(CachingJsonRpcMethod.class);
+    assertThat(methods.get("eth_blockNumber")).isSameAs(blockNumber);
+  }
+
+  @Test
+  public void shouldAnswerRepeatedRequestFromCache() {
+    returning(getBlockByHash, "block");
+
+    final JsonRpcResponse first = call("eth_getBlockByHash", HASH, false);
+    final JsonRpcResponse second = call("eth_getBlockByHash", HASH, false);
+
+    verify(getBlockByHash, times(1)).response(any());
+    assertThat(encodedResult(first)).isEqualTo("\"block\"");
+    assertThat(encodedResult(second)).isEqualTo("\"block\"");
+  }
+
+  @Test
+  public void shouldShareEntryBetweenEquivalentParameters() {
+    returning(getBlockByHash, "block");
+
+    call("eth_getBlockByHash", HASH, false);
+    call("eth_getBlockByHash", "0x" + HASH.substring(2).toUpperCase(), false);
+    call("eth_getBlockByHash", HASH, true);
+
+    verify(getBlockByHash, times(2)).response(any());
+  }
+
+  @Test
+  public void shouldNotCacheBlockByTag() {
+    returning(getBlockByNumber, "block");
+
+    call("eth_getBlockByNumber", "latest", false);
+    call("eth_getBlockByNumber", "latest", false);
+    call("eth_getBlockByNumber", "0x10", false);
+    call("eth_getBlockByNumber", "0x10", false);
+
+    verify(getBlockByNumber, times(3)).response(any());
+  }
+
+  @Test
+  public void shouldNotCacheNullResults() {
+    returning(getBlockByHash, null);
+
+    call("eth_getBlockByHash", HASH, false);
+    call("eth_getBlockByHash", HASH, false);
+
+    verify(getBlockByHash, times(2)).response(any());
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void shouldNotCacheErrors() {
+    when(getBlockByHash.response(any()))
+        .thenReturn(new JsonRpcErrorResponse(null, JsonRpcError.INTERNAL_ERROR));
+
+    call("eth_getBlockByHash", HASH, false);
+    call("eth_getBlockByHash", HASH, false);
+
+    verify(getBlockByHash, times(2)).response(any());
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void shouldNotCachePendingTransaction() {
+    returning(getTransactionByHash, mock(TransactionPendingResult.class));
+
+    call("eth_getTransactionByHash", HASH);
+    call("eth_getTransactionByHash", HASH);
+
+    verify(getTransactionByHash, times(2)).response(any());
+  }
+
+  @Test
+  public void shouldNotCacheLogsOfBlockNotImportedYet() {
+    final Map<String, String> filter = Collections.singletonMap("blockhash", HASH);
+    when(blockchain.getBlockHeader(Hash.fromHexString(HASH)))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(mock(BlockHeader.class)));
+    when(getLogs.response(any()))
+        .thenReturn(new JsonRpcSuccessResponse(null, Collections.emptyList()))
+        .thenReturn(new JsonRpcSuccessResponse(null, Collections.singletonList("log")));
+
+    final JsonRpcResponse beforeImport = call("eth_getLogs", filter);
+    final JsonRpcResponse afterImport = call("eth_getLogs", filter);
+    final JsonRpcResponse cached = call("eth_getLogs", filter);
+
+    verify(getLogs, times(2)).response(any());
+    assertThat(encodedResult(beforeImport)).isEqualTo("[]");
+    assertThat(encodedResult(afterImport)).isEqualTo("[\"log\"]");
+    assertThat(encodedResult(cached)).isEqualTo("[\"log\"]");
+  }
+
+  @Test
+  public void shouldLeaveInvalidRequestsToTheMethod() {
+    returning(getBlockByHash, "block");
+
+    call("eth_getBlockByHash", "not a hash", false);
+    call("eth_getBlockByHash", "not a hash", false);
+
+    verify(getBlockByHash, times(2)).response(any());
+  }
+
+  @Test
+  public void shouldInvalidateOnChainReorg() {
+    returning(getBlockByHash, "block");
+    call("eth_getBlockByHash", HASH, false);
+
+    cache.onBlockAdded(BlockAddedEvent.createForFork(mock(Block.class)), blockchain);
+    assertThat(cache.size()).isEqualTo(1);
+
+    cache.onBlockAdded(reorg(), blockchain);
+    assertThat(cache.size()).isZero();
+
+    call("eth_getBlockByHash", HASH, false);
+    verify(getBlockByHash, times(2)).response(any());
+  }
+
+  @Test
+  public void shouldNotCacheResultComputedBeforeChainReorg() {
+    when(getBlockByHash.response(any()))
+        .thenAnswer(
+            invocation -> {
+              cache.onBlockAdded(reorg(), blockchain);
+              return new JsonRpcSuccessResponse(null, "block");
+            });
+
+    call("eth_getBlockByHash", HASH, false);
+
+    assertThat(cache.size()).isZero();
+  }
+
+  private JsonRpcResponse call(final String method, final Object... params) {
+    return methods.get(method).response(new JsonRpcRequest("2.0", method, params));
+  }
+
+  private String encodedResult(final JsonRpcResponse response) {
+    return Json.encode(((JsonRpcSuccessResponse) response).getResult());
+  }
+
+  private BlockAddedEvent reorg() {
+    return BlockAddedEvent.createForChainReorg(
+        mock(Block.class), Collections.emptyList(), Collections.emptyList());
+  }
+
+  private static JsonRpcMethod method(final String name) {
+    final JsonRpcMethod method = mock(JsonRpcMethod.class);
+    when(method.getName()).thenReturn(name);
+    return method;
+  }
+
+  private static void returning(final JsonRpcMethod method, final Object result) {
+    when(method.response(any())).thenReturn(new JsonRpcSuccessResponse(null, result));
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
+
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLog;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
+import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.vertx.core.json.Json;
+import org.junit.Test;
+
+public class DebugTraceBlockByHashTest {
+
+  private final JsonRpcParameter parameters = new JsonRpcParameter();
+  private final TransactionTracer transactionTracer = mock(TransactionTracer.class);
+  private final DebugTraceBlockByHash debugTraceBlockByHash =
+      new DebugTraceBlockByHash(transactionTracer, parameters);
+  private final Transaction transaction = mock(Transaction.class);
+  private final Transaction otherTransaction = mock(Transaction.class);
+  private final Hash blockHash =
+      Hash.fromHexString("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+  private final TraceFrame traceFrame =
+      new TraceFrame(
+          12,
+          "NONE",
+          Gas.of(45),
+          Optional.of(Gas.of(56)),
+          2,
+          EnumSet.noneOf(ExceptionalHaltReason.class),
+          Optional.empty(),
+          Optional.empty(),
+          Optional.empty());
+
+  @Test
+  public void nameShouldBeDebugTraceBlock() {
+    assertEquals("debug_traceBlockByHash", debugTraceBlockByHash.getName());
+  }
+
+  @Test
+  public void shouldTraceEachTransactionOfTheBlockWithItsOwnStructLogs() {
+    final Object[] params = new Object[] {blockHash};
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "debug_traceBlockByHash", params);
+    final Result result = mock(Result.class);
+    when(transaction.getGasLimit()).thenReturn(100L);
+    when(otherTransaction.getGasLimit()).thenReturn(50L);
+    when(result.getGasRemaining()).thenReturn(27L);
+    when(result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
+    when(transactionTracer.traceBlock(eq(blockHash), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final Function<Transaction, Consumer<TraceFrame>> traceFrameConsumers =
+                  invocation.getArgument(2);
+              traceFrameConsumers.apply(transaction).accept(traceFrame);
+              traceFrameConsumers.apply(otherTransaction);
+              return Optional.of(
+                  Arrays.asList(
+                      new TransactionTrace(transaction, result, emptyList()),
+                      new TransactionTrace(otherTransaction, result, emptyList())));
+            });
+
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse) debugTraceBlockByHash.response(request);
+    @SuppressWarnings("unchecked")
+    final List<DebugTraceTransactionResult> results =
+        (List<DebugTraceTransactionResult>) response.getResult();
+
+    assertEquals(2, results.size());
+    assertEquals(73, results.get(0).getGas());
+    assertEquals(
+        Json.encode(Collections.singletonList(new StructLog(traceFrame))),
+        results.get(0).getStructLogs());
+    assertEquals(23, results.get(1).getGas());
+    assertEquals("[]", results.get(1).getStructLogs());
+  }
+
+  @Test
+  public void shouldReturnNullWhenBlockIsUnknown() {
+    final Object[] params = new Object[] {blockHash};
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "debug_traceBlockByHash", params);
+    when(transactionTracer.traceBlock(eq(blockHash), any(), any())).thenReturn(Optional.empty());
+
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse) debugTraceBlockByHash.response(request);
+
+    assertNull(response.getResult());
+  }
+
+  @Test
+  public void shouldReturnErrorWhenTracesOfTheBlockExceedMaximumSize() {
+    final DebugTraceBlockByHash boundedDebugTraceBlock =
+        new DebugTraceBlockByHash(transactionTracer, parameters, 10);
+    final Object[] params = new Object[] {blockHash};
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "debug_traceBlockByHash", params);
+    when(transactionTracer.traceBlock(eq(blockHash), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final Function<Transaction, Consumer<TraceFrame>> traceFrameConsumers =
+                  invocation.getArgument(2);
+              traceFrameConsumers.apply(transaction).accept(traceFrame);
+              return Optional.empty();
+            });
+
+    final JsonRpcResponse response = boundedDebugTraceBlock.response(request);
+
+    assertEquals(
+        new JsonRpcErrorResponse(request.getId(), JsonRpcError.TRACE_SIZE_EXCEEDED), response);
+  }
+}
@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
 
+import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -29,6 +30,9 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrac
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLog;
@@ -42,7 +46,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import io.vertx.core.json.Json;
 import org.junit.Test;
 
 public class DebugTraceTransactionTest {
@@ -88,7 +94,7 @@ public class DebugTraceTransactionTest {
             Optional.empty());
     final List<TraceFrame> traceFrames = Collections.singletonList(traceFrame);
     final TransactionTrace transactionTrace =
-        new TransactionTrace(transaction, result, traceFrames);
+        new TransactionTrace(transaction, result, emptyList());
     when(transaction.getGasLimit()).thenReturn(100L);
     when(result.getGasRemaining()).thenReturn(27L);
     when(result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
@@ -96,8 +102,13 @@ public class DebugTraceTransactionTest {
     when(blockchain.headBlockNumber()).thenReturn(12L);
     when(blockchain.transactionByHash(transactionHash))
         .thenReturn(Optional.of(transactionWithMetadata));
-    when(transactionTracer.traceTransaction(eq(blockHash), eq(transactionHash), any()))
-        .thenReturn(Optional.of(transactionTrace));
+    when(transactionTracer.traceTransaction(eq(blockHash), eq(transactionHash), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final Consumer<TraceFrame> traceFrameConsumer = invocation.getArgument(3);
+              traceFrames.forEach(traceFrameConsumer);
+              return Optional.of(transactionTrace);
+            });
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceTransaction.response(request);
     final DebugTraceTransactionResult transactionResult =
@@ -106,6 +117,42 @@ public class DebugTraceTransactionTest {
     assertEquals(73, transactionResult.getGas());
     assertEquals("1234", transactionResult.getReturnValue());
     final List<StructLog> expectedStructLogs = Collections.singletonList(new StructLog(traceFrame));
-    assertEquals(expectedStructLogs, transactionResult.getStructLogs());
+    assertEquals(Json.encode(expectedStructLogs), transactionResult.getStructLogs());
+  }
+
+  @Test
+  public void shouldReturnErrorWhenTraceExceedsMaximumSize() {
+    final DebugTraceTransaction boundedDebugTraceTransaction =
+        new DebugTraceTransaction(blockchain, transactionTracer, parameters, 10);
+    final TransactionWithMetadata transactionWithMetadata =
+        new TransactionWithMetadata(transaction, 12L, blockHash, 2);
+    final Object[] params = new Object[] {transactionHash};
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "debug_traceTransaction", params);
+    final TraceFrame traceFrame =
+        new TraceFrame(
+            12,
+            "NONE",
+            Gas.of(45),
+            Optional.of(Gas.of(56)),
+            2,
+            EnumSet.noneOf(ExceptionalHaltReason.class),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty());
+    when(blockchain.transactionByHash(transactionHash))
+        .thenReturn(Optional.of(transactionWithMetadata));
+    when(transactionTracer.traceTransaction(eq(blockHash), eq(transactionHash), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final Consumer<TraceFrame> traceFrameConsumer = invocation.getArgument(3);
+              traceFrameConsumer.accept(traceFrame);
+              return Optional.of(
+                  new TransactionTrace(transaction, mock(Result.class), emptyList()));
+            });
+
+    final JsonRpcResponse response = boundedDebugTraceTransaction.response(request);
+
+    assertEquals(
+        new JsonRpcErrorResponse(request.getId(), JsonRpcError.TRACE_SIZE_EXCEEDED), response);
   }
 }
@@ -13,8 +13,12 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
@@ -22,6 +26,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.CallParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.PreparedTransientTransaction;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessingResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessor;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
@@ -30,6 +35,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResp
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.Quantity;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 import java.util.Optional;
 
@@ -42,24 +48,29 @@ import org.mockito.junit.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class EthEstimateGasTest {
 
+  private static final long BLOCK_GAS_LIMIT = 8_000_000L;
+
   private EthEstimateGas method;
 
   @Mock private BlockHeader blockHeader;
   @Mock private Blockchain blockchain;
   @Mock private BlockchainQueries blockchainQueries;
   @Mock private TransientTransactionProcessor transientTransactionProcessor;
+  @Mock private PreparedTransientTransaction preparedTransaction;
 
   @Before
   public void setUp() {
     when(blockchainQueries.headBlockNumber()).thenReturn(1L);
     when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
     when(blockchain.getBlockHeader(eq(1L))).thenReturn(Optional.of(blockHeader));
-    when(blockHeader.getGasLimit()).thenReturn(Long.MAX_VALUE);
     when(blockHeader.getNumber()).thenReturn(1L);
 
     method =
         new EthEstimateGas(
-            blockchainQueries, transientTransactionProcessor, new JsonRpcParameter());
+            blockchainQueries,
+            transientTransactionProcessor,
+            new JsonRpcParameter(),
+            new NoOpMetricsSystem());
   }
 
   @Test
@@ -70,7 +81,8 @@ public class EthEstimateGasTest {
   @Test
   public void shouldReturnErrorWhenTransientTransactionProcessorReturnsEmpty() {
     final JsonRpcRequest request = ethEstimateGasRequest(callParameter());
-    when(transientTransactionProcessor.process(eq(modifiedCallParameter()), eq(1L)))
+    when(blockHeader.getGasLimit()).thenReturn(BLOCK_GAS_LIMIT);
+    when(transientTransactionProcessor.prepare(eq(modifiedCallParameter(BLOCK_GAS_LIMIT)), eq(1L)))
         .thenReturn(Optional.empty());
 
     final JsonRpcResponse expectedResponse =
@@ -80,29 +92,79 @@ public class EthEstimateGasTest {
   }
 
   @Test
-  public void shouldReturnGasEstimateWhenTransientTransactionProcessorReturnsResult() {
+  public void shouldReturnGasUsedWhenCallSucceedsWithIt() {
+    final JsonRpcRequest request = ethEstimateGasRequest(callParameter());
+    mockCallNeedingGas(BLOCK_GAS_LIMIT, 21_000L, 21_000L);
+
+    final JsonRpcResponse expectedResponse =
+        new JsonRpcSuccessResponse(null, Quantity.create(21_000L));
+
+    assertThat(method.response(request)).isEqualToComparingFieldByField(expectedResponse);
+    verify(preparedTransaction).process(BLOCK_GAS_LIMIT);
+    verify(preparedTransaction).process(21_000L);
+    verify(preparedTransaction, times(2)).process(anyLong());
+  }
+
+  @Test
+  public void shouldSearchForLowestSuccessfulGasLimitWhenCallFailsWithGasUsed() {
+    final JsonRpcRequest request = ethEstimateGasRequest(callParameter());
+    mockCallNeedingGas(BLOCK_GAS_LIMIT, 30_000L, 25_000L);
+
+    final JsonRpcResponse expectedResponse =
+        new JsonRpcSuccessResponse(null, Quantity.create(30_000L));
+
+    assertThat(method.response(request)).isEqualToComparingFieldByField(expectedResponse);
+  }
+
+  @Test
+  public void shouldBoundSearchIterations() {
     final JsonRpcRequest request = ethEstimateGasRequest(callParameter());
-    mockTransientProcessorResultGasEstimate(1L);
+    mockCallNeedingGas(Long.MAX_VALUE, Long.MAX_VALUE - 1, 1L);
 
-    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, Quantity.create(1L));
+    final JsonRpcResponse expectedResponse =
+        new JsonRpcSuccessResponse(null, Quantity.create(Long.MAX_VALUE));
+
+    assertThat(method.response(request)).isEqualToComparingFieldByField(expectedResponse);
+    // One execution with the block gas limit, one with the gas used, then the search itself.
+    verify(preparedTransaction, times(2 + 32)).process(anyLong());
+  }
+
+  @Test
+  public void shouldReturnGasUsedWithoutSearchingWhenCallFailsWithBlockGasLimit() {
+    final JsonRpcRequest request = ethEstimateGasRequest(callParameter());
+    mockCallNeedingGas(BLOCK_GAS_LIMIT, BLOCK_GAS_LIMIT + 1, 50_000L);
+
+    final JsonRpcResponse expectedResponse =
+        new JsonRpcSuccessResponse(null, Quantity.create(50_000L));
 
     assertThat(method.response(request)).isEqualToComparingFieldByField(expectedResponse);
+    verify(preparedTransaction, times(1)).process(anyLong());
   }
 
-  private void mockTransientProcessorResultGasEstimate(final long gasEstimate) {
-    final TransientTransactionProcessingResult result =
-        mock(TransientTransactionProcessingResult.class);
-    when(result.getGasEstimate()).thenReturn(gasEstimate);
-    when(transientTransactionProcessor.process(eq(modifiedCallParameter()), eq(1L)))
-        .thenReturn(Optional.of(result));
+  private void mockCallNeedingGas(
+      final long blockGasLimit, final long gasNeeded, final long gasUsed) {
+    when(blockHeader.getGasLimit()).thenReturn(blockGasLimit);
+    when(transientTransactionProcessor.prepare(eq(modifiedCallParameter(blockGasLimit)), eq(1L)))
+        .thenReturn(Optional.of(preparedTransaction));
+    when(preparedTransaction.process(anyLong()))
+        .thenAnswer(
+            invocation -> {
+              final long gasLimit = invocation.getArgument(0);
+              final TransientTransactionProcessingResult result =
+                  mock(TransientTransactionProcessingResult.class);
+              // Not every execution needs both of its gas used and outcome.
+              lenient().when(result.isSuccessful()).thenReturn(gasLimit >= gasNeeded);
+              lenient().when(result.getGasEstimate()).thenReturn(Math.min(gasUsed, gasLimit));
+              return result;
+            });
   }
 
   private CallParameter callParameter() {
     return new CallParameter("0x0", "0x0", "0x0", "0x0", "0x0", "");
   }
 
-  private CallParameter modifiedCallParameter() {
-    return new CallParameter("0x0", "0x0", Quantity.create(Long.MAX_VALUE), "0x0", "0x0", "");
+  private CallParameter modifiedCallParameter(final long gasLimit) {
+    return new CallParameter("0x0", "0x0", Quantity.create(gasLimit), "0x0", "0x0", "");
   }
 
   private JsonRpcRequest ethEstimateGasRequest(final CallParameter callParameter) {
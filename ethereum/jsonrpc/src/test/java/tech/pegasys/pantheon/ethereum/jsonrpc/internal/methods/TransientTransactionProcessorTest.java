@@ -16,6 +16,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +30,7 @@ import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.CallParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.PreparedTransientTransaction;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessingResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessor;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
@@ -187,6 +189,37 @@ public class TransientTransactionProcessorTest {
     verifyTransactionWasProcessed(expectedTransaction);
   }
 
+  @Test
+  public void shouldReuseWorldStateWhenProcessingPreparedTransactionRepeatedly() {
+    final CallParameter callParameter = callParameter();
+
+    mockBlockchainForBlockHeader(Hash.ZERO, 1L);
+    mockWorldStateForAccount(Hash.ZERO, callParameter.getFrom(), 1L);
+    final Transaction.Builder transactionBuilder =
+        Transaction.builder()
+            .nonce(1L)
+            .gasPrice(callParameter.getGasPrice())
+            .to(callParameter.getTo())
+            .sender(callParameter.getFrom())
+            .value(callParameter.getValue())
+            .payload(callParameter.getPayload())
+            .signature(FAKE_SIGNATURE);
+    final Transaction lowGasTransaction = transactionBuilder.gasLimit(21_000L).build();
+    final Transaction highGasTransaction = transactionBuilder.gasLimit(50_000L).build();
+    mockProcessorStatusForTransaction(1L, lowGasTransaction, Status.FAILED, null);
+    mockProcessorStatusForTransaction(1L, highGasTransaction, Status.SUCCESSFUL, null);
+
+    final PreparedTransientTransaction transaction =
+        transientTransactionProcessor.prepare(callParameter, 1L).get();
+
+    assertThat(transaction.process(21_000L).isSuccessful()).isFalse();
+    assertThat(transaction.process(50_000L).isSuccessful()).isTrue();
+    verifyTransactionWasProcessed(lowGasTransaction);
+    verifyTransactionWasProcessed(highGasTransaction);
+    verify(worldStateArchive).getMutable(Hash.ZERO);
+    verify(worldState, times(2)).updater();
+  }
+
   private void mockWorldStateForAccount(
       final Hash stateRoot, final Address address, final long nonce) {
     final Account account = mock(Account.class);
@@ -16,6 +16,9 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
@@ -27,12 +30,15 @@ import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage;
 import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -132,6 +138,7 @@ public class TransactionTracerTest {
 
     when(blockBody.getTransactions()).thenReturn(Arrays.asList(otherTransaction, transaction));
     when(blockchain.getBlockBody(blockHash)).thenReturn(Optional.of(blockBody));
+    when(mutableWorldState.updater()).thenReturn(mock(WorldUpdater.class));
     final List<TraceFrame> traceFrames = Collections.singletonList(mock(TraceFrame.class));
     when(tracer.getTraceFrames()).thenReturn(traceFrames);
 
@@ -195,4 +202,59 @@ public class TransactionTracerTest {
 
     assertEquals(Optional.empty(), transactionTrace);
   }
+
+  @Test
+  public void traceBlockShouldTraceEveryTransactionInASinglePass() {
+    final Result result = mock(Result.class);
+    givenBlockWithStateInMemory();
+    when(transactionProcessor.processTransaction(any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(result);
+
+    final Optional<List<TransactionTrace>> transactionTraces =
+        transactionTracer.traceBlock(blockHash, TraceOptions.DEFAULT, transaction -> frame -> {});
+
+    assertEquals(2, transactionTraces.get().size());
+    assertEquals(otherTransaction, transactionTraces.get().get(0).getTransaction());
+    assertEquals(transaction, transactionTraces.get().get(1).getTransaction());
+    assertEquals(result, transactionTraces.get().get(1).getResult());
+    verify(transactionProcessor, times(2))
+        .processTransaction(any(), any(), any(), any(), any(), any(), any());
+    verify(worldStateArchive, never()).getMutable(any());
+  }
+
+  @Test
+  public void traceTransactionShouldStartFromCheckpointOfRecentlyReplayedBlock() {
+    givenBlockWithStateInMemory();
+    transactionTracer.traceBlock(blockHash, TraceOptions.DEFAULT, transaction -> frame -> {});
+
+    final Optional<TransactionTrace> transactionTrace =
+        transactionTracer.traceTransaction(blockHash, transactionHash, tracer);
+
+    assertEquals(transaction, transactionTrace.get().getTransaction());
+    // The preceding transaction is not replayed again
+    verify(transactionProcessor, never())
+        .processTransaction(any(), any(), any(), any(), any(), any());
+    verify(worldStateArchive, never()).getMutable(any());
+  }
+
+  @Test
+  public void traceBlockShouldReturnEmptyWhenBlockIsNotAvailable() {
+    when(blockchain.getBlockHeader(blockHash)).thenReturn(Optional.of(blockHeader));
+    when(blockchain.getBlockBody(blockHash)).thenReturn(Optional.empty());
+
+    final Optional<List<TransactionTrace>> transactionTraces =
+        transactionTracer.traceBlock(blockHash, TraceOptions.DEFAULT, transaction -> frame -> {});
+
+    assertEquals(Optional.empty(), transactionTraces);
+  }
+
+  private void givenBlockWithStateInMemory() {
+    when(blockchain.getBlockHeader(blockHash)).thenReturn(Optional.of(blockHeader));
+    when(blockchain.getBlockHeader(previousBlockHash)).thenReturn(Optional.of(previousBlockHeader));
+    when(blockBody.getTransactions()).thenReturn(Arrays.asList(otherTransaction, transaction));
+    when(blockchain.getBlockBody(blockHash)).thenReturn(Optional.of(blockBody));
+    when(previousBlockHeader.getStateRoot()).thenReturn(Hash.EMPTY_TRIE_HASH);
+    when(worldStateArchive.getStorage())
+        .thenReturn(new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage()));
+  }
 }
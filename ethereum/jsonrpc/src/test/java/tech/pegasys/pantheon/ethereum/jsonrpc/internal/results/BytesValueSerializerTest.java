@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.vertx.core.json.Json;
+import org.junit.Test;
+
+public class BytesValueSerializerTest {
+
+  @Test
+  public void shouldWriteSameHexAsToString() {
+    final BytesValue value = BytesValue.fromHexString("0x00ff10a7c3");
+
+    assertThat(Json.encode(new Holder(value))).isEqualTo("{\"value\":\"" + value + "\"}");
+  }
+
+  @Test
+  public void shouldWriteEmptyValue() {
+    assertThat(Json.encode(new Holder(BytesValue.EMPTY))).isEqualTo("{\"value\":\"0x\"}");
+  }
+
+  private static class Holder {
+    private final BytesValue value;
+
+    Holder(final BytesValue value) {
+      this.value = value;
+    }
+
+    @JsonSerialize(using = BytesValueSerializer.class)
+    public BytesValue getValue() {
+      return value;
+    }
+  }
+}
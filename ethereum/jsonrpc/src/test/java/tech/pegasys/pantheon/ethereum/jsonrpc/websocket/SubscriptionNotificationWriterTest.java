@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.metrics.Counter;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.ServerWebSocket;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+public class SubscriptionNotificationWriterTest {
+
+  private final ServerWebSocket websocket = mock(ServerWebSocket.class);
+  private final Counter slowConsumersCounter = mock(Counter.class);
+  private SubscriptionNotificationWriter writer;
+  private Handler<Void> drainHandler;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    writer = new SubscriptionNotificationWriter(websocket, 2, slowConsumersCounter);
+    final ArgumentCaptor<Handler<Void>> captor = ArgumentCaptor.forClass(Handler.class);
+    verify(websocket).drainHandler(captor.capture());
+    drainHandler = captor.getValue();
+  }
+
+  @Test
+  public void shouldWriteNotificationWhenWriteQueueIsNotFull() {
+    writer.write("a");
+
+    verify(websocket).writeTextMessage("a");
+    assertThat(writer.backlogSize()).isZero();
+  }
+
+  @Test
+  public void shouldHoldNotificationsUntilWriteQueueDrains() {
+    when(websocket.writeQueueFull()).thenReturn(true);
+    writer.write("a");
+    writer.write("b");
+
+    verify(websocket, never()).writeTextMessage(any());
+    assertThat(writer.backlogSize()).isEqualTo(2);
+
+    when(websocket.writeQueueFull()).thenReturn(false);
+    drainHandler.handle(null);
+
+    final InOrder inOrder = Mockito.inOrder(websocket);
+    inOrder.verify(websocket).writeTextMessage("a");
+    inOrder.verify(websocket).writeTextMessage("b");
+    assertThat(writer.backlogSize()).isZero();
+  }
+
+  @Test
+  public void shouldCloseSlowConsumer() {
+    when(websocket.writeQueueFull()).thenReturn(true);
+    writer.write("a");
+    writer.write("b");
+    writer.write("c");
+
+    verify(websocket).close();
+    verify(slowConsumersCounter).inc();
+    assertThat(writer.backlogSize()).isZero();
+
+    writer.write("d");
+    verify(websocket, never()).writeTextMessage(any());
+  }
+}
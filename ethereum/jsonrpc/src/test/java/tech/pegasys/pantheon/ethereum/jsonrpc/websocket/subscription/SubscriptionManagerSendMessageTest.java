@@ -15,11 +15,14 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription;
 import static junit.framework.TestCase.fail;
 import static org.mockito.Mockito.mock;
 
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.JsonRpcResult;
+import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.pending.PendingTransactionResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscribeRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscriptionType;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.response.SubscriptionResponse;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 import io.vertx.core.Vertx;
@@ -62,7 +65,7 @@ public class SubscriptionManagerSendMessageTest {
 
     vertx
         .eventBus()
-        .consumer(connectionId)
+        .consumer(SubscriptionManager.notificationsAddress(connectionId))
         .handler(
             msg -> {
               context.assertEquals(Json.encode(expectedResponse), msg.body());
@@ -73,6 +76,48 @@ public class SubscriptionManagerSendMessageTest {
     async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
   }
 
+  @Test
+  public void shouldBroadcastMessageToEachSubscriptionOnItsConnection(final TestContext context) {
+    final String connectionId1 = UUID.randomUUID().toString();
+    final String connectionId2 = UUID.randomUUID().toString();
+    final Long subscriptionId1 =
+        subscriptionManager.subscribe(
+            new SubscribeRequest(
+                SubscriptionType.NEW_PENDING_TRANSACTIONS, null, null, connectionId1));
+    final Long subscriptionId2 =
+        subscriptionManager.subscribe(
+            new SubscribeRequest(
+                SubscriptionType.NEW_PENDING_TRANSACTIONS, null, null, connectionId2));
+    final JsonRpcResult result = new PendingTransactionResult(Hash.ZERO);
+
+    final Async async = context.async(2);
+
+    vertx
+        .eventBus()
+        .consumer(SubscriptionManager.notificationsAddress(connectionId1))
+        .handler(
+            msg -> {
+              context.assertEquals(
+                  Json.encode(new SubscriptionResponse(subscriptionId1, result)), msg.body());
+              async.countDown();
+            });
+    vertx
+        .eventBus()
+        .consumer(SubscriptionManager.notificationsAddress(connectionId2))
+        .handler(
+            msg -> {
+              context.assertEquals(
+                  Json.encode(new SubscriptionResponse(subscriptionId2, result)), msg.body());
+              async.countDown();
+            })
+        .completionHandler(
+            v ->
+                subscriptionManager.broadcastMessage(
+                    Arrays.asList(subscriptionId1, subscriptionId2), result));
+
+    async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
+
   @Test
   public void shouldNotSendMessageOnTheConnectionIdEventBusAddressForAbsentSubscription(
       final TestContext context) {
@@ -82,7 +127,7 @@ public class SubscriptionManagerSendMessageTest {
 
     vertx
         .eventBus()
-        .consumer(connectionId)
+        .consumer(SubscriptionManager.notificationsAddress(connectionId))
         .handler(
             msg -> {
               fail("Shouldn't receive message");
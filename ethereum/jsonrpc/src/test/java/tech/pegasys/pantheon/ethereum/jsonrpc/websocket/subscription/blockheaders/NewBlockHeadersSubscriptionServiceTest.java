@@ -36,6 +36,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.Subscriptio
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -54,7 +55,7 @@ public class NewBlockHeadersSubscriptionServiceTest {
 
   private NewBlockHeadersSubscriptionService newBlockHeadersSubscriptionService;
 
-  @Captor ArgumentCaptor<Long> subscriptionIdCaptor;
+  @Captor ArgumentCaptor<Collection<Long>> subscriptionIdsCaptor;
   @Captor ArgumentCaptor<JsonRpcResult> responseCaptor;
 
   @Mock private SubscriptionManager subscriptionManager;
@@ -85,14 +86,14 @@ public class NewBlockHeadersSubscriptionServiceTest {
     simulateAddingBlock();
 
     verify(subscriptionManager)
-        .sendMessage(subscriptionIdCaptor.capture(), responseCaptor.capture());
-    final Long actualSubscriptionId = subscriptionIdCaptor.getValue();
+        .broadcastMessage(subscriptionIdsCaptor.capture(), responseCaptor.capture());
+    final Collection<Long> actualSubscriptionIds = subscriptionIdsCaptor.getValue();
     final Object actualBlock = responseCaptor.getValue();
 
-    assertThat(actualSubscriptionId).isEqualTo(subscription.getId());
+    assertThat(actualSubscriptionIds).containsExactly(subscription.getId());
     assertThat(actualBlock).isEqualToComparingFieldByFieldRecursively(expectedNewBlock);
 
-    verify(subscriptionManager, times(1)).sendMessage(any(), any());
+    verify(subscriptionManager, times(1)).broadcastMessage(any(), any());
   }
 
   @Test
@@ -109,17 +110,17 @@ public class NewBlockHeadersSubscriptionServiceTest {
     simulateAddingBlock();
 
     verify(subscriptionManager)
-        .sendMessage(subscriptionIdCaptor.capture(), responseCaptor.capture());
-    final Long actualSubscriptionId = subscriptionIdCaptor.getValue();
+        .broadcastMessage(subscriptionIdsCaptor.capture(), responseCaptor.capture());
+    final Collection<Long> actualSubscriptionIds = subscriptionIdsCaptor.getValue();
     final Object actualBlock = responseCaptor.getValue();
 
-    assertThat(actualSubscriptionId).isEqualTo(subscription.getId());
+    assertThat(actualSubscriptionIds).containsExactly(subscription.getId());
     assertThat(actualBlock).isInstanceOf(BlockResult.class);
     final BlockResult actualBlockResult = (BlockResult) actualBlock;
     assertThat(actualBlockResult.getTransactions()).hasSize(txHashList.size());
     assertThat(actualBlock).isEqualToComparingFieldByFieldRecursively(expectedNewBlock);
 
-    verify(subscriptionManager, times(1)).sendMessage(any(), any());
+    verify(subscriptionManager, times(1)).broadcastMessage(any(), any());
     verify(blockchainQueries, times(1)).blockByHashWithTxHashes(any());
     verify(blockchainQueries, times(0)).blockByHash(any());
   }
@@ -140,21 +141,45 @@ public class NewBlockHeadersSubscriptionServiceTest {
     simulateAddingBlock();
 
     verify(subscriptionManager)
-        .sendMessage(subscriptionIdCaptor.capture(), responseCaptor.capture());
-    final Long actualSubscriptionId = subscriptionIdCaptor.getValue();
+        .broadcastMessage(subscriptionIdsCaptor.capture(), responseCaptor.capture());
+    final Collection<Long> actualSubscriptionIds = subscriptionIdsCaptor.getValue();
     final Object actualBlock = responseCaptor.getValue();
 
-    assertThat(actualSubscriptionId).isEqualTo(subscription.getId());
+    assertThat(actualSubscriptionIds).containsExactly(subscription.getId());
     assertThat(actualBlock).isInstanceOf(BlockResult.class);
     final BlockResult actualBlockResult = (BlockResult) actualBlock;
     assertThat(actualBlockResult.getTransactions()).hasSize(txHashList.size());
     assertThat(actualBlock).isEqualToComparingFieldByFieldRecursively(expectedNewBlock);
 
-    verify(subscriptionManager, times(1)).sendMessage(any(), any());
+    verify(subscriptionManager, times(1)).broadcastMessage(any(), any());
     verify(blockchainQueries, times(0)).blockByHashWithTxHashes(any());
     verify(blockchainQueries, times(1)).blockByHash(any());
   }
 
+  @Test
+  public void shouldBuildBlockOnceForAllSubscriptionsWithSameParameter() {
+    final List<NewBlockHeadersSubscription> subscriptions =
+        Lists.newArrayList(
+            new NewBlockHeadersSubscription(1L, false),
+            new NewBlockHeadersSubscription(2L, false),
+            new NewBlockHeadersSubscription(3L, true));
+    when(subscriptionManager.subscriptionsOfType(any(), any())).thenReturn(subscriptions);
+    final BlockWithMetadata<Hash, Hash> testBlockWithMetadata =
+        new BlockWithMetadata<>(
+            blockHeader, Collections.emptyList(), Collections.emptyList(), UInt256.ONE, 1);
+    when(blockchainQueries.blockByHashWithTxHashes(testBlockWithMetadata.getHeader().getHash()))
+        .thenReturn(Optional.of(testBlockWithMetadata));
+
+    simulateAddingBlock();
+
+    verify(subscriptionManager, times(2))
+        .broadcastMessage(subscriptionIdsCaptor.capture(), responseCaptor.capture());
+    assertThat(subscriptionIdsCaptor.getAllValues())
+        .containsExactlyInAnyOrder(Lists.newArrayList(1L, 2L), Lists.newArrayList(3L));
+    verify(blockchainQueries, times(1)).blockByHashWithTxHashes(any());
+    verify(blockchainQueries, times(1)).blockByHash(any());
+  }
+
   private void simulateAddingBlock() {
     final BlockBody blockBody = new BlockBody(Collections.emptyList(), Collections.emptyList());
     final Block testBlock = new Block(blockHeader, blockBody);
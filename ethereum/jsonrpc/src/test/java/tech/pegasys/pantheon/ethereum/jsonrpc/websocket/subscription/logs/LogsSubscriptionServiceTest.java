@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.logs;
 
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
@@ -80,7 +82,8 @@ public class LogsSubscriptionServiceTest {
 
     logsSubscriptionService.onBlockAdded(createBlockAddedEvent(transaction, null), blockchain);
 
-    verify(subscriptionManager).sendMessage(eq(subscription.getId()), refEq(expectedLogResult));
+    verify(subscriptionManager)
+        .broadcastMessage(eq(singletonList(subscription.getId())), refEq(expectedLogResult));
   }
 
   @Test
@@ -93,7 +96,8 @@ public class LogsSubscriptionServiceTest {
 
     logsSubscriptionService.onBlockAdded(createBlockAddedEvent(null, transaction), blockchain);
 
-    verify(subscriptionManager).sendMessage(eq(subscription.getId()), refEq(expectedLogResult));
+    verify(subscriptionManager)
+        .broadcastMessage(eq(singletonList(subscription.getId())), refEq(expectedLogResult));
   }
 
   @Test
@@ -109,7 +113,8 @@ public class LogsSubscriptionServiceTest {
 
     final int totalOfLogs = addedTransactions.size() + removedTransactions.size();
 
-    verify(subscriptionManager, times(totalOfLogs)).sendMessage(eq(subscription.getId()), any());
+    verify(subscriptionManager, times(totalOfLogs))
+        .broadcastMessage(eq(singletonList(subscription.getId())), any());
   }
 
   @Test
@@ -122,8 +127,10 @@ public class LogsSubscriptionServiceTest {
 
     logsSubscriptionService.onBlockAdded(createBlockAddedEvent(transaction, null), blockchain);
 
-    verify(subscriptionManager, times(subscriptions.size()))
-        .sendMessage(any(), refEq(expectedLogResult));
+    verify(subscriptionManager)
+        .broadcastMessage(
+            eq(subscriptions.stream().map(LogsSubscription::getId).collect(toList())),
+            refEq(expectedLogResult));
   }
 
   @Test
@@ -135,7 +142,7 @@ public class LogsSubscriptionServiceTest {
         createBlockAddedEvent(Collections.emptyList(), Collections.emptyList()), blockchain);
 
     verify(subscriptionManager).subscriptionsOfType(any(), any());
-    verify(subscriptionManager, times(0)).sendMessage(any(), any());
+    verify(subscriptionManager, times(0)).broadcastMessage(any(), any());
   }
 
   @Test
@@ -148,7 +155,7 @@ public class LogsSubscriptionServiceTest {
     logsSubscriptionService.onBlockAdded(createBlockAddedEvent(transaction, null), blockchain);
 
     verify(subscriptionManager).subscriptionsOfType(any(), any());
-    verify(subscriptionManager, times(0)).sendMessage(any(), any());
+    verify(subscriptionManager, times(0)).broadcastMessage(any(), any());
   }
 
   private Transaction createTransaction() {
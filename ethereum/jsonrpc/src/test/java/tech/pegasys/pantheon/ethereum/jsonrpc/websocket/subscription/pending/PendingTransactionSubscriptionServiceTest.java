@@ -13,7 +13,7 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.pending;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -74,11 +74,11 @@ public class PendingTransactionSubscriptionServiceTest {
     verify(subscriptionManager)
         .subscriptionsOfType(SubscriptionType.NEW_PENDING_TRANSACTIONS, Subscription.class);
 
-    for (final Map.Entry<Long, Hash> message : expected.entrySet()) {
-      verify(subscriptionManager)
-          .sendMessage(
-              eq(message.getKey()), refEq(new PendingTransactionResult(message.getValue())));
-    }
+    final Hash result = expected.values().iterator().next();
+    verify(subscriptionManager)
+        .broadcastMessage(
+            argThat(ids -> ids.containsAll(expected.keySet()) && ids.size() == expected.size()),
+            refEq(new PendingTransactionResult(result)));
 
     verifyNoMoreInteractions(subscriptionManager);
   }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.discovery;
+
+import tech.pegasys.pantheon.util.TokenBucket;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Limits the rate of packets accepted from each remote host. Each host may send a burst of up to a
+ * second's worth of packets, after which packets are accepted at the configured rate. Hosts that
+ * stop sending are forgotten after a minute, and at most {@code maxTrackedHosts} are tracked.
+ */
+class HostRateLimiter {
+
+  private final LoadingCache<String, TokenBucket> limiters;
+
+  HostRateLimiter(final double packetsPerSecond, final int maxTrackedHosts) {
+    this(packetsPerSecond, maxTrackedHosts, Ticker.systemTicker());
+  }
+
+  HostRateLimiter(final double packetsPerSecond, final int maxTrackedHosts, final Ticker ticker) {
+    limiters =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxTrackedHosts)
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .ticker(ticker)
+            .build(
+                CacheLoader.from(
+                    () ->
+                        new TokenBucket(
+                            Math.max(1, packetsPerSecond), packetsPerSecond, ticker)));
+  }
+
+  /**
+   * Records a packet from the given host.
+   *
+   * @param host the address of the host the packet was received from
+   * @return true if the packet should be handled, false if the host has exceeded its rate
+   */
+  boolean tryAcquire(final String host) {
+    return limiters.getUnchecked(host).tryAcquire();
+  }
+}
@@ -24,8 +24,13 @@ import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.VertxTimerUtil;
 import tech.pegasys.pantheon.ethereum.p2p.peers.Endpoint;
 import tech.pegasys.pantheon.ethereum.p2p.peers.PeerBlacklist;
 import tech.pegasys.pantheon.ethereum.p2p.permissioning.NodeWhitelistController;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
 import tech.pegasys.pantheon.util.NetworkUtility;
-import tech.pegasys.pantheon.util.Preconditions;
 
 import java.io.IOException;
 import java.net.BindException;
@@ -33,9 +38,11 @@ import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.datagram.DatagramPacket;
 import io.vertx.core.datagram.DatagramSocket;
 import io.vertx.core.datagram.DatagramSocketOptions;
@@ -45,20 +52,67 @@ import org.apache.logging.log4j.Logger;
 public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
   private static final Logger LOG = LogManager.getLogger();
 
+  // Recovering the public key from a packet's signature is the costly part of handling it, so it
+  // is done off the event loop by a few dedicated threads. Packets arriving faster than they can
+  // be verified are dropped rather than queued, as are those from a host sending too many.
+  private static final int PACKET_VERIFIER_THREADS = 2;
+  private static final int MAX_PENDING_PACKETS = 1024;
+  private static final double MAX_PACKETS_PER_SECOND_PER_HOST = 50;
+  private static final int MAX_TRACKED_HOSTS = 10_000;
+  private static final AtomicInteger AGENT_COUNT = new AtomicInteger();
+
   private final Vertx vertx;
   /* The vert.x UDP socket. */
   private DatagramSocket socket;
 
+  private final WorkerExecutor packetVerifier;
+  private final AtomicInteger pendingPackets = new AtomicInteger();
+  private final HostRateLimiter hostRateLimiter =
+      new HostRateLimiter(MAX_PACKETS_PER_SECOND_PER_HOST, MAX_TRACKED_HOSTS);
+
+  private final LabelledMetric<Counter> inboundPacketsCounter;
+  private final LabelledMetric<Counter> droppedPacketsCounter;
+  private final OperationTimer packetVerificationTimer;
+
   public VertxPeerDiscoveryAgent(
       final Vertx vertx,
       final KeyPair keyPair,
       final DiscoveryConfiguration config,
       final PeerRequirement peerRequirement,
       final PeerBlacklist peerBlacklist,
-      final NodeWhitelistController nodeWhitelistController) {
+      final NodeWhitelistController nodeWhitelistController,
+      final MetricsSystem metricsSystem) {
     super(keyPair, config, peerRequirement, peerBlacklist, nodeWhitelistController);
     checkArgument(vertx != null, "vertx instance cannot be null");
     this.vertx = vertx;
+    // Worker executors with the same name share one pool, which closing it would shut down for
+    // every agent on this Vertx instance, so each agent gets its own.
+    this.packetVerifier =
+        vertx.createSharedWorkerExecutor(
+            "discovery-packet-verifier-" + AGENT_COUNT.incrementAndGet(), PACKET_VERIFIER_THREADS);
+
+    inboundPacketsCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.NETWORK,
+            "discovery_packets_inbound",
+            "Count of each peer discovery packet received and verified.",
+            "type");
+    droppedPacketsCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.NETWORK,
+            "discovery_packets_dropped",
+            "Count of peer discovery packets discarded before being handled.",
+            "reason");
+    packetVerificationTimer =
+        metricsSystem.createTimer(
+            MetricCategory.NETWORK,
+            "discovery_packet_verification_latency_seconds",
+            "Time taken to decode a peer discovery packet and recover its signer.");
+    metricsSystem.createGauge(
+        MetricCategory.NETWORK,
+        "discovery_packets_pending_verification",
+        "Number of peer discovery packets waiting to be verified.",
+        () -> (double) pendingPackets.get());
   }
 
   @Override
@@ -135,6 +189,7 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
 
   @Override
   public CompletableFuture<?> stop() {
+    packetVerifier.close();
     if (socket == null) {
       return CompletableFuture.completedFuture(null);
     }
@@ -172,23 +227,50 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
    * @param datagram the received datagram.
    */
   private void handlePacket(final DatagramPacket datagram) {
+    final int length = datagram.data().length();
+    if (!validatePacketSize(length)) {
+      LOG.debug("Discarding peer discovery packet that is too large: {} bytes", length);
+      droppedPacketsCounter.labels("too_large").inc();
+      return;
+    }
+    if (!hostRateLimiter.tryAcquire(datagram.sender().host())) {
+      droppedPacketsCounter.labels("rate_limited").inc();
+      return;
+    }
+    if (pendingPackets.incrementAndGet() > MAX_PENDING_PACKETS) {
+      pendingPackets.decrementAndGet();
+      droppedPacketsCounter.labels("queue_full").inc();
+      return;
+    }
+
+    packetVerifier.<Packet>executeBlocking(
+        future -> {
+          try (final TimingContext ignored = packetVerificationTimer.startTimer()) {
+            future.complete(Packet.decode(datagram.data()));
+          }
+        },
+        false,
+        result -> {
+          pendingPackets.decrementAndGet();
+          if (result.succeeded()) {
+            handleVerifiedPacket(datagram, result.result());
+          } else if (result.cause() instanceof PeerDiscoveryPacketDecodingException) {
+            LOG.debug("Discarding invalid peer discovery packet", result.cause());
+            droppedPacketsCounter.labels("invalid").inc();
+          } else {
+            LOG.error("Encountered error while decoding packet", result.cause());
+          }
+        });
+  }
+
+  private void handleVerifiedPacket(final DatagramPacket datagram, final Packet packet) {
     try {
-      final int length = datagram.data().length();
-      Preconditions.checkGuard(
-          validatePacketSize(length),
-          PeerDiscoveryPacketDecodingException::new,
-          "Packet too large. Actual size (bytes): %s",
-          length);
-
-      // We allow exceptions to bubble up, as they'll be picked up by the exception handler.
-      final Packet packet = Packet.decode(datagram.data());
+      inboundPacketsCounter.labels(packet.getType().name()).inc();
       // Acquire the senders coordinates to build a Peer representation from them.
       final String host = datagram.sender().host();
       final int port = datagram.sender().port();
       final Endpoint endpoint = new Endpoint(host, port, OptionalInt.empty());
       handleIncomingPacket(endpoint, packet);
-    } catch (final PeerDiscoveryPacketDecodingException e) {
-      LOG.debug("Discarding invalid peer discovery packet", e);
     } catch (final Throwable t) {
       LOG.error("Encountered error while handling packet", t);
     }
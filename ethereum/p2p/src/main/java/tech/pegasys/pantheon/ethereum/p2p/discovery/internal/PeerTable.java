@@ -24,15 +24,16 @@ import tech.pegasys.pantheon.ethereum.p2p.peers.Peer;
 import tech.pegasys.pantheon.ethereum.p2p.peers.PeerId;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.hash.BloomFilter;
 
 /**
@@ -48,7 +49,7 @@ public class PeerTable {
   private final BytesValue keccak256;
   private final int maxEntriesCnt;
 
-  private final Map<BytesValue, Integer> distanceCache;
+  private final Cache<BytesValue, Integer> distanceCache;
   private BloomFilter<BytesValue> idBloom;
   private int evictionCnt = 0;
 
@@ -64,8 +65,8 @@ public class PeerTable {
         Stream.generate(() -> new Bucket(DEFAULT_BUCKET_SIZE))
             .limit(N_BUCKETS + 1)
             .toArray(Bucket[]::new);
-    this.distanceCache = new ConcurrentHashMap<>();
     this.maxEntriesCnt = N_BUCKETS * bucketSize;
+    this.distanceCache = CacheBuilder.newBuilder().maximumSize(maxEntriesCnt).build();
 
     // A bloom filter with 4096 expected insertions of 64-byte keys with a 0.1% false positive
     // probability yields a memory footprint of ~7.5kb.
@@ -148,7 +149,7 @@ public class PeerTable {
   public boolean evict(final PeerId peer) {
     final BytesValue id = peer.getId();
     final int distance = distanceFrom(peer);
-    distanceCache.remove(id);
+    distanceCache.invalidate(id);
 
     final boolean evicted = table[distance].evict(peer);
     evictionCnt += evicted ? 1 : 0;
@@ -179,12 +180,38 @@ public class PeerTable {
    */
   public List<DiscoveryPeer> nearestPeers(final BytesValue target, final int limit) {
     final BytesValue keccak256 = Hash.keccak256(target);
-    return getAllPeers()
+    // A peer in a bucket further from us than the target is at that bucket's distance from the
+    // target, while a peer in a closer bucket is at the target's distance from us. Only the
+    // target's own bucket holds peers closer to the target than that, so just that bucket needs
+    // sorting and the others can be visited in order of their distance to the target.
+    final int targetDistance = distance(this.keccak256, keccak256);
+    final List<DiscoveryPeer> nearest = new ArrayList<>(limit);
+    table[targetDistance]
+        .peers()
         .stream()
         .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
         .sorted(comparingInt((peer) -> distance(peer.keccak256(), keccak256)))
         .limit(limit)
-        .collect(toList());
+        .forEach(nearest::add);
+    for (int i = 0; i < targetDistance && nearest.size() < limit; i++) {
+      addBondedPeers(table[i], nearest, limit);
+    }
+    for (int i = targetDistance + 1; i <= N_BUCKETS && nearest.size() < limit; i++) {
+      addBondedPeers(table[i], nearest, limit);
+    }
+    return nearest;
+  }
+
+  private static void addBondedPeers(
+      final Bucket bucket, final List<DiscoveryPeer> peers, final int limit) {
+    for (final DiscoveryPeer peer : bucket.peers()) {
+      if (peers.size() >= limit) {
+        return;
+      }
+      if (peer.getStatus() == PeerDiscoveryStatus.BONDED) {
+        peers.add(peer);
+      }
+    }
   }
 
   public Collection<DiscoveryPeer> getAllPeers() {
@@ -200,7 +227,7 @@ public class PeerTable {
    * @return The distance.
    */
   private int distanceFrom(final PeerId peer) {
-    final Integer distance = distanceCache.get(peer.getId());
+    final Integer distance = distanceCache.getIfPresent(peer.getId());
     return distance == null ? distance(keccak256, peer.keccak256()) : distance;
   }
 
@@ -188,7 +188,8 @@ public class NettyP2PNetwork implements P2PNetwork {
             config.getDiscovery(),
             peerRequirement,
             peerBlacklist,
-            nodeWhitelistController);
+            nodeWhitelistController,
+            metricsSystem);
 
     outboundMessagesCounter =
         metricsSystem.createLabelledCounter(
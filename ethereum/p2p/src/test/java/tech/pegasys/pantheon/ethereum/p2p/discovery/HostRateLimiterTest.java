@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+
+public class HostRateLimiterTest {
+
+  private static final String HOST_A = "10.0.0.1";
+  private static final String HOST_B = "10.0.0.2";
+
+  private long now = 0;
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return now;
+        }
+      };
+  private final HostRateLimiter limiter = new HostRateLimiter(5, 100, ticker);
+
+  @Test
+  public void acceptsBackToBackPacketsFromOneHostUpToBurst() {
+    for (int i = 0; i < 5; i++) {
+      assertThat(limiter.tryAcquire(HOST_A)).isTrue();
+    }
+    assertThat(limiter.tryAcquire(HOST_A)).isFalse();
+  }
+
+  @Test
+  public void limitsEachHostIndependently() {
+    for (int i = 0; i < 5; i++) {
+      limiter.tryAcquire(HOST_A);
+    }
+    assertThat(limiter.tryAcquire(HOST_A)).isFalse();
+    assertThat(limiter.tryAcquire(HOST_B)).isTrue();
+  }
+
+  @Test
+  public void acceptsPacketsAgainAfterRefill() {
+    for (int i = 0; i < 5; i++) {
+      limiter.tryAcquire(HOST_A);
+    }
+    assertThat(limiter.tryAcquire(HOST_A)).isFalse();
+
+    now += TimeUnit.MILLISECONDS.toNanos(200);
+    assertThat(limiter.tryAcquire(HOST_A)).isTrue();
+    assertThat(limiter.tryAcquire(HOST_A)).isFalse();
+  }
+}
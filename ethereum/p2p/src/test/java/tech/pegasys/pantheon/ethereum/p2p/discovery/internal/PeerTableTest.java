@@ -12,12 +12,17 @@
  */
 package tech.pegasys.pantheon.ethereum.p2p.discovery.internal;
 
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PeerDistanceCalculator.distance;
 
 import tech.pegasys.pantheon.ethereum.p2p.discovery.DiscoveryPeer;
+import tech.pegasys.pantheon.ethereum.p2p.discovery.PeerDiscoveryStatus;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.PeerDiscoveryTestHelper;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PeerTable.AddResult.Outcome;
 import tech.pegasys.pantheon.ethereum.p2p.peers.Peer;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.List;
 
@@ -63,4 +68,37 @@ public class PeerTableTest {
               assertThat(result.getEvictionCandidate()).isNull();
             });
   }
+
+  @Test
+  public void nearestPeersShouldMatchBondedPeersSortedByDistance() {
+    final PeerTable table = new PeerTable(Peer.randomId(), 16);
+    final List<DiscoveryPeer> peers = helper.createDiscoveryPeers(40);
+    for (int i = 0; i < peers.size(); i++) {
+      final DiscoveryPeer peer = peers.get(i);
+      peer.setStatus(i % 4 == 0 ? PeerDiscoveryStatus.KNOWN : PeerDiscoveryStatus.BONDED);
+      table.tryAdd(peer);
+    }
+    // Some peers may not fit in their bucket, so target one that made it into the table.
+    final DiscoveryPeer targetPeer =
+        table
+            .getAllPeers()
+            .stream()
+            .filter(peer -> peer.getStatus() == PeerDiscoveryStatus.BONDED)
+            .findFirst()
+            .get();
+    final BytesValue target = targetPeer.getId();
+
+    final List<DiscoveryPeer> expected =
+        table
+            .getAllPeers()
+            .stream()
+            .filter(peer -> peer.getStatus() == PeerDiscoveryStatus.BONDED)
+            .sorted(comparingInt(peer -> distance(peer.keccak256(), targetPeer.keccak256())))
+            .limit(16)
+            .collect(toList());
+
+    final List<DiscoveryPeer> nearest = table.nearestPeers(target, 16);
+    assertThat(nearest).containsExactlyElementsOf(expected);
+    assertThat(nearest.get(0)).isEqualTo(targetPeer);
+  }
 }
@@ -67,13 +67,41 @@ public class RLPBench {
     toDecode = RLPTestUtil.encode(toEncode);
   }
 
+  private final StreamingRLPOutput reusedOutput = new StreamingRLPOutput();
+
   @Benchmark
   public BytesValue getBenchmarkEncoding() {
     return RLPTestUtil.encode(toEncode);
   }
 
+  @Benchmark
+  public BytesValue getBenchmarkStreamingEncoding() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    encode(toEncode, out);
+    return out.encoded();
+  }
+
+  @Benchmark
+  public BytesValue getBenchmarkReusedStreamingEncoding() {
+    reusedOutput.reset();
+    encode(toEncode, reusedOutput);
+    return reusedOutput.encoded();
+  }
+
   @Benchmark
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
   }
+
+  private static void encode(final Object obj, final RLPOutput out) {
+    if (obj instanceof BytesValue) {
+      out.writeBytesValue((BytesValue) obj);
+      return;
+    }
+    out.startList();
+    for (final Object o : (List<?>) obj) {
+      encode(o, out);
+    }
+    out.endList();
+  }
 }
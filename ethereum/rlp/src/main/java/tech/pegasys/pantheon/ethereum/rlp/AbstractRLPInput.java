@@ -424,6 +424,17 @@ abstract class AbstractRLPInput implements RLPInput {
     }
   }
 
+  @Override
+  public BytesValue readRaw() {
+    if (currentItem >= size) {
+      throw error("Cannot read current element as RLP, input is fully consumed");
+    }
+    final long next = nextItem();
+    final BytesValue res = inputSlice(currentItem, Math.toIntExact(next - currentItem));
+    setTo(next);
+    return res;
+  }
+
   @Override
   public RLPInput readAsRlp() {
     if (currentItem >= size) {
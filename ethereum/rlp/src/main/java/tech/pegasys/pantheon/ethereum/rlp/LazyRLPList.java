@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.rlp;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * An immutable list over the items of an RLP encoded list, which only decodes items when they are
+ * accessed.
+ *
+ * <p>Creating the list only walks the item headers of the encoded list. The encoding of every item
+ * is kept as a slice of the original input (not a copy), and is decoded at most once, the first
+ * time the item is accessed. This makes it cheap to read large lists of which only a few items, or
+ * only the size or the raw encoding of the items, are needed.
+ *
+ * @param <T> The type of the decoded items.
+ */
+public class LazyRLPList<T> extends AbstractList<T> {
+
+  private final List<BytesValue> encodedItems;
+  private final Function<BytesValue, T> decoder;
+  private final AtomicReferenceArray<T> decodedItems;
+
+  private LazyRLPList(final List<BytesValue> encodedItems, final Function<BytesValue, T> decoder) {
+    this.encodedItems = encodedItems;
+    this.decoder = decoder;
+    this.decodedItems = new AtomicReferenceArray<>(encodedItems.size());
+  }
+
+  /**
+   * Reads a list from the input without decoding its items.
+   *
+   * @param input The input positioned on the list to read.
+   * @param decoder A method that decodes an item from its RLP encoding.
+   * @param <T> The type of the decoded items.
+   * @return A list decoding the items read on access.
+   */
+  public static <T> LazyRLPList<T> readFrom(
+      final RLPInput input, final Function<BytesValue, T> decoder) {
+    input.enterList();
+    final List<BytesValue> encodedItems = new ArrayList<>();
+    while (!input.isEndOfCurrentList()) {
+      encodedItems.add(input.readRaw());
+    }
+    input.leaveList();
+    return new LazyRLPList<>(encodedItems, decoder);
+  }
+
+  /**
+   * Creates a list over an RLP encoded list without decoding its items.
+   *
+   * @param encoded The RLP encoding of the list.
+   * @param decoder A method that decodes an item from its RLP encoding.
+   * @param <T> The type of the decoded items.
+   * @return A list decoding the items read on access.
+   */
+  public static <T> LazyRLPList<T> decode(
+      final BytesValue encoded, final Function<BytesValue, T> decoder) {
+    return readFrom(RLP.input(encoded), decoder);
+  }
+
+  @Override
+  public T get(final int index) {
+    final T decoded = decodedItems.get(index);
+    if (decoded != null) {
+      return decoded;
+    }
+    // Concurrent first accesses may both decode the item, but only one result is ever exposed.
+    decodedItems.compareAndSet(index, null, decoder.apply(encodedItems.get(index)));
+    return decodedItems.get(index);
+  }
+
+  @Override
+  public int size() {
+    return encodedItems.size();
+  }
+
+  /**
+   * Returns the RLP encoding of an item, without decoding it.
+   *
+   * @param index The index of the item.
+   * @return The RLP encoding of the item at {@code index}.
+   */
+  public BytesValue getEncoded(final int index) {
+    return encodedItems.get(index);
+  }
+
+  /** @return The RLP encoding of every item of the list, in order. */
+  public List<BytesValue> getEncodedItems() {
+    return Collections.unmodifiableList(encodedItems);
+  }
+}
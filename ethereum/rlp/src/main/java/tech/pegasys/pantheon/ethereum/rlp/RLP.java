@@ -42,6 +42,11 @@ public abstract class RLP {
     EMPTY_LIST = out.encoded();
   }
 
+  // Encoding through encode(Consumer) reuses a per-thread output rather than allocating one (and
+  // the intermediate values BytesValueRLPOutput records) for every encoded item.
+  private static final ThreadLocal<PooledOutput> POOLED_OUTPUT =
+      ThreadLocal.withInitial(PooledOutput::new);
+
   /**
    * Creates a new {@link RLPInput} suitable for decoding the provided RLP encoded value.
    *
@@ -102,9 +107,22 @@ public abstract class RLP {
    * @return The RLP encoding of the data written by {@code writer}.
    */
   public static BytesValue encode(final Consumer<RLPOutput> writer) {
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    writer.accept(out);
-    return out.encoded();
+    final PooledOutput pooled = POOLED_OUTPUT.get();
+    if (pooled.inUse) {
+      // The writer of an ongoing encoding is itself encoding something on this thread.
+      final StreamingRLPOutput out = new StreamingRLPOutput();
+      writer.accept(out);
+      return out.encoded();
+    }
+
+    pooled.inUse = true;
+    try {
+      writer.accept(pooled.output);
+      return pooled.output.encoded();
+    } finally {
+      pooled.output.reset();
+      pooled.inUse = false;
+    }
   }
 
   /**
@@ -222,4 +240,9 @@ public abstract class RLP {
   public static int calculateSize(final BytesValue value) {
     return RLPDecodingHelpers.rlpElementMetadata(value::get, value.size(), 0).getEncodedSize();
   }
+
+  private static class PooledOutput {
+    private final StreamingRLPOutput output = new StreamingRLPOutput();
+    private boolean inUse;
+  }
 }
@@ -321,6 +321,16 @@ public interface RLPInput {
    */
   RLPInput readAsRlp();
 
+  /**
+   * Returns the raw RLP encoding of the current element, without decoding or validating it.
+   *
+   * <p>Contrarily to {@link #readAsRlp()}, this does not create an input for the element, and the
+   * returned value is a slice of this input rather than a copy.
+   *
+   * @return The RLP encoding of the current element.
+   */
+  BytesValue readRaw();
+
   /**
    * Returns a raw {@link BytesValue} representation of this RLP.
    *
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.rlp;
+
+import static com.google.common.base.Preconditions.checkState;
+import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.elementSize;
+import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.listSize;
+import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.writeElement;
+import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.writeListHeader;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import java.util.Arrays;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * A {@link RLPOutput} that encodes items directly into a growable byte array as they are written.
+ *
+ * <p>Contrarily to {@link BytesValueRLPOutput}, which records every written value and only encodes
+ * them once all list sizes are known, this output writes the final encoding immediately. The
+ * header of a list is written when the list is ended: a single byte is reserved for it when the
+ * list is started, which is enough for any list whose payload is less than 56 bytes. For larger
+ * lists, the payload is shifted to make room for the longer header.
+ *
+ * <p>The output can be reused for multiple encodings through {@link #reset()}, which keeps the
+ * underlying array (unless it grew unreasonably large) so that encoding does not allocate once the
+ * array has grown to the size of the typical encoded item.
+ */
+public class StreamingRLPOutput implements RLPOutput {
+  private static final int DEFAULT_INITIAL_CAPACITY = 256;
+  // Arrays grown larger than this are not kept on reset, so that a single large encoding does not
+  // permanently hold onto memory.
+  private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+  private final int initialCapacity;
+  private byte[] buffer;
+  private MutableBytesValue bufferValue;
+  private int position;
+
+  // Offset of the reserved header byte of every currently open list.
+  private int[] openListOffsets = new int[8];
+  private int openLists;
+
+  public StreamingRLPOutput() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public StreamingRLPOutput(final int initialCapacity) {
+    this.initialCapacity = initialCapacity;
+    this.buffer = new byte[initialCapacity];
+    this.bufferValue = MutableBytesValue.wrap(buffer);
+  }
+
+  @Override
+  public void startList() {
+    checkCanWrite();
+    if (openLists == openListOffsets.length) {
+      openListOffsets = Arrays.copyOf(openListOffsets, (openListOffsets.length * 3) / 2);
+    }
+    openListOffsets[openLists++] = position;
+    ensureCapacity(1);
+    ++position;
+  }
+
+  @Override
+  public void endList() {
+    checkState(openLists > 0, "LeaveList() called with no prior matching startList()");
+
+    final int headerOffset = openListOffsets[--openLists];
+    final int payloadOffset = headerOffset + 1;
+    final int payloadSize = position - payloadOffset;
+    final int extraHeaderSize = listSize(payloadSize) - payloadSize - 1;
+    if (extraHeaderSize > 0) {
+      ensureCapacity(extraHeaderSize);
+      System.arraycopy(
+          buffer, payloadOffset, buffer, payloadOffset + extraHeaderSize, payloadSize);
+      position += extraHeaderSize;
+    }
+    writeListHeader(payloadSize, bufferValue, headerOffset);
+  }
+
+  @Override
+  public void writeBytesValue(final BytesValue v) {
+    checkCanWrite();
+    ensureCapacity(elementSize(v));
+    position = writeElement(v, bufferValue, position);
+  }
+
+  @Override
+  public void writeRLPUnsafe(final BytesValue v) {
+    checkCanWrite();
+    ensureCapacity(v.size());
+    v.copyTo(bufferValue, position);
+    position += v.size();
+  }
+
+  /**
+   * Computes the final encoded data size.
+   *
+   * @return The size of the RLP-encoded data written to this output.
+   * @throws IllegalStateException if some opened list haven't been closed (the output is not valid
+   *     as is).
+   */
+  public int encodedSize() {
+    checkState(openLists == 0, "A list has been entered (startList()) but not left (endList())");
+    return position;
+  }
+
+  /**
+   * Computes the final encoded data.
+   *
+   * @return A value containing a copy of the data written to this output RLP-encoded.
+   */
+  public BytesValue encoded() {
+    final int size = encodedSize();
+    if (size == 0) {
+      return BytesValue.EMPTY;
+    }
+    return BytesValue.wrap(Arrays.copyOf(buffer, size));
+  }
+
+  /**
+   * Appends the encoded data to the provided Vert.x {@link Buffer}.
+   *
+   * @param output The buffer to which the RLP-encoded data is appended.
+   */
+  public void appendEncodedTo(final Buffer output) {
+    output.appendBytes(buffer, 0, encodedSize());
+  }
+
+  /** Discards everything written to this output so it can be used for a new encoding. */
+  public void reset() {
+    position = 0;
+    openLists = 0;
+    if (buffer.length > MAX_RETAINED_CAPACITY) {
+      buffer = new byte[initialCapacity];
+      bufferValue = MutableBytesValue.wrap(buffer);
+    }
+  }
+
+  private void checkCanWrite() {
+    checkState(openLists > 0 || position == 0, "Terminated RLP output, cannot add more elements");
+  }
+
+  private void ensureCapacity(final int additionalBytes) {
+    final int required = position + additionalBytes;
+    if (required > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+      bufferValue = MutableBytesValue.wrap(buffer);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class LazyRLPListTest {
+
+  private static BytesValue h(final String hex) {
+    return BytesValue.fromHexString(hex);
+  }
+
+  // [0x2c, [0x03, 0x12], 0x3b]
+  private final BytesValue encoded = h("0xc52cc203123b");
+
+  @Test
+  public void keepsEncodingOfItemsWithoutDecoding() {
+    final AtomicInteger decodeCount = new AtomicInteger();
+    final LazyRLPList<BytesValue> list =
+        LazyRLPList.decode(
+            encoded,
+            item -> {
+              decodeCount.incrementAndGet();
+              return item;
+            });
+
+    assertThat(list).hasSize(3);
+    assertThat(list.getEncodedItems()).containsExactly(h("0x2c"), h("0xc20312"), h("0x3b"));
+    assertThat(decodeCount.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void decodesItemsOnceOnAccess() {
+    final AtomicInteger decodeCount = new AtomicInteger();
+    final LazyRLPList<Integer> list =
+        LazyRLPList.decode(
+            encoded,
+            item -> {
+              decodeCount.incrementAndGet();
+              return RLP.input(item).enterList();
+            });
+
+    assertThat(list.get(1)).isEqualTo(2);
+    assertThat(list.get(1)).isEqualTo(2);
+    assertThat(decodeCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void leavesInputAfterList() {
+    final RLPInput input = RLP.input(h("0xc4c2013c02"));
+    input.enterList();
+    final LazyRLPList<BytesValue> list = LazyRLPList.readFrom(input, item -> item);
+
+    assertThat(list.getEncodedItems()).containsExactly(h("0x01"), h("0x3c"));
+    assertThat(input.readIntScalar()).isEqualTo(2);
+  }
+
+  @Test
+  public void isImmutable() {
+    final LazyRLPList<BytesValue> list = LazyRLPList.decode(encoded, item -> item);
+
+    assertThatThrownBy(() -> list.add(h("0x01")))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.rlp.util.RLPTestUtil;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.List;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+public class StreamingRLPOutputTest {
+
+  private static BytesValue h(final String hex) {
+    return BytesValue.fromHexString(hex);
+  }
+
+  private static String times(final String base, final int times) {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < times; i++) sb.append(base);
+    return sb.toString();
+  }
+
+  @Test
+  public void empty() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+
+    assertThat(out.encoded()).isEqualTo(BytesValue.EMPTY);
+  }
+
+  @Test
+  public void singleLongElement() {
+    final StreamingRLPOutput out = new StreamingRLPOutput(4);
+    out.writeBytesValue(h(times("3c", 56)));
+
+    assertThat(out.encoded()).isEqualTo(h("0xb838" + times("3c", 56)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void multipleElementAddedWithoutList() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.writeByte((byte) 0);
+    out.writeByte((byte) 1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void unclosedList() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.startList();
+    out.encoded();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void closeUnopenedList() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.endList();
+  }
+
+  @Test
+  public void simpleShortListUpperBoundary() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.startList();
+    for (int i = 0; i < 55; i++) {
+      out.writeByte((byte) 0x3c);
+    }
+    out.endList();
+    assertThat(out.encoded()).isEqualTo(h("0xf7" + times("3c", 55)));
+  }
+
+  @Test
+  public void simpleLongListLowerBoundary() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.startList();
+    for (int i = 0; i < 56; i++) {
+      out.writeByte((byte) 0x3c);
+    }
+    out.endList();
+    assertThat(out.encoded()).isEqualTo(h("0xf838" + times("3c", 56)));
+  }
+
+  @Test
+  public void nestedLongLists() {
+    final StreamingRLPOutput out = new StreamingRLPOutput(8);
+    out.startList();
+    out.writeByte((byte) 0x2c);
+    out.startList();
+    for (int i = 0; i < 256; i++) {
+      out.writeByte((byte) 0x3c);
+    }
+    out.endList();
+    out.writeByte((byte) 0x3b);
+    out.endList();
+
+    // Nested list is 0xf90100 + 256 bytes, so the outer payload is 1 + 259 + 1 = 261 bytes.
+    assertThat(out.encoded()).isEqualTo(h("0xf901052cf90100" + times("3c", 256) + "3b"));
+  }
+
+  @Test
+  public void writeRLPUnsafeCopiesEncodedItem() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.startList();
+    out.writeRLPUnsafe(h("0xc22c3b"));
+    out.writeByte((byte) 0x01);
+    out.endList();
+
+    assertThat(out.encoded()).isEqualTo(h("0xc4c22c3b01"));
+  }
+
+  @Test
+  public void matchesBytesValueRLPOutputOnRandomValues() {
+    for (int seed = 0; seed < 100; seed++) {
+      final BytesValue expected = RLPTestUtil.randomRLPValue(seed).encoded();
+      final StreamingRLPOutput out = new StreamingRLPOutput(16);
+      write(RLPTestUtil.decode(expected), out);
+      assertThat(out.encoded()).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void resetAllowsReuse() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.startList();
+    out.writeBytesValue(h(times("3c", 100)));
+    out.endList();
+    out.reset();
+
+    out.startList();
+    out.writeByte((byte) 0x2c);
+    out.writeByte((byte) 0x3b);
+    out.endList();
+    assertThat(out.encoded()).isEqualTo(h("0xc22c3b"));
+  }
+
+  @Test
+  public void appendEncodedToBuffer() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.startList();
+    out.writeByte((byte) 0x2c);
+    out.endList();
+
+    final Buffer buffer = Buffer.buffer().appendByte((byte) 0xff);
+    out.appendEncodedTo(buffer);
+    assertThat(buffer.getBytes()).isEqualTo(h("0xffc12c").extractArray());
+  }
+
+  @Test
+  public void nestedEncodeDoesNotCorruptPooledOutput() {
+    final BytesValue encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeByte((byte) 0x2c);
+              out.writeRLPUnsafe(RLP.encode(inner -> inner.writeByte((byte) 0x3b)));
+              out.endList();
+            });
+
+    assertThat(encoded).isEqualTo(h("0xc22c3b"));
+  }
+
+  private static void write(final Object value, final RLPOutput out) {
+    if (value instanceof BytesValue) {
+      out.writeBytesValue((BytesValue) value);
+      return;
+    }
+    out.startList();
+    for (final Object item : (List<?>) value) {
+      write(item, out);
+    }
+    out.endList();
+  }
+}
@@ -12,19 +12,37 @@
  */
 package tech.pegasys.pantheon.orion;
 
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.orion.types.ReceiveRequest;
 import tech.pegasys.pantheon.orion.types.ReceiveResponse;
 import tech.pegasys.pantheon.orion.types.SendRequest;
 import tech.pegasys.pantheon.orion.types.SendResponse;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -33,12 +51,67 @@ public class Orion {
   private static final ObjectMapper objectMapper = new ObjectMapper();
   private static final Logger LOG = LogManager.getLogger();
 
-  private String url;
-  private OkHttpClient client;
+  private static final int MAX_CONCURRENT_REQUESTS = 64;
+  // Every client is derived from this one so that they all share its connection pool, and its
+  // dispatcher, which limits the requests in flight to the enclave across all clients
+  private static final OkHttpClient SHARED_CLIENT =
+      new OkHttpClient.Builder().dispatcher(sharedDispatcher()).build();
+
+  private final String url;
+  private final OkHttpClient client;
+  // Payloads are immutable once stored by the enclave, so they can be served again without a call
+  private final Cache<List<String>, byte[]> receivedPayloads;
+
+  private final LabelledMetric<OperationTimer> requestTimer;
+  private final LabelledMetric<Counter> requestErrorCounter;
+  private final Counter receiveCacheHitCounter;
+  private final Counter receiveCacheMissCounter;
 
   public Orion(final String orionUrl) {
+    this(orionUrl, OrionConfiguration.createDefault(), new NoOpMetricsSystem());
+  }
+
+  public Orion(
+      final String orionUrl,
+      final OrionConfiguration configuration,
+      final MetricsSystem metricsSystem) {
     this.url = orionUrl;
-    this.client = new OkHttpClient();
+    this.client =
+        SHARED_CLIENT
+            .newBuilder()
+            .connectTimeout(configuration.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .readTimeout(configuration.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    this.receivedPayloads =
+        CacheBuilder.newBuilder().maximumSize(configuration.getReceiveCacheSize()).build();
+
+    this.requestTimer =
+        metricsSystem.createLabelledTimer(
+            MetricCategory.NETWORK,
+            "orion_request_latency_seconds",
+            "Latency of requests to the Orion enclave",
+            "path");
+    this.requestErrorCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.NETWORK,
+            "orion_request_errors_total",
+            "Number of requests to the Orion enclave that failed",
+            "path");
+    final LabelledMetric<Counter> receiveCacheCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.NETWORK,
+            "orion_receive_cache_total",
+            "Number of payloads requested from the Orion enclave, by whether they were cached",
+            "result");
+    this.receiveCacheHitCounter = receiveCacheCounter.labels("hit");
+    this.receiveCacheMissCounter = receiveCacheCounter.labels("miss");
+  }
+
+  private static Dispatcher sharedDispatcher() {
+    final Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(MAX_CONCURRENT_REQUESTS);
+    dispatcher.setMaxRequestsPerHost(MAX_CONCURRENT_REQUESTS);
+    return dispatcher;
   }
 
   public Boolean upCheck() throws IOException {
@@ -53,25 +126,106 @@ public class Orion {
   }
 
   public SendResponse send(final SendRequest content) throws IOException {
-    return executePost("/send", objectMapper.writeValueAsString(content), SendResponse.class);
+    return await(sendAsync(content));
   }
 
   public ReceiveResponse receive(final ReceiveRequest content) throws IOException {
-    return executePost("/receive", objectMapper.writeValueAsString(content), ReceiveResponse.class);
+    return await(receiveAsync(content));
   }
 
-  private <T> T executePost(final String path, final String content, final Class<T> responseType)
-      throws IOException {
-    OkHttpClient client = new OkHttpClient();
+  /**
+   * Stores a payload in the enclave without blocking the caller.
+   *
+   * @param content The payload and its recipients
+   * @return A future completed with the key of the stored payload, or exceptionally with an
+   *     {@link IOException} if the request fails
+   */
+  public CompletableFuture<SendResponse> sendAsync(final SendRequest content) {
+    return executePost("/send", content, SendResponse.class);
+  }
 
-    RequestBody body = RequestBody.create(JSON, content);
-    Request request = new Request.Builder().url(url + path).post(body).build();
+  /**
+   * Retrieves a payload from the enclave without blocking the caller. Payloads already retrieved
+   * for the same key and recipient are served from memory.
+   *
+   * @param content The key of the payload and the recipient it is requested for
+   * @return A future completed with the payload, or exceptionally with an {@link IOException} if
+   *     the request fails
+   */
+  public CompletableFuture<ReceiveResponse> receiveAsync(final ReceiveRequest content) {
+    final List<String> cacheKey = Arrays.asList(content.getKey(), content.getTo());
+    final byte[] cachedPayload = receivedPayloads.getIfPresent(cacheKey);
+    if (cachedPayload != null) {
+      receiveCacheHitCounter.inc();
+      return CompletableFuture.completedFuture(new ReceiveResponse(cachedPayload.clone()));
+    }
+    receiveCacheMissCounter.inc();
+    return executePost("/receive", content, ReceiveResponse.class)
+        .thenApply(
+            response -> {
+              if (response.getPayload() != null) {
+                receivedPayloads.put(cacheKey, response.getPayload().clone());
+              }
+              return response;
+            });
+  }
 
-    try (Response response = client.newCall(request).execute()) {
-      return objectMapper.readValue(response.body().string(), responseType);
-    } catch (IOException e) {
-      LOG.error("Orion failed to execute ", path);
-      throw new IOException("Failed to execute post", e);
+  private <T> CompletableFuture<T> executePost(
+      final String path, final Object content, final Class<T> responseType) {
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final Request request;
+    try {
+      final RequestBody body = RequestBody.create(JSON, objectMapper.writeValueAsString(content));
+      request = new Request.Builder().url(url + path).post(body).build();
+    } catch (final IOException | IllegalArgumentException e) {
+      fail(result, path, e);
+      return result;
+    }
+
+    final TimingContext timingContext = requestTimer.labels(path).startTimer();
+    client
+        .newCall(request)
+        .enqueue(
+            new Callback() {
+              @Override
+              public void onFailure(final Call call, final IOException e) {
+                timingContext.stopTimer();
+                fail(result, path, e);
+              }
+
+              @Override
+              public void onResponse(final Call call, final Response response) {
+                timingContext.stopTimer();
+                try (final ResponseBody responseBody = response.body()) {
+                  if (!response.isSuccessful()) {
+                    throw new IOException("Orion responded with status " + response.code());
+                  }
+                  result.complete(objectMapper.readValue(responseBody.string(), responseType));
+                } catch (final IOException e) {
+                  fail(result, path, e);
+                }
+              }
+            });
+    return result;
+  }
+
+  private void fail(final CompletableFuture<?> result, final String path, final Exception cause) {
+    LOG.error("Orion failed to execute {}", path);
+    requestErrorCounter.labels(path).inc();
+    result.completeExceptionally(new IOException("Failed to execute post", cause));
+  }
+
+  private static <T> T await(final CompletableFuture<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for Orion", e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Failed to execute post", e.getCause());
     }
   }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.orion;
+
+import com.google.common.base.MoreObjects;
+
+public class OrionConfiguration {
+  public static final long DEFAULT_CONNECT_TIMEOUT_MILLIS = 10_000;
+  public static final long DEFAULT_READ_TIMEOUT_MILLIS = 10_000;
+  public static final int DEFAULT_RECEIVE_CACHE_SIZE = 1024;
+
+  private long connectTimeoutMillis;
+  private long readTimeoutMillis;
+  private int receiveCacheSize;
+
+  public static OrionConfiguration createDefault() {
+    final OrionConfiguration config = new OrionConfiguration();
+    config.setConnectTimeoutMillis(DEFAULT_CONNECT_TIMEOUT_MILLIS);
+    config.setReadTimeoutMillis(DEFAULT_READ_TIMEOUT_MILLIS);
+    config.setReceiveCacheSize(DEFAULT_RECEIVE_CACHE_SIZE);
+    return config;
+  }
+
+  private OrionConfiguration() {}
+
+  public long getConnectTimeoutMillis() {
+    return connectTimeoutMillis;
+  }
+
+  public void setConnectTimeoutMillis(final long connectTimeoutMillis) {
+    this.connectTimeoutMillis = connectTimeoutMillis;
+  }
+
+  public long getReadTimeoutMillis() {
+    return readTimeoutMillis;
+  }
+
+  public void setReadTimeoutMillis(final long readTimeoutMillis) {
+    this.readTimeoutMillis = readTimeoutMillis;
+  }
+
+  /** @return The number of received payloads kept in memory, zero disables the cache. */
+  public int getReceiveCacheSize() {
+    return receiveCacheSize;
+  }
+
+  public void setReceiveCacheSize(final int receiveCacheSize) {
+    this.receiveCacheSize = receiveCacheSize;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("connectTimeoutMillis", connectTimeoutMillis)
+        .add("readTimeoutMillis", readTimeoutMillis)
+        .add("receiveCacheSize", receiveCacheSize)
+        .toString();
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.orion;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.orion.types.ReceiveRequest;
+import tech.pegasys.pantheon.orion.types.ReceiveResponse;
+import tech.pegasys.pantheon.orion.types.SendRequest;
+import tech.pegasys.pantheon.orion.types.SendResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OrionHttpStandInTest {
+
+  private static final String PAYLOAD = "a wonderful transaction";
+
+  private final AtomicInteger receiveRequests = new AtomicInteger();
+  private HttpServer server;
+  private Orion orion;
+
+  @Before
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/send", exchange -> respond(exchange, 200, "{\"key\":\"payloadKey\"}"));
+    server.createContext(
+        "/receive",
+        exchange -> {
+          receiveRequests.incrementAndGet();
+          final String payload = Base64.getEncoder().encodeToString(PAYLOAD.getBytes(UTF_8));
+          respond(exchange, 200, "{\"payload\":\"" + payload + "\"}");
+        });
+    server.createContext("/upcheck", exchange -> respond(exchange, 500, "down"));
+    server.start();
+
+    orion =
+        new Orion(
+            "http://127.0.0.1:" + server.getAddress().getPort(),
+            OrionConfiguration.createDefault(),
+            new NoOpMetricsSystem());
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  public void sendsAndReceivesAsynchronously() throws Exception {
+    final SendResponse sendResponse =
+        orion.sendAsync(new SendRequest(PAYLOAD, "sender", new String[] {"recipient"})).get();
+    assertThat(sendResponse.getKey()).isEqualTo("payloadKey");
+
+    final ReceiveResponse receiveResponse =
+        orion.receiveAsync(new ReceiveRequest(sendResponse.getKey(), "recipient")).get();
+    assertThat(new String(receiveResponse.getPayload(), UTF_8)).isEqualTo(PAYLOAD);
+  }
+
+  @Test
+  public void repeatedReceiveIsServedFromCache() throws IOException {
+    final ReceiveRequest request = new ReceiveRequest("payloadKey", "recipient");
+
+    final ReceiveResponse first = orion.receive(request);
+    final ReceiveResponse second = orion.receive(request);
+
+    assertThat(second.getPayload()).isEqualTo(first.getPayload());
+    assertThat(receiveRequests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void receiveIsNotCachedWhenCacheIsDisabled() throws IOException {
+    final OrionConfiguration configuration = OrionConfiguration.createDefault();
+    configuration.setReceiveCacheSize(0);
+    final Orion uncachedOrion =
+        new Orion(
+            "http://127.0.0.1:" + server.getAddress().getPort(),
+            configuration,
+            new NoOpMetricsSystem());
+    final ReceiveRequest request = new ReceiveRequest("payloadKey", "recipient");
+
+    uncachedOrion.receive(request);
+    uncachedOrion.receive(request);
+
+    assertThat(receiveRequests.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void unsuccessfulResponseFailsTheRequest() {
+    server.removeContext("/send");
+    server.createContext("/send", exchange -> respond(exchange, 500, "{}"));
+
+    assertThatThrownBy(
+            () -> orion.sendAsync(new SendRequest(PAYLOAD, "sender", new String[0])).get())
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IOException.class);
+    assertThatThrownBy(() -> orion.send(new SendRequest(PAYLOAD, "sender", new String[0])))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void upCheckReportsUnsuccessfulResponse() throws IOException {
+    assertThat(orion.upCheck()).isFalse();
+  }
+
+  private static void respond(final HttpExchange exchange, final int status, final String body)
+      throws IOException {
+    final byte[] bytes = body.getBytes(UTF_8);
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (final OutputStream responseBody = exchange.getResponseBody()) {
+      responseBody.write(bytes);
+    }
+  }
+}
@@ -17,6 +17,7 @@ import static picocli.CommandLine.defaultExceptionHandler;
 import tech.pegasys.pantheon.cli.PantheonCommand;
 import tech.pegasys.pantheon.cli.PantheonControllerBuilder;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 
 import picocli.CommandLine.RunLast;
@@ -30,6 +31,7 @@ public final class Pantheon {
     final PantheonCommand pantheonCommand =
         new PantheonCommand(
             new BlockImporter(),
+            new BlockExporter(),
             new RunnerBuilder(),
             new PantheonControllerBuilder(),
             new SynchronizerConfiguration.Builder());
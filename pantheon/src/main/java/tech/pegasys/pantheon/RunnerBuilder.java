@@ -23,6 +23,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcHttpService;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcMethodsFactory;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.cache.JsonRpcResponseCache;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterIdGenerator;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterManager;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterRepository;
@@ -248,6 +249,9 @@ public class RunnerBuilder {
 
     final FilterManager filterManager = createFilterManager(vertx, context, transactionPool);
 
+    final Optional<JsonRpcResponseCache> responseCache =
+        createResponseCache(context.getBlockchain());
+
     Optional<JsonRpcHttpService> jsonRpcHttpService = Optional.empty();
     if (jsonRpcConfiguration.isEnabled()) {
       final Map<String, JsonRpcMethod> jsonRpcMethods =
@@ -267,7 +271,13 @@ public class RunnerBuilder {
       jsonRpcHttpService =
           Optional.of(
               new JsonRpcHttpService(
-                  vertx, dataDir, jsonRpcConfiguration, metricsSystem, jsonRpcMethods));
+                  vertx,
+                  dataDir,
+                  jsonRpcConfiguration,
+                  metricsSystem,
+                  responseCache
+                      .map(cache -> cache.decorate(jsonRpcMethods))
+                      .orElse(jsonRpcMethods)));
     }
 
     Optional<WebSocketService> webSocketService = Optional.empty();
@@ -289,7 +299,7 @@ public class RunnerBuilder {
 
       final SubscriptionManager subscriptionManager =
           createSubscriptionManager(
-              vertx, transactionPool, webSocketConfiguration.getRefreshDelay());
+              vertx, transactionPool, metricsSystem, webSocketConfiguration.getRefreshDelay());
 
       createLogsSubscriptionService(
           context.getBlockchain(), context.getWorldStateArchive(), subscriptionManager);
@@ -302,7 +312,13 @@ public class RunnerBuilder {
       webSocketService =
           Optional.of(
               createWebsocketService(
-                  vertx, webSocketConfiguration, subscriptionManager, webSocketsJsonRpcMethods));
+                  vertx,
+                  webSocketConfiguration,
+                  subscriptionManager,
+                  responseCache
+                      .map(cache -> cache.decorate(webSocketsJsonRpcMethods))
+                      .orElse(webSocketsJsonRpcMethods),
+                  metricsSystem));
     }
 
     Optional<MetricsService> metricsService = Optional.empty();
@@ -365,9 +381,25 @@ public class RunnerBuilder {
     return methods;
   }
 
+  private Optional<JsonRpcResponseCache> createResponseCache(final Blockchain blockchain) {
+    if ((!jsonRpcConfiguration.isEnabled() && !webSocketConfiguration.isEnabled())
+        || jsonRpcConfiguration.getResponseCacheMaxSizeBytes() <= 0) {
+      return Optional.empty();
+    }
+    final JsonRpcResponseCache responseCache =
+        new JsonRpcResponseCache(
+            jsonRpcConfiguration.getResponseCacheMaxSizeBytes(), blockchain, metricsSystem);
+    blockchain.observeBlockAdded(responseCache);
+    return Optional.of(responseCache);
+  }
+
   private SubscriptionManager createSubscriptionManager(
-      final Vertx vertx, final TransactionPool transactionPool, final long refreshDelay) {
-    final SubscriptionManager subscriptionManager = new SubscriptionManager(refreshDelay);
+      final Vertx vertx,
+      final TransactionPool transactionPool,
+      final MetricsSystem metricsSystem,
+      final long refreshDelay) {
+    final SubscriptionManager subscriptionManager =
+        new SubscriptionManager(metricsSystem, refreshDelay);
     final PendingTransactionSubscriptionService pendingTransactions =
         new PendingTransactionSubscriptionService(subscriptionManager);
     transactionPool.addTransactionListener(pendingTransactions);
@@ -407,13 +439,14 @@ public class RunnerBuilder {
       final Vertx vertx,
       final WebSocketConfiguration configuration,
       final SubscriptionManager subscriptionManager,
-      final Map<String, JsonRpcMethod> jsonRpcMethods) {
+      final Map<String, JsonRpcMethod> jsonRpcMethods,
+      final MetricsSystem metricsSystem) {
     final WebSocketMethodsFactory websocketMethodsFactory =
         new WebSocketMethodsFactory(subscriptionManager, jsonRpcMethods);
     final WebSocketRequestHandler websocketRequestHandler =
         new WebSocketRequestHandler(vertx, websocketMethodsFactory.methods());
 
-    return new WebSocketService(vertx, configuration, websocketRequestHandler);
+    return new WebSocketService(vertx, configuration, websocketRequestHandler, metricsSystem);
   }
 
   private MetricsService createMetricsService(
@@ -15,10 +15,13 @@ package tech.pegasys.pantheon.cli;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static tech.pegasys.pantheon.cli.BlocksSubCommand.COMMAND_NAME;
 import static tech.pegasys.pantheon.cli.DefaultCommandValues.MANDATORY_FILE_FORMAT_HELP;
+import static tech.pegasys.pantheon.cli.DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP;
 
+import tech.pegasys.pantheon.cli.BlocksSubCommand.ExportSubCommand;
 import tech.pegasys.pantheon.cli.BlocksSubCommand.ImportSubCommand;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsService;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 
 import java.io.File;
@@ -27,6 +30,7 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
@@ -44,7 +48,7 @@ import picocli.CommandLine.Spec;
   name = COMMAND_NAME,
   description = "This command provides blocks related actions.",
   mixinStandardHelpOptions = true,
-  subcommands = {ImportSubCommand.class}
+  subcommands = {ImportSubCommand.class, ExportSubCommand.class}
 )
 class BlocksSubCommand implements Runnable {
   private static final Logger LOG = LogManager.getLogger();
@@ -60,10 +64,15 @@ class BlocksSubCommand implements Runnable {
   private CommandSpec spec; // Picocli injects reference to command spec
 
   private final BlockImporter blockImporter;
+  private final BlockExporter blockExporter;
   private final PrintStream out;
 
-  BlocksSubCommand(final BlockImporter blockImporter, final PrintStream out) {
+  BlocksSubCommand(
+      final BlockImporter blockImporter,
+      final BlockExporter blockExporter,
+      final PrintStream out) {
     this.blockImporter = blockImporter;
+    this.blockExporter = blockExporter;
     this.out = out;
   }
 
@@ -96,6 +105,12 @@ class BlocksSubCommand implements Runnable {
     )
     private final File blocksImportFile = null;
 
+    @Option(
+      names = "--pipelined",
+      description = "Validate blocks ahead in parallel (default: ${DEFAULT-VALUE})"
+    )
+    private final Boolean pipelined = false;
+
     @Override
     public void run() {
       LOG.info("Runs import sub command with blocksImportFile : {}", blocksImportFile);
@@ -125,7 +140,7 @@ class BlocksSubCommand implements Runnable {
         final Path path = blocksImportFile.toPath();
 
         parentCommand.blockImporter.importBlockchain(
-            path, parentCommand.parentCommand.buildController());
+            path, parentCommand.parentCommand.buildController(), pipelined);
       } catch (final FileNotFoundException e) {
         throw new ExecutionException(
             new CommandLine(this), "Could not find file to import: " + blocksImportFile);
@@ -137,4 +152,72 @@ class BlocksSubCommand implements Runnable {
       }
     }
   }
+
+  /**
+   * blocks export sub-command
+   *
+   * <p>Exports a range of blocks from the database to a file
+   */
+  @Command(
+    name = "export",
+    description = "This command exports a range of blocks from the database to a file.",
+    mixinStandardHelpOptions = true
+  )
+  static class ExportSubCommand implements Runnable {
+    @SuppressWarnings("unused")
+    @ParentCommand
+    private BlocksSubCommand parentCommand; // Picocli injects reference to parent command
+
+    @Option(
+      names = "--to",
+      required = true,
+      paramLabel = MANDATORY_FILE_FORMAT_HELP,
+      description = "File to write the exported blocks to",
+      arity = "1..1"
+    )
+    private final File blocksExportFile = null;
+
+    @Option(
+      names = "--start-block",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      description = "Number of the first block to export (default: ${DEFAULT-VALUE})",
+      arity = "1..1"
+    )
+    private final Long startBlock = 0L;
+
+    @Option(
+      names = "--end-block",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      description = "Number of the last block to export (default: chain head)",
+      arity = "1..1"
+    )
+    private final Long endBlock = null;
+
+    @Override
+    public void run() {
+      LOG.info("Runs export sub command with blocksExportFile : {}", blocksExportFile);
+
+      checkNotNull(parentCommand);
+      checkNotNull(parentCommand.parentCommand);
+      checkNotNull(parentCommand.blockExporter);
+
+      try {
+        // As blocksExportFile even if initialized as null is injected by PicoCLI and param is
+        // mandatory, we are sure it's always not null
+        //noinspection ConstantConditions
+        final Path path = blocksExportFile.toPath();
+
+        parentCommand.blockExporter.exportBlockchain(
+            path,
+            parentCommand.parentCommand.buildController(),
+            startBlock,
+            endBlock == null ? OptionalLong.empty() : OptionalLong.of(endBlock));
+      } catch (final IllegalArgumentException e) {
+        throw new ExecutionException(new CommandLine(this), e.getMessage());
+      } catch (final IOException e) {
+        throw new ExecutionException(
+            new CommandLine(this), "Unable to export blocks to " + blocksExportFile, e);
+      }
+    }
+  }
 }
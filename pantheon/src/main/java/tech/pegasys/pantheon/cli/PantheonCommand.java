@@ -16,7 +16,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static tech.pegasys.pantheon.cli.DefaultCommandValues.getDefaultPantheonDataPath;
 import static tech.pegasys.pantheon.cli.NetworkName.MAINNET;
+import static tech.pegasys.pantheon.controller.PantheonController.ETHHASH_PATH;
 import static tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration.DEFAULT_JSON_RPC_PORT;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration.DEFAULT_MAX_BATCH_SIZE;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration.DEFAULT_MAX_QUEUED_REQUESTS;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration.DEFAULT_MAX_REQUESTS_PER_CONNECTION;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration.DEFAULT_MAX_REQUESTS_PER_METHOD;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration.DEFAULT_REQUEST_QUEUE_TIMEOUT_MILLIS;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration.DEFAULT_RESPONSE_CACHE_MAX_SIZE_BYTES;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration.DEFAULT_WORKER_THREADS;
 import static tech.pegasys.pantheon.ethereum.jsonrpc.RpcApis.DEFAULT_JSON_RPC_APIS;
 import static tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration.DEFAULT_WEBSOCKET_PORT;
 import static tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration.DEFAULT_WEBSOCKET_REFRESH_DELAY;
@@ -51,6 +59,7 @@ import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.PrometheusMetricsSystem;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 import tech.pegasys.pantheon.util.InvalidConfigurationException;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -125,6 +134,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   }
 
   private final BlockImporter blockImporter;
+  private final BlockExporter blockExporter;
 
   private final PantheonControllerBuilder controllerBuilder;
   private final SynchronizerConfiguration.Builder synchronizerConfigurationBuilder;
@@ -303,6 +313,73 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   )
   private final Collection<RpcApi> rpcHttpApis = DEFAULT_JSON_RPC_APIS;
 
+  @Option(
+    names = {"--rpc-http-worker-threads"},
+    paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+    description = "Number of threads executing HTTP JSON-RPC requests (default: ${DEFAULT-VALUE})",
+    arity = "1"
+  )
+  private final Integer rpcHttpWorkerThreads = DEFAULT_WORKER_THREADS;
+
+  @Option(
+    names = {"--rpc-http-max-queued-requests"},
+    paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+    description =
+        "Maximum number of HTTP JSON-RPC requests waiting for a worker thread "
+            + "(default: ${DEFAULT-VALUE})",
+    arity = "1"
+  )
+  private final Integer rpcHttpMaxQueuedRequests = DEFAULT_MAX_QUEUED_REQUESTS;
+
+  @Option(
+    names = {"--rpc-http-max-batch-size"},
+    paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+    description =
+        "Maximum number of requests in an HTTP JSON-RPC batch (default: ${DEFAULT-VALUE})",
+    arity = "1"
+  )
+  private final Integer rpcHttpMaxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+  @Option(
+    names = {"--rpc-http-max-requests-per-method"},
+    paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+    description =
+        "Maximum number of HTTP JSON-RPC requests for one method queued or running at once "
+            + "(default: ${DEFAULT-VALUE})",
+    arity = "1"
+  )
+  private final Integer rpcHttpMaxRequestsPerMethod = DEFAULT_MAX_REQUESTS_PER_METHOD;
+
+  @Option(
+    names = {"--rpc-http-max-requests-per-connection"},
+    paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+    description =
+        "Maximum number of HTTP JSON-RPC requests from one connection queued or running at once, "
+            + "requests of a larger batch beyond it are refused (default: ${DEFAULT-VALUE})",
+    arity = "1"
+  )
+  private final Integer rpcHttpMaxRequestsPerConnection = DEFAULT_MAX_REQUESTS_PER_CONNECTION;
+
+  @Option(
+    names = {"--rpc-http-request-queue-timeout"},
+    paramLabel = MANDATORY_LONG_FORMAT_HELP,
+    description =
+        "Milliseconds an HTTP JSON-RPC request may wait for a worker thread before being rejected "
+            + "(default: ${DEFAULT-VALUE})",
+    arity = "1"
+  )
+  private final Long rpcHttpRequestQueueTimeout = DEFAULT_REQUEST_QUEUE_TIMEOUT_MILLIS;
+
+  @Option(
+    names = {"--rpc-response-cache-max-size"},
+    paramLabel = MANDATORY_LONG_FORMAT_HELP,
+    description =
+        "Maximum size in bytes of the cache of JSON-RPC responses to immutable queries, "
+            + "0 to disable the cache (default: ${DEFAULT-VALUE})",
+    arity = "1"
+  )
+  private final Long rpcResponseCacheMaxSize = DEFAULT_RESPONSE_CACHE_MAX_SIZE_BYTES;
+
   @Option(
     names = {"--rpc-ws-enabled"},
     description =
@@ -457,6 +534,14 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   )
   private final BytesValue extraData = DEFAULT_EXTRA_DATA;
 
+  @Option(
+    names = {"--miner-full-dataset"},
+    description =
+        "set if mining should hash against the full EthHash dataset, generated and stored in the "
+            + "data directory, instead of the light cache (default: ${DEFAULT-VALUE})"
+  )
+  private final Boolean isMiningFullDatasetEnabled = false;
+
   // Permissioning: A list of whitelist nodes can be passed.
   @Option(
     names = {"--nodes-whitelist"},
@@ -507,10 +592,12 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
 
   public PantheonCommand(
       final BlockImporter blockImporter,
+      final BlockExporter blockExporter,
       final RunnerBuilder runnerBuilder,
       final PantheonControllerBuilder controllerBuilder,
       final SynchronizerConfiguration.Builder synchronizerConfigurationBuilder) {
     this.blockImporter = blockImporter;
+    this.blockExporter = blockExporter;
     this.runnerBuilder = runnerBuilder;
     this.controllerBuilder = controllerBuilder;
     this.synchronizerConfigurationBuilder = synchronizerConfigurationBuilder;
@@ -534,7 +621,8 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     }
 
     commandLine.addSubcommand(
-        BlocksSubCommand.COMMAND_NAME, new BlocksSubCommand(blockImporter, resultHandler.out()));
+        BlocksSubCommand.COMMAND_NAME,
+        new BlocksSubCommand(blockImporter, blockExporter, resultHandler.out()));
     commandLine.addSubcommand(
         PublicKeySubCommand.COMMAND_NAME, new PublicKeySubCommand(resultHandler.out()));
 
@@ -628,7 +716,14 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           .ethNetworkConfig(updateNetworkConfig(getNetwork()))
           .syncWithOttoman(false) // ottoman feature is still there but it's now removed from CLI
           .miningParameters(
-              new MiningParameters(coinbase, minTransactionGasPrice, extraData, isMiningEnabled))
+              new MiningParameters(
+                  coinbase,
+                  minTransactionGasPrice,
+                  extraData,
+                  isMiningEnabled,
+                  isMiningFullDatasetEnabled
+                      ? Optional.of(dataDir().resolve(ETHHASH_PATH))
+                      : Optional.empty()))
           .devMode(NetworkName.DEV.equals(getNetwork()))
           .nodePrivateKeyFile(getNodePrivateKeyFile())
           .metricsSystem(metricsSystem)
@@ -655,9 +750,38 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     jsonRpcConfiguration.setCorsAllowedDomains(rpcHttpCorsAllowedOrigins);
     jsonRpcConfiguration.setRpcApis(rpcHttpApis);
     jsonRpcConfiguration.setHostsWhitelist(hostsWhitelist);
+    jsonRpcConfiguration.setWorkerThreads(
+        checkRpcHttpLimit("--rpc-http-worker-threads", rpcHttpWorkerThreads));
+    jsonRpcConfiguration.setMaxQueuedRequests(
+        checkRpcHttpLimit("--rpc-http-max-queued-requests", rpcHttpMaxQueuedRequests));
+    jsonRpcConfiguration.setMaxBatchSize(
+        checkRpcHttpLimit("--rpc-http-max-batch-size", rpcHttpMaxBatchSize));
+    jsonRpcConfiguration.setMaxRequestsPerMethod(
+        checkRpcHttpLimit("--rpc-http-max-requests-per-method", rpcHttpMaxRequestsPerMethod));
+    jsonRpcConfiguration.setMaxRequestsPerConnection(
+        checkRpcHttpLimit(
+            "--rpc-http-max-requests-per-connection", rpcHttpMaxRequestsPerConnection));
+    jsonRpcConfiguration.setRequestQueueTimeoutMillis(
+        checkRpcHttpLimit("--rpc-http-request-queue-timeout", rpcHttpRequestQueueTimeout));
+    if (rpcResponseCacheMaxSize < 0) {
+      throw new ParameterException(
+          new CommandLine(this),
+          "--rpc-response-cache-max-size must not be negative, got "
+              + rpcResponseCacheMaxSize
+              + ".");
+    }
+    jsonRpcConfiguration.setResponseCacheMaxSizeBytes(rpcResponseCacheMaxSize);
     return jsonRpcConfiguration;
   }
 
+  private <T extends Number> T checkRpcHttpLimit(final String option, final T value) {
+    if (value.longValue() < 1) {
+      throw new ParameterException(
+          new CommandLine(this), option + " must be a positive integer, got " + value + ".");
+    }
+    return value;
+  }
+
   private WebSocketConfiguration webSocketConfiguration() {
     final WebSocketConfiguration webSocketConfiguration = WebSocketConfiguration.createDefault();
     webSocketConfiguration.setEnabled(isRpcWsEnabled);
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.cli;
 
 import static tech.pegasys.pantheon.controller.KeyPairUtil.loadKeyPair;
 import static tech.pegasys.pantheon.controller.PantheonController.DATABASE_PATH;
+import static tech.pegasys.pantheon.controller.PantheonController.ETHHASH_PATH;
 
 import tech.pegasys.pantheon.config.GenesisConfigFile;
 import tech.pegasys.pantheon.controller.MainnetPantheonController;
@@ -23,6 +24,7 @@ import tech.pegasys.pantheon.ethereum.core.MiningParameters;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.development.DevelopmentProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.RocksDbStorageProvider;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
@@ -96,16 +98,19 @@ public class PantheonControllerBuilder {
 
     final StorageProvider storageProvider =
         RocksDbStorageProvider.create(homePath.resolve(DATABASE_PATH), metricsSystem);
+    final EthHashCacheFactory ethHashCacheFactory =
+        new EthHashCacheFactory(homePath.resolve(ETHHASH_PATH), metricsSystem);
     if (devMode) {
       final GenesisConfigFile genesisConfig = GenesisConfigFile.development();
       return MainnetPantheonController.init(
           storageProvider,
           genesisConfig,
-          DevelopmentProtocolSchedule.create(genesisConfig.getConfigOptions()),
+          DevelopmentProtocolSchedule.create(genesisConfig.getConfigOptions(), ethHashCacheFactory),
           synchronizerConfiguration,
           miningParameters,
           nodeKeys,
-          metricsSystem);
+          metricsSystem,
+          ethHashCacheFactory);
     } else {
       final String genesisConfig = ethNetworkConfig.getGenesisConfig();
       final GenesisConfigFile genesisConfigFile = GenesisConfigFile.fromConfig(genesisConfig);
@@ -118,7 +123,8 @@ public class PantheonControllerBuilder {
           miningParameters,
           nodeKeys,
           metricsSystem,
-          privacyParameters);
+          privacyParameters,
+          ethHashCacheFactory);
     }
   }
 }
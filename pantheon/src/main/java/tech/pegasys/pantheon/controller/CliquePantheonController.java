@@ -21,6 +21,7 @@ import tech.pegasys.pantheon.consensus.clique.CliqueContext;
 import tech.pegasys.pantheon.consensus.clique.CliqueMiningTracker;
 import tech.pegasys.pantheon.consensus.clique.CliqueProtocolSchedule;
 import tech.pegasys.pantheon.consensus.clique.VoteTallyCache;
+import tech.pegasys.pantheon.consensus.clique.VoteTallySnapshots;
 import tech.pegasys.pantheon.consensus.clique.blockcreation.CliqueBlockScheduler;
 import tech.pegasys.pantheon.consensus.clique.blockcreation.CliqueMinerExecutor;
 import tech.pegasys.pantheon.consensus.clique.blockcreation.CliqueMiningCoordinator;
@@ -137,7 +138,11 @@ public class CliquePantheonController implements PantheonController<CliqueContex
                 new VoteTallyCache(
                     blockchain,
                     new VoteTallyUpdater(epochManger, new CliqueBlockInterface()),
-                    epochManger),
+                    epochManger,
+                    new VoteTallySnapshots(
+                        storageProvider.createConsensusStorage(),
+                        VoteTallySnapshots.DEFAULT_INTERVAL),
+                    metricsSystem),
                 new VoteProposer(),
                 epochManger));
 
@@ -150,7 +155,9 @@ public class CliquePantheonController implements PantheonController<CliqueContex
             networkId,
             fastSyncEnabled,
             syncConfig.downloaderParallelism(),
-            syncConfig.transactionsParallelism());
+            syncConfig.transactionsParallelism(),
+            syncConfig.peerRequestsParallelism(),
+            metricsSystem);
     final SyncState syncState =
         new SyncState(
             protocolContext.getBlockchain(), ethProtocolManager.ethContext().getEthPeers());
@@ -166,7 +173,7 @@ public class CliquePantheonController implements PantheonController<CliqueContex
 
     final TransactionPool transactionPool =
         TransactionPoolFactory.createTransactionPool(
-            protocolSchedule, protocolContext, ethProtocolManager.ethContext());
+            protocolSchedule, protocolContext, ethProtocolManager.ethContext(), metricsSystem);
 
     final ExecutorService minerThreadPool = Executors.newCachedThreadPool();
     final CliqueMinerExecutor miningExecutor =
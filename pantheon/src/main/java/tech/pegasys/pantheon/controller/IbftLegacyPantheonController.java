@@ -147,7 +147,9 @@ public class IbftLegacyPantheonController implements PantheonController<IbftCont
               networkId,
               fastSyncEnabled,
               syncConfig.downloaderParallelism(),
-              syncConfig.transactionsParallelism());
+              syncConfig.transactionsParallelism(),
+              syncConfig.peerRequestsParallelism(),
+              metricsSystem);
     } else {
       ethSubProtocol = EthProtocol.get();
       ethProtocolManager =
@@ -157,7 +159,9 @@ public class IbftLegacyPantheonController implements PantheonController<IbftCont
               networkId,
               fastSyncEnabled,
               syncConfig.downloaderParallelism(),
-              syncConfig.transactionsParallelism());
+              syncConfig.transactionsParallelism(),
+              syncConfig.peerRequestsParallelism(),
+              metricsSystem);
     }
 
     final SyncState syncState =
@@ -184,7 +188,7 @@ public class IbftLegacyPantheonController implements PantheonController<IbftCont
 
     final TransactionPool transactionPool =
         TransactionPoolFactory.createTransactionPool(
-            protocolSchedule, protocolContext, ethProtocolManager.ethContext());
+            protocolSchedule, protocolContext, ethProtocolManager.ethContext(), metricsSystem);
 
     return new IbftLegacyPantheonController(
         genesisConfig.getConfigOptions(),
@@ -166,7 +166,9 @@ public class IbftPantheonController implements PantheonController<IbftContext> {
             networkId,
             fastSyncEnabled,
             syncConfig.downloaderParallelism(),
-            syncConfig.transactionsParallelism());
+            syncConfig.transactionsParallelism(),
+            syncConfig.peerRequestsParallelism(),
+            metricsSystem);
     final SubProtocol ethSubProtocol = EthProtocol.get();
 
     final SyncState syncState =
@@ -184,9 +186,9 @@ public class IbftPantheonController implements PantheonController<IbftContext> {
 
     final TransactionPool transactionPool =
         TransactionPoolFactory.createTransactionPool(
-            protocolSchedule, protocolContext, ethProtocolManager.ethContext());
+            protocolSchedule, protocolContext, ethProtocolManager.ethContext(), metricsSystem);
 
-    final IbftEventQueue ibftEventQueue = new IbftEventQueue();
+    final IbftEventQueue ibftEventQueue = new IbftEventQueue(metricsSystem);
 
     final IbftBlockCreatorFactory blockCreatorFactory =
         new IbftBlockCreatorFactory(
@@ -200,7 +202,7 @@ public class IbftPantheonController implements PantheonController<IbftContext> {
     final ProposerSelector proposerSelector =
         new ProposerSelector(blockchain, voteTally, blockInterface, true);
     final ValidatorPeers peers =
-        new ValidatorPeers(protocolContext.getConsensusState().getVoteTally());
+        new ValidatorPeers(protocolContext.getConsensusState().getVoteTally(), metricsSystem);
 
     final Subscribers<MinedBlockObserver> minedBlockObservers = new Subscribers<>();
     minedBlockObservers.subscribe(ethProtocolManager);
@@ -236,11 +238,13 @@ public class IbftPantheonController implements PantheonController<IbftContext> {
                 finalState,
                 new IbftRoundFactory(
                     finalState, protocolContext, protocolSchedule, minedBlockObservers),
-                messageValidatorFactory));
+                messageValidatorFactory),
+            metricsSystem);
     ibftController.start();
 
     final EventMultiplexer eventMultiplexer = new EventMultiplexer(ibftController);
-    final IbftProcessor ibftProcessor = new IbftProcessor(ibftEventQueue, eventMultiplexer);
+    final IbftProcessor ibftProcessor =
+        new IbftProcessor(ibftEventQueue, eventMultiplexer, metricsSystem);
     final ExecutorService processorExecutor = Executors.newSingleThreadExecutor();
     processorExecutor.submit(ibftProcessor);
 
@@ -26,6 +26,7 @@ import tech.pegasys.pantheon.ethereum.core.TransactionPool;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.config.SubProtocolConfiguration;
@@ -39,6 +40,7 @@ import java.util.Map;
 public interface PantheonController<C> extends Closeable {
 
   String DATABASE_PATH = "database";
+  String ETHHASH_PATH = "ethash";
 
   static PantheonController<?> fromConfig(
       final GenesisConfigFile genesisConfigFile,
@@ -49,7 +51,8 @@ public interface PantheonController<C> extends Closeable {
       final MiningParameters miningParameters,
       final KeyPair nodeKeys,
       final MetricsSystem metricsSystem,
-      final PrivacyParameters privacyParameters) {
+      final PrivacyParameters privacyParameters,
+      final EthHashCacheFactory ethHashCacheFactory) {
 
     final GenesisConfigOptions configOptions = genesisConfigFile.getConfigOptions();
 
@@ -57,11 +60,12 @@ public interface PantheonController<C> extends Closeable {
       return MainnetPantheonController.init(
           storageProvider,
           genesisConfigFile,
-          MainnetProtocolSchedule.fromConfig(configOptions, privacyParameters),
+          MainnetProtocolSchedule.fromConfig(configOptions, privacyParameters, ethHashCacheFactory),
           syncConfig,
           miningParameters,
           nodeKeys,
-          metricsSystem);
+          metricsSystem,
+          ethHashCacheFactory);
     } else if (configOptions.isRevisedIbft()) {
       return IbftPantheonController.init(
           storageProvider,
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.apache.logging.log4j.LogManager.getLogger;
+
+import tech.pegasys.pantheon.controller.PantheonController;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+
+import com.google.common.base.MoreObjects;
+import org.apache.logging.log4j.Logger;
+
+/** Pantheon Block Export Util. */
+public class BlockExporter {
+  private static final Logger LOG = getLogger();
+
+  private static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+  /**
+   * Exports a range of blocks from Pantheon's block storage to the given file as concatenated RLP
+   * sections, the format read by {@link BlockImporter}.
+   *
+   * <p>Blocks are assembled from the header and body RLP as stored, without decoding them. The file
+   * is written through memory mapped regions rather than stream writes, and truncated to the
+   * exported size once all blocks are written. Blocks are written to a temporary file next to the
+   * target, which is only moved into place once the export succeeds, so that a failed export
+   * leaves no partial file behind.
+   *
+   * @param target Path to the file to write the blocks to
+   * @param pantheonController the PantheonController that defines blockchain behavior
+   * @param startBlock the number of the first block to export
+   * @param endBlock the number of the last block to export, defaults to the chain head
+   * @param <C> the consensus context type
+   * @return the export result
+   * @throws IOException On Failure
+   */
+  public <C> BlockExporter.ExportResult exportBlockchain(
+      final Path target,
+      final PantheonController<C> pantheonController,
+      final long startBlock,
+      final OptionalLong endBlock)
+      throws IOException {
+    try {
+      final Blockchain blockchain = pantheonController.getProtocolContext().getBlockchain();
+      final long lastBlock = endBlock.orElse(blockchain.getChainHeadBlockNumber());
+      if (startBlock < 0 || startBlock > lastBlock) {
+        throw new IllegalArgumentException(
+            "Invalid block range " + startBlock + " to " + lastBlock + ".");
+      }
+      if (lastBlock > blockchain.getChainHeadBlockNumber()) {
+        throw new IllegalArgumentException(
+            "Block "
+                + lastBlock
+                + " is beyond the current chain head "
+                + blockchain.getChainHeadBlockNumber()
+                + ".");
+      }
+
+      final Path tempTarget = target.resolveSibling(target.getFileName() + ".tmp");
+      final long size;
+      try {
+        size = writeBlocks(tempTarget, blockchain, startBlock, lastBlock);
+        Files.move(tempTarget, target, REPLACE_EXISTING, ATOMIC_MOVE);
+      } catch (final IOException | RuntimeException e) {
+        Files.deleteIfExists(tempTarget);
+        throw e;
+      }
+      LOG.info("Exported blocks {} to {} ({} bytes) to {}", startBlock, lastBlock, size, target);
+      return new BlockExporter.ExportResult(startBlock, lastBlock, size);
+    } finally {
+      pantheonController.close();
+    }
+  }
+
+  private long writeBlocks(
+      final Path file, final Blockchain blockchain, final long startBlock, final long lastBlock)
+      throws IOException {
+    try (final FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      long regionStart = 0;
+      MappedByteBuffer region = channel.map(MapMode.READ_WRITE, regionStart, MAPPED_REGION_SIZE);
+      for (long number = startBlock; number <= lastBlock; number++) {
+        final BytesValue blockRlp = lookupBlockRlp(blockchain, number);
+        if (region.remaining() < blockRlp.size()) {
+          regionStart += region.position();
+          region =
+              channel.map(
+                  MapMode.READ_WRITE, regionStart, Math.max(MAPPED_REGION_SIZE, blockRlp.size()));
+        }
+        region.put(blockRlp.getArrayUnsafe(), 0, blockRlp.size());
+        if (number % 100 == 0) {
+          LOG.info("Export at block {}", number);
+        }
+      }
+      final long size = regionStart + region.position();
+      region.force();
+      channel.truncate(size);
+      return size;
+    }
+  }
+
+  private BytesValue lookupBlockRlp(final Blockchain blockchain, final long number) {
+    final Hash hash =
+        blockchain
+            .getBlockHashByNumber(number)
+            .orElseThrow(() -> new IllegalStateException("Missing block " + number + "."));
+    final BytesValue header =
+        blockchain
+            .getBlockHeaderRlp(hash)
+            .orElseThrow(() -> new IllegalStateException("Missing header " + hash + "."));
+    final RLPInput body =
+        RLP.input(
+            blockchain
+                .getBlockBodyRlp(hash)
+                .orElseThrow(() -> new IllegalStateException("Missing body " + hash + ".")));
+    // A block is the list of its header, transactions and ommers, the body being the list of the
+    // latter two.
+    body.enterList();
+    final BytesValue transactions = body.readRaw();
+    final BytesValue ommers = body.readRaw();
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeRLPUnsafe(header);
+          out.writeRLPUnsafe(transactions);
+          out.writeRLPUnsafe(ommers);
+          out.endList();
+        });
+  }
+
+  public static final class ExportResult {
+
+    public final long startBlock;
+
+    public final long endBlock;
+
+    public final long size;
+
+    ExportResult(final long startBlock, final long endBlock, final long size) {
+      this.startBlock = startBlock;
+      this.endBlock = endBlock;
+      this.size = size;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("startBlock", startBlock)
+          .add("endBlock", endBlock)
+          .add("size", size)
+          .toString();
+    }
+  }
+}
@@ -21,6 +21,7 @@ import tech.pegasys.pantheon.ethereum.blockcreation.BlockMiner;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
@@ -31,13 +32,27 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.Logger;
 
 /** Pantheon Block Import Util. */
 public class BlockImporter {
   private static final Logger LOG = getLogger();
+
+  private static final int PIPELINE_DEPTH = 256;
+  private static final CompletableFuture<Block> END_OF_BLOCKS =
+      CompletableFuture.completedFuture(null);
+
   /**
    * Imports blocks that are stored as concatenated RLP sections in the given file into Pantheon's
    * block storage.
@@ -52,6 +67,32 @@ public class BlockImporter {
   public <C, M extends BlockMiner<C, ? extends AbstractBlockCreator<C>>>
       BlockImporter.ImportResult importBlockchain(
           final Path blocks, final PantheonController<C> pantheonController) throws IOException {
+    return importBlockchain(blocks, pantheonController, false);
+  }
+
+  /**
+   * Imports blocks that are stored as concatenated RLP sections in the given file into Pantheon's
+   * block storage.
+   *
+   * <p>When pipelined, blocks are decoded ahead of execution on a separate thread, and the header
+   * rules that do not depend on the parent block's state are validated and transaction senders
+   * recovered on a pool of worker threads. Blocks are still executed and appended to the chain
+   * sequentially, in file order.
+   *
+   * @param blocks Path to the file containing the blocks
+   * @param pantheonController the PantheonController that defines blockchain behavior
+   * @param pipelined whether to decode and validate blocks in parallel ahead of execution
+   * @param <C> the consensus context type
+   * @param <M> the type of miner being used within the executing pantheon
+   * @return the import result
+   * @throws IOException On Failure
+   */
+  public <C, M extends BlockMiner<C, ? extends AbstractBlockCreator<C>>>
+      BlockImporter.ImportResult importBlockchain(
+          final Path blocks,
+          final PantheonController<C> pantheonController,
+          final boolean pipelined)
+          throws IOException {
     final ProtocolSchedule<C> protocolSchedule = pantheonController.getProtocolSchedule();
     final ProtocolContext<C> context = pantheonController.getProtocolContext();
 
@@ -61,50 +102,181 @@ public class BlockImporter {
             rlp ->
                 BlockHeader.readFrom(
                     rlp, ScheduleBasedBlockHashFunction.create(protocolSchedule)))) {
-      final MutableBlockchain blockchain = context.getBlockchain();
-      int count = 1;
-      BlockHeader previousHeader = null;
-      while (iterator.hasNext()) {
-        final Block block = iterator.next();
-        final BlockHeader header = block.getHeader();
-        if (header.getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
-          continue;
-        }
-        if (header.getNumber() % 100 == 0) {
-          LOG.info("Import at block {}", header.getNumber());
-        }
-        if (blockchain.contains(header.getHash())) {
-          continue;
-        }
-        if (previousHeader == null) {
-          previousHeader = lookupPreviousHeader(blockchain, header);
-        }
-        final ProtocolSpec<C> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
-        final BlockHeaderValidator<C> blockHeaderValidator = protocolSpec.getBlockHeaderValidator();
-        final boolean validHeader =
-            blockHeaderValidator.validateHeader(
-                header, previousHeader, context, HeaderValidationMode.FULL);
-        if (!validHeader) {
-          throw new IllegalStateException(
-              "Invalid header at block number " + header.getNumber() + ".");
-        }
-        final tech.pegasys.pantheon.ethereum.core.BlockImporter<C> blockImporter =
-            protocolSpec.getBlockImporter();
-        final boolean blockImported =
-            blockImporter.importBlock(context, block, HeaderValidationMode.NONE);
-        if (!blockImported) {
-          throw new IllegalStateException(
-              "Invalid block at block number " + header.getNumber() + ".");
-        }
-        ++count;
-        previousHeader = header;
-      }
-      return new BlockImporter.ImportResult(blockchain.getChainHead().getTotalDifficulty(), count);
+      final ImportThroughput throughput =
+          pipelined
+              ? importPipelined(iterator, protocolSchedule, context)
+              : importSequential(iterator, protocolSchedule, context);
+      LOG.info(
+          "Imported {} blocks in {} seconds ({} blocks/s, {} Mgas/s)",
+          throughput.blocks,
+          String.format("%.1f", throughput.elapsedSeconds()),
+          String.format("%.1f", throughput.blocksPerSecond()),
+          String.format("%.2f", throughput.gasPerSecond() / 1_000_000));
+      return new BlockImporter.ImportResult(
+          context.getBlockchain().getChainHead().getTotalDifficulty(),
+          throughput.blocks + 1,
+          throughput.blocksPerSecond(),
+          throughput.gasPerSecond());
     } finally {
       pantheonController.close();
     }
   }
 
+  private <C> ImportThroughput importSequential(
+      final RawBlockIterator iterator,
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> context) {
+    final MutableBlockchain blockchain = context.getBlockchain();
+    final ImportThroughput throughput = new ImportThroughput();
+    BlockHeader previousHeader = null;
+    while (iterator.hasNext()) {
+      final Block block = iterator.next();
+      final BlockHeader header = block.getHeader();
+      if (header.getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
+        continue;
+      }
+      if (blockchain.contains(header.getHash())) {
+        continue;
+      }
+      if (previousHeader == null) {
+        previousHeader = lookupPreviousHeader(blockchain, header);
+      }
+      validateHeader(protocolSchedule, context, header, previousHeader, HeaderValidationMode.FULL);
+      importBlock(protocolSchedule, context, block, HeaderValidationMode.NONE);
+      throughput.blockImported(header);
+      previousHeader = header;
+    }
+    return throughput;
+  }
+
+  private <C> ImportThroughput importPipelined(
+      final RawBlockIterator iterator,
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> context) {
+    final BlockingQueue<CompletableFuture<Block>> validatedBlocks =
+        new ArrayBlockingQueue<>(PIPELINE_DEPTH);
+    final ExecutorService reader =
+        Executors.newSingleThreadExecutor(threadFactory("BlockImporter-Reader-%d"));
+    final ExecutorService validators =
+        Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            threadFactory("BlockImporter-Validator-%d"));
+    try {
+      reader.execute(
+          () -> readAhead(iterator, protocolSchedule, context, validators, validatedBlocks));
+      final ImportThroughput throughput = new ImportThroughput();
+      CompletableFuture<Block> validation = validatedBlocks.take();
+      while (validation != END_OF_BLOCKS) {
+        final Block block = awaitValidation(validation);
+        importBlock(protocolSchedule, context, block, HeaderValidationMode.SKIP_DETACHED);
+        throughput.blockImported(block.getHeader());
+        validation = validatedBlocks.take();
+      }
+      return throughput;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while importing blocks", e);
+    } finally {
+      reader.shutdownNow();
+      validators.shutdownNow();
+    }
+  }
+
+  private <C> void readAhead(
+      final RawBlockIterator iterator,
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> context,
+      final ExecutorService validators,
+      final BlockingQueue<CompletableFuture<Block>> validatedBlocks) {
+    final MutableBlockchain blockchain = context.getBlockchain();
+    try {
+      try {
+        BlockHeader previousHeader = null;
+        while (iterator.hasNext()) {
+          final Block block = iterator.next();
+          final BlockHeader header = block.getHeader();
+          if (header.getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
+            continue;
+          }
+          if (!blockchain.contains(header.getHash())) {
+            final BlockHeader parent =
+                previousHeader == null
+                    ? lookupPreviousHeader(blockchain, header)
+                    : previousHeader;
+            validatedBlocks.put(
+                CompletableFuture.supplyAsync(
+                    () -> validateDetached(protocolSchedule, context, block, parent), validators));
+          }
+          previousHeader = header;
+        }
+        validatedBlocks.put(END_OF_BLOCKS);
+      } catch (final RuntimeException e) {
+        final CompletableFuture<Block> failure = new CompletableFuture<>();
+        failure.completeExceptionally(e);
+        validatedBlocks.put(failure);
+      }
+    } catch (final InterruptedException e) {
+      // The import was aborted, nobody is waiting for further blocks.
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private <C> Block validateDetached(
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> context,
+      final Block block,
+      final BlockHeader parent) {
+    validateHeader(
+        protocolSchedule, context, block.getHeader(), parent, HeaderValidationMode.DETACHED_ONLY);
+    // Senders are cached on the transaction, so execution will not need to recover them again.
+    block.getBody().getTransactions().forEach(Transaction::getSender);
+    return block;
+  }
+
+  private Block awaitValidation(final CompletableFuture<Block> validation) {
+    try {
+      return validation.join();
+    } catch (final CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
+  private <C> void validateHeader(
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> context,
+      final BlockHeader header,
+      final BlockHeader previousHeader,
+      final HeaderValidationMode validationMode) {
+    final BlockHeaderValidator<C> blockHeaderValidator =
+        protocolSchedule.getByBlockNumber(header.getNumber()).getBlockHeaderValidator();
+    final boolean validHeader =
+        blockHeaderValidator.validateHeader(header, previousHeader, context, validationMode);
+    if (!validHeader) {
+      throw new IllegalStateException("Invalid header at block number " + header.getNumber() + ".");
+    }
+  }
+
+  private <C> void importBlock(
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> context,
+      final Block block,
+      final HeaderValidationMode headerValidationMode) {
+    final ProtocolSpec<C> protocolSpec =
+        protocolSchedule.getByBlockNumber(block.getHeader().getNumber());
+    final tech.pegasys.pantheon.ethereum.core.BlockImporter<C> blockImporter =
+        protocolSpec.getBlockImporter();
+    final boolean blockImported = blockImporter.importBlock(context, block, headerValidationMode);
+    if (!blockImported) {
+      throw new IllegalStateException(
+          "Invalid block at block number " + block.getHeader().getNumber() + ".");
+    }
+  }
+
+  private ThreadFactory threadFactory(final String nameFormat) {
+    return new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build();
+  }
+
   private BlockHeader lookupPreviousHeader(
       final MutableBlockchain blockchain, final BlockHeader header) {
     return blockchain
@@ -117,20 +289,67 @@ public class BlockImporter {
                         header.getNumber(), blockchain.getChainHeadBlockNumber())));
   }
 
+  private static final class ImportThroughput {
+    private final long startTime = System.nanoTime();
+    private int blocks;
+    private long gasUsed;
+
+    private void blockImported(final BlockHeader header) {
+      blocks++;
+      gasUsed += header.getGasUsed();
+      if (header.getNumber() % 100 == 0) {
+        LOG.info(
+            "Import at block {} ({} blocks/s, {} Mgas/s)",
+            header.getNumber(),
+            String.format("%.1f", blocksPerSecond()),
+            String.format("%.2f", gasPerSecond() / 1_000_000));
+      }
+    }
+
+    private double elapsedSeconds() {
+      return (System.nanoTime() - startTime) / 1_000_000_000.0;
+    }
+
+    private double blocksPerSecond() {
+      final double elapsedSeconds = elapsedSeconds();
+      return elapsedSeconds > 0 ? blocks / elapsedSeconds : 0;
+    }
+
+    private double gasPerSecond() {
+      final double elapsedSeconds = elapsedSeconds();
+      return elapsedSeconds > 0 ? gasUsed / elapsedSeconds : 0;
+    }
+  }
+
   public static final class ImportResult {
 
     public final UInt256 td;
 
     public final int count;
 
-    ImportResult(final UInt256 td, final int count) {
+    public final double blocksPerSecond;
+
+    public final double gasPerSecond;
+
+    ImportResult(
+        final UInt256 td,
+        final int count,
+        final double blocksPerSecond,
+        final double gasPerSecond) {
       this.td = td;
       this.count = count;
+      this.blocksPerSecond = blocksPerSecond;
+      this.gasPerSecond = gasPerSecond;
     }
 
     @Override
     public String toString() {
-      return MoreObjects.toStringHelper(this).add("td", td).add("count", count).toString();
+      return MoreObjects.toStringHelper(this)
+          .add("td", td)
+          .add("count", count)
+          .add("blocksPerSecond", blocksPerSecond)
+          .add("gasPerSecond", gasPerSecond)
+          .toString();
     }
   }
 }
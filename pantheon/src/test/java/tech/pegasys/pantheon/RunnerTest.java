@@ -29,6 +29,7 @@ import tech.pegasys.pantheon.ethereum.eth.sync.SyncMode;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
@@ -109,7 +110,8 @@ public final class RunnerTest {
             fastSyncConfig,
             new MiningParametersTestBuilder().enabled(false).build(),
             aheadDbNodeKeys,
-            noOpMetricsSystem)) {
+            noOpMetricsSystem,
+            new EthHashCacheFactory())) {
       setupState(blockCount, controller.getProtocolSchedule(), controller.getProtocolContext());
     }
 
@@ -122,7 +124,8 @@ public final class RunnerTest {
             fastSyncConfig,
             new MiningParametersTestBuilder().enabled(false).build(),
             aheadDbNodeKeys,
-            noOpMetricsSystem);
+            noOpMetricsSystem,
+            new EthHashCacheFactory());
     final String listenHost = InetAddress.getLoopbackAddress().getHostAddress();
     final ExecutorService executorService = Executors.newFixedThreadPool(2);
     final JsonRpcConfiguration aheadJsonRpcConfiguration = jsonRpcConfiguration();
@@ -165,7 +168,8 @@ public final class RunnerTest {
               fastSyncConfig,
               new MiningParametersTestBuilder().enabled(false).build(),
               KeyPair.generate(),
-              noOpMetricsSystem);
+              noOpMetricsSystem,
+              new EthHashCacheFactory());
       final Runner runnerBehind =
           runnerBuilder
               .pantheonController(controllerBehind)
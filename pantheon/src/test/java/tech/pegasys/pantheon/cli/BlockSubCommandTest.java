@@ -14,9 +14,11 @@ package tech.pegasys.pantheon.cli;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
 import java.io.File;
+import java.util.OptionalLong;
 
 import org.junit.Test;
 import picocli.CommandLine.Model.CommandSpec;
@@ -35,15 +37,19 @@ public class BlockSubCommandTest extends CommandTestAbstract {
           + "Commands:"
           + System.lineSeparator()
           + "  import  This command imports blocks from a file into the database."
+          + System.lineSeparator()
+          + "  export  This command exports a range of blocks from the database to a file."
           + System.lineSeparator();
 
   private static final String EXPECTED_BLOCK_IMPORT_USAGE =
-      "Usage: pantheon blocks import [-hV] --from=<FILE>"
+      "Usage: pantheon blocks import [-hV] [--pipelined] --from=<FILE>"
           + System.lineSeparator()
           + "This command imports blocks from a file into the database."
           + System.lineSeparator()
           + "      --from=<FILE>   File containing blocks to import"
           + System.lineSeparator()
+          + "      --pipelined     Validate blocks ahead in parallel (default: false)"
+          + System.lineSeparator()
           + "  -h, --help          Show this help message and exit."
           + System.lineSeparator()
           + "  -V, --version       Print version information and exit."
@@ -51,6 +57,7 @@ public class BlockSubCommandTest extends CommandTestAbstract {
 
   private static final String BLOCK_SUBCOMMAND_NAME = "blocks";
   private static final String BLOCK_IMPORT_SUBCOMMAND_NAME = "import";
+  private static final String BLOCK_EXPORT_SUBCOMMAND_NAME = "export";
 
   // Block sub-command
   @Test
@@ -58,7 +65,7 @@ public class BlockSubCommandTest extends CommandTestAbstract {
     CommandSpec spec = parseCommand();
     assertThat(spec.subcommands()).containsKeys(BLOCK_SUBCOMMAND_NAME);
     assertThat(spec.subcommands().get(BLOCK_SUBCOMMAND_NAME).getSubcommands())
-        .containsKeys(BLOCK_IMPORT_SUBCOMMAND_NAME);
+        .containsKeys(BLOCK_IMPORT_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME);
     assertThat(commandOutput.toString()).isEmpty();
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
@@ -99,11 +106,88 @@ public class BlockSubCommandTest extends CommandTestAbstract {
     parseCommand(
         BLOCK_SUBCOMMAND_NAME, BLOCK_IMPORT_SUBCOMMAND_NAME, "--from", fileToImport.getPath());
 
-    verify(mockBlockImporter).importBlockchain(pathArgumentCaptor.capture(), any());
+    verify(mockBlockImporter).importBlockchain(pathArgumentCaptor.capture(), any(), eq(false));
 
     assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToImport.toPath());
 
     assertThat(commandOutput.toString()).isEmpty();
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
+
+  @Test
+  public void callingBlockImportSubCommandWithPipelinedOptionMustImportPipelined()
+      throws Exception {
+    File fileToImport = temp.newFile("blocks.file");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME,
+        BLOCK_IMPORT_SUBCOMMAND_NAME,
+        "--from",
+        fileToImport.getPath(),
+        "--pipelined");
+
+    verify(mockBlockImporter).importBlockchain(pathArgumentCaptor.capture(), any(), eq(true));
+
+    assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToImport.toPath());
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  // Export sub-sub-command
+  @Test
+  public void callingBlockExportSubCommandWithoutPathMustDisplayErrorAndUsage() {
+    parseCommand(BLOCK_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME);
+    final String expectedErrorOutputStart = "Missing required option '--to=<FILE>'";
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).startsWith(expectedErrorOutputStart);
+  }
+
+  @Test
+  public void callingBlockExportSubCommandHelpMustDisplayUsage() {
+    parseCommand(BLOCK_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME, "--help");
+    assertThat(commandOutput.toString())
+        .startsWith("Usage: pantheon blocks export [-hV]")
+        .contains("This command exports a range of blocks from the database to a file.")
+        .contains("--to=<FILE>")
+        .contains("--start-block=<LONG>")
+        .contains("--end-block=<LONG>");
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void callingBlockExportSubCommandWithPathMustExportToChainHead() throws Exception {
+    File fileToExport = temp.newFile("blocks.file");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME, "--to", fileToExport.getPath());
+
+    verify(mockBlockExporter)
+        .exportBlockchain(pathArgumentCaptor.capture(), any(), eq(0L), eq(OptionalLong.empty()));
+
+    assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToExport.toPath());
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void callingBlockExportSubCommandWithRangeMustExportThisRange() throws Exception {
+    File fileToExport = temp.newFile("blocks.file");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME,
+        BLOCK_EXPORT_SUBCOMMAND_NAME,
+        "--to",
+        fileToExport.getPath(),
+        "--start-block",
+        "10",
+        "--end-block",
+        "20");
+
+    verify(mockBlockExporter)
+        .exportBlockchain(pathArgumentCaptor.capture(), any(), eq(10L), eq(OptionalLong.of(20)));
+
+    assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToExport.toPath());
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
 }
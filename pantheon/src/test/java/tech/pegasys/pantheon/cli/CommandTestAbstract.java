@@ -26,6 +26,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 
 import java.io.ByteArrayOutputStream;
@@ -71,6 +72,7 @@ public abstract class CommandTestAbstract {
   @Mock SynchronizerConfiguration mockSyncConf;
   @Mock PantheonController<?> mockController;
   @Mock BlockImporter mockBlockImporter;
+  @Mock BlockExporter mockBlockExporter;
 
   @Captor ArgumentCaptor<Collection<String>> stringListArgumentCaptor;
   @Captor ArgumentCaptor<Path> pathArgumentCaptor;
@@ -136,7 +138,11 @@ public abstract class CommandTestAbstract {
 
     final TestPantheonCommand pantheonCommand =
         new TestPantheonCommand(
-            mockBlockImporter, mockRunnerBuilder, mockControllerBuilder, mockSyncConfBuilder);
+            mockBlockImporter,
+            mockBlockExporter,
+            mockRunnerBuilder,
+            mockControllerBuilder,
+            mockSyncConfBuilder);
 
     // parse using Ansi.OFF to be able to assert on non formatted output results
     pantheonCommand.parse(
@@ -152,10 +158,16 @@ public abstract class CommandTestAbstract {
 
     TestPantheonCommand(
         final BlockImporter mockBlockImporter,
+        final BlockExporter mockBlockExporter,
         final RunnerBuilder mockRunnerBuilder,
         final PantheonControllerBuilder mockControllerBuilder,
         final SynchronizerConfiguration.Builder mockSyncConfBuilder) {
-      super(mockBlockImporter, mockRunnerBuilder, mockControllerBuilder, mockSyncConfBuilder);
+      super(
+          mockBlockImporter,
+          mockBlockExporter,
+          mockRunnerBuilder,
+          mockControllerBuilder,
+          mockSyncConfBuilder);
     }
   }
 }
@@ -161,6 +161,7 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(miningArg.getValue().getCoinbase()).isEqualTo(Optional.empty());
     assertThat(miningArg.getValue().getMinTransactionGasPrice()).isEqualTo(Wei.of(1000));
     assertThat(miningArg.getValue().getExtraData()).isEqualTo(BytesValue.EMPTY);
+    assertThat(miningArg.getValue().getEthHashDatasetDirectory()).isEmpty();
     assertThat(networkArg.getValue().getNetworkId()).isEqualTo(1);
     assertThat(networkArg.getValue().getBootNodes()).isEqualTo(MAINNET_BOOTSTRAP_NODES);
   }
@@ -992,6 +993,86 @@ public class PantheonCommandTest extends CommandTestAbstract {
         .contains("Invalid value for option '--rpc-http-apis'");
   }
 
+  @Test
+  public void jsonRpcLimitOptionsMustBeUsed() {
+    parseCommand(
+        "--rpc-http-worker-threads",
+        "4",
+        "--rpc-http-max-queued-requests",
+        "100",
+        "--rpc-http-max-batch-size",
+        "10",
+        "--rpc-http-max-requests-per-method",
+        "20",
+        "--rpc-http-max-requests-per-connection",
+        "30",
+        "--rpc-http-request-queue-timeout",
+        "5000");
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    final JsonRpcConfiguration config = jsonRpcConfigArgumentCaptor.getValue();
+    assertThat(config.getWorkerThreads()).isEqualTo(4);
+    assertThat(config.getMaxQueuedRequests()).isEqualTo(100);
+    assertThat(config.getMaxBatchSize()).isEqualTo(10);
+    assertThat(config.getMaxRequestsPerMethod()).isEqualTo(20);
+    assertThat(config.getMaxRequestsPerConnection()).isEqualTo(30);
+    assertThat(config.getRequestQueueTimeoutMillis()).isEqualTo(5000);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void jsonRpcLimitOptionWithNonPositiveValueMustDisplayError() {
+    parseCommand("--rpc-http-max-batch-size", "0");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .contains("--rpc-http-max-batch-size must be a positive integer");
+  }
+
+  @Test
+  public void jsonRpcResponseCacheIsDisabledByDefault() {
+    parseCommand();
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getResponseCacheMaxSizeBytes()).isZero();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void jsonRpcResponseCacheMaxSizeOptionMustBeUsed() {
+    parseCommand("--rpc-response-cache-max-size", "1048576");
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getResponseCacheMaxSizeBytes())
+        .isEqualTo(1048576);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void jsonRpcResponseCacheMaxSizeOptionWithNegativeValueMustDisplayError() {
+    parseCommand("--rpc-response-cache-max-size", "-1");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .contains("--rpc-response-cache-max-size must not be negative");
+  }
+
   @Test
   public void jsonRpcHostAndPortOptionsMustBeUsed() {
 
@@ -1508,6 +1589,22 @@ public class PantheonCommandTest extends CommandTestAbstract {
         .isEqualTo(BytesValue.fromHexString(extraDataString));
   }
 
+  @Test
+  public void miningFullDatasetIsStoredInDataDirectory() throws Exception {
+    parseCommand("--miner-full-dataset");
+
+    final ArgumentCaptor<MiningParameters> miningArg =
+        ArgumentCaptor.forClass(MiningParameters.class);
+
+    verify(mockControllerBuilder).miningParameters(miningArg.capture());
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandErrorOutput.toString()).isEmpty();
+    assertThat(miningArg.getValue().getEthHashDatasetDirectory()).isPresent();
+    assertThat(miningArg.getValue().getEthHashDatasetDirectory().get().getFileName())
+        .isEqualTo(Paths.get("ethash"));
+  }
+
   @Test
   public void devModeOptionMustBeUsed() throws Exception {
     parseCommand("--network", "dev");
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.config.GenesisConfigFile;
+import tech.pegasys.pantheon.controller.PantheonController;
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider;
+import tech.pegasys.pantheon.ethereum.core.MiningParametersTestBuilder;
+import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
+import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.testutil.BlockTestUtil;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests for {@link BlockExporter}. */
+public final class BlockExporterTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final BlockExporter blockExporter = new BlockExporter();
+  private final BlockImporter blockImporter = new BlockImporter();
+  private PantheonController<?> sourceController;
+
+  @Before
+  public void importSourceBlocks() throws IOException {
+    final Path source = folder.newFile().toPath();
+    BlockTestUtil.write1000Blocks(source);
+    sourceController = createController();
+    blockImporter.importBlockchain(source, sourceController);
+  }
+
+  @Test
+  public void exportedBlocksCanBeReimported() throws IOException {
+    final Path target = folder.newFile().toPath();
+    final BlockExporter.ExportResult exportResult =
+        blockExporter.exportBlockchain(target, sourceController, 0, OptionalLong.empty());
+    assertThat(exportResult.startBlock).isEqualTo(0);
+    assertThat(exportResult.endBlock).isEqualTo(999);
+    assertThat(Files.size(target)).isEqualTo(exportResult.size);
+
+    final BlockImporter.ImportResult importResult =
+        blockImporter.importBlockchain(target, createController(), true);
+    assertThat(importResult.count).isEqualTo(1000);
+    assertThat(importResult.td).isEqualTo(UInt256.of(21991996248790L));
+  }
+
+  @Test
+  public void exportsSelectedRange() throws IOException {
+    final Path target = folder.newFile().toPath();
+    blockExporter.exportBlockchain(target, sourceController, 0, OptionalLong.of(99));
+
+    final BlockImporter.ImportResult importResult =
+        blockImporter.importBlockchain(target, createController());
+    assertThat(importResult.count).isEqualTo(100);
+  }
+
+  @Test
+  public void rejectsRangeBeyondChainHead() throws IOException {
+    final Path target = folder.newFile().toPath();
+    assertThatThrownBy(
+            () ->
+                blockExporter.exportBlockchain(
+                    target, sourceController, 0, OptionalLong.of(1000)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failedExportLeavesNoFile() throws IOException {
+    final Path exportDirectory = folder.newFolder().toPath();
+    final MutableBlockchain blockchain = mock(MutableBlockchain.class);
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(10L);
+    when(blockchain.getBlockHashByNumber(anyLong())).thenReturn(Optional.empty());
+    @SuppressWarnings("unchecked")
+    final PantheonController<Void> controller = mock(PantheonController.class);
+    when(controller.getProtocolContext()).thenReturn(new ProtocolContext<>(blockchain, null, null));
+
+    assertThatThrownBy(
+            () ->
+                blockExporter.exportBlockchain(
+                    exportDirectory.resolve("blocks.rlp"), controller, 0, OptionalLong.empty()))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(exportDirectory.toFile().list()).isEmpty();
+  }
+
+  private PantheonController<?> createController() throws IOException {
+    return PantheonController.fromConfig(
+        GenesisConfigFile.mainnet(),
+        SynchronizerConfiguration.builder().build(),
+        new InMemoryStorageProvider(),
+        false,
+        1,
+        new MiningParametersTestBuilder().enabled(false).build(),
+        KeyPair.generate(),
+        new NoOpMetricsSystem(),
+        PrivacyParameters.noPrivacy(),
+        new EthHashCacheFactory());
+  }
+}
@@ -22,6 +22,7 @@ import tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider;
 import tech.pegasys.pantheon.ethereum.core.MiningParametersTestBuilder;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.testutil.BlockTestUtil;
 import tech.pegasys.pantheon.util.uint.UInt256;
@@ -57,13 +58,36 @@ public final class BlockImporterTest {
             new MiningParametersTestBuilder().enabled(false).build(),
             KeyPair.generate(),
             new NoOpMetricsSystem(),
-            PrivacyParameters.noPrivacy());
+            PrivacyParameters.noPrivacy(),
+            new EthHashCacheFactory());
     final BlockImporter.ImportResult result =
         blockImporter.importBlockchain(source, targetController);
     assertThat(result.count).isEqualTo(1000);
     assertThat(result.td).isEqualTo(UInt256.of(21991996248790L));
   }
 
+  @Test
+  public void pipelinedBlockImport() throws IOException {
+    final Path source = folder.newFile().toPath();
+    BlockTestUtil.write1000Blocks(source);
+    final PantheonController<?> targetController =
+        PantheonController.fromConfig(
+            GenesisConfigFile.mainnet(),
+            SynchronizerConfiguration.builder().build(),
+            new InMemoryStorageProvider(),
+            false,
+            1,
+            new MiningParametersTestBuilder().enabled(false).build(),
+            KeyPair.generate(),
+            new NoOpMetricsSystem(),
+            PrivacyParameters.noPrivacy(),
+            new EthHashCacheFactory());
+    final BlockImporter.ImportResult result =
+        blockImporter.importBlockchain(source, targetController, true);
+    assertThat(result.count).isEqualTo(1000);
+    assertThat(result.td).isEqualTo(UInt256.of(21991996248790L));
+  }
+
   @Test
   public void ibftImport() throws IOException {
     final Path source = folder.newFile().toPath();
@@ -90,7 +114,8 @@ public final class BlockImporterTest {
             new MiningParametersTestBuilder().enabled(false).build(),
             KeyPair.generate(),
             new NoOpMetricsSystem(),
-            PrivacyParameters.noPrivacy());
+            PrivacyParameters.noPrivacy(),
+            new EthHashCacheFactory());
     final BlockImporter.ImportResult result = blockImporter.importBlockchain(source, controller);
 
     assertThat(result.count).isEqualTo(959);
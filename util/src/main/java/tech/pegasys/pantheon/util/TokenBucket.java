@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ticker;
+
+/**
+ * A token bucket rate limiter. The bucket starts full, so a burst of up to its capacity is allowed
+ * straight away, and is then refilled at a steady rate. This class is safe to use from multiple
+ * threads.
+ *
+ * <p>Guava's bursty {@code RateLimiter} starts with no stored permits instead, so that a second
+ * request arriving shortly after the first one is refused even at a generous rate.
+ */
+public class TokenBucket {
+
+  private final double capacity;
+  private final double tokensPerNanosecond;
+  private final Ticker ticker;
+
+  // Guarded by this
+  private double tokens;
+  private long lastRefillTime;
+
+  public TokenBucket(final double capacity, final double tokensPerSecond) {
+    this(capacity, tokensPerSecond, Ticker.systemTicker());
+  }
+
+  public TokenBucket(final double capacity, final double tokensPerSecond, final Ticker ticker) {
+    checkArgument(capacity >= 1, "Capacity must allow at least one token, was %s", capacity);
+    checkArgument(tokensPerSecond > 0, "Refill rate must be positive, was %s", tokensPerSecond);
+    this.capacity = capacity;
+    this.tokensPerNanosecond = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.ticker = ticker;
+    this.tokens = capacity;
+    this.lastRefillTime = ticker.read();
+  }
+
+  /**
+   * Takes a token from the bucket if one is available, without waiting.
+   *
+   * @return true if a token was taken, false if the bucket is empty
+   */
+  public synchronized boolean tryAcquire() {
+    final long now = ticker.read();
+    tokens = Math.min(capacity, tokens + (now - lastRefillTime) * tokensPerNanosecond);
+    lastRefillTime = now;
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+}
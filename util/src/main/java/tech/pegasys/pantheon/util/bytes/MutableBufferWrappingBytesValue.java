@@ -15,6 +15,8 @@ package tech.pegasys.pantheon.util.bytes;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkElementIndex;
 
+import java.security.MessageDigest;
+
 import io.vertx.core.buffer.Buffer;
 
 class MutableBufferWrappingBytesValue extends AbstractBytesValue implements MutableBytesValue {
@@ -83,6 +85,11 @@ class MutableBufferWrappingBytesValue extends AbstractBytesValue implements Muta
     return new MutableBufferWrappingBytesValue(buffer, offset + index, length);
   }
 
+  @Override
+  public void update(final MessageDigest digest) {
+    digest.update(buffer.getByteBuf().nioBuffer(offset, size));
+  }
+
   @Override
   public BytesValue slice(final int index, final int length) {
     return mutableSlice(index, length);
@@ -15,6 +15,8 @@ package tech.pegasys.pantheon.util.bytes;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkElementIndex;
 
+import java.security.MessageDigest;
+
 import io.netty.buffer.ByteBuf;
 
 class MutableByteBufWrappingBytesValue extends AbstractBytesValue implements MutableBytesValue {
@@ -81,6 +83,11 @@ class MutableByteBufWrappingBytesValue extends AbstractBytesValue implements Mut
     return new MutableByteBufWrappingBytesValue(buffer, offset + index, length);
   }
 
+  @Override
+  public void update(final MessageDigest digest) {
+    digest.update(buffer.nioBuffer(offset, size));
+  }
+
   @Override
   public BytesValue slice(final int index, final int length) {
     return mutableSlice(index, length);
@@ -17,6 +17,7 @@ import static com.google.common.base.Preconditions.checkElementIndex;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 
 public class MutableByteBufferWrappingBytesValue extends AbstractBytesValue
     implements MutableBytesValue {
@@ -66,6 +67,14 @@ public class MutableByteBufferWrappingBytesValue extends AbstractBytesValue
     return bytes.get(offset + i);
   }
 
+  @Override
+  public void update(final MessageDigest digest) {
+    final ByteBuffer view = bytes.duplicate();
+    view.limit(offset + size);
+    view.position(offset);
+    digest.update(view);
+  }
+
   @Override
   public BytesValue slice(final int index, final int length) {
     if (index == 0 && length == size()) {
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+
+public class TokenBucketTest {
+
+  private long now = 0;
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return now;
+        }
+      };
+
+  @Test
+  public void allowsBurstUpToCapacityStraightAway() {
+    final TokenBucket bucket = new TokenBucket(3, 1, ticker);
+
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isFalse();
+  }
+
+  @Test
+  public void refillsAtConfiguredRate() {
+    final TokenBucket bucket = new TokenBucket(1, 2, ticker);
+    assertThat(bucket.tryAcquire()).isTrue();
+
+    now += TimeUnit.MILLISECONDS.toNanos(400);
+    assertThat(bucket.tryAcquire()).isFalse();
+
+    now += TimeUnit.MILLISECONDS.toNanos(100);
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isFalse();
+  }
+
+  @Test
+  public void doesNotRefillBeyondCapacity() {
+    final TokenBucket bucket = new TokenBucket(2, 10, ticker);
+
+    now += TimeUnit.MINUTES.toNanos(1);
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isFalse();
+  }
+
+  @Test
+  public void rejectsCapacityBelowOneToken() {
+    assertThatThrownBy(() -> new TokenBucket(0.5, 1, ticker))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -395,6 +395,19 @@ public class BytesValueImplementationsTest {
     assertArrayEquals(digest1, digest4);
   }
 
+  @SuppressWarnings("DoNotInvokeMessageDigestDirectly")
+  @Test
+  public void updateWithSlice() throws NoSuchAlgorithmException {
+    final MessageDigest expectedDigest = MessageDigest.getInstance("SHA-1");
+    final MessageDigest actualDigest = MessageDigest.getInstance("SHA-1");
+
+    final byte[] bytes = new BigInteger("12324029423415041783577517238472017314").toByteArray();
+    expectedDigest.update(bytes, 3, 7);
+    sliceCreator.create(bytes, 3, 7).update(actualDigest);
+
+    assertArrayEquals(expectedDigest.digest(), actualDigest.digest());
+  }
+
   @Test
   public void asString() {
     assertEquals("0x", BytesValue.EMPTY.toString());